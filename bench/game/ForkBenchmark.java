@@ -0,0 +1,41 @@
+package game;
+
+import game.achievements.PlayerStatsTracker;
+
+/**
+ * Measures the cost of forking a mid-game model, alone and followed by one simulated tick.
+ */
+public class ForkBenchmark {
+    private static final int FORKS = 1_000_000;
+
+    public static void main(String[] args) {
+        GameModel model = new GameModel(s -> {}, new PlayerStatsTracker());
+        model.setRandomSeed(1);
+        for (int tick = 0; tick < 1000; tick++) {
+            model.updateAndCheckCollisions(tick);
+            model.spawnObjects();
+        }
+        GameModel snapshot = model.fork(); // Never changed, so forks of it never copy it
+        System.out.println("objects: " + model.getSpaceObjects().size());
+
+        for (int round = 0; round < 3; round++) {
+            long sink = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < FORKS; i++) {
+                sink += snapshot.fork().getLevel();
+            }
+            long forkNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < FORKS / 10; i++) {
+                GameModel fork = snapshot.fork();
+                fork.updateAndCheckCollisions(1000);
+                fork.spawnObjects();
+                sink += fork.getLevel();
+            }
+            long tickNanos = System.nanoTime() - start;
+            System.out.printf("fork: %.1f ns, fork + tick: %.1f ns (%d)%n",
+                    (double) forkNanos / FORKS, (double) tickNanos / (FORKS / 10), sink);
+        }
+    }
+}
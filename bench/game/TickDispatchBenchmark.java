@@ -0,0 +1,105 @@
+package game;
+
+import game.achievements.PlayerStatsTracker;
+import game.core.Asteroid;
+import game.core.Bullet;
+import game.core.Enemy;
+import game.core.HealthPowerUp;
+import game.core.ShieldPowerUp;
+import game.core.SpaceObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares moving a large mixed population through one megamorphic loop over a single list,
+ * as GameModel used to, with the per-kind bucket sweeps GameModel now uses.<br>
+ * <p>
+ * Run with -XX:+UnlockDiagnosticVMOptions -XX:+PrintInlining to see the tick calls in
+ * sweepBucket inlined, while the shared call site in the mixed loop is not:<br>
+ * <pre>
+ * timeMixedList:  &#64; 53   game.ui.Tickable::tick (0 bytes)   virtual call
+ * sweepBucket:    &#64; 158  game.core.Bullet::tick (11 bytes)   inline (hot)
+ *                 &#64; 170  game.core.DescendingEnemy::tick (18 bytes)   inline (hot)
+ *                 &#64; 182  game.core.PowerUp::tick (18 bytes)   inline (hot)
+ * </pre>
+ * Third round on JDK 21.0.1, one core, in ns per entity tick:<br>
+ * <pre>
+ *     entities   mixed list   buckets   buckets with collisions
+ *       10,000        23.47     11.68                     12.94
+ *      100,000        22.83     13.93                     17.74
+ *    1,000,000        23.46     14.91                     22.58
+ * </pre>
+ */
+public class TickDispatchBenchmark {
+    private static final int TICKS = 50;
+    private static final int[] SIZES = {10_000, 100_000, 1_000_000};
+
+    public static void main(String[] args) {
+        for (int round = 0; round < 3; round++) {
+            for (int size : SIZES) {
+                long mixed = timeMixedList(size);
+                long move = timeModel(size, false);
+                long fused = timeModel(size, true);
+                System.out.printf("%,9d entities: mixed list %.2f ns, buckets %.2f ns,"
+                                + " buckets with collisions %.2f ns (per entity tick)%n", size,
+                        (double) mixed / size / TICKS, (double) move / size / TICKS,
+                        (double) fused / size / TICKS);
+            }
+        }
+    }
+
+    private static List<SpaceObject> population(int size) {
+        Random random = new Random(size);
+        List<SpaceObject> objects = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int x = random.nextInt(GameModel.GAME_WIDTH);
+            int y = random.nextInt(8); // Top of the board, so nothing expires during the run
+            objects.add(switch (random.nextInt(5)) {
+                case 0 -> new Bullet(x, y + 12);
+                case 1 -> new Asteroid(x, y);
+                case 2 -> new Enemy(x, y);
+                case 3 -> new HealthPowerUp(x, y);
+                default -> new ShieldPowerUp(x, y);
+            });
+        }
+        return objects;
+    }
+
+    private static long timeMixedList(int size) {
+        List<SpaceObject> objects = population(size);
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int tick = 1; tick <= TICKS; tick++) {
+            for (int i = 0; i < objects.size(); i++) {
+                SpaceObject obj = objects.get(i);
+                obj.tick(tick);
+                if (obj.getY() > GameModel.GAME_HEIGHT) {
+                    sink++;
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink < 0) {
+            System.out.println(sink);
+        }
+        return elapsed;
+    }
+
+    private static long timeModel(int size, boolean collide) {
+        GameModel model = new GameModel(s -> { }, new PlayerStatsTracker());
+        for (SpaceObject object : population(size)) {
+            model.addObject(object);
+        }
+        long start = System.nanoTime();
+        for (int tick = 1; tick <= TICKS; tick++) {
+            if (collide) {
+                model.updateAndCheckCollisions(tick);
+            } else {
+                model.updateGame(tick);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,69 @@
+package game.aggregate;
+
+import game.achievements.AchievementManager;
+import game.achievements.FileHandler;
+import game.achievements.GameAchievement;
+import game.achievements.PlayerStatsTracker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the cost of one session update per tick with thousands of sessions spread over
+ * every available thread, against a single thread updating alone.
+ */
+public class SessionAggregatorBenchmark {
+    private static final int SESSIONS = 4_000;
+    private static final int TICKS = 2_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int round = 0; round < 3; round++) {
+            for (int threads : new int[]{1, cores}) {
+                SessionAggregator aggregator = new SessionAggregator();
+                long nanos = run(aggregator, threads);
+                long updates = (long) SESSIONS * TICKS;
+                System.out.printf("%d threads: %.1f ns per update, %.0f M updates/s, "
+                                + "accuracy %.2f%n", threads, (double) nanos * threads / updates,
+                        updates / (nanos / 1e3), aggregator.getGlobalAccuracy());
+            }
+        }
+    }
+
+    private static long run(SessionAggregator aggregator, int threads)
+            throws InterruptedException {
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Thread(() -> {
+                int count = SESSIONS / threads;
+                Session[] sessions = new Session[count];
+                PlayerStatsTracker[] stats = new PlayerStatsTracker[count];
+                AchievementManager[] achievements = new AchievementManager[count];
+                for (int s = 0; s < count; s++) {
+                    sessions[s] = aggregator.openSession();
+                    stats[s] = new PlayerStatsTracker();
+                    achievements[s] = new AchievementManager(new FileHandler());
+                    achievements[s].register(new GameAchievement("Survivor", "Survive"));
+                    achievements[s].register(new GameAchievement("Sharp Shooter", "Aim"));
+                }
+                for (int tick = 0; tick < TICKS; tick++) {
+                    for (int s = 0; s < count; s++) {
+                        if ((tick + s) % 4 == 0) {
+                            stats[s].recordShotFired();
+                            stats[s].recordShotHit();
+                        }
+                        sessions[s].update(stats[s], achievements[s]);
+                    }
+                }
+            }));
+        }
+        long start = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,61 @@
+package game.bot;
+
+import game.GameModel;
+import game.achievements.PlayerStatsTracker;
+import game.core.Ship;
+import game.utility.Direction;
+
+/**
+ * Plays seeded headless games with the autopilot and reports decision latency and how long the
+ * ship survives, compared with a ship that never moves.
+ */
+public class AutopilotBenchmark {
+    private static final int GAMES = 5;
+    private static final int MAX_TICKS = 20_000;
+    private static final long BUDGET_NANOS = 2_000_000;
+
+    public static void main(String[] args) {
+        try (Autopilot autopilot = new Autopilot(BUDGET_NANOS)) {
+            long botTicks = 0;
+            long idleTicks = 0;
+            for (int seed = 0; seed < GAMES; seed++) {
+                botTicks += play(seed, autopilot);
+                idleTicks += play(seed, null);
+            }
+            System.out.printf("survival: autopilot %d ticks, idle %d ticks (mean of %d games)%n",
+                    botTicks / GAMES, idleTicks / GAMES, GAMES);
+            System.out.printf("decisions: %d, mean %.1f us, max %.1f us, last depth %d%n",
+                    autopilot.getDecisionCount(), autopilot.getMeanDecisionNanos() / 1e3,
+                    autopilot.getMaxDecisionNanos() / 1e3, autopilot.getLastSearchDepth());
+        }
+    }
+
+    private static int play(int seed, Autopilot autopilot) {
+        GameModel model = new GameModel(s -> {}, new PlayerStatsTracker());
+        model.setRandomSeed(seed);
+        int tick = 0;
+        while (tick < MAX_TICKS && !model.checkGameOver()) {
+            if (autopilot != null) {
+                apply(model, autopilot.nextKey(model, tick));
+            }
+            model.updateAndCheckCollisions(tick);
+            model.spawnObjects();
+            model.levelUp();
+            tick++;
+        }
+        return tick;
+    }
+
+    private static void apply(GameModel model, char key) {
+        Ship ship = model.getShip();
+        switch (key) {
+            case 'W' -> ship.move(Direction.UP);
+            case 'A' -> ship.move(Direction.LEFT);
+            case 'S' -> ship.move(Direction.DOWN);
+            case 'D' -> ship.move(Direction.RIGHT);
+            case 'F' -> model.fireBullet();
+            default -> {
+            }
+        }
+    }
+}
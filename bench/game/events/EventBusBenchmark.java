@@ -0,0 +1,45 @@
+package game.events;
+
+import game.core.EntityType;
+
+/**
+ * Measures publishing cost with no consumers, with tick consumers, and with thread consumers,
+ * to show that adding consumers does not slow the publisher.
+ */
+public class EventBusBenchmark {
+    private static final int EVENTS = 20_000_000;
+    private static final int DRAIN_EVERY = 64; // Roughly one tick's worth of events
+
+    public static void main(String[] args) {
+        for (int round = 0; round < 3; round++) {
+            run("no consumers", new EventBus(4096));
+
+            EventBus tick = new EventBus(4096);
+            long[] sink = new long[1];
+            for (int i = 0; i < 4; i++) {
+                tick.addTickConsumer((event, sequence, end) -> sink[0] += event.getValue());
+            }
+            run("4 tick consumers (publish + drain)", tick);
+
+            EventBus threads = new EventBus(4096);
+            for (int i = 0; i < 2; i++) {
+                threads.addThreadConsumer((event, sequence, end) -> { }, "consumer-" + i);
+            }
+            run("2 thread consumers", threads);
+            threads.close();
+        }
+    }
+
+    private static void run(String name, EventBus bus) {
+        long start = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            bus.publish(EventType.SPAWNED, i, EntityType.ASTEROID, i & 7, 0, i);
+            if (i % DRAIN_EVERY == 0) {
+                bus.drainTickConsumers();
+            }
+        }
+        bus.drainTickConsumers();
+        System.out.printf("%-36s %.1f ns/event%n", name,
+                (double) (System.nanoTime() - start) / EVENTS);
+    }
+}
@@ -0,0 +1,88 @@
+package game.launch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures time to first rendered frame in fresh JVMs: without class-data sharing, with the
+ * JDK's default archive only, and with the game's AppCDS archive. Each run starts
+ * Launcher probe, which draws with the same client UI as play, and is timed from process start
+ * until it prints the first frame marker. Runs of the three configurations are interleaved so drift
+ * affects them equally.<br>
+ * <p>
+ * Arguments: the classpath the archive was built with, as written to build/classpath by
+ * launcher/build-archive.sh (the game jar followed by the course library jars), the archive,
+ * and optionally the number of runs per configuration. The game.ui system property, if set,
+ * is passed on to the probes to choose the UI; set it to the Swing client's class to time the
+ * Swing client rather than the terminal one.
+ */
+public class StartupBenchmark {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Usage: StartupBenchmark <classpath> <game.jsa> [runs]");
+            return;
+        }
+        String classpath = args[0];
+        String archive = args[1];
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        if (!Files.exists(Path.of(archive))) {
+            System.err.println("No archive at " + archive + ", run launcher/build-archive.sh");
+            return;
+        }
+        String[] names = {"no CDS", "JDK CDS", "AppCDS"};
+        String[] flags = {"-Xshare:off", "-Xshare:auto", "-XX:SharedArchiveFile=" + archive};
+        long[][] millis = new long[names.length][runs];
+        run(classpath, flags[2]); // Warm the file system cache
+        for (int i = 0; i < runs; i++) {
+            for (int c = 0; c < names.length; c++) {
+                millis[c][i] = run(classpath, flags[c]);
+            }
+        }
+        for (int c = 0; c < names.length; c++) {
+            long[] sorted = millis[c].clone();
+            Arrays.sort(sorted);
+            System.out.printf("%-8s first frame: median %4d ms, min %4d ms, max %4d ms%n",
+                    names[c], sorted[runs / 2], sorted[0], sorted[runs - 1]);
+        }
+    }
+
+    /**
+     * Starts a probe with the given sharing flag and returns the milliseconds until it
+     * reports its first frame.
+     */
+    private static long run(String classpath, String shareFlag)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "--enable-preview", shareFlag));
+        String ui = System.getProperty("game.ui");
+        if (ui != null) {
+            command.add("-Dgame.ui=" + ui);
+        }
+        command.addAll(List.of("-cp", classpath, Launcher.class.getName(), "probe"));
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.redirectError(ProcessBuilder.Redirect.DISCARD);
+        long start = System.nanoTime();
+        Process process = builder.start();
+        try (BufferedReader out = new BufferedReader(
+                new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = out.readLine()) != null) {
+                if (line.equals(Launcher.FIRST_FRAME_MARKER)) {
+                    long elapsed = (System.nanoTime() - start) / 1_000_000;
+                    process.waitFor();
+                    return elapsed;
+                }
+            }
+        }
+        throw new IllegalStateException("Probe exited with " + process.waitFor()
+                + " before its first frame: " + String.join(" ", command));
+    }
+}
@@ -0,0 +1,52 @@
+package game.leaderboard;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Measures leaderboard ingestion and rank lookup cost.<br>
+ * <p>
+ * Usage: java game.leaderboard.LeaderboardBenchmark [results] [lookups]
+ */
+public class LeaderboardBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int results = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int lookups = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        Path path = Files.createTempFile("leaderboard-bench", ".dat");
+        Random random = new Random(1);
+
+        try (Leaderboard board = new Leaderboard(path, 0, Integer.MAX_VALUE)) {
+            long start = System.nanoTime();
+            for (int i = 0; i < results; i++) {
+                board.record(random.nextInt(1_000_000), 1 + random.nextInt(20),
+                        random.nextInt(600), random.nextDouble());
+            }
+            board.flush();
+            long ingest = System.nanoTime() - start;
+
+            long checksum = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                checksum += board.rankOf(random.nextInt(1_000_000));
+            }
+            long lookup = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < 1000; i++) {
+                checksum += board.top(100).size();
+            }
+            long top = System.nanoTime() - start;
+
+            System.out.printf("results=%d file=%d bytes%n", results, Files.size(path));
+            System.out.printf("record: %.0f ns/result%n", (double) ingest / results);
+            System.out.printf("rankOf: %.0f ns/lookup%n", (double) lookup / lookups);
+            System.out.printf("top100: %.0f ns/query%n", top / 1000.0);
+            System.out.println("(checksum " + checksum + ")");
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package game.movement;
+
+import game.GameModel;
+import game.core.Asteroid;
+import game.core.Bullet;
+import game.core.SpaceObject;
+
+import java.util.Random;
+
+/**
+ * Compares moving and expiring 10k to 1M objects by calling tick on each object, with the
+ * scalar kernel and with the best available kernel. Run with --add-modules
+ * jdk.incubator.vector to measure the vector kernel.
+ */
+public class MovementKernelBenchmark {
+    private static final int TICKS = 100;
+
+    public static void main(String[] args) {
+        MovementKernel scalar = MovementKernel.scalar();
+        MovementKernel best = MovementKernel.create();
+        System.out.println("best kernel: " + best.getName());
+        for (int round = 0; round < 3; round++) {
+            for (int size : new int[]{10_000, 100_000, 1_000_000}) {
+                int[][] template = template(size);
+                double objects = objectNanos(template, size);
+                double scalarNanos = kernelNanos(scalar, template, size);
+                double bestNanos = kernelNanos(best, template, size);
+                System.out.printf("%,9d objects: object %6.2f ns, scalar %5.2f ns, "
+                                + "best %5.2f ns per object tick (%.1fx over objects)%n",
+                        size, objects, scalarNanos, bestNanos, objects / bestNanos);
+            }
+        }
+    }
+
+    /**
+     * Returns x, y and kind rows for a mix of bullets and asteroids, a third of which expire
+     * over the measured ticks.
+     */
+    private static int[][] template(int size) {
+        Random random = new Random(size);
+        int[][] rows = new int[3][size];
+        for (int i = 0; i < size; i++) {
+            rows[0][i] = random.nextInt(GameModel.GAME_WIDTH);
+            rows[1][i] = random.nextInt(GameModel.GAME_HEIGHT + 10) - 10;
+            rows[2][i] = random.nextInt(4) == 0 ? MovementKernel.BULLET
+                    : MovementKernel.DESCENDING;
+        }
+        return rows;
+    }
+
+    private static double objectNanos(int[][] template, int size) {
+        SpaceObject[] items = new SpaceObject[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = template[2][i] == MovementKernel.BULLET
+                    ? new Bullet(template[0][i], template[1][i])
+                    : new Asteroid(template[0][i], template[1][i]);
+        }
+        long work = 0;
+        int count = size;
+        long start = System.nanoTime();
+        for (int tick = 0; tick < TICKS; tick++) {
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                SpaceObject object = items[i];
+                object.tick(tick);
+                if (object.getY() <= GameModel.GAME_HEIGHT) {
+                    items[kept++] = object;
+                }
+            }
+            count = kept;
+            work += count;
+        }
+        return (double) (System.nanoTime() - start) / work;
+    }
+
+    private static double kernelNanos(MovementKernel kernel, int[][] template, int size) {
+        int[] xs = template[0].clone();
+        int[] ys = template[1].clone();
+        int[] kinds = template[2].clone();
+        long work = 0;
+        int count = size;
+        long start = System.nanoTime();
+        for (int tick = 0; tick < TICKS; tick++) {
+            count = kernel.step(xs, ys, kinds, count, tick);
+            work += count;
+        }
+        return (double) (System.nanoTime() - start) / work;
+    }
+}
@@ -0,0 +1,119 @@
+package game.net;
+
+import game.GameModel;
+import game.achievements.PlayerStatsTracker;
+import game.core.Asteroid;
+import game.core.Bullet;
+import game.core.Enemy;
+import game.core.EntityType;
+import game.core.HealthPowerUp;
+import game.core.ShieldPowerUp;
+import game.core.SpaceObject;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * Measures encode and decode cost and frame size for the delta frame codec.<br>
+ * <p>
+ * The board holds a steady mix like real play: asteroids, enemies and power-ups descend and
+ * are replaced at the top as they leave the bottom, and about a tenth of the entities are
+ * bullets, fired from the bottom row and dropped once they leave the top.<br>
+ * <p>
+ * Usage: java game.net.FrameCodecBenchmark [entities] [frames]
+ */
+public class FrameCodecBenchmark {
+
+    public static void main(String[] args) {
+        int entities = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+
+        int bullets = entities / 10;
+        int descending = entities - bullets;
+        GameModel model = new GameModel(s -> {}, new PlayerStatsTracker());
+        model.setRandomSeed(1);
+        Random random = new Random(1);
+        for (int i = 0; i < descending; i++) {
+            model.addObject(descending(random, random.nextInt(GameModel.GAME_HEIGHT + 1)));
+        }
+        for (int i = 0; i < bullets; i++) {
+            model.addObject(new Bullet(random.nextInt(GameModel.GAME_WIDTH),
+                    random.nextInt(GameModel.GAME_HEIGHT + 1)));
+        }
+
+        FrameEncoder encoder = new FrameEncoder(600);
+        FrameDecoder decoder = new FrameDecoder();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(FrameEncoder.maxEncodedSize(entities * 2));
+
+        // Warm up so the JIT has compiled both paths before timing.
+        run(model, encoder, decoder, buffer, frames / 4);
+
+        long encodeNanos = 0;
+        long decodeNanos = 0;
+        long bytes = 0;
+        for (int tick = 0; tick < frames; tick++) {
+            model.updateGame(tick);
+            replenish(model, random, descending, bullets);
+            buffer.clear();
+            long start = System.nanoTime();
+            encoder.encode(model, tick / 60, buffer);
+            long encoded = System.nanoTime();
+            bytes += buffer.position();
+            buffer.flip();
+            decoder.decode(buffer);
+            decodeNanos += System.nanoTime() - encoded;
+            encodeNanos += encoded - start;
+            encoder.acknowledge(decoder.getLastFrame());
+        }
+
+        System.out.printf("entities=%d frames=%d%n", entities, frames);
+        System.out.printf("encode: %.1f ns/frame%n", (double) encodeNanos / frames);
+        System.out.printf("decode: %.1f ns/frame%n", (double) decodeNanos / frames);
+        System.out.printf("size:   %.1f bytes/frame%n", (double) bytes / frames);
+    }
+
+    /**
+     * Returns a random asteroid, enemy or power-up at the given row.
+     */
+    private static SpaceObject descending(Random random, int y) {
+        int x = random.nextInt(GameModel.GAME_WIDTH);
+        return switch (random.nextInt(8)) {
+            case 0, 1, 2 -> new Asteroid(x, y);
+            case 3, 4, 5 -> new Enemy(x, y);
+            case 6 -> new HealthPowerUp(x, y);
+            default -> new ShieldPowerUp(x, y);
+        };
+    }
+
+    /**
+     * Drops bullets that left the top of the board, then tops the population back up to the
+     * given mix.
+     */
+    private static void replenish(GameModel model, Random random, int descending,
+                                  int bullets) {
+        model.getSpaceObjects().removeIf(object -> object instanceof Bullet
+                && object.getY() < 0);
+        int live = model.getObjectCount(EntityType.ASTEROID)
+                + model.getObjectCount(EntityType.ENEMY)
+                + model.getObjectCount(EntityType.HEALTH_POWER_UP)
+                + model.getObjectCount(EntityType.SHIELD_POWER_UP);
+        for (; live < descending; live++) {
+            model.addObject(descending(random, 0));
+        }
+        for (int i = model.getObjectCount(EntityType.BULLET); i < bullets; i++) {
+            model.addObject(new Bullet(random.nextInt(GameModel.GAME_WIDTH),
+                    GameModel.GAME_HEIGHT));
+        }
+    }
+
+    private static void run(GameModel model, FrameEncoder encoder, FrameDecoder decoder,
+                            ByteBuffer buffer, int frames) {
+        for (int tick = 0; tick < frames; tick++) {
+            buffer.clear();
+            encoder.encode(model, 0, buffer);
+            buffer.flip();
+            decoder.decode(buffer);
+            encoder.acknowledge(decoder.getLastFrame());
+        }
+    }
+}
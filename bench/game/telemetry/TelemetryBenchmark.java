@@ -0,0 +1,44 @@
+package game.telemetry;
+
+import game.GameModel;
+import game.achievements.PlayerStatsTracker;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Measures the per-tick cost of recording telemetry and the resulting file size.
+ */
+public class TelemetryBenchmark {
+    private static final int TICKS = 1_000_000;
+
+    public static void main(String[] args) throws IOException {
+        GameModel model = new GameModel(s -> {}, new PlayerStatsTracker());
+        model.setRandomSeed(1);
+        for (int tick = 0; tick < 2_000; tick++) {
+            model.updateAndCheckCollisions(tick);
+            model.spawnObjects();
+        }
+
+        Path path = Files.createTempFile("telemetry", ".bin");
+        try {
+            long recordNanos = 0;
+            try (TickTelemetry telemetry = new TickTelemetry(path)) {
+                for (int tick = 0; tick < TICKS; tick++) {
+                    model.updateAndCheckCollisions(tick);
+                    model.spawnObjects();
+                    long start = System.nanoTime();
+                    telemetry.record(tick, model, 750 + (tick & 63));
+                    recordNanos += System.nanoTime() - start;
+                }
+            }
+            System.out.printf("record: %.1f ns/tick over %d ticks%n",
+                    (double) recordNanos / TICKS, TICKS);
+            System.out.printf("file: %d bytes (%.2f bytes/tick, %d raw)%n", Files.size(path),
+                    (double) Files.size(path) / TICKS, TickTelemetry.COLUMNS.length * 8);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+#!/bin/sh
+# Compiles the game into build/game.jar, then trains an AppCDS archive, build/game.jsa, by
+# running a headless game with -XX:ArchiveClassesAtExit. Start the game from the archive with
+# launcher/start.sh.
+#
+# The game needs the course library that provides game.ui, game.utility and game.exceptions,
+# which is not part of this tree. LIB must name its jar files, separated by ':'. The archive
+# is built with the classpath build/game.jar:$LIB, written to build/classpath, and start.sh
+# starts the game with exactly that classpath; CDS rejects an archive whose classpath differs.
+#
+# The archive is only used by the same JDK and the same jars it was built with, so rerun this
+# script after changing any of them. CDS cannot archive classes loaded from directories, which
+# is why the classes are packaged into a jar first and LIB may only hold jars.
+#
+# Environment: LIB the course library jars (required), JAVA_HOME selects the JDK, BUILD the
+# output directory (default build), TRAINING_TICKS the length of the training game.
+set -e
+cd "$(dirname "$0")/.."
+
+: "${LIB:?Set LIB to the jars of the game.ui, game.utility and game.exceptions library}"
+BUILD=${BUILD:-build}
+BIN=${JAVA_HOME:+$JAVA_HOME/bin/}
+TRAINING_TICKS=${TRAINING_TICKS:-2000}
+CLASSPATH="$BUILD/game.jar:$LIB"
+
+rm -rf "$BUILD/classes" "$BUILD/game.jar" "$BUILD/game.jsa" "$BUILD/classpath"
+mkdir -p "$BUILD/classes"
+find src -name '*.java' > "$BUILD/sources.txt"
+"${BIN}javac" --release 17 --enable-preview --add-modules jdk.incubator.vector -encoding UTF-8 \
+    -cp "$LIB" -d "$BUILD/classes" @"$BUILD/sources.txt"
+"${BIN}jar" cf "$BUILD/game.jar" -C "$BUILD/classes" .
+
+"${BIN}java" --enable-preview -Djava.awt.headless=true \
+    -XX:ArchiveClassesAtExit="$BUILD/game.jsa" \
+    -cp "$CLASSPATH" game.launch.Launcher train "$TRAINING_TICKS"
+printf '%s\n' "$CLASSPATH" > "$BUILD/classpath"
+echo "Wrote $BUILD/game.jsa for classpath $CLASSPATH"
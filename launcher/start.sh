@@ -0,0 +1,22 @@
+#!/bin/sh
+# Starts the game from build/game.jar, mapping the classes trained into build/game.jsa by
+# launcher/build-archive.sh instead of loading them. The classpath, including the course
+# library jars, is read from build/classpath so it always matches the one the archive was
+# built with. If the archive is missing or was built by another JDK, the JVM starts normally
+# without it.
+#
+# Arguments are passed to game.launch.Launcher; JAVA_OPTS adds JVM options, such as
+# -Dgame.ui=<UI class> to choose the UI or -Dgame.fps=<frames per second> to set the frame rate.
+set -e
+cd "$(dirname "$0")/.."
+
+BUILD=${BUILD:-build}
+BIN=${JAVA_HOME:+$JAVA_HOME/bin/}
+if [ ! -f "$BUILD/classpath" ]; then
+    echo "No $BUILD/classpath, run launcher/build-archive.sh first" >&2
+    exit 1
+fi
+CLASSPATH=$(cat "$BUILD/classpath")
+
+exec "${BIN}java" --enable-preview -Xshare:auto -XX:SharedArchiveFile="$BUILD/game.jsa" \
+    $JAVA_OPTS -cp "$CLASSPATH" game.launch.Launcher "$@"
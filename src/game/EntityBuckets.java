@@ -0,0 +1,597 @@
+package game;
+
+import game.core.EntityType;
+import game.core.ObjectWithPosition;
+import game.core.SpaceObject;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * The space objects of a game, stored in one bucket per kind of object.<br>
+ * <p>
+ * Each EntityType gets its own bucket so that the model can move each kind in its own loop,
+ * where every call has a single receiver type the JIT can inline, and so that counting the
+ * objects of a type or removing the oldest one, as the entity budget does on every spawn,
+ * touches only the front of one bucket. Every object carries the sequence number it was added
+ * with, and each bucket is kept in sequence order, so the original list order can always be
+ * recovered by merging the buckets. Every object also carries an id that never
+ * changes, not even when the object is copied, and is never given to another object.<br>
+ * <p>
+ * The merged order is exposed as a List view, which routes changes to the right bucket and
+ * caches the merge until the buckets change. Removing through the view updates the cached
+ * merge in place rather than discarding it.<br>
+ * <p>
+ * Buckets are copy-on-write between forks: a forked store shares every bucket and copies one
+ * only when it is changed, and the objects in a bucket are copied the first time they are
+ * moved.
+ */
+final class EntityBuckets {
+    static final int BULLETS = 0;
+    static final int ASTEROIDS = 1;
+    static final int ENEMIES = 2;
+    static final int HEALTH_POWER_UPS = 3;
+    static final int SHIELD_POWER_UPS = 4;
+    static final int SHIPS = 5;
+    static final int OTHERS = 6;
+    static final int COUNT = 7;
+
+    private static final int ALL = (1 << COUNT) - 1;
+
+    private final Bucket[] buckets = new Bucket[COUNT];
+    private int sharedBuckets; // Bit per bucket whose arrays another store may see
+    private int sharedObjects; // Bit per bucket whose objects another store may see
+    private long nextSeq;
+    private int nextId;
+    private Predicate<SpaceObject> admission; // Asked before the view adds an object, may be null
+
+    private final View view = new View();
+    private final List<SpaceObject> readOnlyView = Collections.unmodifiableList(view);
+    private SpaceObject[] merged = new SpaceObject[0];
+    private byte[] mergedBucket = new byte[0];
+    private int[] mergedIndex = new int[0];
+    private final int[] mergeNext = new int[COUNT];
+    private boolean mergedValid = true;
+    private boolean[] removeFlags = new boolean[0]; // Scratch for removeIf, by merged index
+
+    EntityBuckets() {
+        for (int b = 0; b < COUNT; b++) {
+            buckets[b] = new Bucket();
+        }
+    }
+
+    private EntityBuckets(EntityBuckets source) {
+        System.arraycopy(source.buckets, 0, buckets, 0, COUNT);
+        nextSeq = source.nextSeq;
+        nextId = source.nextId;
+        sharedBuckets = ALL;
+        sharedObjects = ALL;
+        mergedValid = false;
+    }
+
+    /**
+     * Returns a store sharing every bucket with this one, until either changes it.
+     */
+    EntityBuckets fork() {
+        for (Bucket bucket : buckets) {
+            bucket.pack(); // A shared bucket is never packed again, as the other store may read it
+        }
+        sharedBuckets = ALL;
+        sharedObjects = ALL;
+        return new EntityBuckets(this);
+    }
+
+    /**
+     * Sets the check that objects added through the view must pass, such as the model's entity
+     * budget, which may make room by removing other objects. Objects added with add are not
+     * checked. Forks do not inherit it.
+     */
+    void setAdmission(Predicate<SpaceObject> admission) {
+        this.admission = admission;
+    }
+
+    /**
+     * Returns the bucket an object belongs in.
+     */
+    static int bucketOf(SpaceObject object) {
+        return bucketOf(EntityType.of(object));
+    }
+
+    /**
+     * Returns the bucket objects of the given type belong in.
+     */
+    static int bucketOf(EntityType type) {
+        return switch (type) {
+            case BULLET -> BULLETS;
+            case ASTEROID -> ASTEROIDS;
+            case ENEMY -> ENEMIES;
+            case HEALTH_POWER_UP -> HEALTH_POWER_UPS;
+            case SHIELD_POWER_UP -> SHIELD_POWER_UPS;
+            case SHIP -> SHIPS;
+            case OTHER -> OTHERS;
+        };
+    }
+
+    /**
+     * Returns a bucket for reading only, with its objects starting at index 0.
+     */
+    Bucket read(int bucket) {
+        Bucket read = buckets[bucket];
+        read.pack(); // Only ever moves objects of an unshared bucket, see fork
+        return read;
+    }
+
+    /**
+     * Returns a bucket that may be changed, with its objects starting at index 0, copying it
+     * first if it is shared.
+     */
+    Bucket write(int bucket) {
+        Bucket written = own(bucket);
+        written.pack();
+        return written;
+    }
+
+    /**
+     * Returns a bucket that may be changed, copying it first if it is shared, but leaving
+     * objects removed from its front in place.
+     */
+    private Bucket own(int bucket) {
+        int bit = 1 << bucket;
+        if ((sharedBuckets & bit) != 0) {
+            buckets[bucket] = buckets[bucket].copy();
+            sharedBuckets &= ~bit;
+        }
+        return buckets[bucket];
+    }
+
+    /**
+     * Marks the objects of a bucket as owned, and returns whether they were shared, in which
+     * case the caller must copy each one before changing it.
+     */
+    boolean takeSharedObjects(int bucket) {
+        int bit = 1 << bucket;
+        if ((sharedObjects & bit) == 0) {
+            return false;
+        }
+        sharedObjects &= ~bit;
+        mergedValid = false; // The copies replace the shared objects
+        return true;
+    }
+
+    /**
+     * Makes sure no bucket or object is shared with another store.
+     */
+    void ownAll() {
+        for (int b = 0; b < COUNT; b++) {
+            if (takeSharedObjects(b)) {
+                Bucket bucket = write(b);
+                for (int i = 0; i < bucket.size; i++) {
+                    bucket.items[i] = copyOf(bucket.items[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the given object, or the object itself if it cannot be copied.
+     */
+    static SpaceObject copyOf(SpaceObject object) {
+        return object instanceof ObjectWithPosition positioned ? positioned.copy() : object;
+    }
+
+    /**
+     * Adds an object after every existing object.
+     */
+    void add(SpaceObject object) {
+        own(bucketOf(object)).append(object, nextSeq++, nextId++);
+        structureChanged();
+    }
+
+    /**
+     * Returns the total number of objects.
+     */
+    int size() {
+        int size = 0;
+        for (Bucket bucket : buckets) {
+            size += bucket.size;
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of objects of the given type.
+     */
+    int count(EntityType type) {
+        return buckets[bucketOf(type)].size;
+    }
+
+    /**
+     * Removes the oldest object of the given type. The object is dropped from the front of its
+     * bucket without moving the rest, which waits until the bucket is next read by index.
+     *
+     * @return the removed object, or null if there is no object of that type.
+     */
+    SpaceObject removeOldest(EntityType type) {
+        int b = bucketOf(type);
+        if (buckets[b].size == 0) {
+            return null;
+        }
+        SpaceObject oldest = own(b).removeFirst();
+        structureChanged();
+        return oldest;
+    }
+
+    /**
+     * Records that objects were added, removed or reordered.
+     */
+    void structureChanged() {
+        mergedValid = false;
+        view.changed();
+    }
+
+    /**
+     * Returns the id of the object at the given index of the view.
+     */
+    int idAt(int index) {
+        merge();
+        return buckets[mergedBucket[index]].ids[mergedIndex[index]];
+    }
+
+    /**
+     * Returns a list of every object in the order they were added.
+     */
+    List<SpaceObject> view() {
+        return view;
+    }
+
+    /**
+     * Returns the same list as view, but unmodifiable. Reading it never copies a shared bucket
+     * or object.
+     */
+    List<SpaceObject> readOnlyView() {
+        return readOnlyView;
+    }
+
+    private void merge() {
+        if (mergedValid) {
+            return;
+        }
+        int size = size();
+        if (merged.length < size) {
+            int capacity = Math.max(size, merged.length * 2);
+            merged = new SpaceObject[capacity];
+            mergedBucket = new byte[capacity];
+            mergedIndex = new int[capacity];
+        }
+        for (Bucket bucket : buckets) {
+            bucket.pack(); // Never shared while unpacked, see fork
+        }
+        int[] next = mergeNext;
+        Arrays.fill(next, 0);
+        for (int i = 0; i < size; i++) {
+            int best = -1;
+            long bestSeq = Long.MAX_VALUE;
+            for (int b = 0; b < COUNT; b++) {
+                Bucket bucket = buckets[b];
+                if (next[b] < bucket.size && bucket.seqs[next[b]] < bestSeq) {
+                    bestSeq = bucket.seqs[next[b]];
+                    best = b;
+                }
+            }
+            merged[i] = buckets[best].items[next[best]];
+            mergedBucket[i] = (byte) best;
+            mergedIndex[i] = next[best]++;
+        }
+        Arrays.fill(merged, size, merged.length, null);
+        mergedValid = true;
+    }
+
+    /**
+     * Gives every object a new, evenly spaced sequence number in the current order, leaving a
+     * gap between neighbours for an insertion.
+     */
+    private void renumber() {
+        merge();
+        int size = size();
+        for (int i = 0; i < size; i++) {
+            write(mergedBucket[i]).seqs[mergedIndex[i]] = 2L * i;
+        }
+        nextSeq = 2L * size;
+    }
+
+    /**
+     * Objects of one kind with their sequence numbers and ids, in ascending sequence order.
+     * The objects start at index head, which is 0 for any bucket returned by read or write.
+     */
+    static final class Bucket {
+        SpaceObject[] items;
+        long[] seqs;
+        int[] ids;
+        int size;
+        private int head; // Objects removed from the front that have not been shifted out yet
+
+        private Bucket() {
+            items = new SpaceObject[8];
+            seqs = new long[8];
+            ids = new int[8];
+        }
+
+        private Bucket(Bucket source) {
+            int capacity = Math.max(8, source.size);
+            int from = source.head;
+            items = Arrays.copyOfRange(source.items, from, from + capacity);
+            seqs = Arrays.copyOfRange(source.seqs, from, from + capacity);
+            ids = Arrays.copyOfRange(source.ids, from, from + capacity);
+            size = source.size;
+        }
+
+        private Bucket copy() {
+            return new Bucket(this);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (items.length < capacity) {
+                int newCapacity = Math.max(capacity, items.length * 2);
+                items = Arrays.copyOf(items, newCapacity);
+                seqs = Arrays.copyOf(seqs, newCapacity);
+                ids = Arrays.copyOf(ids, newCapacity);
+            }
+        }
+
+        /**
+         * Shifts the objects down to index 0, if any were removed from the front.
+         */
+        private void pack() {
+            if (head == 0) {
+                return;
+            }
+            System.arraycopy(items, head, items, 0, size);
+            System.arraycopy(seqs, head, seqs, 0, size);
+            System.arraycopy(ids, head, ids, 0, size);
+            Arrays.fill(items, size, head + size, null);
+            head = 0;
+        }
+
+        private void append(SpaceObject object, long seq, int id) {
+            if (head + size == items.length) {
+                pack(); // Reuses the room at the front before growing
+                ensureCapacity(size + 1);
+            }
+            int index = head + size;
+            items[index] = object;
+            seqs[index] = seq;
+            ids[index] = id;
+            size++;
+        }
+
+        private SpaceObject removeFirst() {
+            SpaceObject first = items[head];
+            items[head] = null;
+            size--;
+            head = size == 0 ? 0 : head + 1;
+            return first;
+        }
+
+        private void insert(SpaceObject object, long seq, int id) {
+            int index = Arrays.binarySearch(seqs, 0, size, seq);
+            index = index < 0 ? -index - 1 : index;
+            ensureCapacity(size + 1);
+            System.arraycopy(items, index, items, index + 1, size - index);
+            System.arraycopy(seqs, index, seqs, index + 1, size - index);
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            items[index] = object;
+            seqs[index] = seq;
+            ids[index] = id;
+            size++;
+        }
+
+        private void removeAt(int index) {
+            System.arraycopy(items, index + 1, items, index, size - index - 1);
+            System.arraycopy(seqs, index + 1, seqs, index, size - index - 1);
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            items[--size] = null;
+        }
+
+        /**
+         * Drops the objects whose flag is set, keeping the rest in order.
+         */
+        void compact(boolean[] removed) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (!removed[i]) {
+                    items[kept] = items[i];
+                    seqs[kept] = seqs[i];
+                    ids[kept] = ids[i];
+                    kept++;
+                }
+            }
+            Arrays.fill(items, kept, size, null);
+            size = kept;
+        }
+    }
+
+    /**
+     * The objects of every bucket, merged back into the order they were added. Adding an
+     * object asks the admission check first, and add returns false if it is refused.
+     */
+    private final class View extends AbstractList<SpaceObject> implements RandomAccess {
+
+        private void changed() {
+            modCount++;
+        }
+
+        @Override
+        public int size() {
+            return EntityBuckets.this.size();
+        }
+
+        @Override
+        public SpaceObject get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index);
+            }
+            merge();
+            return merged[index];
+        }
+
+        @Override
+        public SpaceObject set(int index, SpaceObject object) {
+            SpaceObject old = get(index);
+            int b = mergedBucket[index];
+            int i = mergedIndex[index];
+            Bucket bucket = write(b);
+            if (bucketOf(object) == b) {
+                if (object != old) {
+                    bucket.ids[i] = nextId++;
+                }
+                bucket.items[i] = object;
+                merged[index] = object;
+            } else {
+                long seq = bucket.seqs[i];
+                bucket.removeAt(i);
+                write(bucketOf(object)).insert(object, seq, nextId++);
+                mergedValid = false;
+            }
+            return old;
+        }
+
+        @Override
+        public boolean add(SpaceObject object) {
+            if (admission != null && !admission.test(object)) {
+                return false;
+            }
+            EntityBuckets.this.add(object);
+            return true;
+        }
+
+        @Override
+        public void add(int index, SpaceObject object) {
+            if (index < 0 || index > size()) {
+                throw new IndexOutOfBoundsException("Index: " + index);
+            }
+            if (admission != null && !admission.test(object)) {
+                return;
+            }
+            int size = size();
+            index = Math.min(index, size); // Making room may have removed earlier objects
+            if (index == size) {
+                EntityBuckets.this.add(object);
+                return;
+            }
+            renumber();
+            write(bucketOf(object)).insert(object, 2L * index - 1, nextId++);
+            structureChanged();
+        }
+
+        @Override
+        public SpaceObject remove(int index) {
+            SpaceObject old = get(index);
+            int b = mergedBucket[index];
+            write(b).removeAt(mergedIndex[index]);
+            // Close the gap in the merge, and shift the later indexes into the same bucket
+            int size = EntityBuckets.this.size();
+            System.arraycopy(merged, index + 1, merged, index, size - index);
+            System.arraycopy(mergedBucket, index + 1, mergedBucket, index, size - index);
+            System.arraycopy(mergedIndex, index + 1, mergedIndex, index, size - index);
+            merged[size] = null;
+            for (int i = index; i < size; i++) {
+                if (mergedBucket[i] == b) {
+                    mergedIndex[i]--;
+                }
+            }
+            changed();
+            return old;
+        }
+
+        /**
+         * Removes every object matching the filter in a single pass over the merge. The filter
+         * is asked about each object in list order before anything is removed.
+         */
+        @Override
+        public boolean removeIf(Predicate<? super SpaceObject> filter) {
+            Objects.requireNonNull(filter);
+            merge();
+            int size = EntityBuckets.this.size();
+            if (removeFlags.length < size) {
+                removeFlags = new boolean[Math.max(size, removeFlags.length * 2)];
+            }
+            boolean[] flags = removeFlags;
+            int touched = 0; // Bit per bucket losing an object
+            for (int i = 0; i < size; i++) {
+                flags[i] = filter.test(merged[i]);
+                if (flags[i]) {
+                    touched |= 1 << mergedBucket[i];
+                }
+            }
+            if (touched == 0) {
+                return false;
+            }
+            for (int b = 0; b < COUNT; b++) {
+                if ((touched & (1 << b)) != 0) {
+                    write(b);
+                }
+            }
+
+            // Each bucket is visited in its own order, so kept objects only ever move down
+            int[] kept = mergeNext;
+            Arrays.fill(kept, 0);
+            int out = 0;
+            for (int i = 0; i < size; i++) {
+                if (flags[i]) {
+                    continue;
+                }
+                int b = mergedBucket[i];
+                int from = mergedIndex[i];
+                int to = kept[b]++;
+                if (to != from) {
+                    Bucket bucket = buckets[b];
+                    bucket.items[to] = bucket.items[from];
+                    bucket.seqs[to] = bucket.seqs[from];
+                    bucket.ids[to] = bucket.ids[from];
+                }
+                merged[out] = merged[i];
+                mergedBucket[out] = (byte) b;
+                mergedIndex[out] = to;
+                out++;
+            }
+            Arrays.fill(merged, out, size, null);
+            for (int b = 0; b < COUNT; b++) {
+                if ((touched & (1 << b)) != 0) {
+                    Bucket bucket = buckets[b];
+                    Arrays.fill(bucket.items, kept[b], bucket.size, null);
+                    bucket.size = kept[b];
+                }
+            }
+            changed();
+            return true;
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> objects) {
+            Objects.requireNonNull(objects);
+            return removeIf(objects::contains);
+        }
+
+        @Override
+        public boolean retainAll(Collection<?> objects) {
+            Objects.requireNonNull(objects);
+            return removeIf(object -> !objects.contains(object));
+        }
+
+        @Override
+        public void clear() {
+            for (int b = 0; b < COUNT; b++) {
+                Bucket bucket = write(b);
+                Arrays.fill(bucket.items, 0, bucket.size, null);
+                bucket.size = 0;
+            }
+            structureChanged();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package game;
+
+import game.core.EntityType;
+
+import java.util.Arrays;
+
+/**
+ * Upper bounds on the number of live space objects in a game, so memory and tick time stay
+ * bounded however fast objects are spawned or fired.<br>
+ * <p>
+ * Each type can have its own cap, and the whole game a total cap. When adding an object would
+ * exceed its type's cap, the type's policy decides what happens: EVICT_OLDEST removes the
+ * oldest object of that type to make room, REFUSE drops the new object. When the total cap is
+ * reached, the oldest object of the lowest priority type below the new object's priority is
+ * evicted; if there is none, the new object's policy applies to its own type.<br>
+ * <p>
+ * Budgets are immutable; the with methods return changed copies. By default every type is
+ * uncapped, uses EVICT_OLDEST, and bullets have the lowest priority, followed by asteroids,
+ * enemies, power-ups and everything else.
+ */
+public final class EntityBudget {
+    /** What to do with an object that does not fit in the budget. */
+    public enum Policy {
+        /** Evict the oldest object of the same type to make room. */
+        EVICT_OLDEST,
+        /** Refuse the new object. */
+        REFUSE
+    }
+
+    private static final int TYPES = EntityType.values().length;
+
+    /** A budget without any caps. */
+    public static final EntityBudget UNLIMITED = new EntityBudget(Integer.MAX_VALUE);
+
+    private final int totalCap;
+    private final int[] caps = new int[TYPES];
+    private final Policy[] policies = new Policy[TYPES];
+    private final int[] priorities = new int[TYPES];
+
+    /**
+     * Creates a budget with the given total cap and no per-type caps.
+     *
+     * @param totalCap the most objects, excluding the ship, the game may hold.
+     * @throws IllegalArgumentException if totalCap is negative.
+     */
+    public EntityBudget(int totalCap) {
+        if (totalCap < 0) {
+            throw new IllegalArgumentException("Entity cap must not be negative.");
+        }
+        this.totalCap = totalCap;
+        Arrays.fill(caps, Integer.MAX_VALUE);
+        Arrays.fill(policies, Policy.EVICT_OLDEST);
+        for (EntityType type : EntityType.values()) {
+            priorities[type.ordinal()] = switch (type) {
+                case BULLET -> 0;
+                case ASTEROID -> 1;
+                case ENEMY -> 2;
+                case HEALTH_POWER_UP, SHIELD_POWER_UP -> 3;
+                case SHIP, OTHER -> 4;
+            };
+        }
+    }
+
+    private EntityBudget(EntityBudget source, int totalCap) {
+        this.totalCap = totalCap;
+        System.arraycopy(source.caps, 0, caps, 0, TYPES);
+        System.arraycopy(source.policies, 0, policies, 0, TYPES);
+        System.arraycopy(source.priorities, 0, priorities, 0, TYPES);
+    }
+
+    /**
+     * Returns a copy of this budget with the given cap and policy for one type.
+     *
+     * @param type the type to cap.
+     * @param cap the most objects of that type the game may hold.
+     * @param policy what to do with objects of that type that do not fit.
+     * @return the changed budget.
+     * @throws IllegalArgumentException if cap is negative.
+     * @requires type != null &amp;&amp; policy != null
+     */
+    public EntityBudget withCap(EntityType type, int cap, Policy policy) {
+        if (cap < 0) {
+            throw new IllegalArgumentException("Entity cap must not be negative.");
+        }
+        EntityBudget copy = new EntityBudget(this, totalCap);
+        copy.caps[type.ordinal()] = cap;
+        copy.policies[type.ordinal()] = policy;
+        return copy;
+    }
+
+    /**
+     * Returns a copy of this budget with the given priority for one type. When the total cap
+     * is reached, new objects evict objects of strictly lower priority first.
+     *
+     * @param type the type to prioritise.
+     * @param priority the type's priority, higher is kept longer.
+     * @return the changed budget.
+     * @requires type != null
+     */
+    public EntityBudget withPriority(EntityType type, int priority) {
+        EntityBudget copy = new EntityBudget(this, totalCap);
+        copy.priorities[type.ordinal()] = priority;
+        return copy;
+    }
+
+    /**
+     * Returns the most objects, excluding the ship, the game may hold.
+     *
+     * @return the total cap, Integer.MAX_VALUE if uncapped.
+     */
+    public int getTotalCap() {
+        return totalCap;
+    }
+
+    /**
+     * Returns the most objects of the given type the game may hold.
+     *
+     * @param type the type to look up.
+     * @return the type's cap, Integer.MAX_VALUE if uncapped.
+     */
+    public int getCap(EntityType type) {
+        return caps[type.ordinal()];
+    }
+
+    /**
+     * Returns what happens to objects of the given type that do not fit.
+     *
+     * @param type the type to look up.
+     * @return the type's policy.
+     */
+    public Policy getPolicy(EntityType type) {
+        return policies[type.ordinal()];
+    }
+
+    /**
+     * Returns the priority of the given type.
+     *
+     * @param type the type to look up.
+     * @return the type's priority, higher is kept longer.
+     */
+    public int getPriority(EntityType type) {
+        return priorities[type.ordinal()];
+    }
+}
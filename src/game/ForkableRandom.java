@@ -0,0 +1,51 @@
+package game;
+
+import java.util.Random;
+
+/**
+ * A Random whose state can be copied, so a forked game draws the same numbers as the game it
+ * was forked from.<br>
+ * <p>
+ * Uses the same linear congruential generator as java.util.Random, so a given seed produces
+ * exactly the same sequence. Unlike java.util.Random it is not thread safe.
+ */
+final class ForkableRandom extends Random {
+    private static final long serialVersionUID = 1L;
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    // No initializer: Random's constructor calls setSeed before this class is initialised.
+    private long state;
+
+    ForkableRandom() {
+        super();
+    }
+
+    private ForkableRandom(long seed) {
+        super(seed); // Avoids the shared seed uniquifier, which threads forking would contend on
+    }
+
+    /**
+     * Returns a generator that continues from the current state of this one.
+     *
+     * @return an independent copy of this generator.
+     */
+    ForkableRandom fork() {
+        ForkableRandom copy = new ForkableRandom(0);
+        copy.state = state;
+        return copy;
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+}
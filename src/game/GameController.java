@@ -3,12 +3,25 @@ package game;
 import game.achievements.Achievement;
 import game.achievements.AchievementManager;
 import game.achievements.PlayerStatsTracker;
+import game.aggregate.Session;
+import game.clock.GameClock;
 import game.core.SpaceObject;
+import game.events.EventBus;
+import game.events.StatsConsumer;
+import game.exceptions.BoundaryExceededException;
+import game.input.InputQueue;
+import game.input.InputSource;
+import game.leaderboard.Leaderboard;
+import game.monitoring.GameMonitor;
+import game.render.FramePacingUI;
+import game.telemetry.TickTelemetry;
 import game.ui.UI;
 import game.utility.Direction;
 
+import javax.swing.SwingUtilities;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.IntConsumer;
 
 /**
  * The Controller handling the game flow and interactions.
@@ -17,11 +30,48 @@ import java.util.List;
  * Manages changes to the game, which are stored in the Model, and displayed by the UI.<br>
  */
 public class GameController {
-    private final long endTime;
+    /**
+     * The maximum number of key presses buffered between two ticks.
+     */
+    private static final int INPUT_QUEUE_CAPACITY = 64;
+
+    private final GameClock clock; // Shared with the model's stats tracker
+    private final long startTime; // Read from clock, in nanoseconds
     private final UI ui;
     private final GameModel model;
     private final AchievementManager achievementManager;
-    private boolean isPaused = false;
+    private Leaderboard leaderboard; // Receives the result of each finished game, may be null
+    private TickTelemetry telemetry; // Receives metrics for every tick, may be null
+    private InputSource inputSource; // Asked for a key every tick, may be null
+    private EventBus events; // Carries game events to consumers, may be null
+    private GameMonitor monitor; // Times each phase of every tick, may be null
+    private Session session; // Feeds a cross-session aggregator, may be null
+    private boolean resultRecorded; // Set once the finished game is on the leaderboard
+    private volatile boolean isPaused = false; // Only changed by pauseGame
+
+    // Achievement handles, looked up on first use since achievements are registered elsewhere.
+    private int survivorHandle = -1;
+    private int exterminatorHandle = -1;
+    private int sharpShooterHandle = -1;
+
+    // The HUD values last passed to ui.setStat.
+    private int shownScore = Integer.MIN_VALUE;
+    private int shownHealth = Integer.MIN_VALUE;
+    private int shownLevel = Integer.MIN_VALUE;
+    private long shownSeconds = Long.MIN_VALUE;
+
+    /**
+     * The objects passed to ui.render when it is a FramePacingUI, reused every frame instead
+     * of copying into a new list.
+     */
+    private final List<SpaceObject> renderables = new ArrayList<>();
+    private final boolean reuseRenderables; // The UI copies every frame before render returns
+
+    /**
+     * Key presses waiting to be applied at the start of the next tick.
+     */
+    private final InputQueue inputQueue = new InputQueue(INPUT_QUEUE_CAPACITY);
+    private final IntConsumer applyKey = this::applyQueuedInput;
 
     /**
      * An internal variable indicating whether certain methods should log their actions.
@@ -33,7 +83,8 @@ public class GameController {
     /**
      * Initializes the game controller with the given UI, GameModel and AchievementManager.<br>
      * Stores the UI, GameModel, AchievementManager and start time.<br>
-     * The start time System.currentTimeMillis() should be stored as a long.<br>
+     * Time is read from the clock of the model's stats tracker, so survival time and the
+     * tracker's elapsed time always agree.<br>
      * Starts the UI using UI.start().<br>
      *
      * @param ui the UI used to draw the Game
@@ -47,17 +98,21 @@ public class GameController {
      */
     public GameController(UI ui, GameModel model, AchievementManager achievementManager) {
         this.ui = ui;
+        this.reuseRenderables = ui instanceof FramePacingUI;
         ui.start();
         this.model = model;
-        this.endTime = System.currentTimeMillis(); // Current time
+        this.clock = model.getStatsTracker().getClock();
+        this.startTime = clock.nanoTime(); // Current time
         this.achievementManager = achievementManager;
+        inputQueue.setNeverCoalesce('F'); // Every shot counts
+        inputQueue.setNeverCoalesce('P'); // Two presses must pause and unpause
     }
 
 
     /**
      * Initializes the game controller with the given UI and GameModel.<br>
      * Stores the ui, model and start time.<br>
-     * The start time System.currentTimeMillis() should be stored as a long.<br>
+     * Time follows the real time clock.<br>
      *
      * @param ui    the UI used to draw the Game
      * @param achievementManager the manager used to maintain achievement information
@@ -73,36 +128,76 @@ public class GameController {
     /**
      * Starts the main game loop.<br>
      * <p>
-     * Passes onTick and handlePlayerInput to ui.onStep and ui.onKey respectively.
+     * Passes onTick and enqueueInput to ui.onStep and ui.onKey respectively.
      * @provided
      */
     public void startGame() {
         ui.onStep(this::onTick);
-        ui.onKey(this::handlePlayerInput);
+        ui.onKey(this::enqueueInput);
     }
 
     /**
      * Uses the provided tick to call and advance the following:<br>
-     * - A call to model.updateGame(tick) to advance the game by the given tick.<br>
-     * - A call to model.checkCollisions() to handle game interactions.<br>
+     * - Tells the clock which tick is starting, so tick-derived clocks keep pace.<br>
+     * - Queues the key chosen by the input source, if one is set.<br>
+     * - Applies any key presses queued since the last tick.<br>
+     * - A call to model.updateAndCheckCollisions(tick) to advance the game by the given tick
+     * and handle game interactions in a single pass.<br>
      * - A call to model.spawnObjects() to handle object creation.<br>
      * - A call to model.levelUp() to check and handle leveling.<br>
+     * - Runs the event bus's tick consumers, if a bus is set, so stats are current.<br>
      * - A call to refreshAchievements(tick) to handle achievement updating.<br>
+     * - Reports the tick's stats and achievements to the session, if one is set.<br>
      * - A call to renderGame() to draw the current state of the game.<br>
+     * - Records the tick's metrics to the telemetry sink, if one is set.<br>
+     * - Times each of the steps above on the monitor, if one is set.<br>
      * @param tick the provided tick
      * @provided
      */
     public void onTick(int tick) {
-        model.updateGame(tick); // Update GameObjects
-        model.checkCollisions(); // Check for Collisions
+        long start = telemetry != null ? System.nanoTime() : 0;
+        if (monitor != null) {
+            monitor.startTick();
+        }
+        clock.onTick(tick);
+        if (inputSource != null && !isPaused) {
+            char key = inputSource.nextKey(model, tick);
+            if (key != 0) {
+                inputQueue.offer(key);
+            }
+        }
+        inputQueue.drain(applyKey); // Apply player input before the simulation moves
+        mark(GameMonitor.INPUT);
+        model.updateAndCheckCollisions(tick); // Update GameObjects and check for Collisions
+        mark(GameMonitor.UPDATE);
         model.spawnObjects(); // Handles new spawns
+        mark(GameMonitor.SPAWN);
         model.levelUp(); // Level up when score threshold is met
+        mark(GameMonitor.LEVEL);
+        if (events != null) {
+            events.drainTickConsumers(); // Apply this tick's events before reading stats
+        }
         refreshAchievements(tick); // Handle achievement updating.
+        if (session != null) {
+            session.update(getStatsTracker(), achievementManager);
+        }
+        mark(GameMonitor.ACHIEVEMENTS);
         renderGame(); // Update Visual
+        mark(GameMonitor.RENDER);
+        if (telemetry != null) {
+            telemetry.record(tick, model, System.nanoTime() - start);
+        }
+        if (monitor != null) {
+            monitor.endTick(model, achievementManager);
+        }
 
         // Check game over
         if (model.checkGameOver()) {
             pauseGame();
+            recordResult();
+            if (telemetry != null) {
+                telemetry.flush();
+            }
             showGameOverWindow();
         }
     }
@@ -117,17 +212,12 @@ public class GameController {
      * - Survival time in seconds<br>
      * - Progress for each achievement, including name, description, completion percentage
      * and current tier<br>
+     * <p>
+     * The text is built immediately so it reflects the final tick, but the window itself is
+     * created later on the Swing event dispatch thread, so the tick never waits on Swing.
      * @provided
      */
     private void showGameOverWindow() {
-
-        // Create a new window to display game over stats.
-        javax.swing.JFrame gameOverFrame = new javax.swing.JFrame("Game Over - Player Stats");
-        gameOverFrame.setSize(400, 300);
-        gameOverFrame.setLocationRelativeTo(null); // center on screen
-        gameOverFrame.setDefaultCloseOperation(javax.swing.JFrame.DISPOSE_ON_CLOSE);
-
-
         StringBuilder sb = new StringBuilder();
         sb.append("Shots Fired: ").append(getStatsTracker().getShotsFired()).append("\n");
         sb.append("Shots Hit: ").append(getStatsTracker().getShotsHit()).append("\n");
@@ -151,6 +241,21 @@ public class GameController {
         }
 
         String statsText = sb.toString();
+        SwingUtilities.invokeLater(() -> createGameOverFrame(statsText));
+    }
+
+    /**
+     * Creates and shows the Game Over window with the given text. Must run on the Swing event
+     * dispatch thread.
+     *
+     * @param statsText the statistics to display.
+     */
+    private static void createGameOverFrame(String statsText) {
+        // Create a new window to display game over stats.
+        javax.swing.JFrame gameOverFrame = new javax.swing.JFrame("Game Over - Player Stats");
+        gameOverFrame.setSize(400, 300);
+        gameOverFrame.setLocationRelativeTo(null); // center on screen
+        gameOverFrame.setDefaultCloseOperation(javax.swing.JFrame.DISPOSE_ON_CLOSE);
 
         // Create a text area to show stats.
         javax.swing.JTextArea statsArea = new javax.swing.JTextArea(statsText);
@@ -165,6 +270,87 @@ public class GameController {
         gameOverFrame.setVisible(true);
     }
 
+    /**
+     * Sets the leaderboard that the result of each finished game is recorded on.
+     *
+     * @param leaderboard the leaderboard to record results on, or null to stop recording.
+     */
+    public void setLeaderboard(Leaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+    }
+
+    /**
+     * Sets the event bus that the model publishes game events to, and subscribes a
+     * StatsConsumer on the tick thread so shots are recorded from the bus.<br>
+     * <p>
+     * Achievements, the session and telemetry do not subscribe to the bus themselves: they
+     * read the stats tracker and the model's counters, which the bus brings up to date before
+     * they run each tick. Further consumers, such as an EventLogger, can be added to the bus
+     * directly, on the tick thread or their own threads. Must be called from the thread running
+     * the game loop.
+     *
+     * @param events the bus to publish to.
+     * @requires events != null
+     */
+    public void setEventBus(EventBus events) {
+        this.events = events;
+        events.addTickConsumer(new StatsConsumer(getStatsTracker()));
+        model.setEventBus(events);
+    }
+
+    /**
+     * Sets the telemetry sink that the metrics of every tick are recorded to.
+     *
+     * @param telemetry the sink to record to, or null to stop recording.
+     */
+    public void setTelemetry(TickTelemetry telemetry) {
+        this.telemetry = telemetry;
+    }
+
+    /**
+     * Sets the monitor that times every tick and publishes live metrics over JMX. Registering
+     * the monitor's MXBeans is left to the caller.
+     *
+     * @param monitor the monitor to record to, or null to stop monitoring.
+     */
+    public void setMonitor(GameMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    /**
+     * Sets the session that reports this game's stats and achievements to a shared
+     * SessionAggregator every tick, and its result when the game ends.
+     *
+     * @param session the session to report to, or null to stop reporting.
+     */
+    public void setSession(Session session) {
+        this.session = session;
+    }
+
+    private void mark(int phase) {
+        if (monitor != null) {
+            monitor.mark(phase);
+        }
+    }
+
+    /**
+     * Records the final score, level, survival time and accuracy on the leaderboard, and
+     * finishes the session, if either is set. Does nothing after the first call, since the
+     * game can be unpaused and reach game over again.
+     */
+    private void recordResult() {
+        if (resultRecorded) {
+            return;
+        }
+        resultRecorded = true;
+        if (leaderboard != null) {
+            leaderboard.record(model.getShip().getScore(), model.getLevel(), getStatsTracker());
+        }
+        if (session != null) {
+            session.finish(model.getShip().getScore(), getStatsTracker(), achievementManager);
+        }
+    }
+
     /**
      * Returns the current GameModel.
      *
@@ -200,7 +386,7 @@ public class GameController {
      * @param tick the current tick count.
      */
     public void refreshAchievements(int tick) {
-        long survivalSeconds = (System.currentTimeMillis() - endTime) / 1000;
+        long survivalSeconds = clock.secondsSince(startTime);
         double survivorProgress = Math.min(1.0, survivalSeconds / 120.0);
 
         int hits = getStatsTracker().getShotsHit();
@@ -210,9 +396,19 @@ public class GameController {
         double accuracy = fired > 0 ? (double) hits / fired : 0.0;
         double sharpShooterProgress = (fired > 10) ? Math.min(1.0, accuracy / 0.99) : 0.0;
 
-        achievementManager.updateAchievement("Survivor", survivorProgress);
-        achievementManager.updateAchievement("Enemy Exterminator", exterminatorProgress);
-        achievementManager.updateAchievement("Sharp Shooter", sharpShooterProgress);
+        if (survivorHandle < 0) {
+            survivorHandle = achievementManager.handleOf("Survivor");
+            exterminatorHandle = achievementManager.handleOf("Enemy Exterminator");
+            sharpShooterHandle = achievementManager.handleOf("Sharp Shooter");
+        }
+        achievementManager.updateAchievement(survivorHandle, survivorProgress);
+        achievementManager.updateAchievement(exterminatorHandle, exterminatorProgress);
+        achievementManager.updateAchievement(sharpShooterHandle, sharpShooterProgress);
+
+        // Progress restored from an earlier session may be ahead of this session's
+        survivorProgress = achievementManager.getProgress(survivorHandle);
+        exterminatorProgress = achievementManager.getProgress(exterminatorHandle);
+        sharpShooterProgress = achievementManager.getProgress(sharpShooterHandle);
 
         ui.setAchievementProgressStat("Survivor", survivorProgress);
         ui.setAchievementProgressStat("Enemy Exterminator", exterminatorProgress);
@@ -227,8 +423,55 @@ public class GameController {
         achievementManager.logAchievementMastered();
     }
 
+    /**
+     * Queues a key press from the UI to be applied at the start of the next tick.<br>
+     * <p>
+     * Safe to call from any thread. While the game runs every key, including the pause key
+     * 'P', is applied by the tick thread. While paused no ticks run, so 'P' unpauses straight
+     * away and other keys are ignored. Keys are dropped if too many arrive before the next
+     * tick.
+     *
+     * @param input the player's input command.
+     * @requires input is a single character
+     */
+    public void enqueueInput(String input) {
+        if (input == null || input.length() != 1) {
+            return;
+        }
+
+        char key = Character.toUpperCase(input.charAt(0));
+        if (!isPaused) {
+            inputQueue.offer(key);
+        } else if (key == 'P') {
+            pauseGame();
+        }
+    }
+
+    /**
+     * Sets a source, such as an Autopilot, that is asked for a key at the start of every
+     * tick. Its keys are queued behind any key presses from the UI.
+     *
+     * @param inputSource the source to poll, or null to stop polling.
+     */
+    public void setInputSource(InputSource inputSource) {
+        this.inputSource = inputSource;
+    }
+
+    /**
+     * Returns the queue holding key presses until the next tick, for example to read its
+     * dropped and coalesced counts.
+     *
+     * @return the input queue.
+     */
+    public InputQueue getInputQueue() {
+        return inputQueue;
+    }
+
     /**
      * Handles player input and performs actions such as moving the ship or firing bullets.
+     * <p>
+     * The input is applied immediately, so this must only be called from the thread running
+     * the game loop. Input from the UI goes through enqueueInput instead.
      *
      * @param input the player's input command.
      * @requires input is a single character
@@ -237,9 +480,29 @@ public class GameController {
         if (input == null || input.length() != 1) {
             return;
         }
+        applyInput(Character.toUpperCase(input.charAt(0)));
+    }
 
-        char key = Character.toUpperCase(input.charAt(0));
+    /**
+     * Applies a key press taken from the input queue. A move out of bounds is logged rather
+     * than thrown, so one bad key cannot abort the tick that is applying it.
+     *
+     * @param key the key pressed.
+     */
+    private void applyQueuedInput(int key) {
+        try {
+            applyInput((char) key);
+        } catch (BoundaryExceededException e) {
+            ui.log(e.getMessage());
+        }
+    }
 
+    /**
+     * Applies a single upper case key press to the game.
+     *
+     * @param key the key pressed.
+     */
+    private void applyInput(char key) {
         // Always allow pause toggle
         if (key == 'P') {
             pauseGame();
@@ -271,8 +534,9 @@ public class GameController {
                 moved = true;
             }
             case 'F' -> {
-                model.fireBullet();
-                getStatsTracker().recordShotFired();
+                if (model.tryFireBullet() && events == null) {
+                    getStatsTracker().recordShotFired(); // Otherwise counted from FIRED events
+                }
             }
             default -> ui.log("Invalid input. Use W, A, S, D, F, or P.");
         }
@@ -287,34 +551,64 @@ public class GameController {
 
     /**
      * Calls ui.pause() to pause the game until the method is called again.
-     * Logs the pause status.
+     * Logs the pause status.<br>
+     * <p>
+     * Synchronized so an unpause from the key thread and a pause from the tick thread, such as
+     * at game over, can never interleave.
      */
-    public void pauseGame() {
+    public synchronized void pauseGame() {
         ui.pause();
         isPaused = !isPaused;
         ui.log(isPaused ? "Game paused." : "Game unpaused.");
     }
 
     /**
-     * Renders the current game state, including score, health, level, and survival time.
+     * Renders the current game state, including score, health, level, and survival time.<br>
+     * <p>
+     * Each frame is passed to ui.render in a new list that the UI may keep, except that a
+     * FramePacingUI copies what it needs before render returns, so it is passed the same list
+     * every frame and rendering allocates nothing. Stats are only passed to ui.setStat when
+     * their value changes.
      */
     public void renderGame() {
         int score = model.getShip().getScore();
         int health = model.getShip().getHealth();
         int level = model.getLevel();
-        long seconds = (System.currentTimeMillis() - endTime) / 1000;
+        long seconds = clock.secondsSince(startTime);
 
-        ui.setStat("Score", String.valueOf(score));
-        ui.setStat("Health", String.valueOf(health));
-        ui.setStat("Level", String.valueOf(level));
-        ui.setStat("Time Survived", seconds + " seconds");
+        // Only rebuild the HUD strings that changed, so a quiet tick allocates nothing
+        if (score != shownScore) {
+            ui.setStat("Score", String.valueOf(score));
+            shownScore = score;
+        }
+        if (health != shownHealth) {
+            ui.setStat("Health", String.valueOf(health));
+            shownHealth = health;
+        }
+        if (level != shownLevel) {
+            ui.setStat("Level", String.valueOf(level));
+            shownLevel = level;
+        }
+        if (seconds != shownSeconds) {
+            ui.setStat("Time Survived", seconds + " seconds");
+            shownSeconds = seconds;
+        }
 
         // Combine space objects and the ship into one list
-        List<SpaceObject> renderables = new ArrayList<>(model.getSpaceObjects());
-        renderables.add(model.getShip());
+        List<SpaceObject> objects = model.getSpaceObjects();
+        List<SpaceObject> frame = renderables;
+        if (reuseRenderables) {
+            frame.clear();
+        } else {
+            frame = new ArrayList<>(objects.size() + 1);
+        }
+        for (int i = 0; i < objects.size(); i++) {
+            frame.add(objects.get(i));
+        }
+        frame.add(model.getShip());
 
         // Pass the combined list to the UI
-        ui.render(renderables);
+        ui.render(frame);
     }
 
 }
@@ -5,13 +5,23 @@ import game.achievements.PlayerStatsTracker;
 import game.core.*;
 import game.utility.Logger;
 import game.core.SpaceObject;
+import game.events.EventBus;
+import game.events.EventType;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
 
 /**
- * Represents the game information and state. Stores and manipulates the game state.
+ * Represents the game information and state. Stores and manipulates the game state.<br>
+ * <p>
+ * A model can be forked in constant time. The fork shares the object list and the objects with
+ * the model it came from, and whichever model changes shared state first copies it: the list
+ * when objects are added or removed, and each object when objects move. The fork gets its own
+ * copy of the ship straight away, so the model it came from keeps its ship and any reference
+ * to it stays current. Either model can then be changed without affecting the other.<br>
+ * <p>
+ * When an EventBus is set, the model publishes spawns, expiries, collisions, shots and level
+ * ups to it, and leaves recording hits on the stats tracker to a StatsConsumer.
  */
 public class GameModel {
     public static final int GAME_HEIGHT = 20;
@@ -25,14 +35,36 @@ public class GameModel {
     public static final double ENEMY_SPAWN_RATE = 0.5; // Percentage of asteroid spawn chance
     public static final double POWER_UP_SPAWN_RATE = 0.25; // Percentage of asteroid spawn chance
 
-    private final Random random = new Random(); // ONLY USED IN this.spawnObjects()
-    private final List<SpaceObject> spaceObjects; // List of all objects
+    private static final EntityType[] ENTITY_TYPES = EntityType.values();
+
+    private final ForkableRandom random; // ONLY USED IN this.spawnObjects()
+    private final EntityBuckets entities; // All objects, bucketed by kind
     private final PlayerStatsTracker statsTracker; //add statstracker to fulfill javadocs2
+    private final GameSettings settings; // Difficulty parameters, DEFAULT unless given
     private boolean verbose = false; //controls whether to log game events
     private Ship boat; // Core.Ship starts at (5, 10) with 100 health
     private int lvl; // The current game level
     private int spawnRate; // The current game spawn rate
     private Logger wrter; // The Logger reference used for logging.
+    private long spawnCount; // Total objects added by spawnObjects
+    private long collisionCount; // Total objects that collided with the ship
+    private EventBus events; // Receives game events, may be null
+    private int currentTick; // The tick being processed, for event timestamps
+    private EntityBudget budget = EntityBudget.UNLIMITED; // Caps on live objects
+    private long[] evicted; // Objects evicted per EntityType, created with the first budget
+    private long[] refused; // Objects refused per EntityType, created with the first budget
+
+    // Scratch state for the sweeps, reused between ticks and created on first use so that forks
+    // stay cheap.
+    private boolean[] removed; // Objects of the bucket being swept to drop when compacting
+    private boolean[] enemyRemoved; // Enemies to drop, kept until bullets have been matched
+    private int[] cellEnemy; // First enemy per cell, as an index into the enemy bucket
+    private int[] cellStamp; // Pass that set cellEnemy
+    private int pass; // Incremented each sweep so cells never need clearing
+    private boolean enemiesOffGrid; // Whether any enemy in this sweep is outside the board
+    private SpaceObject[] shipHits = new SpaceObject[4]; // Objects hitting the ship this sweep
+    private long[] shipHitSeqs = new long[4]; // Their sequence numbers, to restore list order
+    private int shipHitCount;
 
     /**
      * Models a game, storing and modifying data relevant to the game.<br>
@@ -49,16 +81,77 @@ public class GameModel {
      * @param logger a functional interface for passing information between classes.
      */
     public GameModel(Logger logger, PlayerStatsTracker statsTracker) {
-        spaceObjects = new ArrayList<>();
+        this(logger, statsTracker, GameSettings.DEFAULT);
+    }
+
+    /**
+     * Models a game played with the given difficulty settings instead of the default
+     * constants.
+     *
+     * @param logger a functional interface for passing information between classes.
+     * @param statsTracker the tracker recording the player's shots.
+     * @param settings the difficulty parameters to play with.
+     * @requires settings != null
+     */
+    public GameModel(Logger logger, PlayerStatsTracker statsTracker, GameSettings settings) {
+        entities = new EntityBuckets();
+        entities.setAdmission(this::admit);
         lvl = START_LEVEL;
-        spawnRate = START_SPAWN_RATE;
+        spawnRate = settings.getStartSpawnRate();
         boat = new Ship();
+        random = new ForkableRandom();
         this.wrter = logger;
         this.statsTracker = statsTracker;
+        this.settings = settings;
+    }
+
+    /**
+     * Creates a fork of the given model, sharing its state until either model changes it.
+     */
+    private GameModel(GameModel source) {
+        entities = source.entities.fork();
+        entities.setAdmission(this::admit);
+        boat = (Ship) source.boat.copy(); // One small object, so copied now rather than shared
+        random = source.random.fork();
+        statsTracker = source.statsTracker.copy();
+        settings = source.settings;
+        wrter = source.wrter;
+        verbose = source.verbose;
+        lvl = source.lvl;
+        spawnRate = source.spawnRate;
+        spawnCount = source.spawnCount;
+        collisionCount = source.collisionCount;
+        currentTick = source.currentTick;
+        budget = source.budget;
+        if (source.evicted != null) {
+            evicted = source.evicted.clone();
+            refused = source.refused.clone();
+        }
     }
 
     /**
-     * Returns the ship instance in the game.
+     * Returns an independent copy of this game that continues from the current state.<br>
+     * <p>
+     * Forking takes constant time: the copy shares the objects and list with this model and
+     * each side copies shared state the first time it changes it. The ship is copied for the
+     * fork, so this model's ship, and any reference already taken to it, is left in place. The random number
+     * generator and stats tracker are copied, so the fork spawns exactly what this model would.
+     * The fork logs to the same logger.<br>
+     * <p>
+     * After a fork this model also copies state on its next change. To explore many lines of
+     * play from one state, fork once and then fork that copy repeatedly without changing it.
+     *
+     * @return a new model with the same state as this one.
+     */
+    public GameModel fork() {
+        return new GameModel(this);
+    }
+
+    /**
+     * Returns the ship instance in the game.<br>
+     * <p>
+     * The instance is never shared with a fork and never replaced, so a reference to it stays
+     * current for the life of this model.
      *
      * @return the current ship instance.
      */
@@ -67,12 +160,68 @@ public class GameModel {
     }
 
     /**
-     * Returns a list of all SpaceObjects in the game.
+     * Returns a list of all SpaceObjects in the game.<br>
+     * <p>
+     * The list and its objects may be changed by the caller, so any that are shared with a
+     * fork are copied first. Objects added to the list are subject to the entity budget just
+     * as with addObject, and add returns false if one is refused. Replacing an object with set
+     * is not checked against the budget.
      *
      * @return a list of all spaceObjects.
      */
     public List<SpaceObject> getSpaceObjects() {
-        return spaceObjects;
+        entities.ownAll();
+        return entities.view();
+    }
+
+    /**
+     * Returns an unmodifiable list of all SpaceObjects in the game, in the same order as
+     * getSpaceObjects().<br>
+     * <p>
+     * Unlike getSpaceObjects, this never copies objects shared with a fork, so the objects
+     * must only be read. The list is a view and reflects later changes to the game.
+     *
+     * @return a read-only list of all spaceObjects.
+     */
+    public List<SpaceObject> readSpaceObjects() {
+        return entities.readOnlyView();
+    }
+
+    /**
+     * Returns the id of the space object at the given index of getSpaceObjects().<br>
+     * <p>
+     * An object keeps its id for as long as it is in the game, including when a fork copies
+     * it, and the id is never given to another object of this game. Ids are not negative.
+     *
+     * @param index the index of the object in getSpaceObjects().
+     * @return the object's id.
+     * @throws IndexOutOfBoundsException if there is no object at the given index.
+     */
+    public int getEntityId(int index) {
+        if (index < 0 || index >= entities.size()) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        return entities.idAt(index);
+    }
+
+    /**
+     * Returns the number of space objects of the given type. Bullets, asteroids and enemies
+     * are counted in constant time.
+     *
+     * @param type the type of object to count.
+     * @return the number of objects of that type in the game.
+     */
+    public int getObjectCount(EntityType type) {
+        return entities.count(type);
+    }
+
+    /**
+     * Returns the current spawn rate.
+     *
+     * @return the asteroid spawn chance per tick, as a percentage.
+     */
+    public int getSpawnRate() {
+        return spawnRate;
     }
 
     /**
@@ -84,16 +233,128 @@ public class GameModel {
         return lvl;
     }
 
+    /**
+     * Returns the difficulty settings this game is played with.
+     *
+     * @return the game settings.
+     */
+    public GameSettings getSettings() {
+        return settings;
+    }
+
     /**
      * Adds a SpaceObject to the game.<br>
      * <p>
      * Objects are considered part of the game only when they are tracked by the model.<br>
+     * If the entity budget is full, older objects may be evicted to make room, or the object
+     * may be refused and not added.
      *
      * @param object the SpaceObject to be added to the game.
      * @requires object != null.
      */
     public void addObject(SpaceObject object) {
-        this.spaceObjects.add(object);
+        if (admit(object)) {
+            entities.add(object);
+        }
+    }
+
+    /**
+     * Sets the caps on live objects. Objects already in the game are kept even if they exceed
+     * the new budget; the budget is applied as objects are added.
+     *
+     * @param budget the budget to enforce, or EntityBudget.UNLIMITED to remove all caps.
+     * @requires budget != null
+     */
+    public void setEntityBudget(EntityBudget budget) {
+        this.budget = budget;
+        if (evicted == null) {
+            evicted = new long[ENTITY_TYPES.length];
+            refused = new long[ENTITY_TYPES.length];
+        }
+    }
+
+    /**
+     * Returns the caps on live objects.
+     *
+     * @return the entity budget, EntityBudget.UNLIMITED unless one was set.
+     */
+    public EntityBudget getEntityBudget() {
+        return budget;
+    }
+
+    /**
+     * Returns the number of objects of the given type evicted to stay within the budget.
+     *
+     * @param type the type to count.
+     * @return the eviction count.
+     */
+    public long getEvictedCount(EntityType type) {
+        return evicted == null ? 0 : evicted[type.ordinal()];
+    }
+
+    /**
+     * Returns the number of objects of the given type refused to stay within the budget.
+     *
+     * @param type the type to count.
+     * @return the refusal count.
+     */
+    public long getRefusedCount(EntityType type) {
+        return refused == null ? 0 : refused[type.ordinal()];
+    }
+
+    /**
+     * Makes room for the given object within the entity budget, evicting older objects where
+     * the budget allows, and returns whether the object may be added.
+     */
+    private boolean admit(SpaceObject object) {
+        if (budget == EntityBudget.UNLIMITED) {
+            return true;
+        }
+        EntityType type = EntityType.of(object);
+        int cap = budget.getCap(type);
+        if (cap != Integer.MAX_VALUE && entities.count(type) >= cap) {
+            if (budget.getPolicy(type) == EntityBudget.Policy.REFUSE || !evictOldest(type)) {
+                refused[type.ordinal()]++;
+                return false;
+            }
+        }
+        if (entities.size() >= budget.getTotalCap()) {
+            EntityType victim = lowestPriorityBelow(budget.getPriority(type));
+            if (victim != null) {
+                evictOldest(victim);
+            } else if (budget.getPolicy(type) == EntityBudget.Policy.REFUSE
+                    || !evictOldest(type)) {
+                refused[type.ordinal()]++;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the lowest priority type in the game with a priority below the given one.
+     */
+    private EntityType lowestPriorityBelow(int priority) {
+        EntityType lowest = null;
+        for (EntityType type : ENTITY_TYPES) {
+            int typePriority = budget.getPriority(type);
+            if (typePriority < priority
+                    && (lowest == null || typePriority < budget.getPriority(lowest))
+                    && entities.count(type) > 0) {
+                lowest = type;
+            }
+        }
+        return lowest;
+    }
+
+    private boolean evictOldest(EntityType type) {
+        SpaceObject oldest = entities.removeOldest(type);
+        if (oldest == null) {
+            return false;
+        }
+        evicted[type.ordinal()]++;
+        publish(EventType.EVICTED, oldest, 0);
+        return true;
     }
 
     /**
@@ -105,14 +366,7 @@ public class GameModel {
      * @param tick the tick value passed through to the objects tick() method.
      */
     public void updateGame(int tick) {
-        List<SpaceObject> toRemove = new ArrayList<>();
-        for (SpaceObject obj : spaceObjects) {
-            obj.tick(tick); // Move objects downward
-            if (obj.getY() > GAME_HEIGHT) { // Remove objects that move off-screen
-                toRemove.add(obj);
-            }
-        }
-        spaceObjects.removeAll(toRemove);
+        sweep(tick, true, false);
     }
 
     /**
@@ -140,33 +394,41 @@ public class GameModel {
             int x = random.nextInt(GAME_WIDTH); // Random x-coordinate
             int y = 0; // Spawn at the top of the screen
             if (!isCollidingWithShip(x, y)) {
-                spaceObjects.add(new Asteroid(x, y));
+                spawn(new Asteroid(x, y));
             }
         }
 
         // Spawn enemies with a lower chance
         // Half the rate of asteroids
-        if (random.nextInt(100) < spawnRate * ENEMY_SPAWN_RATE) {
+        if (random.nextInt(100) < spawnRate * settings.getEnemySpawnRate()) {
             int x = random.nextInt(GAME_WIDTH);
             int y = 0;
             if (!isCollidingWithShip(x, y)) {
-                spaceObjects.add(new Enemy(x, y));
+                spawn(new Enemy(x, y));
             }
         }
 
         // Spawn power-ups with an even lower chance
         // One-fourth the spawn rate of asteroids
-        if (random.nextInt(100) < spawnRate * POWER_UP_SPAWN_RATE) {
+        if (random.nextInt(100) < spawnRate * settings.getPowerUpSpawnRate()) {
             int x = random.nextInt(GAME_WIDTH);
             int y = 0;
             PowerUp powerUp = random.nextBoolean() ? new ShieldPowerUp(x, y) :
                     new HealthPowerUp(x, y);
             if (!isCollidingWithShip(x, y)) {
-                spaceObjects.add(powerUp);
+                spawn(powerUp);
             }
         }
     }
 
+    private void spawn(SpaceObject object) {
+        if (admit(object)) {
+            entities.add(object);
+            spawnCount++;
+            publish(EventType.SPAWNED, object, 0);
+        }
+    }
+
     /**
      * Checks if a given position would collide with the ship.
      *
@@ -189,11 +451,12 @@ public class GameModel {
      * @hint score is not stored in the GameModel.
      */
     public void levelUp() {
-        if (boat.getScore() < lvl * SCORE_THRESHOLD) {
+        if (boat.getScore() < lvl * settings.getScoreThreshold()) {
             return;
         }
         lvl++;
-        spawnRate += SPAWN_RATE_INCREASE;
+        spawnRate += settings.getSpawnRateIncrease();
+        publish(EventType.LEVELED, EntityType.SHIP, boat.getX(), boat.getY(), lvl);
         if (verbose) {
             wrter.log("Level Up! Welcome to Level " + lvl + ". Spawn rate increased to "
                     + spawnRate + "%.");
@@ -205,14 +468,31 @@ public class GameModel {
      * <p>
      * Creates a new bullet at the coordinates the ship occupies.<br>
      * Logs "Core.Bullet fired!"<br>
+     * No bullet is fired if the entity budget refuses it.
      */
     public void fireBullet() {
+        tryFireBullet();
+    }
+
+    /**
+     * Fires a bullet from the ship's current position as fireBullet does, and reports whether
+     * the entity budget admitted it.
+     *
+     * @return true if the bullet was fired, false if the entity budget refused it.
+     */
+    public boolean tryFireBullet() {
         int bulletX = boat.getX();
         int bulletY = boat.getY(); // Core.Bullet starts just above the ship
-        spaceObjects.add(new Bullet(bulletX, bulletY));
+        Bullet bullet = new Bullet(bulletX, bulletY);
+        if (!admit(bullet)) {
+            return false;
+        }
+        entities.add(bullet);
+        publish(EventType.FIRED, EntityType.BULLET, bulletX, bulletY, 0);
         if (verbose) {
             wrter.log("Core.Bullet fired!");
         }
+        return true;
     }
 
     /**
@@ -232,70 +512,286 @@ public class GameModel {
      * If a bullet collides with an enemy, remove both the enemy and the bullet. No logging required.<br>
      */
     public void checkCollisions() {
-        List<SpaceObject> toRemove = new ArrayList<>();
-        for (SpaceObject obj : spaceObjects) {
-            // Skip checking Ships (No ships should be in this list)
-            if (obj instanceof Ship) {
-                continue;
+        sweep(currentTick, false, true);
+    }
+
+    /**
+     * Applies the effect of a non-bullet object colliding with the ship, and logs it.
+     *
+     * @param obj the object colliding with the ship.
+     */
+    private void handleShipCollision(SpaceObject obj) {
+        collisionCount++;
+        if (events != null) {
+            int damage = switch (obj) {
+                case Asteroid asteroid -> settings.getAsteroidDamage();
+                case Enemy enemy -> settings.getEnemyDamage();
+                default -> 0;
+            };
+            publish(EventType.COLLIDED, EntityType.of(obj), obj.getX(), obj.getY(), damage);
+        }
+        switch (obj) {
+            case PowerUp powerUp -> {
+                powerUp.applyEffect(boat);
+                if (verbose) {
+                    wrter.log("Power-up collected: " + obj.render());
+                }
             }
-            // Check Ship collision (except Bullets)
-            if (isCollidingWithShip(obj.getX(), obj.getY()) && !(obj instanceof Bullet)) {
-                // Handle collision effects
-                switch (obj) {
-                    case PowerUp powerUp -> {
-                        powerUp.applyEffect(boat);
-                        if (verbose) {
-                            wrter.log("Power-up collected: " + obj.render());
-                        }
-                    }
-                    case Asteroid asteroid -> {
-                        boat.takeDamage(ASTEROID_DAMAGE);
-                        if (verbose) {
-                            wrter.log("Hit by asteroid! Health reduced by "
-                                    + ASTEROID_DAMAGE + ".");
-                        }
-                    }
-                    case Enemy enemy -> {
-                        boat.takeDamage(ENEMY_DAMAGE);
-                        if (verbose) {
-                            wrter.log("Hit by enemy! Health reduced by "
-                                    + ENEMY_DAMAGE + ".");
-                        }
-                    }
-                    default -> {
-                    }
+            case Asteroid asteroid -> {
+                boat.takeDamage(settings.getAsteroidDamage());
+                if (verbose) {
+                    wrter.log("Hit by asteroid! Health reduced by "
+                            + settings.getAsteroidDamage() + ".");
                 }
+            }
+            case Enemy enemy -> {
+                boat.takeDamage(settings.getEnemyDamage());
                 if (verbose) {
-                    wrter.log("Collision with: " + obj);
+                    wrter.log("Hit by enemy! Health reduced by "
+                            + settings.getEnemyDamage() + ".");
                 }
-                toRemove.add(obj);
-                continue;
+            }
+            default -> {
             }
         }
+        if (verbose) {
+            wrter.log("Collision with: " + obj);
+        }
+    }
 
-        for (SpaceObject obj : spaceObjects) {
-            // Check only Bullets
-            if (!(obj instanceof Bullet)) {
-                continue;
+    /**
+     * Advances the game by one tick and handles collisions in a single pass over the objects.
+     * <p>
+     * Has the same observable effect as calling updateGame(tick) followed by checkCollisions():
+     * objects are moved, objects beyond GAME_HEIGHT are dropped, ship collisions are applied
+     * and logged in list order, and each bullet then removes the first enemy in list order that
+     * shares its cell.<br>
+     * Each kind of object is swept in its own loop over its bucket, enemies before bullets.
+     * Live enemies are recorded in a grid of board cells while they move, and every bucket is
+     * compacted in place once swept.
+     *
+     * @param tick the tick value passed through to the objects tick() method.
+     */
+    public void updateAndCheckCollisions(int tick) {
+        sweep(tick, true, true);
+    }
+
+    /**
+     * Moves and/or collides every object, one bucket at a time.
+     *
+     * @param tick the tick value passed through to the objects tick() method.
+     * @param move whether to move objects and drop those beyond GAME_HEIGHT.
+     * @param collide whether to handle ship and bullet collisions.
+     */
+    private void sweep(int tick, boolean move, boolean collide) {
+        if (cellEnemy == null) {
+            cellEnemy = new int[GAME_WIDTH * (GAME_HEIGHT + 1)];
+            cellStamp = new int[GAME_WIDTH * (GAME_HEIGHT + 1)];
+            removed = new boolean[64];
+            enemyRemoved = new boolean[64];
+        }
+        currentTick = tick;
+        pass++;
+        enemiesOffGrid = false;
+        shipHitCount = 0;
+
+        sweepBucket(EntityBuckets.ASTEROIDS, tick, move, collide, removed);
+        sweepBucket(EntityBuckets.HEALTH_POWER_UPS, tick, move, collide, removed);
+        sweepBucket(EntityBuckets.SHIELD_POWER_UPS, tick, move, collide, removed);
+        sweepBucket(EntityBuckets.SHIPS, tick, move, collide, removed);
+        sweepBucket(EntityBuckets.OTHERS, tick, move, collide, removed);
+        // Enemies stay in their bucket until bullets have been matched against them
+        enemyRemoved = sweepBucket(EntityBuckets.ENEMIES, tick, move, collide, enemyRemoved);
+        sweepBucket(EntityBuckets.BULLETS, tick, move, collide, removed);
+        entities.read(EntityBuckets.ENEMIES).compact(enemyRemoved);
+        entities.structureChanged();
+
+        // Ship collisions were found bucket by bucket, so apply them in list order
+        for (int i = 1; i < shipHitCount; i++) {
+            SpaceObject hit = shipHits[i];
+            long seq = shipHitSeqs[i];
+            int j = i - 1;
+            while (j >= 0 && shipHitSeqs[j] > seq) {
+                shipHits[j + 1] = shipHits[j];
+                shipHitSeqs[j + 1] = shipHitSeqs[j];
+                j--;
             }
-            // Check Bullet collision
-            for (SpaceObject other : spaceObjects) {
-                // Check only Enemies
-                if (!(other instanceof Enemy)) {
+            shipHits[j + 1] = hit;
+            shipHitSeqs[j + 1] = seq;
+        }
+        for (int i = 0; i < shipHitCount; i++) {
+            handleShipCollision(shipHits[i]);
+            shipHits[i] = null;
+        }
+    }
+
+    /**
+     * Sweeps one bucket. Each kind of object is moved through its own call site, so the JIT
+     * sees a single receiver type at each. Every bucket except the enemies is compacted
+     * before returning.
+     *
+     * @return the flags array, grown if needed, with the objects to drop marked.
+     */
+    private boolean[] sweepBucket(int kind, int tick, boolean move, boolean collide,
+                                  boolean[] flags) {
+        EntityBuckets.Bucket bucket = entities.write(kind);
+        int size = bucket.size;
+        if (size == 0) {
+            return flags;
+        }
+        if (flags.length < size) {
+            flags = new boolean[Math.max(size, flags.length * 2)];
+        }
+        boolean copy = move && entities.takeSharedObjects(kind); // Copied as they are moved
+        SpaceObject[] items = bucket.items;
+
+        for (int i = 0; i < size; i++) {
+            SpaceObject obj = items[i];
+            if (copy) {
+                obj = EntityBuckets.copyOf(obj);
+                items[i] = obj;
+            }
+            flags[i] = false;
+            if (move) {
+                switch (kind) {
+                    case EntityBuckets.BULLETS -> ((Bullet) obj).tick(tick);
+                    case EntityBuckets.ASTEROIDS, EntityBuckets.ENEMIES ->
+                            ((DescendingEnemy) obj).tick(tick);
+                    case EntityBuckets.HEALTH_POWER_UPS -> ((HealthPowerUp) obj).tick(tick);
+                    case EntityBuckets.SHIELD_POWER_UPS -> ((ShieldPowerUp) obj).tick(tick);
+                    default -> obj.tick(tick);
+                }
+                if (obj.getY() > GAME_HEIGHT) { // Off-screen, as in updateGame
+                    flags[i] = true;
+                    publish(EventType.EXPIRED, obj, 0);
                     continue;
                 }
-                if ((obj.getX() == other.getX()) && (obj.getY() == other.getY())) {
-                    toRemove.add(obj);  // Remove bullet
-                    toRemove.add(other); // Remove enemy
-                    statsTracker.recordShotHit(); //Track the successful hit (Changes)
-                    break;
+            }
+            if (!collide || obj instanceof Ship) {
+                continue;
+            }
+            if (kind == EntityBuckets.BULLETS) {
+                int enemyIndex = findEnemyAt(obj.getX(), obj.getY(), move);
+                if (enemyIndex >= 0) {
+                    flags[i] = true;
+                    enemyRemoved[enemyIndex] = true;
+                    recordShotHit(obj);
+                }
+                continue;
+            }
+            if (isCollidingWithShip(obj.getX(), obj.getY())) {
+                addShipHit(obj, bucket.seqs[i]);
+                flags[i] = true;
+            }
+            // Enemies hit by the ship can still be matched by a bullet, as in checkCollisions
+            if (kind == EntityBuckets.ENEMIES) {
+                int cell = cellOf(obj.getX(), obj.getY());
+                if (cell < 0) {
+                    enemiesOffGrid = true;
+                } else if (cellStamp[cell] != pass) {
+                    cellStamp[cell] = pass;
+                    cellEnemy[cell] = i;
                 }
             }
         }
+        if (kind != EntityBuckets.ENEMIES) {
+            bucket.compact(flags);
+        }
+        return flags;
+    }
+
+    private void addShipHit(SpaceObject obj, long seq) {
+        if (shipHitCount == shipHits.length) {
+            shipHits = Arrays.copyOf(shipHits, shipHitCount * 2);
+            shipHitSeqs = Arrays.copyOf(shipHitSeqs, shipHitCount * 2);
+        }
+        shipHits[shipHitCount] = obj;
+        shipHitSeqs[shipHitCount] = seq;
+        shipHitCount++;
+    }
+
+    /**
+     * Returns the grid cell index for the given position.
+     *
+     * @return the cell index, or -1 if the position is outside the board.
+     */
+    private static int cellOf(int x, int y) {
+        if (x < 0 || x >= GAME_WIDTH || y < 0 || y > GAME_HEIGHT) {
+            return -1;
+        }
+        return y * GAME_WIDTH + x;
+    }
+
+    /**
+     * Returns the index in the enemy bucket of the first enemy at the given position in the
+     * current sweep, or -1 if there is none.
+     *
+     * @param moved whether enemies beyond GAME_HEIGHT were dropped by this sweep.
+     */
+    private int findEnemyAt(int x, int y, boolean moved) {
+        int cell = cellOf(x, y);
+        if (cell >= 0) {
+            return cellStamp[cell] == pass ? cellEnemy[cell] : -1;
+        }
+        if (!enemiesOffGrid) {
+            return -1;
+        }
+        // Only reachable when enemies were added outside the board
+        EntityBuckets.Bucket enemies = entities.read(EntityBuckets.ENEMIES);
+        for (int i = 0; i < enemies.size; i++) {
+            SpaceObject other = enemies.items[i];
+            if ((!moved || other.getY() <= GAME_HEIGHT)
+                    && other.getX() == x && other.getY() == y) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Records a bullet hitting an enemy, through the event bus if one is set.
+     */
+    private void recordShotHit(SpaceObject bullet) {
+        if (events != null) {
+            publish(EventType.SHOT_HIT, EntityType.ENEMY, bullet.getX(), bullet.getY(), 0);
+        } else {
+            statsTracker.recordShotHit();
+        }
+    }
+
+    private void publish(EventType type, SpaceObject obj, int value) {
+        if (events != null) {
+            events.publish(type, currentTick, EntityType.of(obj), obj.getX(), obj.getY(), value);
+        }
+    }
 
-        spaceObjects.removeAll(toRemove); // Remove all collided objects
+    private void publish(EventType type, EntityType entityType, int x, int y, int value) {
+        if (events != null) {
+            events.publish(type, currentTick, entityType, x, y, value);
+        }
     }
-    
+
+    /**
+     * Sets the event bus that game events are published to. While a bus is set, hits are
+     * recorded on the stats tracker only by a consumer of the bus, such as a StatsConsumer.<br>
+     * <p>
+     * Forks never publish to the bus of the model they came from.
+     *
+     * @param events the bus to publish to, or null to stop publishing.
+     */
+    public void setEventBus(EventBus events) {
+        this.events = events;
+    }
+
+    /**
+     * Returns the event bus that game events are published to.
+     *
+     * @return the event bus, or null if none is set.
+     */
+    public EventBus getEventBus() {
+        return events;
+    }
+
     /**
      * Sets the verbose flag.
      * @param verbose whether verbose logging should be enabled
@@ -304,6 +800,25 @@ public class GameModel {
         this.verbose = verbose;
     }
 
+    /**
+     * Returns the total number of objects spawned by spawnObjects since the game began.
+     *
+     * @return the spawn count.
+     */
+    public long getSpawnCount() {
+        return spawnCount;
+    }
+
+    /**
+     * Returns the total number of objects that have collided with the ship since the game
+     * began.
+     *
+     * @return the ship collision count.
+     */
+    public long getCollisionCount() {
+        return collisionCount;
+    }
+
     /**
      * Returns the stats tracker.
      * @return the current PlayerStatsTracker instance
@@ -0,0 +1,137 @@
+package game;
+
+/**
+ * The difficulty parameters of a game: how quickly objects spawn, how levels progress and how
+ * much damage hazards deal.<br>
+ * <p>
+ * Settings are immutable. DEFAULT holds the values of the matching GameModel constants, which
+ * a model uses unless given other settings.
+ */
+public final class GameSettings {
+    /** The settings matching the GameModel constants. */
+    public static final GameSettings DEFAULT = new GameSettings(GameModel.START_SPAWN_RATE,
+            GameModel.SPAWN_RATE_INCREASE, GameModel.SCORE_THRESHOLD,
+            GameModel.ENEMY_SPAWN_RATE, GameModel.POWER_UP_SPAWN_RATE,
+            GameModel.ASTEROID_DAMAGE, GameModel.ENEMY_DAMAGE);
+
+    private final int startSpawnRate;
+    private final int spawnRateIncrease;
+    private final int scoreThreshold;
+    private final double enemySpawnRate;
+    private final double powerUpSpawnRate;
+    private final int asteroidDamage;
+    private final int enemyDamage;
+
+    /**
+     * Creates a set of difficulty parameters.
+     *
+     * @param startSpawnRate the asteroid spawn chance per tick at the first level, as a
+     *                       percentage.
+     * @param spawnRateIncrease the amount the spawn rate grows by each level.
+     * @param scoreThreshold the score needed per level to level up.
+     * @param enemySpawnRate the enemy spawn chance as a fraction of the asteroid spawn chance.
+     * @param powerUpSpawnRate the power-up spawn chance as a fraction of the asteroid spawn
+     *                         chance.
+     * @param asteroidDamage the damage dealt by an asteroid hitting the ship.
+     * @param enemyDamage the damage dealt by an enemy hitting the ship.
+     * @throws IllegalArgumentException if any value is negative, or scoreThreshold is not
+     *                                  positive.
+     */
+    public GameSettings(int startSpawnRate, int spawnRateIncrease, int scoreThreshold,
+                        double enemySpawnRate, double powerUpSpawnRate, int asteroidDamage,
+                        int enemyDamage) {
+        if (startSpawnRate < 0 || spawnRateIncrease < 0 || enemySpawnRate < 0
+                || powerUpSpawnRate < 0 || asteroidDamage < 0 || enemyDamage < 0) {
+            throw new IllegalArgumentException("Difficulty settings must not be negative.");
+        }
+        if (scoreThreshold <= 0) {
+            throw new IllegalArgumentException("Score threshold must be positive.");
+        }
+        this.startSpawnRate = startSpawnRate;
+        this.spawnRateIncrease = spawnRateIncrease;
+        this.scoreThreshold = scoreThreshold;
+        this.enemySpawnRate = enemySpawnRate;
+        this.powerUpSpawnRate = powerUpSpawnRate;
+        this.asteroidDamage = asteroidDamage;
+        this.enemyDamage = enemyDamage;
+    }
+
+    /**
+     * Returns the asteroid spawn chance per tick at the first level.
+     *
+     * @return the starting spawn rate, as a percentage.
+     */
+    public int getStartSpawnRate() {
+        return startSpawnRate;
+    }
+
+    /**
+     * Returns the amount the spawn rate grows by each level.
+     *
+     * @return the spawn rate increase, in percentage points.
+     */
+    public int getSpawnRateIncrease() {
+        return spawnRateIncrease;
+    }
+
+    /**
+     * Returns the score needed per level to level up.
+     *
+     * @return the score threshold.
+     */
+    public int getScoreThreshold() {
+        return scoreThreshold;
+    }
+
+    /**
+     * Returns the enemy spawn chance as a fraction of the asteroid spawn chance.
+     *
+     * @return the enemy spawn rate.
+     */
+    public double getEnemySpawnRate() {
+        return enemySpawnRate;
+    }
+
+    /**
+     * Returns the power-up spawn chance as a fraction of the asteroid spawn chance.
+     *
+     * @return the power-up spawn rate.
+     */
+    public double getPowerUpSpawnRate() {
+        return powerUpSpawnRate;
+    }
+
+    /**
+     * Returns the damage dealt by an asteroid hitting the ship.
+     *
+     * @return the asteroid damage.
+     */
+    public int getAsteroidDamage() {
+        return asteroidDamage;
+    }
+
+    /**
+     * Returns the damage dealt by an enemy hitting the ship.
+     *
+     * @return the enemy damage.
+     */
+    public int getEnemyDamage() {
+        return enemyDamage;
+    }
+
+    /**
+     * Returns the settings as name=value pairs separated by spaces.
+     *
+     * @return a description of these settings.
+     */
+    @Override
+    public String toString() {
+        return "startSpawnRate=" + startSpawnRate
+                + " spawnRateIncrease=" + spawnRateIncrease
+                + " scoreThreshold=" + scoreThreshold
+                + " enemySpawnRate=" + enemySpawnRate
+                + " powerUpSpawnRate=" + powerUpSpawnRate
+                + " asteroidDamage=" + asteroidDamage
+                + " enemyDamage=" + enemyDamage;
+    }
+}
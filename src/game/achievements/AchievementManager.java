@@ -10,12 +10,47 @@ import java.util.*;
  * - Update achievement progress.
  * - Check for Mastered achievements and log them using AchievementFile.
  * - Provide access to the current list of achievements.
+ * <p>
+ * Each registered achievement is given a compact integer handle. Updating progress through a
+ * handle is a plain array access, and only achievements whose tier changed since the last
+ * call to logAchievementMastered are examined by it. Progress must be changed through this
+ * manager rather than on the Achievement directly for tier changes to be noticed.
+ * <p>
+ * If an AchievementStore is given, achievements are restored from it when registered, and
+ * every change in progress is written back to it by logAchievementMastered. Restored progress
+ * is a floor: progress measured in a later session can raise it but never lower it.
  */
 public class AchievementManager {
 
-    private final Map<String, Achievement> achievementMap;
+    /** Cached tier codes, in increasing order of progress. */
+    private static final byte NOVICE = 0;
+    private static final byte EXPERT = 1;
+    private static final byte MASTER = 2;
+    private static final byte UNKNOWN_TIER = 3;
+
+    private final Map<String, Integer> handles;
     private final AchievementFile fileHandler;
-    private final Set<String> loggedAchievements = new HashSet<>();
+    private final AchievementStore store; // May be null when progress is not persisted
+    private final List<Achievement> registered = new ArrayList<>();
+    private final List<Achievement> registeredView = Collections.unmodifiableList(registered);
+
+    // Per handle state, indexed by handle.
+    private Achievement[] achievements = new Achievement[8];
+    private double[] progress = new double[8];
+    private double[] restored = new double[8]; // Progress restored from the store, or 0
+    private byte[] tiers = new byte[8];
+    private boolean[] logged = new boolean[8];
+    private boolean[] dirty = new boolean[8];
+
+    private boolean[] unsaved = new boolean[8];
+
+    // Handles whose tier changed since the last logAchievementMastered.
+    private int[] dirtyHandles = new int[8];
+    private int dirtyCount;
+
+    // Handles whose progress changed since they were last written to the store.
+    private int[] unsavedHandles = new int[8];
+    private int unsavedCount;
 
     /**
      * Constructs a GameAchievementManager with the specified AchievementFile.
@@ -25,11 +60,25 @@ public class AchievementManager {
      * @requires fileHandler is not null
      */
     public AchievementManager(AchievementFile fileHandler) {
+        this(fileHandler, null);
+    }
+
+    /**
+     * Constructs a GameAchievementManager with the specified AchievementFile, restoring and
+     * saving achievement state through the given store.
+     *
+     * @param fileHandler the AchievementFile instance to use (non-null)
+     * @param store the store holding achievement state between sessions, or null for none
+     * @throws IllegalArgumentException if fileHandler is null
+     * @requires fileHandler is not null
+     */
+    public AchievementManager(AchievementFile fileHandler, AchievementStore store) {
         if (fileHandler == null) {
             throw new IllegalArgumentException("AchievementFile must not be null.");
         }
         this.fileHandler = fileHandler;
-        this.achievementMap = new HashMap<>();
+        this.store = store;
+        this.handles = new HashMap<>();
     }
 
     /**
@@ -40,19 +89,68 @@ public class AchievementManager {
      * @requires achievement is not null
      */
     public void addAchievement(Achievement achievement) {
+        register(achievement);
+    }
+
+    /**
+     * Registers a new achievement and returns the handle used to update it.
+     * <p>
+     * If the store holds saved state for this achievement, its progress is restored and kept
+     * as the lowest progress it can be updated to, and a mastered event that was already
+     * logged in an earlier session is not logged again.
+     *
+     * @param achievement the Achievement to register.
+     * @return the handle of the achievement, valid for the lifetime of this manager.
+     * @throws IllegalArgumentException if achievement is null or already registered
+     * @requires achievement is not null
+     */
+    public int register(Achievement achievement) {
         if (achievement == null) {
             throw new IllegalArgumentException("Achievement must not be null.");
         }
-        if (achievementMap.containsKey(achievement.getName())) {
+        if (handles.containsKey(achievement.getName())) {
             throw new IllegalArgumentException(
                     "Achievement already registered: " + achievement.getName()
             );
         }
-        achievementMap.put(achievement.getName(), achievement);
+        int handle = registered.size();
+        ensureCapacity(handle + 1);
+        SavedAchievement saved = store == null ? null : store.get(achievement.getName());
+        if (saved != null) {
+            achievement.setProgress(saved.getProgress());
+            restored[handle] = achievement.getProgress();
+            logged[handle] = saved.isMastered();
+        }
+        achievements[handle] = achievement;
+        progress[handle] = achievement.getProgress();
+        tiers[handle] = tierOf(achievement);
+        registered.add(achievement);
+        handles.put(achievement.getName(), handle);
+        markDirty(handle); // It may already be mastered
+        return handle;
     }
 
     /**
-     * Sets the progress of the specified achievement to a given amount.
+     * Returns the handle of the registered achievement with the given name.
+     *
+     * @param achievementName the name of the achievement
+     * @return the handle of the achievement
+     * @throws IllegalArgumentException if name is invalid or not found
+     */
+    public int handleOf(String achievementName) {
+        if (achievementName == null || achievementName.isEmpty()) {
+            throw new IllegalArgumentException("Invalid achievement name.");
+        }
+        Integer handle = handles.get(achievementName);
+        if (handle == null) {
+            throw new IllegalArgumentException("Achievement not registered: " + achievementName);
+        }
+        return handle;
+    }
+
+    /**
+     * Sets the progress of the specified achievement to a given amount, or to its restored
+     * progress if that is higher.
      *
      * @param achievementName the name of the achievement
      * @param absoluteProgressValue the value the achievement's progress will be set to
@@ -63,37 +161,133 @@ public class AchievementManager {
             String achievementName,
             double absoluteProgressValue
     ) {
-        if (achievementName == null || achievementName.isEmpty()) {
-            throw new IllegalArgumentException("Invalid achievement name.");
+        updateAchievement(handleOf(achievementName), absoluteProgressValue);
+    }
+
+    /**
+     * Sets the progress of the achievement with the given handle to a given amount, or to its
+     * restored progress if that is higher.
+     *
+     * @param handle the handle returned when the achievement was registered
+     * @param absoluteProgressValue the value the achievement's progress will be set to
+     * @throws IllegalArgumentException if handle does not identify a registered achievement
+     */
+    public void updateAchievement(int handle, double absoluteProgressValue) {
+        if (handle < 0 || handle >= registered.size()) {
+            throw new IllegalArgumentException("Invalid achievement handle: " + handle);
         }
-        Achievement achievement = achievementMap.get(achievementName);
-        if (achievement == null) {
-            throw new IllegalArgumentException("Achievement not registered: " + achievementName);
+        if (absoluteProgressValue < restored[handle]) {
+            absoluteProgressValue = restored[handle]; // A new session starts from zero again
+        }
+        if (progress[handle] == absoluteProgressValue) {
+            return;
         }
+        Achievement achievement = achievements[handle];
         achievement.setProgress(absoluteProgressValue);
+        progress[handle] = absoluteProgressValue;
+        markUnsaved(handle);
+        byte tier = tierOf(achievement);
+        if (tier != tiers[handle]) {
+            tiers[handle] = tier;
+            markDirty(handle);
+        }
     }
 
+    /**
+     * Returns the progress of the achievement with the given handle, which includes any
+     * progress restored from the store.
+     *
+     * @param handle the handle returned when the achievement was registered
+     * @return the achievement's progress
+     * @throws IllegalArgumentException if handle does not identify a registered achievement
+     */
+    public double getProgress(int handle) {
+        if (handle < 0 || handle >= registered.size()) {
+            throw new IllegalArgumentException("Invalid achievement handle: " + handle);
+        }
+        return progress[handle];
+    }
 
     /**
-     * Returns a list of all registered achievements.
+     * Returns a list of all registered achievements, in registration order.
+     * <p>
+     * The returned list is a read-only view that reflects later registrations.
      *
      * @return a List of Achievement objects.
      */
     public List<Achievement> getAchievements() {
-        return new ArrayList<>(achievementMap.values());
+        return registeredView;
     }
 
     /**
-     * Checks all registered achievements. For any achievement that is mastered and has not yet
-     * been logged, this method logs the event via AchievementFile, and marks the achievement
-     * as logged.
+     * Checks all achievements whose tier changed since the last call. For any achievement that
+     * is mastered and has not yet been logged, this method logs the event via AchievementFile,
+     * and marks the achievement as logged.
+     * <p>
+     * Afterwards, writes every achievement whose progress changed since the last call to the
+     * store, if there is one.
      */
     public void logAchievementMastered() {
-        for (Achievement a : achievementMap.values()) {
-            if ("Master".equals(a.getCurrentTier()) && !loggedAchievements.contains(a.getName())) {
-                fileHandler.save("Achievement Mastered: " + a.getName());
-                loggedAchievements.add(a.getName());
+        for (int i = 0; i < dirtyCount; i++) {
+            int handle = dirtyHandles[i];
+            dirty[handle] = false;
+            if (tiers[handle] == MASTER && !logged[handle]) {
+                fileHandler.save("Achievement Mastered: " + achievements[handle].getName());
+                logged[handle] = true;
+                markUnsaved(handle);
             }
         }
+        dirtyCount = 0;
+
+        for (int i = 0; i < unsavedCount; i++) {
+            int handle = unsavedHandles[i];
+            unsaved[handle] = false;
+            Achievement achievement = achievements[handle];
+            store.save(achievement.getName(), achievement.getProgress(),
+                    achievement.getCurrentTier(), logged[handle]);
+        }
+        unsavedCount = 0;
+    }
+
+    private void markUnsaved(int handle) {
+        if (store != null && !unsaved[handle]) {
+            unsaved[handle] = true;
+            unsavedHandles[unsavedCount++] = handle;
+        }
+    }
+
+    private void markDirty(int handle) {
+        if (!dirty[handle]) {
+            dirty[handle] = true;
+            dirtyHandles[dirtyCount++] = handle;
+        }
+    }
+
+    private static byte tierOf(Achievement achievement) {
+        String tier = achievement.getCurrentTier();
+        if ("Master".equals(tier)) {
+            return MASTER;
+        } else if ("Expert".equals(tier)) {
+            return EXPERT;
+        } else if ("Novice".equals(tier)) {
+            return NOVICE;
+        }
+        return UNKNOWN_TIER;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= achievements.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, achievements.length * 2);
+        achievements = Arrays.copyOf(achievements, newCapacity);
+        progress = Arrays.copyOf(progress, newCapacity);
+        restored = Arrays.copyOf(restored, newCapacity);
+        tiers = Arrays.copyOf(tiers, newCapacity);
+        logged = Arrays.copyOf(logged, newCapacity);
+        dirty = Arrays.copyOf(dirty, newCapacity);
+        dirtyHandles = Arrays.copyOf(dirtyHandles, newCapacity);
+        unsaved = Arrays.copyOf(unsaved, newCapacity);
+        unsavedHandles = Arrays.copyOf(unsavedHandles, newCapacity);
     }
 }
@@ -0,0 +1,30 @@
+package game.achievements;
+
+/**
+ * Persists the full state of achievements between sessions.
+ */
+public interface AchievementStore {
+
+    /**
+     * The default store location if none is specified.
+     */
+    String DEFAULT_STORE_LOCATION = "achievements.dat";
+
+    /**
+     * Returns the saved state of the named achievement.
+     *
+     * @param name the achievement name
+     * @return the saved state, or null if nothing was saved for this achievement
+     */
+    SavedAchievement get(String name);
+
+    /**
+     * Saves the state of one achievement, replacing any earlier state saved for it.
+     *
+     * @param name the achievement name
+     * @param progress the current progress
+     * @param tier the current tier
+     * @param mastered whether the mastered event has been logged
+     */
+    void save(String name, double progress, String tier, boolean mastered);
+}
@@ -0,0 +1,214 @@
+package game.achievements;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * A concrete implementation of AchievementStore using a compact binary file.
+ * <p>
+ * The file starts with an 8 byte header (magic number and version), followed by two fixed
+ * size records per achievement. Each record holds the name, tier, progress, mastered flag and
+ * a sequence number, and ends with a CRC32 checksum so a torn or corrupted record is ignored
+ * rather than loaded. Saving an achievement overwrites the older of its two records, and
+ * loading keeps the valid record with the highest sequence number, so a save cut off part
+ * way through leaves the previously saved state in place. The file never grows beyond two
+ * records per achievement and is loaded with a single sequential read no matter how long it
+ * has been in use.
+ */
+public class BinaryAchievementStore implements AchievementStore, Closeable {
+
+    private static final int MAGIC = 0x41434856; // "ACHV"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 8;
+
+    /** Maximum encoded lengths of the name and tier, in UTF-8 bytes. */
+    public static final int MAX_NAME_BYTES = 64;
+    private static final int MAX_TIER_BYTES = 15;
+
+    private static final int NAME_OFFSET = 2;
+    private static final int TIER_LENGTH_OFFSET = NAME_OFFSET + MAX_NAME_BYTES;
+    private static final int TIER_OFFSET = TIER_LENGTH_OFFSET + 1;
+    private static final int PROGRESS_OFFSET = TIER_OFFSET + MAX_TIER_BYTES;
+    private static final int MASTERED_OFFSET = PROGRESS_OFFSET + 8;
+    private static final int SEQUENCE_OFFSET = MASTERED_OFFSET + 2;
+    private static final int CHECKSUM_OFFSET = SEQUENCE_OFFSET + 8;
+    private static final int RECORD_SIZE = CHECKSUM_OFFSET + 4;
+
+    private final FileChannel channel;
+    private final Map<String, SavedAchievement> saved = new HashMap<>();
+    private final Map<String, Slot> slots = new HashMap<>();
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private final CRC32 crc = new CRC32();
+    private int nextPair;
+
+    /**
+     * The record holding the newest saved state of an achievement, and its sequence number.
+     * The other record of the pair is at record ^ 1.
+     */
+    private static final class Slot {
+        private int record;
+        private long sequence;
+
+        private Slot(int record, long sequence) {
+            this.record = record;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Opens the store at the default location, loading any saved state.
+     *
+     * @throws IOException if the file cannot be opened or read
+     */
+    public BinaryAchievementStore() throws IOException {
+        this(Path.of(DEFAULT_STORE_LOCATION));
+    }
+
+    /**
+     * Opens the store at the given location, creating it if needed and loading any saved
+     * state.
+     *
+     * @param location the file to store achievements in
+     * @throws IOException if the file cannot be opened or read
+     */
+    public BinaryAchievementStore(Path location) throws IOException {
+        this.channel = FileChannel.open(location, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        load();
+    }
+
+    /**
+     * Reads the whole file in one pass and keeps, for each achievement, the record with a
+     * valid checksum and the highest sequence number.
+     */
+    private void load() throws IOException {
+        long size = channel.size();
+        ByteBuffer contents = ByteBuffer.allocate((int) Math.max(size, HEADER_SIZE));
+        while (contents.hasRemaining() && channel.read(contents, contents.position()) > 0) {
+            // keep reading until the whole file is in memory
+        }
+        contents.flip();
+        if (size < HEADER_SIZE || contents.getInt(0) != MAGIC
+                || contents.getInt(4) != VERSION) {
+            writeHeader();
+            return;
+        }
+
+        int records = (int) ((size - HEADER_SIZE) / RECORD_SIZE);
+        byte[] bytes = contents.array();
+        for (int index = 0; index < records; index++) {
+            int offset = HEADER_SIZE + index * RECORD_SIZE;
+            crc.reset();
+            crc.update(bytes, offset, CHECKSUM_OFFSET);
+            int nameLength = contents.getShort(offset);
+            if ((int) crc.getValue() != contents.getInt(offset + CHECKSUM_OFFSET)
+                    || nameLength <= 0 || nameLength > MAX_NAME_BYTES) {
+                continue; // Torn or corrupted record, ignore it
+            }
+            String name = new String(bytes, offset + NAME_OFFSET, nameLength,
+                    StandardCharsets.UTF_8);
+            int tierLength = Math.min(bytes[offset + TIER_LENGTH_OFFSET], MAX_TIER_BYTES);
+            String tier = new String(bytes, offset + TIER_OFFSET, tierLength,
+                    StandardCharsets.UTF_8);
+            double progress = contents.getDouble(offset + PROGRESS_OFFSET);
+            boolean mastered = bytes[offset + MASTERED_OFFSET] != 0;
+            long sequence = contents.getLong(offset + SEQUENCE_OFFSET);
+            Slot slot = slots.get(name);
+            if (slot == null || slot.sequence < sequence) {
+                slots.put(name, new Slot(index, sequence));
+                saved.put(name, new SavedAchievement(name, progress, tier, mastered));
+            }
+        }
+        // A torn record at the end still takes up its pair
+        nextPair = (int) ((size - HEADER_SIZE + 2L * RECORD_SIZE - 1) / (2L * RECORD_SIZE));
+    }
+
+    private void writeHeader() throws IOException {
+        channel.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).flip();
+        channel.write(header, 0);
+    }
+
+    /**
+     * Returns the saved state of the named achievement.
+     *
+     * @param name the achievement name
+     * @return the saved state, or null if nothing was saved for this achievement
+     */
+    @Override
+    public SavedAchievement get(String name) {
+        return saved.get(name);
+    }
+
+    /**
+     * Saves the state of one achievement by overwriting the older of its two records in the
+     * file.
+     *
+     * @param name the achievement name
+     * @param progress the current progress
+     * @param tier the current tier
+     * @param mastered whether the mastered event has been logged
+     * @throws IllegalArgumentException if the name is longer than MAX_NAME_BYTES in UTF-8
+     */
+    @Override
+    public void save(String name, double progress, String tier, boolean mastered) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        if (nameBytes.length == 0 || nameBytes.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Achievement name too long to store: " + name);
+        }
+        byte[] tierBytes = tier == null ? new byte[0] : tier.getBytes(StandardCharsets.UTF_8);
+        int tierLength = Math.min(tierBytes.length, MAX_TIER_BYTES);
+
+        Slot slot = slots.get(name);
+        if (slot == null) {
+            slot = new Slot(2 * nextPair++ + 1, 0); // The first save goes to the even record
+            slots.put(name, slot);
+        }
+        slot.record ^= 1;
+        slot.sequence++;
+
+        record.clear();
+        byte[] bytes = record.array();
+        Arrays.fill(bytes, (byte) 0);
+        record.putShort(0, (short) nameBytes.length);
+        System.arraycopy(nameBytes, 0, bytes, NAME_OFFSET, nameBytes.length);
+        bytes[TIER_LENGTH_OFFSET] = (byte) tierLength;
+        System.arraycopy(tierBytes, 0, bytes, TIER_OFFSET, tierLength);
+        record.putDouble(PROGRESS_OFFSET, progress);
+        bytes[MASTERED_OFFSET] = (byte) (mastered ? 1 : 0);
+        record.putLong(SEQUENCE_OFFSET, slot.sequence);
+        crc.reset();
+        crc.update(bytes, 0, CHECKSUM_OFFSET);
+        record.putInt(CHECKSUM_OFFSET, (int) crc.getValue());
+
+        try {
+            long position = HEADER_SIZE + (long) slot.record * RECORD_SIZE;
+            while (record.hasRemaining()) {
+                channel.write(record, position + record.position());
+            }
+        } catch (IOException e) {
+            System.err.println("Error saving achievement state: " + e.getMessage());
+        }
+        saved.put(name, new SavedAchievement(name, progress, tier, mastered));
+    }
+
+    /**
+     * Closes the underlying file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
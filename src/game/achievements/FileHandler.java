@@ -1,15 +1,72 @@
 package game.achievements;
 
 import java.io.*;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * A concrete implementation of AchievementFile using standard file I/O.
+ * <p>
+ * Data is appended to the file at the file location. Once that file reaches a size or entry
+ * limit it is rotated: renamed to a segment named after it with a sequence number appended,
+ * such as achievements.log.3, and a new file is started. When there are more segments than
+ * allowed, a background thread compacts them into one that holds only the latest entry for
+ * each key, where a key is the text after an entry's last ": " (the achievement name in
+ * "Achievement Mastered: Survivor"), or the whole entry if it has none. Disk use and the cost
+ * of read() are therefore bounded by the number of distinct keys plus the rotation limits,
+ * however long the log is kept.
+ * <p>
+ * Compaction writes to a temporary file and atomically renames it over the newest segment it
+ * folded, so a crash never loses an entry. A crash before the older folded segments are
+ * deleted only leaves entries repeated in read() until the next compaction. Rotating and
+ * swapping in a compacted segment hold a write lock, so read() sees either all the segments
+ * before a compaction or the compacted one, never a mix.
  */
 public class FileHandler implements AchievementFile {
 
+    /** The default size at which the file is rotated, in bytes. */
+    public static final long DEFAULT_MAX_BYTES = 1 << 20;
+    /** The default number of entries at which the file is rotated. */
+    public static final int DEFAULT_MAX_ENTRIES = Integer.MAX_VALUE;
+    /** The default number of rotated segments kept before they are compacted. */
+    public static final int DEFAULT_MAX_SEGMENTS = 4;
+
+    private static final String KEY_SEPARATOR = ": ";
+
+    /**
+     * Runs the compactions of every FileHandler, one at a time, on a daemon thread.
+     */
+    private static final class Compactor {
+        private static final ExecutorService EXECUTOR =
+                Executors.newSingleThreadExecutor(task -> {
+                    Thread thread = new Thread(task, "achievement-log-compactor");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean compactionRequested = new AtomicBoolean();
     private String fileLocation;
+    private long maxBytes = DEFAULT_MAX_BYTES;
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+    private int maxSegments = DEFAULT_MAX_SEGMENTS;
+    private int entries = -1; // Entries in the current file, counted on first save
+    private long nextSegment = -1; // Number of the next segment, found on first rotation
+    private volatile Future<?> compaction; // The latest scheduled compaction, may be null
 
     /**
      * Constructs a FileHandler with the default file location.
@@ -25,7 +82,14 @@ public class FileHandler implements AchievementFile {
      */
     @Override
     public void setFileLocation(String fileLocation) {
-        this.fileLocation = fileLocation;
+        lock.writeLock().lock();
+        try {
+            this.fileLocation = fileLocation;
+            entries = -1;
+            nextSegment = -1;
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
@@ -39,43 +103,253 @@ public class FileHandler implements AchievementFile {
     }
 
     /**
-     * Saves the given data to a file followed by a new-line character.
+     * Sets when the file is rotated and how many rotated segments are kept before compaction.
+     *
+     * @param maxBytes the file size at which it is rotated
+     * @param maxEntries the number of entries at which it is rotated
+     * @param maxSegments the number of rotated segments allowed before they are compacted
+     * @throws IllegalArgumentException if any limit is not positive
+     */
+    public void setRotation(long maxBytes, int maxEntries, int maxSegments) {
+        if (maxBytes <= 0 || maxEntries <= 0 || maxSegments <= 0) {
+            throw new IllegalArgumentException("Rotation limits must be positive.");
+        }
+        lock.writeLock().lock();
+        try {
+            this.maxBytes = maxBytes;
+            this.maxEntries = maxEntries;
+            this.maxSegments = maxSegments;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Saves the given data to a file followed by a new-line character, then rotates the file
+     * if it has reached its size or entry limit.
      *
      * @param data the data to be saved
      */
     @Override
     public void save(String data) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileLocation, true))) {
-            writer.write(data);
-            writer.newLine();
-        } catch (IOException e) {
-            System.err.println("Error saving data to file: " + e.getMessage());
+        lock.writeLock().lock();
+        try {
+            if (entries < 0) {
+                entries = countLines(new File(fileLocation));
+            }
+            try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileLocation, true))) {
+                writer.write(data);
+                writer.newLine();
+            } catch (IOException e) {
+                System.err.println("Error saving data to file: " + e.getMessage());
+                return;
+            }
+            entries++;
+            if (entries >= maxEntries || new File(fileLocation).length() >= maxBytes) {
+                rotate();
+            }
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
     /**
-     * Loads and returns all previously saved data as a list of strings.
+     * Loads and returns all previously saved data as a list of strings, oldest first.
+     * Rotated segments are read before the current file.
      *
      * @return a list of saved data entries
      */
     @Override
     public List<String> read() {
         List<String> lines = new ArrayList<>();
-        File file = new File(fileLocation);
+        lock.readLock().lock();
+        try {
+            for (Path segment : segments()) {
+                readLines(segment.toFile(), lines);
+            }
+            readLines(new File(fileLocation), lines);
+        } catch (IOException e) {
+            System.err.println("Error reading data from file: " + e.getMessage());
+        } finally {
+            lock.readLock().unlock();
+        }
+        return lines;
+    }
 
-        if (!file.exists()) {
-            return lines;
+    /**
+     * Folds every rotated segment into one holding only the latest entry for each key, in
+     * the order those entries were saved. The current file is left alone. Runs on the calling
+     * thread; saving and reading may continue meanwhile, but other compactions wait.
+     */
+    public synchronized void compact() {
+        List<Path> folded;
+        Path temp;
+        lock.readLock().lock();
+        try {
+            folded = segments();
+            temp = Path.of(fileLocation + ".tmp");
+        } catch (IOException e) {
+            System.err.println("Error compacting data file: " + e.getMessage());
+            return;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (folded.size() < 2) {
+            return;
+        }
+
+        // Rotated segments never change, so they can be folded without holding the lock
+        Map<String, String> latest = new LinkedHashMap<>();
+        List<String> lines = new ArrayList<>();
+        try {
+            for (Path segment : folded) {
+                lines.clear();
+                readLines(segment.toFile(), lines);
+                for (String line : lines) {
+                    String key = keyOf(line);
+                    latest.remove(key); // Re-insert so entries keep the order of their latest save
+                    latest.put(key, line);
+                }
+            }
+            try (FileOutputStream out = new FileOutputStream(temp.toFile());
+                 BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out))) {
+                for (String line : latest.values()) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+                writer.flush();
+                out.getFD().sync(); // The data must be on disk before the rename is
+            }
+        } catch (IOException e) {
+            System.err.println("Error compacting data file: " + e.getMessage());
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Path newest = folded.get(folded.size() - 1);
+            Files.move(temp, newest, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            for (int i = folded.size() - 2; i >= 0; i--) {
+                Files.deleteIfExists(folded.get(i));
+            }
+        } catch (IOException e) {
+            System.err.println("Error compacting data file: " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compacts until no rotation has asked for another compaction since the last one began,
+     * so segments rotated while compacting are never left waiting.
+     */
+    private void compactWhileRequested() {
+        while (compactionRequested.getAndSet(false)) {
+            compact();
+        }
+    }
+
+    /**
+     * Waits for the latest background compaction, if any, to finish.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitCompaction() throws InterruptedException {
+        Future<?> pending = compaction;
+        if (pending != null) {
+            try {
+                pending.get();
+            } catch (ExecutionException e) {
+                System.err.println("Error compacting data file: " + e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Returns the rotated segments of the file, oldest first.
+     *
+     * @return the paths of the segments
+     * @throws IOException if the directory cannot be listed
+     */
+    List<Path> segments() throws IOException {
+        Path file = Path.of(fileLocation).toAbsolutePath();
+        String prefix = file.getFileName() + ".";
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> directory = Files.newDirectoryStream(file.getParent(),
+                prefix + "*")) {
+            for (Path path : directory) {
+                if (sequenceOf(path, prefix) >= 0) {
+                    segments.add(path);
+                }
+            }
         }
+        segments.sort((a, b) -> Long.compare(sequenceOf(a, prefix), sequenceOf(b, prefix)));
+        return segments;
+    }
 
+    /**
+     * Renames the current file to a new segment and schedules a compaction if there are too
+     * many. Must hold the write lock.
+     */
+    private void rotate() {
+        try {
+            List<Path> segments = segments();
+            if (nextSegment < 0) {
+                String prefix = Path.of(fileLocation).getFileName() + ".";
+                nextSegment = segments.isEmpty() ? 1
+                        : sequenceOf(segments.get(segments.size() - 1), prefix) + 1;
+            }
+            Path file = Path.of(fileLocation);
+            Files.move(file, Path.of(fileLocation + "." + nextSegment++),
+                    StandardCopyOption.ATOMIC_MOVE);
+            entries = 0;
+            if (segments.size() + 1 > maxSegments && !compactionRequested.getAndSet(true)) {
+                compaction = Compactor.EXECUTOR.submit(this::compactWhileRequested);
+            }
+        } catch (IOException e) {
+            System.err.println("Error rotating data file: " + e.getMessage());
+        }
+    }
+
+    private static long sequenceOf(Path path, String prefix) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(prefix) || name.length() == prefix.length()
+                || name.length() - prefix.length() > 18) {
+            return -1;
+        }
+        for (int i = prefix.length(); i < name.length(); i++) {
+            if (!Character.isDigit(name.charAt(i))) {
+                return -1;
+            }
+        }
+        return Long.parseLong(name.substring(prefix.length()));
+    }
+
+    private static String keyOf(String line) {
+        int separator = line.lastIndexOf(KEY_SEPARATOR);
+        return separator < 0 ? line : line.substring(separator + KEY_SEPARATOR.length());
+    }
+
+    private static int countLines(File file) {
+        List<String> lines = new ArrayList<>();
+        try {
+            readLines(file, lines);
+        } catch (IOException e) {
+            System.err.println("Error reading data from file: " + e.getMessage());
+        }
+        return lines.size();
+    }
+
+    private static void readLines(File file, List<String> lines) throws IOException {
+        if (!file.exists()) {
+            return;
+        }
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
             String line;
             while ((line = reader.readLine()) != null) {
                 lines.add(line);
             }
-        } catch (IOException e) {
-            System.err.println("Error reading data from file: " + e.getMessage());
         }
-
-        return lines;
     }
 }
@@ -1,11 +1,16 @@
 package game.achievements;
 
+import game.clock.GameClock;
+import game.clock.SystemClock;
+
 /**
  * Represents a tracker for player statistics.
  * Monitors number and accuracy of shots the player has fired since game start.
+ * Elapsed time is read from a GameClock, real time unless another clock is given.
  */
 public class PlayerStatsTracker {
 
+    private final GameClock clock;
     private final long startTime;
     private int shotsFired;
     private int shotsHit;
@@ -14,7 +19,19 @@ public class PlayerStatsTracker {
      * Constructs a PlayerStatsTracker with the current system time as the start time.
      */
     public PlayerStatsTracker() {
-        this.startTime = System.currentTimeMillis();
+        this(SystemClock.INSTANCE);
+    }
+
+    /**
+     * Constructs a PlayerStatsTracker that measures elapsed time on the given clock, starting
+     * from the clock's current time.
+     *
+     * @param clock the clock to read time from.
+     * @requires clock != null
+     */
+    public PlayerStatsTracker(GameClock clock) {
+        this.clock = clock;
+        this.startTime = clock.nanoTime();
     }
 
     // /**
@@ -64,7 +81,16 @@ public class PlayerStatsTracker {
      * @return the elapsed time in seconds
      */
     public long getElapsedSeconds() {
-        return (System.currentTimeMillis() - startTime) / 1000;
+        return clock.secondsSince(startTime);
+    }
+
+    /**
+     * Returns the clock elapsed time is measured on.
+     *
+     * @return the tracker's clock.
+     */
+    public GameClock getClock() {
+        return clock;
     }
 
     /**
@@ -79,4 +105,20 @@ public class PlayerStatsTracker {
         }
         return (double) shotsHit / shotsFired;
     }
+
+    /**
+     * Returns an independent tracker with the same clock, start time and shot counts.
+     *
+     * @return a copy of this tracker
+     */
+    public PlayerStatsTracker copy() {
+        return new PlayerStatsTracker(this);
+    }
+
+    private PlayerStatsTracker(PlayerStatsTracker other) {
+        this.clock = other.clock;
+        this.startTime = other.startTime;
+        this.shotsFired = other.shotsFired;
+        this.shotsHit = other.shotsHit;
+    }
 }
@@ -0,0 +1,63 @@
+package game.achievements;
+
+/**
+ * The persisted state of a single achievement.
+ */
+public class SavedAchievement {
+
+    private final String name;
+    private final double progress;
+    private final String tier;
+    private final boolean mastered;
+
+    /**
+     * Constructs a saved achievement state.
+     *
+     * @param name the achievement name
+     * @param progress the saved progress, between 0.0 and 1.0
+     * @param tier the tier at the time of saving
+     * @param mastered whether the mastered event has already been logged
+     */
+    public SavedAchievement(String name, double progress, String tier, boolean mastered) {
+        this.name = name;
+        this.progress = progress;
+        this.tier = tier;
+        this.mastered = mastered;
+    }
+
+    /**
+     * Returns the achievement name.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the saved progress.
+     *
+     * @return the progress, between 0.0 and 1.0
+     */
+    public double getProgress() {
+        return progress;
+    }
+
+    /**
+     * Returns the tier at the time of saving.
+     *
+     * @return the tier name
+     */
+    public String getTier() {
+        return tier;
+    }
+
+    /**
+     * Returns whether the mastered event for this achievement has already been logged.
+     *
+     * @return true if already logged as mastered
+     */
+    public boolean isMastered() {
+        return mastered;
+    }
+}
@@ -0,0 +1,104 @@
+package game.aggregate;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of values merged from every session, as returned by SessionAggregator.<br>
+ * <p>
+ * Each bucket counts the values from its lower bound up to the next bucket's lower bound; the
+ * last bucket has no upper bound. Distributions are immutable snapshots.
+ */
+public final class Distribution {
+    private final long[] lowerBounds;
+    private final long[] counts;
+    private final long total;
+    private final long sum;
+
+    Distribution(long[] lowerBounds, long[] counts, long sum) {
+        this.lowerBounds = lowerBounds;
+        this.counts = counts;
+        this.sum = sum;
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        this.total = total;
+    }
+
+    /**
+     * Returns the number of buckets.
+     *
+     * @return the bucket count.
+     */
+    public int getBucketCount() {
+        return counts.length;
+    }
+
+    /**
+     * Returns the smallest value counted by a bucket.
+     *
+     * @param bucket the bucket index.
+     * @return the bucket's lower bound.
+     * @requires 0 &lt;= bucket &lt; getBucketCount()
+     */
+    public long getLowerBound(int bucket) {
+        return lowerBounds[bucket];
+    }
+
+    /**
+     * Returns the number of values in a bucket.
+     *
+     * @param bucket the bucket index.
+     * @return the bucket's count.
+     * @requires 0 &lt;= bucket &lt; getBucketCount()
+     */
+    public long getCount(int bucket) {
+        return counts[bucket];
+    }
+
+    /**
+     * Returns the number of values in every bucket.
+     *
+     * @return the total count.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the exact mean of the values.
+     *
+     * @return the mean, or 0 if there are no values.
+     */
+    public double getMean() {
+        return total == 0 ? 0 : (double) sum / total;
+    }
+
+    /**
+     * Returns the lower bound of the bucket holding the given percentile.
+     *
+     * @param percentile the percentile, between 0 and 100.
+     * @return the percentile's bucket lower bound, or 0 if there are no values.
+     * @throws IllegalArgumentException if percentile is not between 0 and 100.
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+        }
+        long rank = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank && counts[i] > 0) {
+                return lowerBounds[i];
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Distribution{total=" + total + ", mean=" + getMean()
+                + ", counts=" + Arrays.toString(counts) + "}";
+    }
+}
@@ -0,0 +1,92 @@
+package game.aggregate;
+
+import game.achievements.Achievement;
+import game.achievements.AchievementManager;
+import game.achievements.PlayerStatsTracker;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One game's connection to a SessionAggregator, opened with SessionAggregator.openSession.<br>
+ * <p>
+ * A session remembers what it last reported, so each update only adds what changed since:
+ * new shots go to the calling thread's buffer and newly mastered achievements to their shared
+ * counters. A session may move between threads, but must not be used by two at once.
+ */
+public final class Session {
+    private final SessionAggregator aggregator;
+    private int reportedFired;
+    private int reportedHit;
+    private boolean[] mastered = new boolean[0];
+    private LongAdder[] masteredCounters = new LongAdder[0];
+    private boolean finished;
+
+    Session(SessionAggregator aggregator) {
+        this.aggregator = aggregator;
+    }
+
+    /**
+     * Reports one tick of the session: shots fired and hit since the last update, and every
+     * achievement mastered for the first time. Does nothing once the session is finished.
+     *
+     * @param stats the session's stats tracker.
+     * @param achievements the session's achievements.
+     */
+    public void update(PlayerStatsTracker stats, AchievementManager achievements) {
+        if (!finished) {
+            report(stats, achievements, 1);
+        }
+    }
+
+    private void report(PlayerStatsTracker stats, AchievementManager achievements, int ticks) {
+        int fired = stats.getShotsFired();
+        int hit = stats.getShotsHit();
+        aggregator.recordTick(ticks, fired - reportedFired, hit - reportedHit);
+        reportedFired = fired;
+        reportedHit = hit;
+
+        List<Achievement> list = achievements.getAchievements();
+        if (list.size() > mastered.length) {
+            mastered = Arrays.copyOf(mastered, list.size());
+            masteredCounters = Arrays.copyOf(masteredCounters, list.size());
+        }
+        for (int i = 0; i < list.size(); i++) {
+            if (!mastered[i] && "Master".equals(list.get(i).getCurrentTier())) {
+                if (masteredCounters[i] == null) {
+                    masteredCounters[i] = aggregator.masteredCounter(list.get(i).getName());
+                }
+                masteredCounters[i].increment();
+                mastered[i] = true;
+            }
+        }
+    }
+
+    /**
+     * Reports anything changed since the last update, without counting a tick, and adds the
+     * session's result to the global distributions. Only the first call has any effect.
+     *
+     * @param score the final score.
+     * @param stats the session's stats tracker.
+     * @param achievements the session's achievements.
+     */
+    public void finish(int score, PlayerStatsTracker stats, AchievementManager achievements) {
+        if (finished) {
+            return;
+        }
+        report(stats, achievements, 0);
+        finished = true;
+        aggregator.recordResult(score, stats.getElapsedSeconds(),
+                (int) Math.round(stats.getAccuracy() * 100));
+    }
+
+    /**
+     * Returns whether finish has been called.
+     *
+     * @return true if the session is finished.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+}
@@ -0,0 +1,260 @@
+package game.aggregate;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Global achievement and stats figures across many concurrent game sessions, such as the
+ * number of players who mastered an achievement or the accuracy of every shot fired.<br>
+ * <p>
+ * Sessions never wait on each other. Figures updated every tick (shots and ticks) and the
+ * distributions of finished games go to a buffer owned by the updating thread, which only that
+ * thread writes, with ordered stores instead of locks or compare-and-swap. Rare updates
+ * (sessions opening and finishing, achievements mastered) go to LongAdders, which stripe
+ * contended increments over several cells. Every read merges the buffers and cells, so it
+ * costs time proportional to the number of threads that have ever fed the aggregator, and is
+ * a consistent total only once updates stop.<br>
+ * <p>
+ * Score and survival time are counted in power of two buckets: bucket 0 holds 0, bucket k
+ * holds values from 2^(k-1) up to 2^k. Accuracy is counted in buckets of 10 percentage points,
+ * with a last bucket for 100%.
+ */
+public class SessionAggregator {
+    // Slots of a thread buffer, padded by a cache line at each end so two threads' buffers
+    // never share a line.
+    private static final int PADDING = 8;
+    private static final int FIRED = PADDING;
+    private static final int HIT = FIRED + 1;
+    private static final int TICKS = HIT + 1;
+    private static final int SCORE_SUM = TICKS + 1;
+    private static final int SURVIVAL_SUM = SCORE_SUM + 1;
+    private static final int ACCURACY_SUM = SURVIVAL_SUM + 1;
+    private static final int EXPONENTIAL_BUCKETS = 32;
+    private static final int ACCURACY_BUCKETS = 11;
+    private static final int SCORES = ACCURACY_SUM + 1;
+    private static final int SURVIVALS = SCORES + EXPONENTIAL_BUCKETS;
+    private static final int ACCURACIES = SURVIVALS + EXPONENTIAL_BUCKETS;
+    private static final int SLOTS = ACCURACIES + ACCURACY_BUCKETS + PADDING;
+
+    private static final long[] EXPONENTIAL_BOUNDS = new long[EXPONENTIAL_BUCKETS];
+    private static final long[] ACCURACY_BOUNDS = new long[ACCURACY_BUCKETS];
+
+    static {
+        for (int i = 1; i < EXPONENTIAL_BUCKETS; i++) {
+            EXPONENTIAL_BOUNDS[i] = 1L << (i - 1);
+        }
+        for (int i = 0; i < ACCURACY_BUCKETS; i++) {
+            ACCURACY_BOUNDS[i] = i * 10L;
+        }
+    }
+
+    private final Queue<AtomicLongArray> buffers = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<AtomicLongArray> buffer = ThreadLocal.withInitial(() -> {
+        AtomicLongArray created = new AtomicLongArray(SLOTS);
+        buffers.add(created);
+        return created;
+    });
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder finished = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> mastered = new ConcurrentHashMap<>();
+
+    /**
+     * Opens a session for one game. The session should be updated every tick and finished
+     * when the game ends.
+     *
+     * @return the new session.
+     */
+    public Session openSession() {
+        opened.increment();
+        return new Session(this);
+    }
+
+    LongAdder masteredCounter(String achievementName) {
+        return mastered.computeIfAbsent(achievementName, name -> new LongAdder());
+    }
+
+    void recordTick(int ticks, int fired, int hit) {
+        AtomicLongArray slots = buffer.get();
+        if (ticks != 0) {
+            add(slots, TICKS, ticks);
+        }
+        if (fired != 0) {
+            add(slots, FIRED, fired);
+        }
+        if (hit != 0) {
+            add(slots, HIT, hit);
+        }
+    }
+
+    void recordResult(int score, long survivalSeconds, int accuracyPercent) {
+        AtomicLongArray slots = buffer.get();
+        add(slots, SCORE_SUM, score);
+        add(slots, SURVIVAL_SUM, survivalSeconds);
+        add(slots, ACCURACY_SUM, accuracyPercent);
+        add(slots, SCORES + exponentialBucket(score), 1);
+        add(slots, SURVIVALS + exponentialBucket(survivalSeconds), 1);
+        add(slots, ACCURACIES + Math.max(0, Math.min(ACCURACY_BUCKETS - 1,
+                accuracyPercent / 10)), 1);
+        finished.increment(); // After the buffer, so a result is never missed once counted
+    }
+
+    /**
+     * Adds to a slot of the calling thread's own buffer. Nothing else writes the slot, so a
+     * plain read and an ordered write are enough.
+     */
+    private static void add(AtomicLongArray slots, int slot, long delta) {
+        slots.lazySet(slot, slots.get(slot) + delta);
+    }
+
+    private static int exponentialBucket(long value) {
+        if (value <= 0) {
+            return 0;
+        }
+        return Math.min(EXPONENTIAL_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value));
+    }
+
+    private long sum(int slot) {
+        long sum = 0;
+        for (AtomicLongArray slots : buffers) {
+            sum += slots.get(slot);
+        }
+        return sum;
+    }
+
+    private Distribution distribution(int first, long[] bounds, int sumSlot) {
+        long[] counts = new long[bounds.length];
+        long sum = 0;
+        for (AtomicLongArray slots : buffers) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += slots.get(first + i);
+            }
+            sum += slots.get(sumSlot);
+        }
+        return new Distribution(bounds, counts, sum);
+    }
+
+    /**
+     * Returns the number of sessions opened.
+     *
+     * @return the opened session count.
+     */
+    public long getSessionsOpened() {
+        return opened.sum();
+    }
+
+    /**
+     * Returns the number of sessions finished.
+     *
+     * @return the finished session count.
+     */
+    public long getSessionsFinished() {
+        return finished.sum();
+    }
+
+    /**
+     * Returns the number of sessions opened but not yet finished.
+     *
+     * @return the active session count.
+     */
+    public long getActiveSessions() {
+        return Math.max(0, opened.sum() - finished.sum());
+    }
+
+    /**
+     * Returns the number of ticks reported by every session together.
+     *
+     * @return the total tick count.
+     */
+    public long getTicks() {
+        return sum(TICKS);
+    }
+
+    /**
+     * Returns the number of shots fired in every session together.
+     *
+     * @return the total shots fired.
+     */
+    public long getShotsFired() {
+        return sum(FIRED);
+    }
+
+    /**
+     * Returns the number of shots hit in every session together.
+     *
+     * @return the total shots hit.
+     */
+    public long getShotsHit() {
+        return sum(HIT);
+    }
+
+    /**
+     * Returns the fraction of all shots fired, in every session, that hit.
+     *
+     * @return the global accuracy, or 0 if no shots were fired.
+     */
+    public double getGlobalAccuracy() {
+        long fired = 0;
+        long hit = 0;
+        for (AtomicLongArray slots : buffers) {
+            fired += slots.get(FIRED);
+            hit += slots.get(HIT);
+        }
+        return fired == 0 ? 0.0 : (double) hit / fired;
+    }
+
+    /**
+     * Returns the number of sessions in which the named achievement was mastered.
+     *
+     * @param achievementName the achievement's name.
+     * @return the number of players who mastered it.
+     */
+    public long getMasteredCount(String achievementName) {
+        LongAdder counter = mastered.get(achievementName);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Returns the number of sessions in which each achievement was mastered, for every
+     * achievement mastered at least once.
+     *
+     * @return an unmodifiable map from achievement name to mastered count, sorted by name.
+     */
+    public Map<String, Long> getMasteredCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        mastered.forEach((name, counter) -> counts.put(name, counter.sum()));
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Returns the final scores of finished sessions.
+     *
+     * @return the score distribution, in power of two buckets.
+     */
+    public Distribution getScoreDistribution() {
+        return distribution(SCORES, EXPONENTIAL_BOUNDS, SCORE_SUM);
+    }
+
+    /**
+     * Returns the survival times of finished sessions.
+     *
+     * @return the survival time distribution in seconds, in power of two buckets.
+     */
+    public Distribution getSurvivalDistribution() {
+        return distribution(SURVIVALS, EXPONENTIAL_BOUNDS, SURVIVAL_SUM);
+    }
+
+    /**
+     * Returns the accuracies of finished sessions.
+     *
+     * @return the accuracy distribution in whole percent, in buckets of 10.
+     */
+    public Distribution getAccuracyDistribution() {
+        return distribution(ACCURACIES, ACCURACY_BOUNDS, ACCURACY_SUM);
+    }
+}
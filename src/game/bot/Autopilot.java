@@ -0,0 +1,302 @@
+package game.bot;
+
+import game.GameModel;
+import game.input.InputSource;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * An automated player that picks a key every tick by searching future game states.<br>
+ * <p>
+ * Each candidate first move (nothing, F, W, A, S, D) is searched as a separate task on a
+ * fork/join pool, so candidates are explored in parallel across cores. A task searches every
+ * sequence of moves to increasing depths, letting the game run on without input until a fixed
+ * horizon after the last move, and scores the end state. Deepening stops when the per-tick
+ * time budget runs out, and candidates are compared at the deepest depth all of them
+ * completed.<br>
+ * <p>
+ * Scoring rewards health, score and enemies shot, and lightly penalises hazards directly above
+ * the ship and distance to the nearest power-up, so the ship dodges asteroids and enemies,
+ * shoots enemies and collects power-ups.<br>
+ * <p>
+ * Attach it to a GameController with setInputSource. Decision latency is tracked and can be
+ * read through the getters below.
+ */
+public class Autopilot implements InputSource, Closeable {
+    /** The number of ticks after the current one that every line of play is simulated for. */
+    public static final int HORIZON = 20;
+
+    /** The candidate keys, in order of preference when scores tie. 0 means no key. */
+    static final char[] KEYS = {0, 'F', 'W', 'A', 'S', 'D'};
+
+    private static final int DEATH_SCORE = -1_000_000;
+    private static final int HEALTH_WEIGHT = 10;
+    private static final int HIT_WEIGHT = 60;
+    private static final int THREAT_WEIGHT = 40;
+    private static final int THREAT_ROWS = 2;
+    private static final int POWER_UP_WEIGHT = 2;
+
+    private final ForkJoinPool pool;
+    private final long budgetNanos;
+    private final int maxDepth;
+    private final BotState root = new BotState();
+    private final List<Candidate> candidates = new ArrayList<>(KEYS.length);
+
+    private long decisions;
+    private long totalNanos;
+    private long maxNanos;
+    private long lastNanos;
+    private int lastDepth;
+
+    /**
+     * Creates an autopilot that searches on one thread per available core.
+     *
+     * @param budgetNanos the time allowed for each decision, in nanoseconds.
+     * @throws IllegalArgumentException if budgetNanos is not positive.
+     */
+    public Autopilot(long budgetNanos) {
+        this(budgetNanos, HORIZON, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an autopilot with the given search limits.
+     *
+     * @param budgetNanos the time allowed for each decision, in nanoseconds.
+     * @param maxDepth the largest number of moves searched, at most HORIZON.
+     * @param parallelism the number of threads to search with.
+     * @throws IllegalArgumentException if any argument is not positive or maxDepth exceeds
+     *                                  HORIZON.
+     */
+    public Autopilot(long budgetNanos, int maxDepth, int parallelism) {
+        if (budgetNanos <= 0) {
+            throw new IllegalArgumentException("Time budget must be positive.");
+        }
+        if (maxDepth <= 0 || maxDepth > HORIZON) {
+            throw new IllegalArgumentException("Search depth must be between 1 and "
+                    + HORIZON + ".");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        }
+        this.budgetNanos = budgetNanos;
+        this.maxDepth = maxDepth;
+        this.pool = new ForkJoinPool(parallelism);
+        for (char key : KEYS) {
+            candidates.add(new Candidate(key, maxDepth));
+        }
+    }
+
+    /**
+     * Searches the current state and returns the best key to press.
+     *
+     * @param model the current game state.
+     * @param tick the tick about to be processed.
+     * @return the chosen key, or 0 to press nothing.
+     */
+    @Override
+    public char nextKey(GameModel model, int tick) {
+        long start = System.nanoTime();
+        root.load(model);
+        long deadline = start + budgetNanos;
+        for (Candidate candidate : candidates) {
+            candidate.prepare(root, tick, deadline);
+        }
+
+        List<Future<Candidate>> results = pool.invokeAll(candidates);
+        int depth = maxDepth;
+        for (Future<Candidate> result : results) {
+            try {
+                Candidate candidate = result.get();
+                if (candidate.valid) {
+                    depth = Math.min(depth, candidate.completedDepth);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return 0;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        char best = 0;
+        int bestScore = Integer.MIN_VALUE;
+        for (Candidate candidate : candidates) {
+            if (candidate.valid && depth > 0 && candidate.scores[depth] > bestScore) {
+                bestScore = candidate.scores[depth];
+                best = candidate.key;
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        decisions++;
+        totalNanos += elapsed;
+        maxNanos = Math.max(maxNanos, elapsed);
+        lastNanos = elapsed;
+        lastDepth = depth;
+        return best;
+    }
+
+    /**
+     * Scores a state at the end of a line of play. Higher is better.
+     */
+    static int evaluate(BotState state) {
+        if (state.health <= 0) {
+            return DEATH_SCORE + state.score;
+        }
+        int value = state.health * HEALTH_WEIGHT + state.score + state.hits * HIT_WEIGHT;
+        value -= state.threatsAbove(THREAT_ROWS) * THREAT_WEIGHT;
+        int powerUp = state.nearestPowerUp();
+        if (powerUp >= 0) {
+            value -= powerUp * POWER_UP_WEIGHT;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the number of decisions made so far.
+     *
+     * @return the decision count.
+     */
+    public long getDecisionCount() {
+        return decisions;
+    }
+
+    /**
+     * Returns the average time taken per decision.
+     *
+     * @return the mean decision latency in nanoseconds, or 0 if no decision was made.
+     */
+    public long getMeanDecisionNanos() {
+        return decisions == 0 ? 0 : totalNanos / decisions;
+    }
+
+    /**
+     * Returns the longest time taken by a single decision.
+     *
+     * @return the maximum decision latency in nanoseconds.
+     */
+    public long getMaxDecisionNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Returns the time taken by the most recent decision.
+     *
+     * @return the last decision latency in nanoseconds.
+     */
+    public long getLastDecisionNanos() {
+        return lastNanos;
+    }
+
+    /**
+     * Returns the number of moves searched for the most recent decision.
+     *
+     * @return the last completed search depth.
+     */
+    public int getLastSearchDepth() {
+        return lastDepth;
+    }
+
+    /**
+     * Stops the search threads.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * The search below one candidate first move. Instances and their state buffers are reused
+     * for every decision.
+     */
+    private static final class Candidate implements Callable<Candidate> {
+        private final char key;
+        private final int maxDepth;
+        private final BotState[] levels = new BotState[HORIZON + 1];
+        private final BotState rollout = new BotState();
+        private final int[] scores;
+        private BotState root;
+        private int tick;
+        private long deadline;
+        private boolean expired;
+        private boolean valid;
+        private int completedDepth;
+
+        private Candidate(char key, int maxDepth) {
+            this.key = key;
+            this.maxDepth = maxDepth;
+            this.scores = new int[maxDepth + 1];
+            for (int i = 0; i < levels.length; i++) {
+                levels[i] = new BotState();
+            }
+        }
+
+        private void prepare(BotState root, int tick, long deadline) {
+            this.root = root;
+            this.tick = tick;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public Candidate call() {
+            expired = false;
+            completedDepth = 0;
+            levels[1].copyFrom(root);
+            valid = levels[1].step(key, tick);
+            if (!valid) {
+                return this;
+            }
+            // Depth 1 always completes, so every decision is based on some search.
+            for (int depth = 1; depth <= maxDepth; depth++) {
+                int score = search(1, depth);
+                if (expired) {
+                    break;
+                }
+                scores[depth] = score;
+                completedDepth = depth;
+            }
+            return this;
+        }
+
+        /**
+         * Returns the best score reachable from levels[level], which has had level moves
+         * applied, when up to depth moves in total are searched.
+         */
+        private int search(int level, int depth) {
+            BotState state = levels[level];
+            if (level >= depth || state.health <= 0) {
+                return rollOut(state, level);
+            }
+            if (System.nanoTime() > deadline) {
+                expired = true;
+                return rollOut(state, level);
+            }
+            BotState next = levels[level + 1];
+            int best = Integer.MIN_VALUE;
+            for (char move : KEYS) {
+                next.copyFrom(state);
+                if (next.step(move, tick + level)) {
+                    best = Math.max(best, search(level + 1, depth));
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Lets the game run without input until the horizon and scores the result.
+         */
+        private int rollOut(BotState state, int level) {
+            rollout.copyFrom(state);
+            for (int t = level; t <= HORIZON && rollout.health > 0; t++) {
+                rollout.step((char) 0, tick + t);
+            }
+            return evaluate(rollout);
+        }
+    }
+}
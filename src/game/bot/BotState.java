@@ -0,0 +1,288 @@
+package game.bot;
+
+import game.GameModel;
+import game.core.EntityType;
+import game.core.HealthPowerUp;
+import game.core.ObjectWithPosition;
+import game.core.ShieldPowerUp;
+import game.core.Ship;
+import game.core.SpaceObject;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static game.GameModel.GAME_HEIGHT;
+import static game.GameModel.GAME_WIDTH;
+
+/**
+ * A primitive copy of the game state that the autopilot can step forward cheaply.<br>
+ * <p>
+ * Mirrors the rules of GameModel.updateAndCheckCollisions: objects move, objects beyond
+ * GAME_HEIGHT are dropped, objects on the ship's cell are applied to it in list order, then
+ * each bullet destroys the first enemy in list order on its cell. Objects are kept in list
+ * order, with fired bullets added at the end as the model adds them, so ties resolve the same
+ * way. Spawns are not predicted. The amounts and intervals are read from the core classes that
+ * define them, and BotStateTest steps a state and a fork of the model it was loaded from side
+ * by side to check that both reach the same state.
+ */
+final class BotState {
+    private static final byte ASTEROID = (byte) EntityType.ASTEROID.getCode();
+    private static final byte ENEMY = (byte) EntityType.ENEMY.getCode();
+    private static final byte BULLET = (byte) EntityType.BULLET.getCode();
+    private static final byte HEALTH_POWER_UP = (byte) EntityType.HEALTH_POWER_UP.getCode();
+    private static final byte SHIELD_POWER_UP = (byte) EntityType.SHIELD_POWER_UP.getCode();
+
+    int asteroidDamage;
+    int enemyDamage;
+    int shipX;
+    int shipY;
+    int health;
+    int score;
+    int hits;
+    int size;
+    byte[] types = new byte[64];
+    int[] xs = new int[64];
+    int[] ys = new int[64];
+
+    // Scratch for enemy lookups, stamped per step so it never needs clearing.
+    private final int[] cellEnemy = new int[GAME_WIDTH * (GAME_HEIGHT + 1)];
+    private final int[] cellStamp = new int[GAME_WIDTH * (GAME_HEIGHT + 1)];
+    private boolean[] removed = new boolean[64];
+    private int pass;
+
+    /**
+     * Copies the state of the given model. Objects of unknown types are left out.
+     */
+    void load(GameModel model) {
+        asteroidDamage = model.getSettings().getAsteroidDamage();
+        enemyDamage = model.getSettings().getEnemyDamage();
+        Ship ship = model.getShip();
+        shipX = ship.getX();
+        shipY = ship.getY();
+        health = ship.getHealth();
+        score = ship.getScore();
+        hits = 0;
+        List<SpaceObject> objects = model.getSpaceObjects();
+        ensureCapacity(objects.size() + 1);
+        size = 0;
+        for (int i = 0; i < objects.size(); i++) {
+            SpaceObject object = objects.get(i);
+            EntityType type = EntityType.of(object);
+            if (type == EntityType.OTHER || type == EntityType.SHIP) {
+                continue;
+            }
+            types[size] = (byte) type.getCode();
+            xs[size] = object.getX();
+            ys[size] = object.getY();
+            size++;
+        }
+    }
+
+    /**
+     * Makes this state an exact copy of another.
+     */
+    void copyFrom(BotState other) {
+        asteroidDamage = other.asteroidDamage;
+        enemyDamage = other.enemyDamage;
+        shipX = other.shipX;
+        shipY = other.shipY;
+        health = other.health;
+        score = other.score;
+        hits = other.hits;
+        ensureCapacity(other.size + 1);
+        size = other.size;
+        System.arraycopy(other.types, 0, types, 0, size);
+        System.arraycopy(other.xs, 0, xs, 0, size);
+        System.arraycopy(other.ys, 0, ys, 0, size);
+    }
+
+    /**
+     * Applies a key press and then advances the state by one tick.
+     *
+     * @param key one of W, A, S, D, F, or 0 for no key.
+     * @param tick the tick value objects move by.
+     * @return false, leaving the state unchanged, if the key would move the ship out of
+     *         bounds.
+     */
+    boolean step(char key, int tick) {
+        switch (key) {
+            case 'W' -> {
+                if (shipY <= 0) {
+                    return false;
+                }
+                shipY--;
+            }
+            case 'S' -> {
+                if (shipY + 1 >= GAME_HEIGHT) {
+                    return false;
+                }
+                shipY++;
+            }
+            case 'A' -> {
+                if (shipX <= 0) {
+                    return false;
+                }
+                shipX--;
+            }
+            case 'D' -> {
+                if (shipX + 1 >= GAME_WIDTH) {
+                    return false;
+                }
+                shipX++;
+            }
+            case 'F' -> {
+                ensureCapacity(size + 1);
+                types[size] = BULLET;
+                xs[size] = shipX;
+                ys[size] = shipY;
+                size++;
+            }
+            default -> {
+            }
+        }
+        tick(tick);
+        return true;
+    }
+
+    private void tick(int tick) {
+        boolean descend = tick % ObjectWithPosition.DESCENT_INTERVAL == 0;
+        boolean enemiesOffGrid = false;
+        pass++;
+        for (int i = 0; i < size; i++) {
+            byte type = types[i];
+            removed[i] = false;
+            if (type == BULLET) {
+                ys[i]--;
+            } else if (descend) {
+                ys[i]++;
+            }
+            if (ys[i] > GAME_HEIGHT) {
+                removed[i] = true;
+                continue;
+            }
+            if (type == BULLET) {
+                continue; // Matched against enemies once every enemy is on the grid
+            }
+            if (xs[i] == shipX && ys[i] == shipY) {
+                collide(type);
+                removed[i] = true;
+            }
+            // Enemies hit by the ship can still be matched by a bullet, as in the model
+            if (type == ENEMY) {
+                int cell = cellOf(xs[i], ys[i]);
+                if (cell < 0) {
+                    enemiesOffGrid = true;
+                } else if (cellStamp[cell] != pass) {
+                    cellStamp[cell] = pass;
+                    cellEnemy[cell] = i;
+                }
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            if (types[i] != BULLET || removed[i]) {
+                continue;
+            }
+            int enemy = findEnemyAt(xs[i], ys[i], enemiesOffGrid);
+            if (enemy >= 0) {
+                removed[i] = true;
+                removed[enemy] = true;
+                hits++;
+            }
+        }
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (!removed[i]) {
+                types[kept] = types[i];
+                xs[kept] = xs[i];
+                ys[kept] = ys[i];
+                kept++;
+            }
+        }
+        size = kept;
+    }
+
+    /**
+     * Returns the index of the first enemy at the given position in this step, or -1 if there
+     * is none.
+     */
+    private int findEnemyAt(int x, int y, boolean enemiesOffGrid) {
+        int cell = cellOf(x, y);
+        if (cell >= 0) {
+            return cellStamp[cell] == pass ? cellEnemy[cell] : -1;
+        }
+        if (!enemiesOffGrid) {
+            return -1;
+        }
+        // Only reachable when enemies were added outside the board
+        for (int i = 0; i < size; i++) {
+            if (types[i] == ENEMY && ys[i] <= GAME_HEIGHT && xs[i] == x && ys[i] == y) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int cellOf(int x, int y) {
+        if (x < 0 || x >= GAME_WIDTH || y < 0 || y > GAME_HEIGHT) {
+            return -1;
+        }
+        return y * GAME_WIDTH + x;
+    }
+
+    private void collide(byte type) {
+        if (type == ASTEROID) {
+            health = Math.max(0, health - asteroidDamage);
+        } else if (type == ENEMY) {
+            health = Math.max(0, health - enemyDamage);
+        } else if (type == HEALTH_POWER_UP) {
+            health = Math.min(Ship.MAX_HEALTH, health + HealthPowerUp.HEALTH_RESTORED);
+        } else if (type == SHIELD_POWER_UP) {
+            score += ShieldPowerUp.SCORE_BONUS;
+        }
+    }
+
+    /**
+     * Returns the distance in cells from the ship to the nearest power-up that is at or
+     * above the ship, or -1 if there is none.
+     */
+    int nearestPowerUp() {
+        int best = -1;
+        for (int i = 0; i < size; i++) {
+            if ((types[i] == HEALTH_POWER_UP || types[i] == SHIELD_POWER_UP)
+                    && ys[i] <= shipY) {
+                int distance = Math.abs(xs[i] - shipX) + (shipY - ys[i]);
+                if (best < 0 || distance < best) {
+                    best = distance;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the number of asteroids and enemies in the ship's column within the given
+     * number of rows above it.
+     */
+    int threatsAbove(int rows) {
+        int threats = 0;
+        for (int i = 0; i < size; i++) {
+            byte type = types[i];
+            if ((type == ASTEROID || type == ENEMY) && xs[i] == shipX
+                    && ys[i] <= shipY && shipY - ys[i] <= rows) {
+                threats++;
+            }
+        }
+        return threats;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (types.length >= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, types.length * 2);
+        types = Arrays.copyOf(types, newCapacity);
+        xs = Arrays.copyOf(xs, newCapacity);
+        ys = Arrays.copyOf(ys, newCapacity);
+        removed = new boolean[newCapacity];
+    }
+}
@@ -0,0 +1,43 @@
+package game.clock;
+
+/**
+ * A source of game time, read wherever the game measures how long something has taken, such
+ * as survival time.<br>
+ * <p>
+ * Readings are only meaningful relative to each other: subtract two readings to get the time
+ * between them. Swapping the wall clock for a clock derived from the tick count lets headless
+ * games run far faster than real time while keeping time-based stats consistent with what a
+ * player would have seen.
+ */
+public interface GameClock {
+    /**
+     * The nanoseconds in one second.
+     */
+    long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /**
+     * Returns the current game time.
+     *
+     * @return the time, in nanoseconds from an arbitrary origin.
+     */
+    long nanoTime();
+
+    /**
+     * Tells the clock the game is about to process the given tick. Clocks that follow real
+     * time ignore this.
+     *
+     * @param tick the tick about to be processed.
+     */
+    default void onTick(int tick) {
+    }
+
+    /**
+     * Returns the whole seconds elapsed since an earlier reading of this clock.
+     *
+     * @param startNanos an earlier result of nanoTime().
+     * @return the seconds elapsed, rounded down.
+     */
+    default long secondsSince(long startNanos) {
+        return (nanoTime() - startNanos) / NANOS_PER_SECOND;
+    }
+}
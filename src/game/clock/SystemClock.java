@@ -0,0 +1,22 @@
+package game.clock;
+
+/**
+ * A clock following real time, backed by System.nanoTime().<br>
+ * <p>
+ * Unlike System.currentTimeMillis(), it never jumps when the system time is adjusted, so
+ * elapsed times are never negative.
+ */
+public final class SystemClock implements GameClock {
+    /**
+     * The shared instance; the clock holds no state.
+     */
+    public static final SystemClock INSTANCE = new SystemClock();
+
+    private SystemClock() {
+    }
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+}
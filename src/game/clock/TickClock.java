@@ -0,0 +1,77 @@
+package game.clock;
+
+/**
+ * A clock derived from the tick count, where every tick takes the same fixed time however
+ * long it really took to process.<br>
+ * <p>
+ * The time is the last tick passed to onTick multiplied by the tick length, so a game ticked
+ * as fast as possible reports the survival time it would have had at the normal tick rate.
+ * Games driven without a GameController can move the clock on themselves with onTick or
+ * advance. Time may be read from any thread.
+ */
+public class TickClock implements GameClock {
+    /**
+     * The tick length of the standard game loop, 50 milliseconds.
+     */
+    public static final long DEFAULT_TICK_NANOS = 50_000_000L;
+
+    private final long tickNanos;
+    private volatile long nanos;
+
+    /**
+     * Creates a clock at time zero whose ticks last DEFAULT_TICK_NANOS.
+     */
+    public TickClock() {
+        this(DEFAULT_TICK_NANOS);
+    }
+
+    /**
+     * Creates a clock at time zero whose ticks last the given time.
+     *
+     * @param tickNanos the length of one tick, in nanoseconds.
+     * @throws IllegalArgumentException if tickNanos is not positive.
+     */
+    public TickClock(long tickNanos) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Tick length must be positive.");
+        }
+        this.tickNanos = tickNanos;
+    }
+
+    /**
+     * Returns the length of one tick.
+     *
+     * @return the tick length, in nanoseconds.
+     */
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    @Override
+    public long nanoTime() {
+        return nanos;
+    }
+
+    /**
+     * Sets the time to the start of the given tick.
+     *
+     * @param tick the tick about to be processed.
+     */
+    @Override
+    public void onTick(int tick) {
+        nanos = tick * tickNanos;
+    }
+
+    /**
+     * Moves the time on by the given number of ticks.
+     *
+     * @param ticks the number of ticks to advance by.
+     * @throws IllegalArgumentException if ticks is negative.
+     */
+    public void advance(int ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Cannot move a clock backwards.");
+        }
+        nanos += ticks * tickNanos; // Only the ticking thread writes, so this need not be atomic
+    }
+}
@@ -6,6 +6,7 @@ import game.ui.ObjectGraphic;
  * Represents an asteroid in the game.
  */
 public class Asteroid extends DescendingEnemy {
+    private static final ObjectGraphic GRAPHIC = new ObjectGraphic("🌑", "assets/asteroid.png");
 
     /**
      * Creates a new Asteroid instance with coordinates x and y.
@@ -17,15 +18,15 @@ public class Asteroid extends DescendingEnemy {
     }
 
     /**
-     * Returns a new ObjectGraphic with the appropriate text representation and image path.<br>
+     * Returns the ObjectGraphic with the appropriate text representation and image path.<br>
      * <p>
      * The text representation is "🌑".<br>
      * The image path is "assets/asteroid.png".<br>
      *
-     * @return the appropriate new ObjectGraphic.
+     * @return the appropriate ObjectGraphic.
      */
     @Override
     public ObjectGraphic render() {
-        return new ObjectGraphic("🌑", "assets/asteroid.png");
+        return GRAPHIC;
     }
 }
@@ -6,6 +6,7 @@ import game.ui.ObjectGraphic;
  * Represents a bullet fired by the ship.
  */
 public class Bullet extends ObjectWithPosition {
+    private static final ObjectGraphic GRAPHIC = new ObjectGraphic("🔺", "assets/bullet.png");
 
     /**
      * Creates a bullet at the given coordinates.
@@ -28,15 +29,15 @@ public class Bullet extends ObjectWithPosition {
     }
 
     /**
-     * Returns a new ObjectGraphic with the appropriate text representation and image path.<br>
+     * Returns the ObjectGraphic with the appropriate text representation and image path.<br>
      * <p>
      * The text representation is "🔺".<br>
      * The image path is "assets/bullet.png".<br>
      *
-     * @return the appropriate new ObjectGraphic.
+     * @return the appropriate ObjectGraphic.
      */
     @Override
     public ObjectGraphic render() {
-        return new ObjectGraphic("🔺", "assets/bullet.png"); // Emoji representation for the bullet
+        return GRAPHIC;
     }
 }
@@ -22,7 +22,7 @@ public abstract class DescendingEnemy extends ObjectWithPosition {
      */
     @Override
     public void tick(int tick) {
-        if (tick % 10 == 0) {
+        if (tick % DESCENT_INTERVAL == 0) {
             y++; // Move downward
         }
     }
@@ -0,0 +1,91 @@
+package game.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Game objects of the real core classes that are placed again for every frame drawn from a
+ * snapshot, so a UI sees the same classes it would for live objects without a new object per
+ * entity per frame.<br>
+ * <p>
+ * Objects are handed out in order, and reset makes every object available again, so a caller
+ * must not keep an object past the next reset. Not thread safe.
+ */
+public final class DisplayPool {
+    private final Pool<Ship> ships = new Pool<>(Ship::new);
+    private final Pool<Asteroid> asteroids = new Pool<>(() -> new Asteroid(0, 0));
+    private final Pool<Enemy> enemies = new Pool<>(() -> new Enemy(0, 0));
+    private final Pool<Bullet> bullets = new Pool<>(() -> new Bullet(0, 0));
+    private final Pool<HealthPowerUp> healthPowerUps = new Pool<>(() -> new HealthPowerUp(0, 0));
+    private final Pool<ShieldPowerUp> shieldPowerUps = new Pool<>(() -> new ShieldPowerUp(0, 0));
+
+    /**
+     * Objects of one class, handed out in order.
+     */
+    private static final class Pool<T extends ObjectWithPosition> {
+        private final Supplier<T> factory;
+        private final List<T> items = new ArrayList<>();
+        private int used;
+
+        private Pool(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        private T next(int x, int y) {
+            if (used == items.size()) {
+                items.add(factory.get());
+            }
+            T item = items.get(used++);
+            item.setPosition(x, y);
+            return item;
+        }
+    }
+
+    /**
+     * Makes every object handed out so far available again.
+     */
+    public void reset() {
+        ships.used = 0;
+        asteroids.used = 0;
+        enemies.used = 0;
+        bullets.used = 0;
+        healthPowerUps.used = 0;
+        shieldPowerUps.used = 0;
+    }
+
+    /**
+     * Returns a ship showing the given position, score and health.
+     *
+     * @param x the x coordinate.
+     * @param y the y coordinate.
+     * @param score the score.
+     * @param health the health.
+     * @return a pooled ship.
+     */
+    public Ship ship(int x, int y, int score, int health) {
+        Ship ship = ships.next(x, y);
+        ship.setState(score, health);
+        return ship;
+    }
+
+    /**
+     * Returns an object of the given type at the given position.
+     *
+     * @param type the type of object, neither SHIP nor OTHER.
+     * @param x the x coordinate.
+     * @param y the y coordinate.
+     * @return a pooled object.
+     * @throws IllegalArgumentException if type is SHIP or OTHER.
+     */
+    public SpaceObject place(EntityType type, int x, int y) {
+        return switch (type) {
+            case ASTEROID -> asteroids.next(x, y);
+            case ENEMY -> enemies.next(x, y);
+            case BULLET -> bullets.next(x, y);
+            case HEALTH_POWER_UP -> healthPowerUps.next(x, y);
+            case SHIELD_POWER_UP -> shieldPowerUps.next(x, y);
+            case SHIP, OTHER -> throw new IllegalArgumentException("Cannot place " + type);
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package game.core;
+
+/**
+ * The concrete kinds of SpaceObject known to the game, with a compact numeric code for each.<br>
+ * <p>
+ * Codes are stable and fit in a single byte, so they can be used in wire formats and
+ * primitive snapshot buffers.
+ */
+public enum EntityType {
+    SHIP(0),
+    ASTEROID(1),
+    ENEMY(2),
+    BULLET(3),
+    HEALTH_POWER_UP(4),
+    SHIELD_POWER_UP(5),
+    OTHER(6);
+
+    private static final EntityType[] BY_CODE = values();
+
+    private final int code;
+
+    EntityType(int code) {
+        this.code = code;
+    }
+
+    /**
+     * Returns the compact numeric code of this type.
+     *
+     * @return the type code, between 0 and 127.
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Returns the type with the given code.
+     *
+     * @param code the type code.
+     * @return the matching type, or OTHER if the code is unknown.
+     */
+    public static EntityType fromCode(int code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            return OTHER;
+        }
+        return BY_CODE[code];
+    }
+
+    /**
+     * Returns the type of the given object.
+     *
+     * @param object the object to classify.
+     * @return the type of the object.
+     * @requires object != null
+     */
+    public static EntityType of(SpaceObject object) {
+        return switch (object) {
+            case Bullet bullet -> BULLET;
+            case Asteroid asteroid -> ASTEROID;
+            case Enemy enemy -> ENEMY;
+            case HealthPowerUp healthPowerUp -> HEALTH_POWER_UP;
+            case ShieldPowerUp shieldPowerUp -> SHIELD_POWER_UP;
+            case Ship ship -> SHIP;
+            default -> OTHER;
+        };
+    }
+}
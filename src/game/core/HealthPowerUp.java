@@ -6,6 +6,12 @@ import game.ui.ObjectGraphic;
  * Represents a health power-up in the game.
  */
 public class HealthPowerUp extends PowerUp {
+    /**
+     * The health restored to a ship that collects a health power-up.
+     */
+    public static final int HEALTH_RESTORED = 20;
+
+    private static final ObjectGraphic GRAPHIC = new ObjectGraphic("❤️", "assets/health.png");
 
     /**
      * Creates a health power-up at the given coordinates
@@ -17,16 +23,16 @@ public class HealthPowerUp extends PowerUp {
     }
 
     /**
-     * Returns a new ObjectGraphic with the appropriate text representation and image path.<br>
+     * Returns the ObjectGraphic with the appropriate text representation and image path.<br>
      * <p>
      * The text representation is "❤️".<br>
      * The image path is "assets/health.png".<br>
      *
-     * @return the appropriate new ObjectGraphic.
+     * @return the appropriate ObjectGraphic.
      */
     @Override
     public ObjectGraphic render() {
-        return new ObjectGraphic("❤️", "assets/health.png");
+        return GRAPHIC;
     }
 
     /**
@@ -37,7 +43,7 @@ public class HealthPowerUp extends PowerUp {
      */
     @Override
     public void applyEffect(Ship ship) {
-        ship.heal(20);
-        System.out.println("Health restored by 20!");
+        ship.heal(HEALTH_RESTORED);
+        System.out.println("Health restored by " + HEALTH_RESTORED + "!");
     }
 }
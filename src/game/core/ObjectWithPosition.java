@@ -3,7 +3,12 @@ package game.core;
 /**
  * Represents a movable and interactive object in the space game.
  */
-public abstract class ObjectWithPosition implements SpaceObject {
+public abstract class ObjectWithPosition implements SpaceObject, Cloneable {
+    /**
+     * The number of ticks between each downward step of descending enemies and power-ups.
+     */
+    public static final int DESCENT_INTERVAL = 10;
+
     /**
      * The x coordinate of the Object
      */
@@ -33,4 +38,29 @@ public abstract class ObjectWithPosition implements SpaceObject {
     public int getY() {
         return y;
     }
+
+    /**
+     * Moves this object to the given coordinates.
+     *
+     * @param x the new x coordinate
+     * @param y the new y coordinate
+     */
+    void setPosition(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Returns a shallow copy of this object, of the same class and with the same position and
+     * other fields, that can be changed without affecting this object.
+     *
+     * @return a copy of this object.
+     */
+    public ObjectWithPosition copy() {
+        try {
+            return (ObjectWithPosition) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e); // Unreachable, since this class is Cloneable
+        }
+    }
 }
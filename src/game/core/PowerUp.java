@@ -22,7 +22,7 @@ public abstract class PowerUp extends ObjectWithPosition implements PowerUpEffec
      */
     @Override
     public void tick(int tick) { //Moves PowerUp downwards, once every 10 game ticks.
-        if (tick % 10 == 0) {
+        if (tick % DESCENT_INTERVAL == 0) {
             y++;
         }
     }
@@ -6,6 +6,12 @@ import game.ui.ObjectGraphic;
  * Represents a shield power-up in the game.
  */
 public class ShieldPowerUp extends PowerUp {
+    /**
+     * The score added to a ship that collects a shield power-up.
+     */
+    public static final int SCORE_BONUS = 50;
+
+    private static final ObjectGraphic GRAPHIC = new ObjectGraphic("💠", "assets/shield.png");
 
     /**
      * Creates a new ShieldPowerUp with the given coordinates.
@@ -17,16 +23,16 @@ public class ShieldPowerUp extends PowerUp {
     }
 
     /**
-     * Returns a new ObjectGraphic with the appropriate text representation and image path.<br>
+     * Returns the ObjectGraphic with the appropriate text representation and image path.<br>
      * <p>
      * The text representation is "💠".<br>
      * The image path is "assets/shield.png".<br>
      *
-     * @return the appropriate new ObjectGraphic.
+     * @return the appropriate ObjectGraphic.
      */
     @Override
     public ObjectGraphic render() {
-        return new ObjectGraphic("💠", "assets/shield.png"); // Emoji representation for the shield
+        return GRAPHIC;
     }
 
     /**
@@ -37,7 +43,7 @@ public class ShieldPowerUp extends PowerUp {
      */
     @Override
     public void applyEffect(Ship ship) {
-        ship.addScore(50);
-        System.out.println("Shield activated! Score increased by 50.");
+        ship.addScore(SCORE_BONUS);
+        System.out.println("Shield activated! Score increased by " + SCORE_BONUS + ".");
     }
 }
@@ -6,7 +6,14 @@ import game.ui.ObjectGraphic;
  * Represents the player's ship.
  */
 public class Ship extends Controllable {
-    private static final int STARTING_HEALTH = 100;
+    private static final ObjectGraphic GRAPHIC = new ObjectGraphic("🚀", "assets/ship.png");
+
+    /**
+     * The most health a ship can have.
+     */
+    public static final int MAX_HEALTH = 100;
+
+    private static final int STARTING_HEALTH = MAX_HEALTH;
     private static final int STARTING_SCORE = 0;
     private static final int STARTING_X = 5;
     private static final int STARTING_Y = 10;
@@ -39,16 +46,16 @@ public class Ship extends Controllable {
     }
 
     /**
-     * Returns a new ObjectGraphic with the appropriate text representation and image path.<br>
+     * Returns the ObjectGraphic with the appropriate text representation and image path.<br>
      * <p>
      * The text representation is "🚀".<br>
      * The image path is "assets/ship.png".<br>
      *
-     * @return the appropriate new ObjectGraphic.
+     * @return the appropriate ObjectGraphic.
      */
     @Override
     public ObjectGraphic render() {
-        return new ObjectGraphic("🚀", "assets/ship.png"); // Emoji representation for the ship
+        return GRAPHIC;
     }
 
     /**
@@ -72,8 +79,8 @@ public class Ship extends Controllable {
      */
     public void heal(int num) {
         health += num;
-        if (health > 100) {
-            health = 100; // Cap health at 100
+        if (health > MAX_HEALTH) {
+            health = MAX_HEALTH; // Cap health at 100
         }
     }
 
@@ -104,6 +111,18 @@ public class Ship extends Controllable {
         return score;
     }
 
+    /**
+     * Sets the score and health directly, bypassing the rules of addScore, takeDamage and
+     * heal. Only used to show a ship as it was in a snapshot.
+     *
+     * @param score the score to show.
+     * @param health the health to show.
+     */
+    void setState(int score, int health) {
+        this.score = score;
+        this.health = health;
+    }
+
     /**
      * As Ships have no tick-dependent behaviour, this method should be left blank.<br>
      *
@@ -9,9 +9,12 @@ import game.ui.Tickable;
 public interface SpaceObject extends Tickable {
 
     /**
-     * Returns a new ObjectGraphic with the appropriate text representation and image path.
+     * Returns the ObjectGraphic with the appropriate text representation and image path.<br>
+     * <p>
+     * Graphics are immutable, so implementations return one shared by every object of the same
+     * kind rather than allocating a new one on each call.
      *
-     * @return the appropriate new ObjectGraphic.
+     * @return the appropriate ObjectGraphic, which callers must not assume is new.
      */
     ObjectGraphic render();
 
@@ -0,0 +1,252 @@
+package game.events;
+
+import game.core.EntityType;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A preallocated ring buffer of game events with one publisher and any number of consumers.<br>
+ * <p>
+ * The tick thread publishes by filling the next slot and advancing a cursor; no objects are
+ * allocated and no locks are taken. Each consumer tracks its own sequence and reads every
+ * event published since, in batches. Tick consumers run on the tick thread whenever
+ * drainTickConsumers is called; thread consumers run on their own daemon threads.<br>
+ * <p>
+ * Publishing only checks consumer progress when it is about to reuse a slot, and then caches
+ * the slowest sequence, so its cost does not grow with the number of consumers. If the ring is
+ * full the publisher runs the tick consumers itself, then waits for the slowest thread
+ * consumer to catch up.<br>
+ * <p>
+ * Once closed, the consumers stop and events published afterwards are dropped, so a publisher
+ * that outlives its bus never waits for a consumer that is gone.
+ */
+public class EventBus implements Closeable {
+    private final GameEvent[] ring;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong(-1); // Last published sequence
+    private long cachedGate = -1; // Slowest consumer sequence when last checked
+
+    private volatile AtomicLong[] gates = new AtomicLong[0];
+    private Consumer[] tickConsumers = new Consumer[0];
+    private volatile Processor[] processors = new Processor[0];
+    private volatile boolean closed;
+
+    /**
+     * Creates an event bus.
+     *
+     * @param capacity the number of events the ring holds, a power of two.
+     * @throws IllegalArgumentException if capacity is not a positive power of two.
+     */
+    public EventBus(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two.");
+        }
+        this.ring = new GameEvent[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new GameEvent();
+        }
+    }
+
+    /**
+     * Publishes an event, or drops it if the bus is closed. Must only be called from the
+     * publishing (tick) thread.
+     *
+     * @param type what happened.
+     * @param tick the current tick.
+     * @param entityType the type of object involved.
+     * @param x the x coordinate of the event.
+     * @param y the y coordinate of the event.
+     * @param value the event's value, see EventType.
+     */
+    public void publish(EventType type, int tick, EntityType entityType, int x, int y,
+                        int value) {
+        if (closed) {
+            return;
+        }
+        long sequence = cursor.get() + 1;
+        if (sequence - ring.length > cachedGate) {
+            awaitSlot(sequence - ring.length);
+        }
+        ring[(int) sequence & mask].set(type, tick, entityType, x, y, value);
+        cursor.lazySet(sequence); // Release: the slot is visible before the new cursor
+    }
+
+    private void awaitSlot(long wrapPoint) {
+        while (true) {
+            long gate = minimumGate(cursor.get());
+            cachedGate = gate;
+            if (wrapPoint <= gate) {
+                return;
+            }
+            drainTickConsumers();
+            if (wrapPoint <= minimumGate(cursor.get())) {
+                continue;
+            }
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(10));
+        }
+    }
+
+    private long minimumGate(long fallback) {
+        long minimum = fallback;
+        for (AtomicLong gate : gates) {
+            minimum = Math.min(minimum, gate.get());
+        }
+        return minimum;
+    }
+
+    /**
+     * Returns the sequence of the most recently published event.
+     *
+     * @return the last published sequence, or -1 if nothing has been published.
+     */
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    /**
+     * Returns the number of events the ring holds.
+     *
+     * @return the capacity.
+     */
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    /**
+     * Adds a consumer that runs on the tick thread when drainTickConsumers is called. It
+     * receives events published after it was added. Must be called from the publishing
+     * thread.
+     *
+     * @param handler the handler to call for each event.
+     */
+    public void addTickConsumer(EventHandler handler) {
+        Consumer consumer = new Consumer(handler, cursor.get());
+        tickConsumers = Arrays.copyOf(tickConsumers, tickConsumers.length + 1);
+        tickConsumers[tickConsumers.length - 1] = consumer;
+        addGate(consumer.sequence);
+    }
+
+    /**
+     * Adds a consumer that runs on its own daemon thread, waiting for events as they are
+     * published. It receives events published after it was added. Must be called from the
+     * publishing thread.
+     *
+     * @param handler the handler to call for each event.
+     * @param name the name of the consumer's thread.
+     */
+    public void addThreadConsumer(EventHandler handler, String name) {
+        Processor processor = new Processor(new Consumer(handler, cursor.get()));
+        Processor[] current = processors;
+        Processor[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = processor;
+        processors = updated;
+        addGate(processor.consumer.sequence);
+        Thread thread = new Thread(processor, name);
+        thread.setDaemon(true);
+        processor.thread = thread;
+        thread.start();
+    }
+
+    private void addGate(AtomicLong sequence) {
+        AtomicLong[] updated = Arrays.copyOf(gates, gates.length + 1);
+        updated[gates.length] = sequence;
+        gates = updated;
+    }
+
+    /**
+     * Runs every tick consumer over the events published since it last ran. Must be called
+     * from the publishing thread.
+     */
+    public void drainTickConsumers() {
+        long available = cursor.get();
+        for (Consumer consumer : tickConsumers) {
+            consumer.process(available);
+        }
+    }
+
+    /**
+     * Runs the tick consumers one last time, lets the thread consumers finish every published
+     * event, and stops their threads. Events published after this are dropped.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        drainTickConsumers();
+        for (Processor processor : processors) {
+            processor.running = false;
+            LockSupport.unpark(processor.thread);
+        }
+        for (Processor processor : processors) {
+            try {
+                processor.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * A handler and the sequence of the last event it finished.
+     */
+    private final class Consumer {
+        private final EventHandler handler;
+        private final AtomicLong sequence;
+
+        private Consumer(EventHandler handler, long start) {
+            this.handler = handler;
+            this.sequence = new AtomicLong(start);
+        }
+
+        /**
+         * Handles every event up to and including available, and returns whether there were
+         * any.
+         */
+        private boolean process(long available) {
+            long next = sequence.get() + 1;
+            if (next > available) {
+                return false;
+            }
+            for (long s = next; s <= available; s++) {
+                handler.onEvent(ring[(int) s & mask], s, s == available);
+            }
+            sequence.lazySet(available); // Release the slots back to the publisher
+            return true;
+        }
+    }
+
+    /**
+     * Runs a consumer on its own thread, spinning briefly and then parking while idle.
+     */
+    private final class Processor implements Runnable {
+        private static final int SPINS = 100;
+
+        private final Consumer consumer;
+        private volatile boolean running = true;
+        private Thread thread;
+
+        private Processor(Consumer consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void run() {
+            int idle = 0;
+            while (running) {
+                if (consumer.process(cursor.get())) {
+                    idle = 0;
+                } else if (++idle < SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+                }
+            }
+            consumer.process(cursor.get()); // Finish everything published before close
+        }
+    }
+}
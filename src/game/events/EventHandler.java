@@ -0,0 +1,18 @@
+package game.events;
+
+/**
+ * Receives events from an EventBus, in publication order and in batches.
+ */
+@FunctionalInterface
+public interface EventHandler {
+
+    /**
+     * Handles one event. The event object is reused once this returns.
+     *
+     * @param event the event.
+     * @param sequence the event's position in the stream, starting from 0.
+     * @param endOfBatch true if this is the last event currently available, so that any
+     *                   buffered work can be flushed.
+     */
+    void onEvent(GameEvent event, long sequence, boolean endOfBatch);
+}
@@ -0,0 +1,26 @@
+package game.events;
+
+import game.utility.Logger;
+
+/**
+ * Logs a line for every event. Formatting happens on whichever thread runs the consumer, so
+ * registering it with EventBus.addThreadConsumer keeps string building off the tick thread.
+ */
+public class EventLogger implements EventHandler {
+    private final Logger logger;
+
+    /**
+     * Creates a consumer that logs events to the given logger.
+     *
+     * @param logger the logger to write to, which must be safe to call from the consumer's
+     *               thread.
+     */
+    public EventLogger(Logger logger) {
+        this.logger = logger;
+    }
+
+    @Override
+    public void onEvent(GameEvent event, long sequence, boolean endOfBatch) {
+        logger.log(event.toString());
+    }
+}
@@ -0,0 +1,21 @@
+package game.events;
+
+/**
+ * The kinds of event published by the game model.
+ */
+public enum EventType {
+    /** An object was spawned at the top of the board. */
+    SPAWNED,
+    /** An object moved past the bottom of the board and was removed. */
+    EXPIRED,
+    /** An object hit the ship. The value is the damage dealt, or 0 for power-ups. */
+    COLLIDED,
+    /** The player fired a bullet. */
+    FIRED,
+    /** A bullet destroyed an enemy. The position is where they met. */
+    SHOT_HIT,
+    /** The game levelled up. The value is the new level. */
+    LEVELED,
+    /** An object was removed to keep the game within its entity budget. */
+    EVICTED
+}
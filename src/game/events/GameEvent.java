@@ -0,0 +1,88 @@
+package game.events;
+
+import game.core.EntityType;
+
+/**
+ * A single slot in the event ring. Slots are allocated once and overwritten as the ring wraps,
+ * so handlers must copy out any values they want to keep before returning.
+ */
+public final class GameEvent {
+    private EventType type;
+    private int tick;
+    private EntityType entityType;
+    private int x;
+    private int y;
+    private int value;
+
+    GameEvent() {
+    }
+
+    void set(EventType type, int tick, EntityType entityType, int x, int y, int value) {
+        this.type = type;
+        this.tick = tick;
+        this.entityType = entityType;
+        this.x = x;
+        this.y = y;
+        this.value = value;
+    }
+
+    /**
+     * Returns what happened.
+     *
+     * @return the event type.
+     */
+    public EventType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the tick during which the event happened.
+     *
+     * @return the tick.
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Returns the type of object the event concerns.
+     *
+     * @return the entity type.
+     */
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * Returns the x coordinate at which the event happened.
+     *
+     * @return the x coordinate.
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Returns the y coordinate at which the event happened.
+     *
+     * @return the y coordinate.
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Returns the event's value, such as damage dealt or the new level. See EventType.
+     *
+     * @return the value, or 0 if the event type has none.
+     */
+    public int getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + entityType + " at (" + x + ", " + y + ") value " + value
+                + " on tick " + tick;
+    }
+}
@@ -0,0 +1,30 @@
+package game.events;
+
+import game.achievements.PlayerStatsTracker;
+
+/**
+ * Keeps a PlayerStatsTracker up to date from FIRED and SHOT_HIT events. Not thread safe, so it
+ * should run on the tick thread, where the tracker is also read.
+ */
+public class StatsConsumer implements EventHandler {
+    private final PlayerStatsTracker tracker;
+
+    /**
+     * Creates a consumer that records shots on the given tracker.
+     *
+     * @param tracker the tracker to update.
+     */
+    public StatsConsumer(PlayerStatsTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public void onEvent(GameEvent event, long sequence, boolean endOfBatch) {
+        switch (event.getType()) {
+            case FIRED -> tracker.recordShotFired();
+            case SHOT_HIT -> tracker.recordShotHit();
+            default -> {
+            }
+        }
+    }
+}
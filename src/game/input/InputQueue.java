@@ -0,0 +1,138 @@
+package game.input;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+/**
+ * A bounded, lock-free queue of key presses with many producers and a single consumer.<br>
+ * <p>
+ * Any thread may {@link #offer(char)} keys; the game loop {@link #drain(IntConsumer)}s them
+ * at a fixed point in each tick, so input is only ever applied on the simulation thread.
+ * When the queue is full new keys are dropped and counted rather than blocking the sender.
+ * While draining, runs of the same key are coalesced into a single press, except for keys
+ * registered as non-coalescing.
+ */
+public class InputQueue {
+    private final int mask;
+    private final char[] keys;
+    /**
+     * Per slot sequence numbers. A slot holding the value t is free for the producer claiming
+     * position t; the value t + 1 means the key for position t is ready to be consumed.
+     */
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final BitSet neverCoalesce = new BitSet();
+    private long head; // Only touched by the consumer
+    private volatile long coalesced; // Only written by the consumer
+
+    /**
+     * Creates a queue holding up to capacity pending keys.
+     *
+     * @param capacity the maximum number of pending keys, rounded up to a power of two.
+     * @throws IllegalArgumentException if capacity is not positive.
+     */
+    public InputQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.keys = new char[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Stops repeated presses of the given key from being merged when draining.
+     *
+     * @param key the key whose every press matters.
+     */
+    public void setNeverCoalesce(char key) {
+        neverCoalesce.set(key);
+    }
+
+    /**
+     * Adds a key press to the queue. Safe to call from any thread; never blocks.
+     *
+     * @param key the key pressed.
+     * @return true if the key was queued, false if the queue was full and it was dropped.
+     */
+    public boolean offer(char key) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    keys[index] = key;
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+            } else if (sequence < position) {
+                dropped.increment();
+                return false;
+            }
+            // Another producer claimed this position first; try the next one.
+        }
+    }
+
+    /**
+     * Passes every queued key to the consumer in the order they were offered, merging
+     * consecutive repeats of the same key. Only the single consumer thread may call this.
+     *
+     * @param consumer receives each key.
+     * @return the number of keys passed to the consumer.
+     */
+    public int drain(IntConsumer consumer) {
+        int delivered = 0;
+        int previous = -1;
+        long merged = 0;
+        while (true) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            char key = keys[index];
+            sequences.lazySet(index, head + mask + 1);
+            head++;
+            if (key == previous && !neverCoalesce.get(key)) {
+                merged++;
+                continue;
+            }
+            previous = key;
+            consumer.accept(key);
+            delivered++;
+        }
+        if (merged > 0) {
+            coalesced += merged;
+        }
+        return delivered;
+    }
+
+    /**
+     * Returns the number of keys dropped because the queue was full.
+     *
+     * @return the dropped key count.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns the number of repeated keys merged into an earlier press while draining.
+     *
+     * @return the coalesced key count.
+     */
+    public long getCoalescedCount() {
+        return coalesced;
+    }
+}
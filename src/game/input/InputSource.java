@@ -0,0 +1,20 @@
+package game.input;
+
+import game.GameModel;
+
+/**
+ * A source of key presses that is asked for input once per tick, such as an automated player.
+ */
+@FunctionalInterface
+public interface InputSource {
+
+    /**
+     * Returns the key to press during the given tick. Called on the thread running the game
+     * loop, before the tick's input is applied.
+     *
+     * @param model the current game state, which must not be modified.
+     * @param tick the tick about to be processed.
+     * @return one of W, A, S, D or F, or 0 to press nothing this tick.
+     */
+    char nextKey(GameModel model, int tick);
+}
@@ -0,0 +1,89 @@
+package game.launch;
+
+import game.achievements.Achievement;
+import game.core.SpaceObject;
+import game.ui.KeyHandler;
+import game.ui.ObjectGraphic;
+import game.ui.Tickable;
+import game.ui.UI;
+
+import java.util.List;
+
+/**
+ * A UI without a window, for training runs and startup probes. It asks every object for its
+ * graphic as a real UI does, and remembers when the first frame was rendered.
+ */
+final class HeadlessUI implements UI {
+    private long firstFrameNanos = -1;
+    private long glyphs;
+
+    /**
+     * Returns when the first frame was rendered.
+     *
+     * @return the System.nanoTime() of the first render, or -1 if nothing was rendered.
+     */
+    long getFirstFrameNanos() {
+        return firstFrameNanos;
+    }
+
+    /**
+     * Returns the total length of the text of every graphic rendered, so rendering cannot be
+     * optimised away.
+     *
+     * @return the number of characters rendered.
+     */
+    long getGlyphs() {
+        return glyphs;
+    }
+
+    @Override
+    public void render(List<SpaceObject> objects) {
+        for (int i = 0; i < objects.size(); i++) {
+            ObjectGraphic graphic = objects.get(i).render();
+            glyphs += graphic.getText().length();
+        }
+        if (firstFrameNanos < 0) {
+            firstFrameNanos = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public void pause() {
+    }
+
+    @Override
+    public void stop() {
+    }
+
+    @Override
+    public void onStep(Tickable tickable) {
+    }
+
+    @Override
+    public void onKey(KeyHandler key) {
+    }
+
+    @Override
+    public void log(String message) {
+    }
+
+    @Override
+    public void setStat(String label, String value) {
+    }
+
+    @Override
+    public void logAchievementMastered(String message) {
+    }
+
+    @Override
+    public void logAchievements(List<Achievement> achievements) {
+    }
+
+    @Override
+    public void setAchievementProgressStat(String name, double progress) {
+    }
+}
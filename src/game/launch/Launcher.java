@@ -0,0 +1,224 @@
+package game.launch;
+
+import game.GameController;
+import game.GameModel;
+import game.achievements.AchievementManager;
+import game.achievements.AchievementStore;
+import game.achievements.BinaryAchievementStore;
+import game.achievements.FileHandler;
+import game.achievements.GameAchievement;
+import game.achievements.PlayerStatsTracker;
+import game.bot.Autopilot;
+import game.events.EventBus;
+import game.events.EventLogger;
+import game.render.FramePacingUI;
+import game.terminal.TerminalUI;
+import game.ui.UI;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Starts the game client, or runs the workloads used to build and measure its
+ * class-data-sharing archive.<br>
+ * <p>
+ * The first argument picks the mode:<br>
+ * - play (the default) starts the game with the UI class named by the game.ui system
+ * property, TerminalUI if unset. TerminalUI is the only client in this source tree; the Swing
+ * client comes with the course library and is chosen by naming its class in game.ui. The UI
+ * is wrapped in a FramePacingUI, so frames are drawn on their own thread at the rate set by
+ * the game.fps system property, DEFAULT_FRAME_RATE if unset, while the next tick runs.<br>
+ * - train plays a headless game with the autopilot, so every class a game touches is loaded:
+ * models, controller, achievements, object graphics and frame pacing. It draws to a headless UI,
+ * so the client UI's own classes are only covered as far as the Swing and AWT classes listed
+ * in CLIENT_CLASSES. Running it with -XX:ArchiveClassesAtExit writes an AppCDS archive that
+ * later starts can map instead of loading and verifying those classes again.<br>
+ * - probe creates the same UI as play, waits until it has drawn one frame, prints
+ * FIRST_FRAME_MARKER on a line of its own and exits, so StartupBenchmark can time the startup
+ * of whichever client game.ui names from outside the JVM.<br>
+ * <p>
+ * Every mode publishes game events to an EventBus, which keeps the stats tracker current. Setting
+ * the game.events.log system property to true also logs each event to standard error, from the
+ * bus's own consumer thread.<br>
+ * <p>
+ * Play and probe restore and save achievement state through a BinaryAchievementStore at its
+ * default location. Training uses a store in its scratch directory, so it never touches the
+ * player's achievements.<br>
+ * <p>
+ * launcher/build-archive.sh and launcher/start.sh wrap the train and play modes.
+ */
+public final class Launcher {
+    /** The line printed by the probe mode once its first frame is rendered. */
+    public static final String FIRST_FRAME_MARKER = "first-frame";
+
+    /** The number of ticks a training run plays by default. */
+    public static final int DEFAULT_TRAINING_TICKS = 2_000;
+
+    /** The number of frames per second drawn when game.fps is unset. */
+    public static final int DEFAULT_FRAME_RATE = 60;
+
+    /** The number of events the event bus of each game holds. */
+    private static final int EVENT_CAPACITY = 4096;
+
+    /**
+     * Classes the Swing client loads while opening its window, loaded by name so training and
+     * probe runs cover them without needing a display.
+     */
+    private static final String[] CLIENT_CLASSES = {
+        "javax.swing.JFrame", "javax.swing.JPanel", "javax.swing.JLabel",
+        "javax.swing.JTextArea", "javax.swing.JScrollPane", "javax.swing.JOptionPane",
+        "javax.swing.ImageIcon", "javax.swing.SwingUtilities", "javax.swing.Timer",
+        "javax.swing.BoxLayout", "javax.swing.border.EmptyBorder", "java.awt.BorderLayout",
+        "java.awt.GridLayout", "java.awt.Graphics2D", "java.awt.RenderingHints",
+        "java.awt.Font", "java.awt.Color", "java.awt.event.KeyAdapter",
+        "java.awt.event.KeyEvent", "java.awt.image.BufferedImage", "javax.imageio.ImageIO"
+    };
+
+    private Launcher() {
+    }
+
+    /**
+     * Runs the mode named by the first argument.
+     *
+     * @param args the mode (play, train or probe), and for train optionally the tick count.
+     * @throws IOException if a training run cannot create or delete its scratch files.
+     */
+    public static void main(String[] args) throws IOException {
+        String mode = args.length > 0 ? args[0] : "play";
+        switch (mode) {
+            case "play" -> play();
+            case "train" -> train(args.length > 1 ? Integer.parseInt(args[1])
+                    : DEFAULT_TRAINING_TICKS);
+            case "probe" -> probe();
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+    }
+
+    private static void play() throws IOException {
+        AchievementStore store = new BinaryAchievementStore(); // Lives as long as the game does
+        GameController controller = new GameController(paced(clientUi()),
+                achievements(new FileHandler(), store));
+        events(controller); // Lives as long as the game does
+        controller.startGame();
+    }
+
+    /**
+     * Creates the UI class named by the game.ui system property, TerminalUI if unset. The
+     * default is the terminal client because it is the only one this tree can name; the Swing
+     * client is a course library class.
+     */
+    private static UI clientUi() {
+        String uiClass = System.getProperty("game.ui", TerminalUI.class.getName());
+        try {
+            return (UI) Class.forName(uiClass).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot create UI " + uiClass, e);
+        }
+    }
+
+    /**
+     * Wraps the given UI so its frames are drawn at the rate set by the game.fps system
+     * property while the next tick runs. Any UI but the terminal and headless ones is the
+     * Swing client, so it is drawn on the event dispatch thread.
+     */
+    static FramePacingUI paced(UI ui) {
+        boolean swing = !(ui instanceof TerminalUI || ui instanceof HeadlessUI);
+        return new FramePacingUI(ui, Integer.getInteger("game.fps", DEFAULT_FRAME_RATE), swing);
+    }
+
+    /**
+     * Plays a seeded headless game for the given number of ticks.
+     */
+    private static void train(int ticks) throws IOException {
+        long start = System.nanoTime();
+        loadClientClasses();
+        Path scratch = Files.createTempDirectory("game-training");
+        FileHandler log = new FileHandler();
+        log.setFileLocation(scratch.resolve("achievements.log").toString());
+        BinaryAchievementStore store =
+                new BinaryAchievementStore(scratch.resolve("achievements.dat"));
+
+        HeadlessUI ui = new HeadlessUI();
+        GameModel model = new GameModel(message -> { }, new PlayerStatsTracker());
+        model.setRandomSeed(1);
+        FramePacingUI pacer = paced(ui);
+        GameController controller = new GameController(pacer, model, achievements(log, store));
+        EventBus events = events(controller);
+        try (Autopilot autopilot = new Autopilot(200_000)) {
+            controller.setInputSource(autopilot);
+            for (int tick = 1; tick <= ticks && !model.checkGameOver(); tick++) {
+                controller.onTick(tick);
+            }
+        } finally {
+            pacer.stop(); // Draws nothing more, so the glyph count below is final
+            events.close();
+            store.close();
+        }
+        try (Stream<Path> files = Files.list(scratch)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(scratch);
+        System.out.printf("Trained on %d ticks in %.1f s, score %d, %d glyphs rendered%n",
+                ticks, (System.nanoTime() - start) / 1e9, model.getShip().getScore(),
+                ui.getGlyphs());
+    }
+
+    /**
+     * Starts a game with the client UI up to its first drawn frame, then reports it and exits.
+     */
+    private static void probe() throws IOException {
+        FramePacingUI pacer = paced(clientUi());
+        GameController controller = new GameController(pacer,
+                achievements(new FileHandler(), new BinaryAchievementStore()));
+        events(controller);
+        controller.onTick(1);
+        while (pacer.getRenderedFrames() == 0) {
+            LockSupport.parkNanos(100_000L); // The frame is drawn on the pacer's thread
+        }
+        System.out.println(); // The UI may have left its last line unfinished
+        System.out.println(FIRST_FRAME_MARKER);
+        System.out.flush();
+        System.exit(0); // Do not wait for background threads to finish
+    }
+
+    /**
+     * Sets a new event bus on the given controller, logging its events if game.events.log is
+     * set, and returns it.
+     */
+    private static EventBus events(GameController controller) {
+        EventBus events = new EventBus(EVENT_CAPACITY);
+        controller.setEventBus(events);
+        if (Boolean.getBoolean("game.events.log")) {
+            events.addThreadConsumer(new EventLogger(System.err::println), "event-logger");
+        }
+        return events;
+    }
+
+    /**
+     * Creates a manager with the game's achievements registered, restoring and saving their
+     * state through the given store.
+     */
+    static AchievementManager achievements(FileHandler log, AchievementStore store) {
+        AchievementManager manager = new AchievementManager(log, store);
+        manager.register(new GameAchievement("Survivor", "Survive for 2 minutes."));
+        manager.register(new GameAchievement("Enemy Exterminator", "Destroy 20 enemies."));
+        manager.register(new GameAchievement("Sharp Shooter", "Reach 99% accuracy."));
+        return manager;
+    }
+
+    private static void loadClientClasses() {
+        ClassLoader loader = Launcher.class.getClassLoader();
+        for (String name : CLIENT_CLASSES) {
+            try {
+                Class.forName(name, false, loader); // Loaded, but not initialised headless
+            } catch (ClassNotFoundException e) {
+                System.err.println("Client class not found: " + name);
+            }
+        }
+    }
+}
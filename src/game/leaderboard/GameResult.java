@@ -0,0 +1,94 @@
+package game.leaderboard;
+
+/**
+ * The final result of one game, as kept on the leaderboard.
+ */
+public class GameResult {
+
+    private final long sequence;
+    private final int score;
+    private final int level;
+    private final long survivalSeconds;
+    private final double accuracy;
+
+    /**
+     * Constructs a game result.
+     *
+     * @param sequence the order in which the result was recorded, used to break score ties
+     * @param score the final score
+     * @param level the level reached
+     * @param survivalSeconds the survival time in seconds
+     * @param accuracy the shooting accuracy, between 0.0 and 1.0
+     */
+    public GameResult(long sequence, int score, int level, long survivalSeconds,
+                      double accuracy) {
+        this.sequence = sequence;
+        this.score = score;
+        this.level = level;
+        this.survivalSeconds = survivalSeconds;
+        this.accuracy = accuracy;
+    }
+
+    /**
+     * Returns the order in which this result was recorded. Earlier results rank higher than
+     * later results with the same score.
+     *
+     * @return the sequence number
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the final score.
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the level reached.
+     *
+     * @return the level
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns the survival time.
+     *
+     * @return the survival time in seconds
+     */
+    public long getSurvivalSeconds() {
+        return survivalSeconds;
+    }
+
+    /**
+     * Returns the shooting accuracy.
+     *
+     * @return the accuracy, between 0.0 and 1.0
+     */
+    public double getAccuracy() {
+        return accuracy;
+    }
+
+    /**
+     * Returns whether this result ranks above the other: a higher score, or the same score
+     * recorded earlier.
+     *
+     * @param other the result to compare against
+     * @return true if this result ranks first
+     */
+    boolean ranksBefore(GameResult other) {
+        return score > other.score || (score == other.score && sequence < other.sequence);
+    }
+
+    @Override
+    public String toString() {
+        return "GameResult[score=" + score + ", level=" + level + ", survivalSeconds="
+                + survivalSeconds + ", accuracy=" + accuracy + "]";
+    }
+}
@@ -0,0 +1,280 @@
+package game.leaderboard;
+
+import game.achievements.PlayerStatsTracker;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * A file-backed leaderboard of game results.<br>
+ * <p>
+ * New results are appended to the end of the file as fixed size records and inserted into an
+ * in-memory rank index, so recording a result, looking up the top K results and finding the
+ * rank of a score are all logarithmic or better. On startup the file is read once,
+ * sequentially, to rebuild the index, and a partial record left at the end by a crash is cut
+ * off.<br>
+ * <p>
+ * After every compactionInterval appended results the file is compacted: results ranked below
+ * the retention limit are dropped and the rest are rewritten in rank order to a temporary
+ * file that atomically replaces the old one. Appends are buffered; call flush() or close() to
+ * make sure recent results reach the disk.<br>
+ * <p>
+ * All public methods are thread safe.
+ */
+public class Leaderboard implements Closeable {
+
+    /** The default file location if none is specified. */
+    public static final String DEFAULT_FILE_LOCATION = "leaderboard.dat";
+
+    private static final int RECORD_SIZE = 32;
+    private static final int WRITE_BUFFER_RECORDS = 2048;
+
+    private final Path location;
+    private final int retainLimit;
+    private final int compactionInterval;
+    private final RankIndex index = new RankIndex();
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(RECORD_SIZE * WRITE_BUFFER_RECORDS);
+    private FileChannel channel;
+    private long nextSequence;
+    private int appendedSinceCompaction;
+
+    /**
+     * Opens a leaderboard at the default location that keeps every result.
+     *
+     * @throws IOException if the file cannot be opened or read
+     */
+    public Leaderboard() throws IOException {
+        this(Path.of(DEFAULT_FILE_LOCATION), 0, 100_000);
+    }
+
+    /**
+     * Opens the leaderboard stored at the given location, loading any saved results.
+     *
+     * @param location the file to store results in
+     * @param retainLimit the number of best results kept when compacting, or 0 to keep all
+     * @param compactionInterval the number of appended results between compactions
+     * @throws IOException if the file cannot be opened or read
+     * @throws IllegalArgumentException if retainLimit is negative or compactionInterval is not
+     * positive
+     */
+    public Leaderboard(Path location, int retainLimit, int compactionInterval)
+            throws IOException {
+        if (retainLimit < 0) {
+            throw new IllegalArgumentException("Retain limit must not be negative.");
+        }
+        if (compactionInterval <= 0) {
+            throw new IllegalArgumentException("Compaction interval must be positive.");
+        }
+        this.location = location;
+        this.retainLimit = retainLimit;
+        this.compactionInterval = compactionInterval;
+        load();
+        this.channel = openForAppend(location);
+    }
+
+    private void load() throws IOException {
+        if (!Files.exists(location)) {
+            return;
+        }
+        try (FileChannel in = FileChannel.open(location, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * WRITE_BUFFER_RECORDS);
+            while (in.read(buffer) > 0) {
+                buffer.flip();
+                while (buffer.remaining() >= RECORD_SIZE) {
+                    GameResult result = readRecord(buffer);
+                    index.insert(result);
+                    nextSequence = Math.max(nextSequence, result.getSequence() + 1);
+                }
+                buffer.compact();
+            }
+        }
+    }
+
+    private static FileChannel openForAppend(Path location) throws IOException {
+        FileChannel channel = FileChannel.open(location, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        // A trailing partial record was torn by a crash. Cut it off, or every record appended
+        // after it would be read back misaligned.
+        long whole = channel.size() / RECORD_SIZE * RECORD_SIZE;
+        if (whole < channel.size()) {
+            channel.truncate(whole);
+        }
+        return channel;
+    }
+
+    /**
+     * Records the result of a finished game.
+     *
+     * @param score the final score
+     * @param level the level reached
+     * @param survivalSeconds the survival time in seconds
+     * @param accuracy the shooting accuracy, between 0.0 and 1.0
+     * @return the recorded result
+     */
+    public synchronized GameResult record(int score, int level, long survivalSeconds,
+                                          double accuracy) {
+        GameResult result = new GameResult(nextSequence++, score, level, survivalSeconds,
+                accuracy);
+        index.insert(result);
+        writeRecord(writeBuffer, result);
+        if (!writeBuffer.hasRemaining()) {
+            flush();
+        }
+        if (++appendedSinceCompaction >= compactionInterval) {
+            compact();
+        }
+        return result;
+    }
+
+    /**
+     * Records the result of a finished game, taking survival time and accuracy from the given
+     * stats tracker.
+     *
+     * @param score the final score
+     * @param level the level reached
+     * @param stats the stats tracker of the finished game
+     * @return the recorded result
+     */
+    public GameResult record(int score, int level, PlayerStatsTracker stats) {
+        return record(score, level, stats.getElapsedSeconds(), stats.getAccuracy());
+    }
+
+    /**
+     * Returns up to k of the best results, best first.
+     *
+     * @param k the number of results wanted
+     * @return the top results
+     */
+    public synchronized List<GameResult> top(int k) {
+        return index.top(k);
+    }
+
+    /**
+     * Returns the rank a game with the given score would have: 1 plus the number of recorded
+     * results with a strictly higher score.
+     *
+     * @param score the score to rank
+     * @return the 1-based rank
+     */
+    public synchronized int rankOf(int score) {
+        return index.rankOf(score);
+    }
+
+    /**
+     * Returns the result at the given rank.
+     *
+     * @param rank the 1-based rank
+     * @return the result, or null if fewer results are held
+     */
+    public synchronized GameResult getByRank(int rank) {
+        return index.get(rank);
+    }
+
+    /**
+     * Returns the number of results held.
+     *
+     * @return the result count
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Writes any buffered results to the file.
+     */
+    public synchronized void flush() {
+        writeBuffer.flip();
+        try {
+            while (writeBuffer.hasRemaining()) {
+                channel.write(writeBuffer);
+            }
+        } catch (IOException e) {
+            System.err.println("Error saving leaderboard: " + e.getMessage());
+        }
+        writeBuffer.clear();
+    }
+
+    /**
+     * Drops results ranked below the retention limit and rewrites the file in rank order.
+     * The new file is written to a temporary file first and then atomically moved into place,
+     * so a crash part way through leaves the old file intact.
+     */
+    public synchronized void compact() {
+        appendedSinceCompaction = 0;
+        flush();
+        if (retainLimit > 0) {
+            index.truncate(retainLimit);
+        }
+        Path temp = location.resolveSibling(location.getFileName() + ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocate(writeBuffer.capacity());
+                for (GameResult result : index.top(index.size())) {
+                    writeRecord(buffer, result);
+                    if (!buffer.hasRemaining()) {
+                        writeFully(out, buffer);
+                    }
+                }
+                writeFully(out, buffer);
+                out.force(true);
+            }
+            channel.close();
+            Files.move(temp, location, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            channel = openForAppend(location);
+        } catch (IOException e) {
+            System.err.println("Error compacting leaderboard: " + e.getMessage());
+            try {
+                if (!channel.isOpen()) {
+                    channel = openForAppend(location);
+                }
+            } catch (IOException reopen) {
+                System.err.println("Error reopening leaderboard: " + reopen.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Flushes buffered results and closes the file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void writeRecord(ByteBuffer buffer, GameResult result) {
+        buffer.putLong(result.getSequence());
+        buffer.putInt(result.getScore());
+        buffer.putInt(result.getLevel());
+        buffer.putLong(result.getSurvivalSeconds());
+        buffer.putDouble(result.getAccuracy());
+    }
+
+    private static GameResult readRecord(ByteBuffer buffer) {
+        long sequence = buffer.getLong();
+        int score = buffer.getInt();
+        int level = buffer.getInt();
+        long survivalSeconds = buffer.getLong();
+        double accuracy = buffer.getDouble();
+        return new GameResult(sequence, score, level, survivalSeconds, accuracy);
+    }
+}
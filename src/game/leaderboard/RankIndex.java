@@ -0,0 +1,166 @@
+package game.leaderboard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An in-memory index of game results ordered from best to worst, supporting fast top-K and
+ * rank queries.<br>
+ * <p>
+ * Implemented as an indexable skip list: each forward link also records how many results it
+ * skips over, so the rank of a score or the result at a rank is found in O(log n) expected
+ * time, and the best K results are the first K entries of the bottom level.
+ */
+class RankIndex {
+    private static final int MAX_LEVEL = 32;
+
+    private final Node head = new Node(null, MAX_LEVEL);
+    private int level = 1;
+    private int size;
+    private long randomState = 0x9E3779B97F4A7C15L;
+
+    // Scratch arrays for insert, reused to avoid allocating per call.
+    private final Node[] update = new Node[MAX_LEVEL];
+    private final int[] rank = new int[MAX_LEVEL];
+
+    private static final class Node {
+        private final GameResult result;
+        private final Node[] next;
+        /** The number of results between this node and next[i], counting next[i]. */
+        private final int[] span;
+
+        private Node(GameResult result, int level) {
+            this.result = result;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+
+    /**
+     * Returns the number of results in the index.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds a result in rank order.
+     */
+    void insert(GameResult result) {
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && x.next[i].result.ranksBefore(result)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = nodeLevel;
+        }
+
+        Node node = new Node(result, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+
+    /**
+     * Returns the 1-based rank a result with the given score would have: one more than the
+     * number of results with a strictly higher score.
+     */
+    int rankOf(int score) {
+        Node x = head;
+        int traversed = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && x.next[i].result.getScore() > score) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+        }
+        return traversed + 1;
+    }
+
+    /**
+     * Returns the result at the given 1-based rank, or null if out of range.
+     */
+    GameResult get(int targetRank) {
+        if (targetRank < 1 || targetRank > size) {
+            return null;
+        }
+        Node x = head;
+        int traversed = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= targetRank) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (traversed == targetRank) {
+                return x.result;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns up to k of the best results, best first.
+     */
+    List<GameResult> top(int k) {
+        List<GameResult> results = new ArrayList<>(Math.min(k, size));
+        for (Node x = head.next[0]; x != null && results.size() < k; x = x.next[0]) {
+            results.add(x.result);
+        }
+        return results;
+    }
+
+    /**
+     * Drops every result ranked below keep.
+     */
+    void truncate(int keep) {
+        if (keep >= size) {
+            return;
+        }
+        for (int i = level - 1; i >= 0; i--) {
+            Node x = head;
+            int traversed = 0;
+            while (x.next[i] != null && traversed + x.span[i] <= keep) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            x.next[i] = null;
+            x.span[i] = keep - traversed;
+        }
+        size = keep;
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+    }
+
+    /**
+     * Returns a level between 1 and MAX_LEVEL, each level being a quarter as likely as the one
+     * below it.
+     */
+    private int randomLevel() {
+        // xorshift64, so insertion does not allocate or contend on a shared Random
+        randomState ^= randomState << 13;
+        randomState ^= randomState >>> 7;
+        randomState ^= randomState << 17;
+        int zeroPairs = Long.numberOfTrailingZeros(randomState | (1L << 62)) / 2;
+        return Math.min(MAX_LEVEL, 1 + zeroPairs);
+    }
+}
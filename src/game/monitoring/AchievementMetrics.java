@@ -0,0 +1,24 @@
+package game.monitoring;
+
+import java.util.Map;
+
+/**
+ * Exposes the achievement state of a GameMonitor's latest window as its own MXBean.
+ */
+class AchievementMetrics implements AchievementsMXBean {
+    private final GameMonitor monitor;
+
+    AchievementMetrics(GameMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Map<String, Double> getAchievementProgress() {
+        return monitor.snapshot().achievementProgress;
+    }
+
+    @Override
+    public Map<String, String> getAchievementTiers() {
+        return monitor.snapshot().achievementTiers;
+    }
+}
@@ -0,0 +1,14 @@
+package game.monitoring;
+
+import java.util.Map;
+
+/**
+ * The live state of every registered achievement, as of the last GameMonitor window.
+ */
+public interface AchievementsMXBean {
+    /** @return each achievement's progress, between 0 and 1, keyed by name. */
+    Map<String, Double> getAchievementProgress();
+
+    /** @return each achievement's current tier, keyed by name. */
+    Map<String, String> getAchievementTiers();
+}
@@ -0,0 +1,79 @@
+package game.monitoring;
+
+/**
+ * Live game and engine metrics, readable from JConsole, VisualVM or any other JMX client.<br>
+ * <p>
+ * Values are published by a GameMonitor once per sampling window, so every attribute read
+ * together describes the same window. Phase latencies are means over the window, in
+ * nanoseconds.
+ */
+public interface GameMetricsMXBean {
+    /** @return the number of ticks per second over the last window. */
+    double getTickRate();
+
+    /** @return the number of ticks recorded since monitoring started. */
+    long getTickCount();
+
+    /** @return the duration of the last tick of the window, in nanoseconds. */
+    long getLastTickNanos();
+
+    /** @return the longest tick of the window, in nanoseconds. */
+    long getMaxTickNanos();
+
+    /** @return the mean duration of a whole tick, in nanoseconds. */
+    double getMeanTickNanos();
+
+    /** @return the mean time spent polling and applying input, in nanoseconds. */
+    double getInputMeanNanos();
+
+    /** @return the mean time spent moving objects and resolving collisions, in nanoseconds. */
+    double getUpdateMeanNanos();
+
+    /** @return the mean time spent spawning objects, in nanoseconds. */
+    double getSpawnMeanNanos();
+
+    /** @return the mean time spent checking for level ups, in nanoseconds. */
+    double getLevelMeanNanos();
+
+    /** @return the mean time spent draining events and updating achievements, in nanoseconds. */
+    double getAchievementsMeanNanos();
+
+    /** @return the mean time spent rendering, in nanoseconds. */
+    double getRenderMeanNanos();
+
+    /** @return the bytes allocated by the tick thread per tick, or -1 if unsupported. */
+    long getAllocatedBytesPerTick();
+
+    /** @return the number of bullets in the game. */
+    int getBulletCount();
+
+    /** @return the number of asteroids in the game. */
+    int getAsteroidCount();
+
+    /** @return the number of enemies in the game. */
+    int getEnemyCount();
+
+    /** @return the number of power ups in the game. */
+    int getPowerUpCount();
+
+    /** @return the current level. */
+    int getLevel();
+
+    /** @return the current asteroid spawn chance per tick, as a percentage. */
+    int getSpawnRate();
+
+    /** @return the total number of objects spawned. */
+    long getSpawnCount();
+
+    /** @return the total number of collisions with the ship. */
+    long getCollisionCount();
+
+    /** @return the number of shots fired by the player. */
+    int getShotsFired();
+
+    /** @return the number of shots that hit an enemy. */
+    int getShotsHit();
+
+    /** @return the player's shooting accuracy, between 0 and 1. */
+    double getAccuracy();
+}
@@ -0,0 +1,418 @@
+package game.monitoring;
+
+import game.GameModel;
+import game.achievements.Achievement;
+import game.achievements.AchievementManager;
+import game.achievements.PlayerStatsTracker;
+import game.clock.GameClock;
+import game.clock.SystemClock;
+import game.core.EntityType;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.Closeable;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the game loop and publishes the results as JMX MXBeans.<br>
+ * <p>
+ * The tick thread calls startTick, then mark after each phase, then endTick. Those calls only
+ * read the clock and add to plain fields. Once per sampling window the sums are turned into
+ * means, the model and achievements are sampled, and the result is published as a single
+ * immutable snapshot through a volatile field, so JMX clients never see a half-written window
+ * and never touch the model themselves.<br>
+ * <p>
+ * The tick rate is the number of tick starts in a window divided by the time since the last
+ * tick start of the previous window, so a steady loop reports exactly its own rate.<br>
+ * <p>
+ * Allocation is measured with the tick thread's allocated byte counter, read once per window,
+ * so it includes anything else that thread does between ticks.
+ */
+public class GameMonitor implements GameMetricsMXBean, Closeable {
+    /** Polling the input source and applying queued keys. */
+    public static final int INPUT = 0;
+    /** Moving objects and resolving collisions. */
+    public static final int UPDATE = 1;
+    /** Spawning new objects. */
+    public static final int SPAWN = 2;
+    /** Checking for level ups. */
+    public static final int LEVEL = 3;
+    /** Draining tick events and updating achievements. */
+    public static final int ACHIEVEMENTS = 4;
+    /** Rendering the frame. */
+    public static final int RENDER = 5;
+    /** The number of phases. */
+    public static final int PHASES = 6;
+
+    /** The ObjectName of the game metrics MXBean. */
+    public static final String METRICS_NAME = "game:type=GameMetrics";
+    /** The ObjectName of the achievements MXBean. */
+    public static final String ACHIEVEMENTS_NAME = "game:type=Achievements";
+
+    private static final long DEFAULT_WINDOW_NANOS = 1_000_000_000L;
+
+    private final long windowNanos;
+    private final GameClock clock;
+    private final com.sun.management.ThreadMXBean threads;
+
+    // Written by the tick thread only.
+    private final long[] phaseNanos = new long[PHASES];
+    private long tickStart;
+    private long phaseStart;
+    private long windowStart; // Start of the previous window's last tick, or of the first tick
+    private boolean firstWindow = true;
+    private long windowTickNanos;
+    private long windowMaxNanos;
+    private long windowAllocatedStart;
+    private int windowTicks;
+    private long tickCount;
+
+    private volatile Snapshot snapshot = new Snapshot();
+    private MBeanServer server;
+
+    /**
+     * The values of one sampling window.
+     */
+    static final class Snapshot {
+        double tickRate;
+        long tickCount;
+        long lastTickNanos;
+        long maxTickNanos;
+        double meanTickNanos;
+        final double[] phaseMeans = new double[PHASES];
+        long allocatedBytesPerTick = -1;
+        int bullets;
+        int asteroids;
+        int enemies;
+        int powerUps;
+        int level;
+        int spawnRate;
+        long spawnCount;
+        long collisionCount;
+        int shotsFired;
+        int shotsHit;
+        double accuracy;
+        Map<String, Double> achievementProgress = Collections.emptyMap();
+        Map<String, String> achievementTiers = Collections.emptyMap();
+    }
+
+    /**
+     * Creates a monitor that publishes once a second.
+     */
+    public GameMonitor() {
+        this(DEFAULT_WINDOW_NANOS);
+    }
+
+    /**
+     * Creates a monitor that publishes after every window of the given length.
+     *
+     * @param windowNanos the minimum time between publications, in nanoseconds, or 0 to
+     *                    publish after every tick.
+     * @throws IllegalArgumentException if windowNanos is negative.
+     */
+    public GameMonitor(long windowNanos) {
+        this(windowNanos, SystemClock.INSTANCE);
+    }
+
+    /**
+     * Creates a monitor that publishes after every window of the given length, timing ticks
+     * and phases with the given clock.
+     *
+     * @param windowNanos the minimum time between publications, in nanoseconds, or 0 to
+     *                    publish after every tick.
+     * @param clock the clock to time with, usually real time.
+     * @throws IllegalArgumentException if windowNanos is negative.
+     */
+    public GameMonitor(long windowNanos, GameClock clock) {
+        if (windowNanos < 0) {
+            throw new IllegalArgumentException("Window must not be negative.");
+        }
+        this.windowNanos = windowNanos;
+        this.clock = clock;
+        this.threads = allocationCounter();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (ManagementFactory.getThreadMXBean()
+                instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            if (!threads.isThreadAllocatedMemoryEnabled()) {
+                threads.setThreadAllocatedMemoryEnabled(true);
+            }
+            return threads;
+        }
+        return null;
+    }
+
+    /**
+     * Registers the game metrics and achievements MXBeans on the given server, under
+     * METRICS_NAME and ACHIEVEMENTS_NAME.
+     *
+     * @param server the server to register on, usually the platform MBeanServer.
+     * @throws JMException if either bean cannot be registered.
+     */
+    public void register(MBeanServer server) throws JMException {
+        server.registerMBean(this, new ObjectName(METRICS_NAME));
+        try {
+            server.registerMBean(new AchievementMetrics(this), new ObjectName(ACHIEVEMENTS_NAME));
+        } catch (JMException e) {
+            server.unregisterMBean(new ObjectName(METRICS_NAME));
+            throw e;
+        }
+        this.server = server;
+    }
+
+    /**
+     * Registers the MXBeans on the platform MBeanServer.
+     *
+     * @throws JMException if either bean cannot be registered.
+     */
+    public void register() throws JMException {
+        register(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * Unregisters the MXBeans, if they were registered.
+     */
+    @Override
+    public void close() {
+        if (server == null) {
+            return;
+        }
+        try {
+            server.unregisterMBean(new ObjectName(METRICS_NAME));
+            server.unregisterMBean(new ObjectName(ACHIEVEMENTS_NAME));
+        } catch (JMException e) {
+            System.err.println("Error unregistering game metrics: " + e.getMessage());
+        }
+        server = null;
+    }
+
+    /**
+     * Marks the start of a tick and of its first phase. Must be called on the tick thread.
+     */
+    public void startTick() {
+        long now = clock.nanoTime();
+        if (windowTicks == 0) {
+            if (firstWindow) {
+                windowStart = now;
+            }
+            windowAllocatedStart = allocatedBytes();
+        }
+        tickStart = now;
+        phaseStart = now;
+    }
+
+    /**
+     * Marks the end of the given phase, which started at the previous mark or at startTick.
+     *
+     * @param phase the phase that just finished, one of INPUT to RENDER.
+     * @requires 0 &lt;= phase &lt; PHASES
+     */
+    public void mark(int phase) {
+        long now = clock.nanoTime();
+        phaseNanos[phase] += now - phaseStart;
+        phaseStart = now;
+    }
+
+    /**
+     * Marks the end of a tick and publishes a snapshot if the window has elapsed.
+     *
+     * @param model the model after the tick was processed.
+     * @param achievements the achievements to report.
+     */
+    public void endTick(GameModel model, AchievementManager achievements) {
+        long now = clock.nanoTime();
+        long tickNanos = now - tickStart;
+        windowTickNanos += tickNanos;
+        windowMaxNanos = Math.max(windowMaxNanos, tickNanos);
+        windowTicks++;
+        tickCount++;
+        if (tickStart - windowStart >= windowNanos) {
+            publish(tickNanos, model, achievements);
+        }
+    }
+
+    private void publish(long lastTickNanos, GameModel model, AchievementManager achievements) {
+        Snapshot next = new Snapshot();
+        // The first window has no earlier tick start, so its first tick only opens it
+        int intervals = firstWindow ? windowTicks - 1 : windowTicks;
+        long elapsed = tickStart - windowStart;
+        next.tickRate = elapsed > 0 ? intervals * 1e9 / elapsed : 0;
+        next.tickCount = tickCount;
+        next.lastTickNanos = lastTickNanos;
+        next.maxTickNanos = windowMaxNanos;
+        next.meanTickNanos = (double) windowTickNanos / windowTicks;
+        for (int i = 0; i < PHASES; i++) {
+            next.phaseMeans[i] = (double) phaseNanos[i] / windowTicks;
+            phaseNanos[i] = 0;
+        }
+        long allocated = allocatedBytes();
+        if (allocated >= 0 && windowAllocatedStart >= 0) {
+            next.allocatedBytesPerTick = (allocated - windowAllocatedStart) / windowTicks;
+        }
+
+        next.bullets = model.getObjectCount(EntityType.BULLET);
+        next.asteroids = model.getObjectCount(EntityType.ASTEROID);
+        next.enemies = model.getObjectCount(EntityType.ENEMY);
+        next.powerUps = model.getObjectCount(EntityType.HEALTH_POWER_UP)
+                + model.getObjectCount(EntityType.SHIELD_POWER_UP);
+        next.level = model.getLevel();
+        next.spawnRate = model.getSpawnRate();
+        next.spawnCount = model.getSpawnCount();
+        next.collisionCount = model.getCollisionCount();
+        PlayerStatsTracker stats = model.getStatsTracker();
+        next.shotsFired = stats.getShotsFired();
+        next.shotsHit = stats.getShotsHit();
+        next.accuracy = stats.getAccuracy();
+
+        List<Achievement> list = achievements.getAchievements();
+        Map<String, Double> progress = new LinkedHashMap<>();
+        Map<String, String> tiers = new LinkedHashMap<>();
+        for (int i = 0; i < list.size(); i++) {
+            Achievement achievement = list.get(i);
+            progress.put(achievement.getName(), achievement.getProgress());
+            tiers.put(achievement.getName(), achievement.getCurrentTier());
+        }
+        next.achievementProgress = Collections.unmodifiableMap(progress);
+        next.achievementTiers = Collections.unmodifiableMap(tiers);
+
+        snapshot = next;
+        windowStart = tickStart;
+        firstWindow = false;
+        windowTicks = 0;
+        windowTickNanos = 0;
+        windowMaxNanos = 0;
+    }
+
+    private long allocatedBytes() {
+        return threads != null ? threads.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Returns the most recently published window.
+     */
+    Snapshot snapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public double getTickRate() {
+        return snapshot.tickRate;
+    }
+
+    @Override
+    public long getTickCount() {
+        return snapshot.tickCount;
+    }
+
+    @Override
+    public long getLastTickNanos() {
+        return snapshot.lastTickNanos;
+    }
+
+    @Override
+    public long getMaxTickNanos() {
+        return snapshot.maxTickNanos;
+    }
+
+    @Override
+    public double getMeanTickNanos() {
+        return snapshot.meanTickNanos;
+    }
+
+    @Override
+    public double getInputMeanNanos() {
+        return snapshot.phaseMeans[INPUT];
+    }
+
+    @Override
+    public double getUpdateMeanNanos() {
+        return snapshot.phaseMeans[UPDATE];
+    }
+
+    @Override
+    public double getSpawnMeanNanos() {
+        return snapshot.phaseMeans[SPAWN];
+    }
+
+    @Override
+    public double getLevelMeanNanos() {
+        return snapshot.phaseMeans[LEVEL];
+    }
+
+    @Override
+    public double getAchievementsMeanNanos() {
+        return snapshot.phaseMeans[ACHIEVEMENTS];
+    }
+
+    @Override
+    public double getRenderMeanNanos() {
+        return snapshot.phaseMeans[RENDER];
+    }
+
+    @Override
+    public long getAllocatedBytesPerTick() {
+        return snapshot.allocatedBytesPerTick;
+    }
+
+    @Override
+    public int getBulletCount() {
+        return snapshot.bullets;
+    }
+
+    @Override
+    public int getAsteroidCount() {
+        return snapshot.asteroids;
+    }
+
+    @Override
+    public int getEnemyCount() {
+        return snapshot.enemies;
+    }
+
+    @Override
+    public int getPowerUpCount() {
+        return snapshot.powerUps;
+    }
+
+    @Override
+    public int getLevel() {
+        return snapshot.level;
+    }
+
+    @Override
+    public int getSpawnRate() {
+        return snapshot.spawnRate;
+    }
+
+    @Override
+    public long getSpawnCount() {
+        return snapshot.spawnCount;
+    }
+
+    @Override
+    public long getCollisionCount() {
+        return snapshot.collisionCount;
+    }
+
+    @Override
+    public int getShotsFired() {
+        return snapshot.shotsFired;
+    }
+
+    @Override
+    public int getShotsHit() {
+        return snapshot.shotsHit;
+    }
+
+    @Override
+    public double getAccuracy() {
+        return snapshot.accuracy;
+    }
+}
@@ -0,0 +1,92 @@
+package game.movement;
+
+import game.core.Bullet;
+import game.core.DescendingEnemy;
+import game.core.PowerUp;
+import game.core.SpaceObject;
+
+/**
+ * Moves a population of objects stored as primitive coordinate arrays by one tick, and drops
+ * those that leave the bottom of the board, with the same results as calling tick on each
+ * object and removing any beyond GameModel.GAME_HEIGHT.<br>
+ * <p>
+ * Each object is a slot in three parallel arrays: x, y and kind. Bullets move up every tick;
+ * every other kind moves down on ticks that are a multiple of
+ * ObjectWithPosition.DESCENT_INTERVAL, like DescendingEnemy and PowerUp. Surviving objects are
+ * moved to the front of the arrays in their original order.<br>
+ * <p>
+ * create() returns a kernel using the incubating Vector API when the jdk.incubator.vector
+ * module is available (run with --add-modules jdk.incubator.vector), and a scalar kernel
+ * otherwise. Both give identical results.
+ */
+public interface MovementKernel {
+    /**
+     * The kind of objects that move down every DESCENT_INTERVAL ticks: asteroids, enemies and
+     * power-ups.
+     */
+    int DESCENDING = 0;
+    /** The kind of objects that move up every tick: bullets. */
+    int BULLET = 1;
+
+    /**
+     * Moves count objects by one tick, then moves the objects still on the board to the
+     * front of the arrays, keeping their order.
+     *
+     * @param xs the x coordinates.
+     * @param ys the y coordinates, updated in place.
+     * @param kinds the kind of each object, DESCENDING or BULLET.
+     * @param count the number of objects, at the start of each array.
+     * @param tick the tick being processed.
+     * @return the number of objects still on the board.
+     * @requires 0 &lt;= count &lt;= xs.length, ys.length, kinds.length
+     */
+    int step(int[] xs, int[] ys, int[] kinds, int count, int tick);
+
+    /**
+     * Returns the name of the implementation, for reports.
+     *
+     * @return the kernel's name.
+     */
+    String getName();
+
+    /**
+     * Returns the fastest kernel available: the vector kernel if the Vector API can be
+     * loaded, the scalar kernel otherwise.
+     *
+     * @return a movement kernel.
+     */
+    static MovementKernel create() {
+        try {
+            // Loaded reflectively so this interface never links against the incubator module
+            return (MovementKernel) Class.forName("game.movement.VectorMovementKernel")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ScalarMovementKernel();
+        }
+    }
+
+    /**
+     * Returns the scalar kernel, which needs no incubator module.
+     *
+     * @return a scalar movement kernel.
+     */
+    static MovementKernel scalar() {
+        return new ScalarMovementKernel();
+    }
+
+    /**
+     * Returns the kind of the given object.
+     *
+     * @param object the object to classify.
+     * @return BULLET for bullets, DESCENDING for descending enemies and power-ups.
+     * @throws IllegalArgumentException if the object moves in any other way.
+     */
+    static int kindOf(SpaceObject object) {
+        if (object instanceof Bullet) {
+            return BULLET;
+        } else if (object instanceof DescendingEnemy || object instanceof PowerUp) {
+            return DESCENDING;
+        }
+        throw new IllegalArgumentException("No movement kernel kind for " + object);
+    }
+}
@@ -0,0 +1,43 @@
+package game.movement;
+
+import game.GameModel;
+import game.core.ObjectWithPosition;
+
+/**
+ * A movement kernel that moves one object at a time. Used when the Vector API is unavailable,
+ * and for the tail of each array in the vector kernel.
+ */
+final class ScalarMovementKernel implements MovementKernel {
+
+    @Override
+    public int step(int[] xs, int[] ys, int[] kinds, int count, int tick) {
+        int descent = tick % ObjectWithPosition.DESCENT_INTERVAL == 0 ? 1 : 0;
+        return step(xs, ys, kinds, 0, 0, count, descent);
+    }
+
+    /**
+     * Moves the objects from index from up to count, writing survivors from index kept.
+     *
+     * @param descent how far descending objects move this tick.
+     * @return the index after the last survivor.
+     */
+    static int step(int[] xs, int[] ys, int[] kinds, int kept, int from, int count,
+                    int descent) {
+        for (int i = from; i < count; i++) {
+            int y = ys[i] + (kinds[i] == BULLET ? -1 : descent);
+            if (y > GameModel.GAME_HEIGHT) {
+                continue; // Off-screen
+            }
+            xs[kept] = xs[i];
+            ys[kept] = y;
+            kinds[kept] = kinds[i];
+            kept++;
+        }
+        return kept;
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+}
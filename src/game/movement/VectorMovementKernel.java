@@ -0,0 +1,65 @@
+package game.movement;
+
+import game.GameModel;
+import game.core.ObjectWithPosition;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A movement kernel that moves a vector of objects per instruction with the incubating
+ * Vector API.<br>
+ * <p>
+ * Each lane adds -1 or the tick's descent depending on its kind, and compares the result with
+ * GAME_HEIGHT. While nothing has expired, whole vectors are stored back in place; once
+ * objects have been dropped, surviving vectors are stored shifted down to the next free slot,
+ * and only vectors containing an expired object are compacted one lane at a time. Only
+ * loaded through MovementKernel.create(), so a missing module falls back to the scalar
+ * kernel.
+ */
+final class VectorMovementKernel implements MovementKernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public int step(int[] xs, int[] ys, int[] kinds, int count, int tick) {
+        int descent = tick % ObjectWithPosition.DESCENT_INTERVAL == 0 ? 1 : 0;
+        IntVector bulletStep = IntVector.broadcast(SPECIES, -1);
+        IntVector descentStep = IntVector.broadcast(SPECIES, descent);
+        int lanes = SPECIES.length();
+        int bound = SPECIES.loopBound(count);
+        int kept = 0;
+        int i = 0;
+        for (; i < bound; i += lanes) {
+            IntVector kind = IntVector.fromArray(SPECIES, kinds, i);
+            VectorMask<Integer> bullets = kind.compare(VectorOperators.EQ, BULLET);
+            IntVector y = IntVector.fromArray(SPECIES, ys, i)
+                    .add(descentStep.blend(bulletStep, bullets));
+            VectorMask<Integer> expired = y.compare(VectorOperators.GT, GameModel.GAME_HEIGHT);
+            if (!expired.anyTrue()) {
+                y.intoArray(ys, kept);
+                if (kept != i) { // Shift the whole vector down over dropped objects
+                    IntVector.fromArray(SPECIES, xs, i).intoArray(xs, kept);
+                    kind.intoArray(kinds, kept);
+                }
+                kept += lanes;
+                continue;
+            }
+            y.intoArray(ys, i);
+            for (int lane = 0; lane < lanes; lane++) {
+                if (!expired.laneIsSet(lane)) {
+                    xs[kept] = xs[i + lane];
+                    ys[kept] = ys[i + lane];
+                    kinds[kept] = kinds[i + lane];
+                    kept++;
+                }
+            }
+        }
+        return ScalarMovementKernel.step(xs, ys, kinds, kept, i, count, descent);
+    }
+
+    @Override
+    public String getName() {
+        return "vector (" + SPECIES.length() + " lanes)";
+    }
+}
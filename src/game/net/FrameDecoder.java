@@ -0,0 +1,181 @@
+package game.net;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Decodes frames written by a {@link FrameEncoder} back into full {@link FrameState}s.<br>
+ * <p>
+ * The decoder keeps the same window of recent frames as the encoder, so any delta against a
+ * frame it has acknowledged can be applied. After each successful decode the client should
+ * acknowledge {@link #getLastFrame()} back to the encoder. If a frame refers to a baseline the
+ * decoder no longer has, decode returns false and the client should ask for a keyframe.<br>
+ * <p>
+ * Each call to decode expects exactly one frame in the buffer.
+ */
+public class FrameDecoder {
+    private final FrameState[] history = new FrameState[FrameEncoder.HISTORY];
+    private final FrameState empty = new FrameState();
+    private FrameState latest = empty;
+
+    // Scratch lists of decoded operations, reused between frames.
+    private int[] spawnIds = new int[64];
+    private byte[] spawnTypes = new byte[64];
+    private int[] spawnXs = new int[64];
+    private int[] spawnYs = new int[64];
+    private int[] moveIds = new int[64];
+    private int[] moveDxs = new int[64];
+    private int[] moveDys = new int[64];
+    private int[] removeIds = new int[64];
+
+    /**
+     * Creates a decoder with no frames received.
+     */
+    public FrameDecoder() {
+        for (int i = 0; i < history.length; i++) {
+            history[i] = new FrameState();
+        }
+    }
+
+    /**
+     * Decodes one frame and applies it on top of its baseline.
+     *
+     * @param in the buffer holding the frame.
+     * @return true if the frame was applied, false if it was stale or its baseline is unknown.
+     */
+    public boolean decode(ByteBuffer in) {
+        int frame = VarInts.getVarInt(in);
+        int distance = VarInts.getVarInt(in);
+        if (frame <= latest.frame) {
+            return false;
+        }
+        FrameState baseline = empty;
+        if (distance != 0) {
+            baseline = history[(frame - distance) & FrameEncoder.HISTORY_MASK];
+            if (distance >= FrameEncoder.HISTORY || baseline.frame != frame - distance) {
+                return false;
+            }
+        }
+        FrameState target = history[frame & FrameEncoder.HISTORY_MASK];
+
+        int mask = in.get();
+        for (int i = 0; i < FrameState.STAT_COUNT; i++) {
+            target.stats[i] = (mask & (1 << i)) != 0
+                    ? VarInts.getSignedVarInt(in) : baseline.stats[i];
+        }
+
+        int spawns = VarInts.getVarInt(in);
+        ensureSpawnCapacity(spawns);
+        int id = 0;
+        for (int i = 0; i < spawns; i++) {
+            id += VarInts.getVarInt(in);
+            spawnIds[i] = id;
+            spawnTypes[i] = in.get();
+            spawnXs[i] = VarInts.getSignedVarInt(in);
+            spawnYs[i] = VarInts.getSignedVarInt(in);
+        }
+
+        int moves = VarInts.getVarInt(in);
+        ensureMoveCapacity(moves);
+        id = 0;
+        for (int i = 0; i < moves; i++) {
+            id += VarInts.getVarInt(in);
+            long packed = VarInts.getVarLong(in);
+            moveIds[i] = id;
+            moveDys[i] = VarInts.unzigzag((int) (packed >>> 1));
+            moveDxs[i] = (packed & 1) != 0 ? VarInts.getSignedVarInt(in) : 0;
+        }
+
+        int removes = VarInts.getVarInt(in);
+        if (removeIds.length < removes) {
+            removeIds = new int[Math.max(removes, removeIds.length * 2)];
+        }
+        id = 0;
+        for (int i = 0; i < removes; i++) {
+            id += VarInts.getVarInt(in);
+            removeIds[i] = id;
+        }
+
+        apply(baseline, target, spawns, moves, removes);
+        target.frame = frame;
+        latest = target;
+        return true;
+    }
+
+    /**
+     * Returns the most recently applied frame. The returned state is reused by later frames.
+     *
+     * @return the latest decoded state, empty with frame -1 if nothing has been decoded.
+     */
+    public FrameState getLatest() {
+        return latest;
+    }
+
+    /**
+     * Returns the number of the most recently applied frame, to be acknowledged to the encoder.
+     *
+     * @return the last frame number, or -1 if nothing has been decoded.
+     */
+    public int getLastFrame() {
+        return latest.frame;
+    }
+
+    /**
+     * Merges the baseline entities with the decoded spawns, moves and removals. All inputs are
+     * sorted by id, so the merge is a single linear pass.
+     */
+    private void apply(FrameState baseline, FrameState target, int spawns, int moves,
+                       int removes) {
+        target.size = 0;
+        target.ensureCapacity(baseline.size + spawns);
+        int b = 0;
+        int s = 0;
+        int m = 0;
+        int r = 0;
+        while (b < baseline.size || s < spawns) {
+            if (s == spawns || (b < baseline.size && baseline.ids[b] < spawnIds[s])) {
+                int id = baseline.ids[b];
+                while (r < removes && removeIds[r] < id) {
+                    r++;
+                }
+                if (r < removes && removeIds[r] == id) {
+                    b++;
+                    continue;
+                }
+                int x = baseline.xs[b];
+                int y = baseline.ys[b];
+                while (m < moves && moveIds[m] < id) {
+                    m++;
+                }
+                if (m < moves && moveIds[m] == id) {
+                    x += moveDxs[m];
+                    y += moveDys[m];
+                }
+                target.add(id, baseline.types[b], x, y);
+                b++;
+            } else {
+                target.add(spawnIds[s], spawnTypes[s], spawnXs[s], spawnYs[s]);
+                s++;
+            }
+        }
+    }
+
+    private void ensureSpawnCapacity(int capacity) {
+        if (spawnIds.length < capacity) {
+            int newCapacity = Math.max(capacity, spawnIds.length * 2);
+            spawnIds = Arrays.copyOf(spawnIds, newCapacity);
+            spawnTypes = Arrays.copyOf(spawnTypes, newCapacity);
+            spawnXs = Arrays.copyOf(spawnXs, newCapacity);
+            spawnYs = Arrays.copyOf(spawnYs, newCapacity);
+        }
+    }
+
+    private void ensureMoveCapacity(int capacity) {
+        if (moveIds.length < capacity) {
+            int newCapacity = Math.max(capacity, moveIds.length * 2);
+            moveIds = Arrays.copyOf(moveIds, newCapacity);
+            moveDxs = Arrays.copyOf(moveDxs, newCapacity);
+            moveDys = Arrays.copyOf(moveDys, newCapacity);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package game.net;
+
+import game.GameModel;
+import game.core.EntityType;
+import game.core.Ship;
+import game.core.SpaceObject;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Encodes game state frames as compact binary deltas for remote clients.<br>
+ * <p>
+ * Every frame is compared against the last frame the client acknowledged, and only entity
+ * spawns, moves and removals plus the stats that changed are written. When no usable
+ * acknowledged frame exists, or when a keyframe is due or requested, the full state is sent
+ * instead so the client can resynchronise.<br>
+ * <p>
+ * Frame layout (all integers are varints, signed values zigzag encoded):<br>
+ * - frame number<br>
+ * - distance back to the baseline frame, 0 for a keyframe<br>
+ * - one byte bit mask of changed stats, followed by each changed stat value<br>
+ * - spawn count, then per spawn: id gap, type byte, x, y<br>
+ * - move count, then per move: id gap, (zigzag dy &lt;&lt; 1 | dx present) as a varlong,
+ * optional dx<br>
+ * - removal count, then per removal: id gap<br>
+ * <p>
+ * The ship has id 0 and every other entity is sent with its model id plus one. Model ids
+ * survive forks, so a model that copied its objects after a fork still encodes as a small
+ * delta. Encoding only reads the model, so it never makes a forked model copy its
+ * objects.<br>
+ * <p>
+ * After warm-up, encoding allocates only when buffers need to grow.
+ */
+public class FrameEncoder {
+    /**
+     * The number of past frames kept as possible baselines. Acknowledgements older than this
+     * force a keyframe.
+     */
+    public static final int HISTORY = 32;
+    static final int HISTORY_MASK = HISTORY - 1;
+
+    /** The largest number of bytes a single entity can take up in a frame. */
+    private static final int MAX_ENTITY_BYTES = 16;
+    /** The largest number of bytes the header and stats can take up in a frame. */
+    private static final int MAX_HEADER_BYTES = 11 + 5 * FrameState.STAT_COUNT + 15;
+
+    private final FrameState[] history = new FrameState[HISTORY];
+
+    // Scratch lists of indices into the current and baseline frames, reused between frames.
+    private int[] spawnIndices = new int[64];
+    private int[] moveIndices = new int[64];
+    private int[] moveBaseIndices = new int[64];
+    private int[] removeIndices = new int[64];
+
+    private int frame = -1;
+    private int ackedFrame = -1;
+    private int lastKeyframe = -1;
+    private final int keyframeInterval;
+    private boolean keyframeRequested = true;
+
+    /**
+     * Creates an encoder that only sends keyframes when needed for resynchronisation.
+     */
+    public FrameEncoder() {
+        this(0);
+    }
+
+    /**
+     * Creates an encoder that also sends a keyframe at least every keyframeInterval frames.
+     *
+     * @param keyframeInterval the maximum number of frames between keyframes, or 0 to only
+     *                         send keyframes when needed.
+     * @throws IllegalArgumentException if keyframeInterval is negative.
+     */
+    public FrameEncoder(int keyframeInterval) {
+        if (keyframeInterval < 0) {
+            throw new IllegalArgumentException("Keyframe interval must not be negative.");
+        }
+        this.keyframeInterval = keyframeInterval;
+        for (int i = 0; i < HISTORY; i++) {
+            history[i] = new FrameState();
+        }
+    }
+
+    /**
+     * Returns an upper bound on the encoded size of a frame with the given number of entities.
+     * Buffers passed to encode should have at least this much space remaining.
+     *
+     * @param entityCount the largest number of entities, including the ship, in this frame or
+     *                    any of the previous HISTORY frames.
+     * @return the maximum number of bytes the frame can take up.
+     */
+    public static int maxEncodedSize(int entityCount) {
+        return MAX_HEADER_BYTES + 2 * MAX_ENTITY_BYTES * entityCount;
+    }
+
+    /**
+     * Encodes the current state of the given model.
+     *
+     * @param model the model to encode.
+     * @param survivalSeconds the survival time shown on the HUD.
+     * @param out the buffer to write the frame into.
+     * @return the number of the encoded frame.
+     */
+    public int encode(GameModel model, long survivalSeconds, ByteBuffer out) {
+        Ship ship = model.getShip();
+        List<SpaceObject> objects = model.readSpaceObjects();
+        frame++;
+        FrameState current = history[frame & HISTORY_MASK];
+        current.frame = frame;
+        current.size = 0;
+        current.ensureCapacity(objects.size() + 1);
+
+        track(0, ship, current);
+        for (int i = 0; i < objects.size(); i++) {
+            track(model.getEntityId(i) + 1, objects.get(i), current);
+        }
+        current.sortById();
+        current.stats[FrameState.SCORE] = ship.getScore();
+        current.stats[FrameState.HEALTH] = ship.getHealth();
+        current.stats[FrameState.LEVEL] = model.getLevel();
+        current.stats[FrameState.SECONDS] = (int) survivalSeconds;
+
+        FrameState baseline = chooseBaseline();
+        VarInts.putVarInt(out, frame);
+        if (baseline == null) {
+            VarInts.putVarInt(out, 0);
+            writeKeyframe(current, out);
+            lastKeyframe = frame;
+            keyframeRequested = false;
+        } else {
+            VarInts.putVarInt(out, frame - baseline.frame);
+            writeDelta(baseline, current, out);
+        }
+        return frame;
+    }
+
+    /**
+     * Records that the client has received and applied the given frame, making it eligible
+     * as the baseline for later deltas.
+     *
+     * @param ackedFrame the frame number acknowledged by the client.
+     */
+    public void acknowledge(int ackedFrame) {
+        if (ackedFrame > this.ackedFrame && ackedFrame <= frame) {
+            this.ackedFrame = ackedFrame;
+        }
+    }
+
+    /**
+     * Forces the next encoded frame to be a keyframe, for example after the client reports
+     * that it lost track of the stream.
+     */
+    public void requestKeyframe() {
+        keyframeRequested = true;
+    }
+
+    /**
+     * Returns the number of the most recently encoded frame.
+     *
+     * @return the last frame number, or -1 if nothing has been encoded.
+     */
+    public int getFrame() {
+        return frame;
+    }
+
+    private FrameState chooseBaseline() {
+        if (keyframeRequested || ackedFrame < 0 || frame - ackedFrame >= HISTORY) {
+            return null;
+        }
+        if (keyframeInterval > 0 && frame - lastKeyframe >= keyframeInterval) {
+            return null;
+        }
+        FrameState baseline = history[ackedFrame & HISTORY_MASK];
+        return baseline.frame == ackedFrame ? baseline : null;
+    }
+
+    private static void track(int id, SpaceObject object, FrameState current) {
+        current.add(id, EntityType.of(object).getCode(), object.getX(), object.getY());
+    }
+
+    private void writeKeyframe(FrameState current, ByteBuffer out) {
+        out.put((byte) ((1 << FrameState.STAT_COUNT) - 1));
+        for (int i = 0; i < FrameState.STAT_COUNT; i++) {
+            VarInts.putSignedVarInt(out, current.stats[i]);
+        }
+        VarInts.putVarInt(out, current.size);
+        int previousId = 0;
+        for (int i = 0; i < current.size; i++) {
+            previousId = writeSpawn(current, i, previousId, out);
+        }
+        VarInts.putVarInt(out, 0); // no moves
+        VarInts.putVarInt(out, 0); // no removals
+    }
+
+    private void writeDelta(FrameState baseline, FrameState current, ByteBuffer out) {
+        int mask = 0;
+        for (int i = 0; i < FrameState.STAT_COUNT; i++) {
+            if (baseline.stats[i] != current.stats[i]) {
+                mask |= 1 << i;
+            }
+        }
+        out.put((byte) mask);
+        for (int i = 0; i < FrameState.STAT_COUNT; i++) {
+            if ((mask & (1 << i)) != 0) {
+                VarInts.putSignedVarInt(out, current.stats[i]);
+            }
+        }
+
+        ensureScratchCapacity(Math.max(baseline.size, current.size));
+        int spawns = 0;
+        int moves = 0;
+        int removes = 0;
+        int b = 0;
+        int c = 0;
+        while (b < baseline.size || c < current.size) {
+            if (c == current.size
+                    || (b < baseline.size && baseline.ids[b] < current.ids[c])) {
+                removeIndices[removes++] = b++;
+            } else if (b == baseline.size || current.ids[c] < baseline.ids[b]) {
+                spawnIndices[spawns++] = c++;
+            } else {
+                if (baseline.xs[b] != current.xs[c] || baseline.ys[b] != current.ys[c]) {
+                    moveBaseIndices[moves] = b;
+                    moveIndices[moves++] = c;
+                }
+                b++;
+                c++;
+            }
+        }
+
+        VarInts.putVarInt(out, spawns);
+        int previousId = 0;
+        for (int i = 0; i < spawns; i++) {
+            previousId = writeSpawn(current, spawnIndices[i], previousId, out);
+        }
+
+        VarInts.putVarInt(out, moves);
+        previousId = 0;
+        for (int i = 0; i < moves; i++) {
+            int index = moveIndices[i];
+            int id = current.ids[index];
+            int dx = current.xs[index] - baseline.xs[moveBaseIndices[i]];
+            int dy = current.ys[index] - baseline.ys[moveBaseIndices[i]];
+            VarInts.putVarInt(out, id - previousId);
+            // Widened, as a zigzag dy can use all 32 bits
+            VarInts.putVarLong(out, (Integer.toUnsignedLong(VarInts.zigzag(dy)) << 1)
+                    | (dx != 0 ? 1 : 0));
+            if (dx != 0) {
+                VarInts.putSignedVarInt(out, dx);
+            }
+            previousId = id;
+        }
+
+        VarInts.putVarInt(out, removes);
+        previousId = 0;
+        for (int i = 0; i < removes; i++) {
+            int id = baseline.ids[removeIndices[i]];
+            VarInts.putVarInt(out, id - previousId);
+            previousId = id;
+        }
+    }
+
+    private static int writeSpawn(FrameState state, int index, int previousId,
+                                  ByteBuffer out) {
+        int id = state.ids[index];
+        VarInts.putVarInt(out, id - previousId);
+        out.put(state.types[index]);
+        VarInts.putSignedVarInt(out, state.xs[index]);
+        VarInts.putSignedVarInt(out, state.ys[index]);
+        return id;
+    }
+
+    private void ensureScratchCapacity(int capacity) {
+        if (spawnIndices.length < capacity) {
+            int newCapacity = Math.max(capacity, spawnIndices.length * 2);
+            spawnIndices = Arrays.copyOf(spawnIndices, newCapacity);
+            moveIndices = Arrays.copyOf(moveIndices, newCapacity);
+            moveBaseIndices = Arrays.copyOf(moveBaseIndices, newCapacity);
+            removeIndices = Arrays.copyOf(removeIndices, newCapacity);
+        }
+    }
+}
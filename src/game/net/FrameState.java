@@ -0,0 +1,161 @@
+package game.net;
+
+import game.core.EntityType;
+
+import java.util.Arrays;
+
+/**
+ * A primitive snapshot of one game state frame: every entity's id, type and position, plus
+ * the HUD stats.<br>
+ * <p>
+ * Entities are kept sorted by ascending id so two frames can be compared with a single merge.
+ * Instances are reused between frames by the encoder and decoder, so callers must copy out any
+ * values they want to keep before the next frame is processed.
+ */
+public class FrameState {
+    /** Index of the score stat. */
+    public static final int SCORE = 0;
+    /** Index of the health stat. */
+    public static final int HEALTH = 1;
+    /** Index of the level stat. */
+    public static final int LEVEL = 2;
+    /** Index of the survival time stat, in seconds. */
+    public static final int SECONDS = 3;
+    /** The number of stats carried by every frame. */
+    public static final int STAT_COUNT = 4;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    int frame = -1;
+    int size;
+    int[] ids = new int[INITIAL_CAPACITY];
+    byte[] types = new byte[INITIAL_CAPACITY];
+    int[] xs = new int[INITIAL_CAPACITY];
+    int[] ys = new int[INITIAL_CAPACITY];
+    final int[] stats = new int[STAT_COUNT];
+
+    /**
+     * Returns the frame number this state belongs to.
+     *
+     * @return the frame number, or -1 if no frame has been stored yet.
+     */
+    public int getFrame() {
+        return frame;
+    }
+
+    /**
+     * Returns the number of entities in this frame.
+     *
+     * @return the entity count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the id of the entity at the given index.
+     *
+     * @param index the entity index.
+     * @return the entity id.
+     * @requires 0 &lt;= index &lt; size()
+     */
+    public int getId(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Returns the type of the entity at the given index.
+     *
+     * @param index the entity index.
+     * @return the entity type.
+     * @requires 0 &lt;= index &lt; size()
+     */
+    public EntityType getType(int index) {
+        return EntityType.fromCode(types[index]);
+    }
+
+    /**
+     * Returns the x coordinate of the entity at the given index.
+     *
+     * @param index the entity index.
+     * @return the x coordinate.
+     * @requires 0 &lt;= index &lt; size()
+     */
+    public int getX(int index) {
+        return xs[index];
+    }
+
+    /**
+     * Returns the y coordinate of the entity at the given index.
+     *
+     * @param index the entity index.
+     * @return the y coordinate.
+     * @requires 0 &lt;= index &lt; size()
+     */
+    public int getY(int index) {
+        return ys[index];
+    }
+
+    /**
+     * Returns one of the HUD stats of this frame.
+     *
+     * @param stat one of SCORE, HEALTH, LEVEL or SECONDS.
+     * @return the stat value.
+     */
+    public int getStat(int stat) {
+        return stats[stat];
+    }
+
+    /**
+     * Makes room for at least the given number of entities, keeping existing entries.
+     */
+    void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, newCapacity);
+        types = Arrays.copyOf(types, newCapacity);
+        xs = Arrays.copyOf(xs, newCapacity);
+        ys = Arrays.copyOf(ys, newCapacity);
+    }
+
+    /**
+     * Appends an entity. Capacity must already have been ensured.
+     */
+    void add(int id, int type, int x, int y) {
+        ids[size] = id;
+        types[size] = (byte) type;
+        xs[size] = x;
+        ys[size] = y;
+        size++;
+    }
+
+    /**
+     * Restores ascending id order. Entities normally arrive already sorted, so this is linear
+     * in the common case.
+     */
+    void sortById() {
+        for (int i = 1; i < size; i++) {
+            int id = ids[i];
+            if (ids[i - 1] <= id) {
+                continue;
+            }
+            byte type = types[i];
+            int x = xs[i];
+            int y = ys[i];
+            int j = i - 1;
+            while (j >= 0 && ids[j] > id) {
+                ids[j + 1] = ids[j];
+                types[j + 1] = types[j];
+                xs[j + 1] = xs[j];
+                ys[j + 1] = ys[j];
+                j--;
+            }
+            ids[j + 1] = id;
+            types[j + 1] = type;
+            xs[j + 1] = x;
+            ys[j + 1] = y;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package game.net;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Helpers for reading and writing variable-length integers.<br>
+ * <p>
+ * Values are written seven bits at a time, least significant group first, with the high bit
+ * of each byte set while more bytes follow. Signed values are zigzag encoded first so that
+ * small negative numbers stay small.
+ */
+public final class VarInts {
+
+    private VarInts() {
+    }
+
+    /**
+     * Writes an unsigned variable-length integer.
+     *
+     * @param out the buffer to write to.
+     * @param value the value to write, treated as unsigned.
+     */
+    public static void putVarInt(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Writes a signed variable-length integer using zigzag encoding.
+     *
+     * @param out the buffer to write to.
+     * @param value the value to write.
+     */
+    public static void putSignedVarInt(ByteBuffer out, int value) {
+        putVarInt(out, zigzag(value));
+    }
+
+    /**
+     * Reads an unsigned variable-length integer.
+     *
+     * @param in the buffer to read from.
+     * @return the value read.
+     * @throws IllegalArgumentException if the encoding is longer than five bytes.
+     */
+    public static int getVarInt(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint.");
+    }
+
+    /**
+     * Reads a signed variable-length integer written with zigzag encoding.
+     *
+     * @param in the buffer to read from.
+     * @return the value read.
+     */
+    public static int getSignedVarInt(ByteBuffer in) {
+        return unzigzag(getVarInt(in));
+    }
+
+    /**
+     * Maps a signed value onto an unsigned one so that values near zero encode compactly.
+     *
+     * @param value the signed value.
+     * @return the zigzag encoded value.
+     */
+    public static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * Reverses {@link #zigzag(int)}.
+     *
+     * @param value the zigzag encoded value.
+     * @return the signed value.
+     */
+    public static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Writes an unsigned variable-length long.
+     *
+     * @param out the buffer to write to.
+     * @param value the value to write, treated as unsigned.
+     */
+    public static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Writes a signed variable-length long using zigzag encoding.
+     *
+     * @param out the buffer to write to.
+     * @param value the value to write.
+     */
+    public static void putSignedVarLong(ByteBuffer out, long value) {
+        putVarLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Reads an unsigned variable-length long.
+     *
+     * @param in the buffer to read from.
+     * @return the value read.
+     * @throws IllegalArgumentException if the encoding is longer than ten bytes.
+     */
+    public static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varlong.");
+    }
+
+    /**
+     * Reads a signed variable-length long written with zigzag encoding.
+     *
+     * @param in the buffer to read from.
+     * @return the value read.
+     */
+    public static long getSignedVarLong(ByteBuffer in) {
+        long value = getVarLong(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,360 @@
+package game.render;
+
+import game.achievements.Achievement;
+import game.core.DisplayPool;
+import game.core.EntityType;
+import game.core.SpaceObject;
+import game.ui.KeyHandler;
+import game.ui.Tickable;
+import game.ui.UI;
+
+import javax.swing.SwingUtilities;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A UI that draws frames at a fixed target rate kept by a thread of its own, dropping frames
+ * that are replaced before they could be drawn.<br>
+ * <p>
+ * render copies the type and position of every object into a {@link FrameSnapshot}, publishes
+ * it through a TripleBuffer and returns, so the tick never waits on drawing. The render thread
+ * wakes once per frame period and, if there is a new snapshot, passes the wrapped UI objects
+ * of the same core classes placed at the snapshot's positions. These come from a
+ * {@link DisplayPool} and are reused for every frame, so the wrapped UI must not keep them
+ * after render returns. Objects of a type unknown to {@link EntityType} can not be rebuilt, so
+ * the snapshot holds a copy of each instead, and leaves out any that can not be copied. The
+ * live game objects never leave the caller's thread, so the wrapped UI can not see them change
+ * mid-frame. When drawing is slower than the tick, the frames in
+ * between are replaced and counted as dropped, so the screen shows the latest state instead of
+ * falling further and further behind. After a slow frame the schedule restarts from the current
+ * time rather than rendering a burst to catch up.<br>
+ * <p>
+ * A Swing UI must only be used from the event dispatch thread, so it is wrapped with
+ * drawOnEventThread set. The render thread then only keeps time: at most one frame at a time
+ * is handed to the event dispatch thread with SwingUtilities.invokeLater, and the next is not
+ * handed over until it has been drawn, so frames are still dropped rather than queued.<br>
+ * <p>
+ * While this UI is started, the wrapped UI is only ever used from the draw thread, the event
+ * dispatch thread if drawOnEventThread is set and the render thread otherwise. setStat
+ * and setAchievementProgressStat overwrite one slot per label or achievement, and each slot
+ * that changed is passed on once before the next frame. log and the other achievement calls
+ * are queued and run in order before the next frame. The achievements passed to
+ * logAchievements are copied into a new list but are not themselves copied, so it should only
+ * be called while the game is paused or over. When this UI is not started, all of these are
+ * passed straight through. start, stop, pause, onStep and onKey are always passed through on
+ * the caller's thread.
+ */
+public class FramePacingUI implements UI {
+    private final UI delegate;
+    private final long frameNanos;
+    private final boolean drawOnEventThread;
+    private final AtomicBoolean handedOver = new AtomicBoolean(); // A frame waits on the EDT
+    private final Runnable drawOnEdt = this::drawHandedOver;
+    private final TripleBuffer<FrameSnapshot> frames = new TripleBuffer<>(FrameSnapshot::new);
+    private final Queue<Runnable> calls = new ConcurrentLinkedQueue<>();
+    private final Map<String, Slot> stats = new ConcurrentHashMap<>();
+    private final Map<String, Slot> progress = new ConcurrentHashMap<>();
+    private final List<Slot> slots = new CopyOnWriteArrayList<>(); // Every slot, for the reader
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong rendered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running;
+    private Thread renderer;
+
+    // Only used by the draw thread.
+    private final List<SpaceObject> drawn = new ArrayList<>();
+    private final DisplayPool pool = new DisplayPool();
+
+    /**
+     * The latest value of one stat or achievement progress, and whether it changed since it was
+     * last passed on.
+     */
+    private static final class Slot {
+        private final String name;
+        private final boolean isProgress; // An achievement progress rather than a stat
+        private final AtomicBoolean changed = new AtomicBoolean();
+        private volatile String value;
+        private volatile double fraction;
+
+        private Slot(String name, boolean isProgress) {
+            this.name = name;
+            this.isProgress = isProgress;
+        }
+    }
+
+    /**
+     * Wraps the given UI, drawing at most targetFps frames per second on the render thread.
+     *
+     * @param delegate the UI that draws frames, which must not be a Swing UI.
+     * @param targetFps the target frame rate.
+     * @throws IllegalArgumentException if targetFps is not positive.
+     */
+    public FramePacingUI(UI delegate, int targetFps) {
+        this(delegate, targetFps, false);
+    }
+
+    /**
+     * Wraps the given UI, drawing at most targetFps frames per second.
+     *
+     * @param delegate the UI that draws frames.
+     * @param targetFps the target frame rate.
+     * @param drawOnEventThread whether to draw on the event dispatch thread, as a Swing UI
+     *                          requires, instead of the render thread.
+     * @throws IllegalArgumentException if targetFps is not positive.
+     */
+    public FramePacingUI(UI delegate, int targetFps, boolean drawOnEventThread) {
+        if (targetFps <= 0) {
+            throw new IllegalArgumentException("Target frame rate must be positive.");
+        }
+        this.delegate = delegate;
+        this.frameNanos = 1_000_000_000L / targetFps;
+        this.drawOnEventThread = drawOnEventThread;
+    }
+
+    /**
+     * Starts the wrapped UI and the render thread.
+     */
+    @Override
+    public void start() {
+        delegate.start();
+        if (renderer == null) {
+            running = true;
+            renderer = new Thread(this::renderLoop, "frame-pacer");
+            renderer.setDaemon(true);
+            renderer.start();
+        }
+    }
+
+    /**
+     * Stops the render thread, waiting for any frame being drawn on it, passes on any queued
+     * calls and changed stats, then stops the wrapped UI. When drawing on the event dispatch
+     * thread, a frame already handed over is not drawn, and the queued calls are passed on
+     * from the event dispatch thread.
+     */
+    @Override
+    public void stop() {
+        if (renderer != null) {
+            running = false;
+            LockSupport.unpark(renderer);
+            try {
+                renderer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            renderer = null;
+        }
+        if (drawOnEventThread && !SwingUtilities.isEventDispatchThread()) {
+            try {
+                SwingUtilities.invokeAndWait(this::runQueuedCalls);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        } else {
+            runQueuedCalls();
+        }
+        delegate.stop();
+    }
+
+    /**
+     * Queues a snapshot of the given objects as the newest frame, replacing any frame not yet
+     * drawn. Neither the list nor the objects are kept, so the caller may change them straight
+     * away. Must always be called from the same thread.
+     *
+     * @param objects the objects to draw.
+     */
+    @Override
+    public void render(List<SpaceObject> objects) {
+        long frame = published.incrementAndGet();
+        frames.getWriteBuffer().capture((int) frame, objects);
+        if (frames.publish()) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void renderLoop() {
+        long next = System.nanoTime();
+        while (running) {
+            if (!drawOnEventThread) {
+                drawLatest();
+            } else if (handedOver.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(drawOnEdt); // Skipped while the last is not drawn
+            }
+            next += frameNanos;
+            long now = System.nanoTime();
+            if (now - next > 0) {
+                next = now; // Fell behind: skip the missed periods instead of bursting
+            } else {
+                LockSupport.parkNanos(next - now);
+            }
+        }
+    }
+
+    /**
+     * Passes on queued calls and changed stats, then draws the newest snapshot if it has not
+     * been drawn yet.
+     */
+    private void drawLatest() {
+        runQueuedCalls();
+        if (frames.hasFresh()) {
+            draw(frames.acquire());
+            rendered.incrementAndGet();
+        }
+    }
+
+    private void drawHandedOver() {
+        try {
+            if (running) {
+                drawLatest();
+            }
+        } finally {
+            handedOver.set(false); // Also publishes this frame's pool state to the next
+        }
+    }
+
+    private void draw(FrameSnapshot snapshot) {
+        drawn.clear();
+        pool.reset();
+        for (int i = 0; i < snapshot.size(); i++) {
+            int x = snapshot.getX(i);
+            int y = snapshot.getY(i);
+            EntityType type = snapshot.getType(i);
+            if (type == EntityType.SHIP) {
+                drawn.add(pool.ship(x, y, snapshot.getScore(), snapshot.getHealth()));
+            } else if (type != EntityType.OTHER) {
+                drawn.add(pool.place(type, x, y));
+            } else if (snapshot.getOther(i) != null) {
+                drawn.add(snapshot.getOther(i));
+            }
+        }
+        delegate.render(drawn);
+    }
+
+    private void submit(Runnable call) {
+        if (running) {
+            calls.add(call);
+        } else {
+            call.run();
+        }
+    }
+
+    private void runQueuedCalls() {
+        Runnable call;
+        while ((call = calls.poll()) != null) {
+            call.run();
+        }
+        for (int i = 0; i < slots.size(); i++) {
+            Slot slot = slots.get(i);
+            if (slot.changed.getAndSet(false)) { // Cleared first, so no newer value is lost
+                if (slot.isProgress) {
+                    delegate.setAchievementProgressStat(slot.name, slot.fraction);
+                } else {
+                    delegate.setStat(slot.name, slot.value);
+                }
+            }
+        }
+    }
+
+    private Slot slot(Map<String, Slot> slotsByName, String name, boolean isProgress) {
+        Slot slot = slotsByName.get(name);
+        if (slot == null) {
+            slot = new Slot(name, isProgress);
+            Slot existing = slotsByName.putIfAbsent(name, slot);
+            if (existing != null) {
+                return existing;
+            }
+            slots.add(slot);
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the number of frames passed to render.
+     *
+     * @return the published frame count.
+     */
+    public long getPublishedFrames() {
+        return published.get();
+    }
+
+    /**
+     * Returns the number of frames drawn by the wrapped UI.
+     *
+     * @return the rendered frame count.
+     */
+    public long getRenderedFrames() {
+        return rendered.get();
+    }
+
+    /**
+     * Returns the number of frames replaced by a newer one before they could be drawn.
+     *
+     * @return the dropped frame count.
+     */
+    public long getDroppedFrames() {
+        return dropped.get();
+    }
+
+    @Override
+    public void pause() {
+        delegate.pause();
+    }
+
+    @Override
+    public void onStep(Tickable tickable) {
+        delegate.onStep(tickable);
+    }
+
+    @Override
+    public void onKey(KeyHandler key) {
+        delegate.onKey(key);
+    }
+
+    @Override
+    public void log(String message) {
+        submit(() -> delegate.log(message));
+    }
+
+    @Override
+    public void setStat(String label, String value) {
+        if (!running) {
+            delegate.setStat(label, value);
+            return;
+        }
+        Slot slot = slot(stats, label, false);
+        slot.value = value;
+        slot.changed.set(true);
+    }
+
+    @Override
+    public void logAchievementMastered(String message) {
+        submit(() -> delegate.logAchievementMastered(message));
+    }
+
+    @Override
+    public void logAchievements(List<Achievement> achievements) {
+        List<Achievement> copy = new ArrayList<>(achievements);
+        submit(() -> delegate.logAchievements(copy));
+    }
+
+    @Override
+    public void setAchievementProgressStat(String name, double progress) {
+        if (!running) {
+            delegate.setAchievementProgressStat(name, progress);
+            return;
+        }
+        Slot slot = slot(this.progress, name, true);
+        slot.fraction = progress;
+        slot.changed.set(true);
+    }
+}
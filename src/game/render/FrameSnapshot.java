@@ -0,0 +1,151 @@
+package game.render;
+
+import game.core.EntityType;
+import game.core.ObjectWithPosition;
+import game.core.Ship;
+import game.core.SpaceObject;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A copy of everything needed to draw one frame: each entity's type and position, and the
+ * ship's score and health. Objects of type OTHER can not be rebuilt from their type and
+ * position, so the snapshot keeps a copy of each instead. An OTHER object that is not an
+ * ObjectWithPosition can not be copied, and is recorded without one.<br>
+ * <p>
+ * Snapshots are captured by the simulation thread and handed to the render thread through a
+ * {@link TripleBuffer}. Once published, a snapshot is not modified until the reader has moved on
+ * to a newer one, so the reader can use it without locking. Arrays are reused between frames
+ * and only grow when the entity count does.
+ */
+public class FrameSnapshot {
+    private int tick = -1;
+    private int size;
+    private byte[] types = new byte[64];
+    private int[] xs = new int[64];
+    private int[] ys = new int[64];
+    private SpaceObject[] others = new SpaceObject[64]; // Set only for entities of type OTHER
+    private int score;
+    private int health;
+
+    /**
+     * Overwrites this snapshot with the given objects, in the order given. If
+     * one of them is a Ship, its score and health become the snapshot's.
+     *
+     * @param tick the tick this frame belongs to.
+     * @param objects the objects to draw, which may include the ship.
+     */
+    public void capture(int tick, List<SpaceObject> objects) {
+        int count = objects.size();
+        ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            SpaceObject object = objects.get(i);
+            EntityType type = EntityType.of(object);
+            types[i] = (byte) type.getCode();
+            others[i] = type == EntityType.OTHER && object instanceof ObjectWithPosition movable
+                    ? movable.copy() : null;
+            xs[i] = object.getX();
+            ys[i] = object.getY();
+            if (object instanceof Ship ship) {
+                this.score = ship.getScore();
+                this.health = ship.getHealth();
+            }
+        }
+        Arrays.fill(others, count, Math.max(count, size), null);
+        this.size = count;
+        this.tick = tick;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > xs.length) {
+            int newCapacity = Math.max(capacity, xs.length * 2);
+            types = Arrays.copyOf(types, newCapacity);
+            xs = Arrays.copyOf(xs, newCapacity);
+            ys = Arrays.copyOf(ys, newCapacity);
+            others = Arrays.copyOf(others, newCapacity);
+        }
+    }
+
+    /**
+     * Returns the tick this frame was captured on.
+     *
+     * @return the tick, or -1 if nothing has been captured.
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Returns the number of entities in this frame, including the ship.
+     *
+     * @return the entity count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the type of the entity at the given index.
+     *
+     * @param index the entity index.
+     * @return the entity type.
+     * @requires 0 &lt;= index &lt; size()
+     */
+    public EntityType getType(int index) {
+        return EntityType.fromCode(types[index]);
+    }
+
+    /**
+     * Returns the x coordinate of the entity at the given index.
+     *
+     * @param index the entity index.
+     * @return the x coordinate.
+     * @requires 0 &lt;= index &lt; size()
+     */
+    public int getX(int index) {
+        return xs[index];
+    }
+
+    /**
+     * Returns the y coordinate of the entity at the given index.
+     *
+     * @param index the entity index.
+     * @return the y coordinate.
+     * @requires 0 &lt;= index &lt; size()
+     */
+    public int getY(int index) {
+        return ys[index];
+    }
+
+    /**
+     * Returns a copy of the object taken at capture if the entity at the given index is of
+     * type OTHER.
+     *
+     * @param index the entity index.
+     * @return the copied object, or null if the entity can be rebuilt from its type or could
+     *         not be copied.
+     * @requires 0 &lt;= index &lt; size()
+     */
+    public SpaceObject getOther(int index) {
+        return others[index];
+    }
+
+    /**
+     * Returns the ship's score in this frame.
+     *
+     * @return the score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the ship's health in this frame.
+     *
+     * @return the health.
+     */
+    public int getHealth() {
+        return health;
+    }
+}
@@ -0,0 +1,84 @@
+package game.render;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A lock-free triple buffer for handing the latest value from one writer thread to one reader
+ * thread.<br>
+ * <p>
+ * The writer fills {@link #getWriteBuffer()} and calls {@link #publish()}; the reader calls
+ * {@link #acquire()} to get the newest published buffer. Neither side ever blocks or waits for
+ * the other: the writer always has a free buffer to fill, and the reader keeps the buffer it
+ * holds until it asks for a newer one. Values published while the reader is busy replace each
+ * other, so the reader only ever sees the most recent complete one.
+ *
+ * @param <T> the type of buffer being exchanged.
+ */
+public class TripleBuffer<T> {
+    private static final int INDEX_MASK = 0b11;
+    private static final int FRESH = 0b100;
+
+    private final Object[] buffers = new Object[3];
+    /** The index of the buffer between writer and reader, plus FRESH if it is unread. */
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int writeIndex = 0; // Only touched by the writer
+    private int readIndex = 2; // Only touched by the reader
+
+    /**
+     * Creates a triple buffer using the given factory to create each of the three buffers.
+     *
+     * @param factory creates an empty buffer.
+     * @requires factory is not null and returns distinct non-null buffers
+     */
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = factory.get();
+        }
+    }
+
+    /**
+     * Returns the buffer the writer should fill next. Only the writer thread may call this.
+     *
+     * @return the current write buffer.
+     */
+    @SuppressWarnings("unchecked")
+    public T getWriteBuffer() {
+        return (T) buffers[writeIndex];
+    }
+
+    /**
+     * Publishes the write buffer to the reader and takes a free buffer for the next write.
+     * Only the writer thread may call this.
+     *
+     * @return true if the previously published buffer was replaced before the reader saw it.
+     */
+    public boolean publish() {
+        int previous = middle.getAndSet(writeIndex | FRESH);
+        writeIndex = previous & INDEX_MASK;
+        return (previous & FRESH) != 0;
+    }
+
+    /**
+     * Returns the most recently published buffer. If nothing new has been published since the
+     * last call, the same buffer is returned again. Only the reader thread may call this.
+     *
+     * @return the latest published buffer, or an unwritten buffer if nothing was published.
+     */
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            readIndex = middle.getAndSet(readIndex) & INDEX_MASK;
+        }
+        return (T) buffers[readIndex];
+    }
+
+    /**
+     * Returns whether a buffer has been published that the reader has not yet acquired.
+     *
+     * @return true if acquire() would return a newer buffer.
+     */
+    public boolean hasFresh() {
+        return (middle.get() & FRESH) != 0;
+    }
+}
@@ -0,0 +1,230 @@
+package game.stress;
+
+import game.GameModel;
+import game.GameSettings;
+import game.achievements.PlayerStatsTracker;
+import game.core.Asteroid;
+import game.core.Bullet;
+import game.core.Enemy;
+import game.core.EntityType;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Drives a GameModel at entity counts far beyond normal play, to find where ticking stops
+ * scaling.<br>
+ * <p>
+ * Instead of the game's own spawn chances, every stress tick tops the population back up to a
+ * target with asteroids and enemies spread over the whole board, and a configurable number of
+ * gunners each fire bullets up from the bottom row. A GameModel only has one ship, so gunners
+ * stand in for extra ships: they add the same bullet traffic without a ship of their own.<br>
+ * <p>
+ * A run ramps through a list of target populations, holding each one for a number of ticks and
+ * reporting tick latency, heap use and garbage collection for it.
+ */
+public class StressMode {
+    /** The number of ticks the ramp to a target may go without a new peak population. */
+    private static final int RAMP_STALL_TICKS = 50;
+
+    private final GameModel model;
+    private final Random random;
+    private final int gunners;
+    private final int shotsPerGunner;
+    private final double enemyFraction;
+    private int maxSpawnPerTick = Integer.MAX_VALUE;
+    private int tick;
+
+    /**
+     * Creates a stress run on an empty model that never spawns objects itself.
+     *
+     * @param gunners the number of simulated ships firing bullets.
+     * @param shotsPerGunner the number of bullets each gunner fires every tick.
+     * @param enemyFraction the fraction of spawned objects that are enemies rather than
+     *                      asteroids.
+     * @param seed the seed for spawn positions.
+     * @throws IllegalArgumentException if gunners or shotsPerGunner is negative, or
+     *                                  enemyFraction is not between 0 and 1.
+     */
+    public StressMode(int gunners, int shotsPerGunner, double enemyFraction, long seed) {
+        if (gunners < 0 || shotsPerGunner < 0) {
+            throw new IllegalArgumentException("Gunners and shots must not be negative.");
+        }
+        if (enemyFraction < 0 || enemyFraction > 1) {
+            throw new IllegalArgumentException("Enemy fraction must be between 0 and 1.");
+        }
+        GameSettings noSpawns = new GameSettings(0, 0, GameModel.SCORE_THRESHOLD, 0, 0,
+                GameModel.ASTEROID_DAMAGE, GameModel.ENEMY_DAMAGE);
+        this.model = new GameModel(message -> { }, new PlayerStatsTracker(), noSpawns);
+        this.random = new Random(seed);
+        this.gunners = gunners;
+        this.shotsPerGunner = shotsPerGunner;
+        this.enemyFraction = enemyFraction;
+    }
+
+    /**
+     * Limits how many objects may be spawned in one tick, so populations grow over several
+     * ticks instead of all at once.
+     *
+     * @param maxSpawnPerTick the most objects spawned per tick.
+     * @throws IllegalArgumentException if maxSpawnPerTick is not positive.
+     */
+    public void setMaxSpawnPerTick(int maxSpawnPerTick) {
+        if (maxSpawnPerTick <= 0) {
+            throw new IllegalArgumentException("Spawn limit must be positive.");
+        }
+        this.maxSpawnPerTick = maxSpawnPerTick;
+    }
+
+    /**
+     * Returns the model being stressed.
+     *
+     * @return the model.
+     */
+    public GameModel getModel() {
+        return model;
+    }
+
+    /**
+     * Returns the number of live bullets, asteroids and enemies.
+     *
+     * @return the population, excluding the ship.
+     */
+    public int getPopulation() {
+        return model.getObjectCount(EntityType.BULLET)
+                + model.getObjectCount(EntityType.ASTEROID)
+                + model.getObjectCount(EntityType.ENEMY);
+    }
+
+    /**
+     * Runs one stress tick: tops the population up towards target, fires every gunner, then
+     * moves all objects and resolves collisions.
+     *
+     * @param target the population to top up to.
+     * @return how long the tick took, in nanoseconds.
+     */
+    public long tick(int target) {
+        long start = System.nanoTime();
+        int spawns = Math.min(maxSpawnPerTick, target - getPopulation());
+        for (int i = 0; i < spawns; i++) {
+            int x = random.nextInt(GameModel.GAME_WIDTH);
+            int y = random.nextInt(GameModel.GAME_HEIGHT + 1);
+            if (random.nextDouble() < enemyFraction) {
+                model.addObject(new Enemy(x, y));
+            } else {
+                model.addObject(new Asteroid(x, y));
+            }
+        }
+        for (int g = 0; g < gunners; g++) {
+            for (int s = 0; s < shotsPerGunner; s++) {
+                model.addObject(new Bullet(g % GameModel.GAME_WIDTH, GameModel.GAME_HEIGHT));
+            }
+        }
+        model.updateAndCheckCollisions(tick++);
+        model.levelUp();
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Tops the population up to target, then measures ticks ticks while holding it there.<br>
+     * <p>
+     * If bullets, collisions and objects leaving the board remove objects as fast as the spawn
+     * limit adds them, the population can never reach target. The ramp then stops once the
+     * population has gone RAMP_STALL_TICKS ticks without a new peak, or after one such tick
+     * when spawning is unlimited, and the step is measured at the population it reached.
+     *
+     * @param target the population to hold.
+     * @param ticks the number of ticks to measure.
+     * @return the measurements for this target.
+     * @throws IllegalArgumentException if target is negative or ticks is not positive.
+     */
+    public StressStep hold(int target, int ticks) {
+        if (target < 0 || ticks <= 0) {
+            throw new IllegalArgumentException("Target must not be negative and ticks must "
+                    + "be positive.");
+        }
+        int peak = getPopulation();
+        int stalled = 0;
+        while (getPopulation() < target * 0.95 && stalled < RAMP_STALL_TICKS) {
+            tick(target);
+            if (getPopulation() > peak) {
+                peak = getPopulation();
+                stalled = 0;
+            } else if (maxSpawnPerTick == Integer.MAX_VALUE) {
+                break; // Every tick already tops up fully, so waiting will not help
+            } else {
+                stalled++;
+            }
+        }
+
+        List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        long gcCount = -gcCount(collectors);
+        long gcMillis = -gcMillis(collectors);
+        long[] latencies = new long[ticks];
+        long total = 0;
+        for (int i = 0; i < ticks; i++) {
+            latencies[i] = tick(target);
+            total += latencies[i];
+        }
+        gcCount += gcCount(collectors);
+        gcMillis += gcMillis(collectors);
+        Arrays.sort(latencies);
+        long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        return new StressStep(target, getPopulation(), ticks, total / ticks,
+                latencies[(int) Math.min(ticks - 1, Math.ceil(ticks * 0.99) - 1)],
+                latencies[ticks - 1], heapUsed, gcCount, gcMillis);
+    }
+
+    /**
+     * Holds each target in turn, passing each step's measurements to the consumer as soon as
+     * the step finishes.
+     *
+     * @param targets the populations to ramp through, in order.
+     * @param ticks the number of ticks to measure at each target.
+     * @param consumer receives the measurements of each step.
+     */
+    public void run(int[] targets, int ticks, Consumer<StressStep> consumer) {
+        for (int target : targets) {
+            consumer.accept(hold(target, ticks));
+        }
+    }
+
+    private static long gcCount(List<GarbageCollectorMXBean> collectors) {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis(List<GarbageCollectorMXBean> collectors) {
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        return millis;
+    }
+
+    /**
+     * Ramps from 100,000 to 1,000,000 entities and prints the measurements of each step.
+     *
+     * @param args optionally the number of gunners, bullets per gunner and ticks per step.
+     */
+    public static void main(String[] args) {
+        int gunners = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int shots = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int ticks = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int[] targets = new int[10];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = (i + 1) * 100_000;
+        }
+        StressMode stress = new StressMode(gunners, shots, 0.3, 1);
+        System.out.printf("%d gunners firing %d bullets per tick each, %d ticks per step%n",
+                gunners, shots, ticks);
+        stress.run(targets, ticks, System.out::println);
+    }
+}
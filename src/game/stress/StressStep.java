@@ -0,0 +1,122 @@
+package game.stress;
+
+/**
+ * The measurements taken while a StressMode held one target population.<br>
+ * <p>
+ * Latencies cover a whole stress tick: topping the population back up, firing, moving every
+ * object and resolving collisions. Heap and GC figures are read from the JVM's memory and
+ * garbage collector beans.
+ */
+public class StressStep {
+    private final int target;
+    private final int population;
+    private final int ticks;
+    private final long meanNanos;
+    private final long p99Nanos;
+    private final long maxNanos;
+    private final long heapUsedBytes;
+    private final long gcCount;
+    private final long gcMillis;
+
+    StressStep(int target, int population, int ticks, long meanNanos, long p99Nanos,
+               long maxNanos, long heapUsedBytes, long gcCount, long gcMillis) {
+        this.target = target;
+        this.population = population;
+        this.ticks = ticks;
+        this.meanNanos = meanNanos;
+        this.p99Nanos = p99Nanos;
+        this.maxNanos = maxNanos;
+        this.heapUsedBytes = heapUsedBytes;
+        this.gcCount = gcCount;
+        this.gcMillis = gcMillis;
+    }
+
+    /**
+     * Returns the population the step aimed to hold.
+     *
+     * @return the target entity count.
+     */
+    public int getTarget() {
+        return target;
+    }
+
+    /**
+     * Returns the number of live entities at the end of the step.
+     *
+     * @return the entity count, excluding the ship.
+     */
+    public int getPopulation() {
+        return population;
+    }
+
+    /**
+     * Returns the number of ticks measured.
+     *
+     * @return the tick count.
+     */
+    public int getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Returns the mean tick latency.
+     *
+     * @return the mean, in nanoseconds.
+     */
+    public long getMeanNanos() {
+        return meanNanos;
+    }
+
+    /**
+     * Returns the 99th percentile tick latency.
+     *
+     * @return the 99th percentile, in nanoseconds.
+     */
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    /**
+     * Returns the slowest tick.
+     *
+     * @return the maximum, in nanoseconds.
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Returns the heap in use at the end of the step.
+     *
+     * @return the used heap, in bytes.
+     */
+    public long getHeapUsedBytes() {
+        return heapUsedBytes;
+    }
+
+    /**
+     * Returns the number of garbage collections during the step.
+     *
+     * @return the collection count, summed over all collectors.
+     */
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    /**
+     * Returns the time spent in garbage collection during the step.
+     *
+     * @return the collection time, in milliseconds, summed over all collectors.
+     */
+    public long getGcMillis() {
+        return gcMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("target %,9d  live %,9d  mean %7.2f ms  p99 %7.2f ms"
+                        + "  max %7.2f ms  heap %,6d MB  gc %4d (%,d ms)",
+                target, population, meanNanos / 1e6, p99Nanos / 1e6, maxNanos / 1e6,
+                heapUsedBytes >> 20, gcCount, gcMillis);
+    }
+}
@@ -0,0 +1,129 @@
+package game.telemetry;
+
+import game.net.VarInts;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads a columnar telemetry file written by {@link TelemetryWriter}, one block at a time.
+ */
+public class TelemetryReader implements Closeable {
+    private final DataInputStream in;
+    private final List<String> columnNames;
+    private final long[][] values;
+    private byte[] encoded = new byte[1024];
+    private int rows;
+
+    /**
+     * Opens a telemetry file and reads its header.
+     *
+     * @param location the file to read
+     * @throws IOException if the file cannot be read or is not a telemetry file
+     */
+    public TelemetryReader(Path location) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(location)));
+        if (in.readInt() != TelemetryWriter.MAGIC || in.readInt() != TelemetryWriter.VERSION) {
+            in.close();
+            throw new IOException("Not a telemetry file: " + location);
+        }
+        int columnCount = in.readInt();
+        List<String> names = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            byte[] name = new byte[in.readUnsignedShort()];
+            in.readFully(name);
+            names.add(new String(name, StandardCharsets.UTF_8));
+        }
+        this.columnNames = Collections.unmodifiableList(names);
+        this.values = new long[columnCount][TelemetryWriter.BLOCK_ROWS];
+    }
+
+    /**
+     * Returns the names of the columns, in order.
+     *
+     * @return the column names
+     */
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    /**
+     * Reads and decodes the next block.
+     *
+     * @return true if a block was read, false at the end of the file
+     * @throws IOException if the file cannot be read or is corrupted
+     */
+    public boolean nextBlock() throws IOException {
+        try {
+            rows = in.readInt();
+        } catch (EOFException e) {
+            rows = 0;
+            return false;
+        }
+        if (rows <= 0 || rows > TelemetryWriter.BLOCK_ROWS) {
+            throw new IOException("Corrupted telemetry block.");
+        }
+        for (long[] column : values) {
+            int length = in.readInt();
+            if (encoded.length < length) {
+                encoded = new byte[Math.max(length, encoded.length * 2)];
+            }
+            in.readFully(encoded, 0, length);
+            decode(ByteBuffer.wrap(encoded, 0, length), column, rows);
+        }
+        return true;
+    }
+
+    private static void decode(ByteBuffer in, long[] column, int count) {
+        column[0] = VarInts.getSignedVarLong(in);
+        int i = 1;
+        while (i < count) {
+            long delta = VarInts.getSignedVarLong(in);
+            int run = VarInts.getVarInt(in);
+            for (int r = 0; r < run && i < count; r++, i++) {
+                column[i] = column[i - 1] + delta;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of rows in the current block.
+     *
+     * @return the row count
+     */
+    public int getRowCount() {
+        return rows;
+    }
+
+    /**
+     * Returns a value from the current block.
+     *
+     * @param column the column index
+     * @param row the row index within the block
+     * @return the value
+     * @requires 0 &lt;= row &lt; getRowCount()
+     */
+    public long get(int column, int row) {
+        return values[column][row];
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,155 @@
+package game.telemetry;
+
+import game.net.VarInts;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes rows of long values to a compact columnar binary file.<br>
+ * <p>
+ * Values are collected into one primitive array per column. Every BLOCK_ROWS rows the block
+ * is encoded column by column and written out: each column stores its first value, then the
+ * differences between consecutive values as run-length encoded (delta, repeat count) pairs,
+ * all as zigzag varints. Counters and slowly changing gauges therefore cost a few bytes per
+ * block rather than per row.<br>
+ * <p>
+ * File layout: magic, version, column count, then each column name (length prefixed UTF-8),
+ * followed by blocks of: row count, then per column its encoded length and bytes. Use
+ * {@link TelemetryReader} to read a file back.
+ */
+public class TelemetryWriter implements Closeable {
+    /** The number of rows buffered before a block is encoded and written. */
+    public static final int BLOCK_ROWS = 4096;
+
+    /** The first four bytes of every telemetry file, "GTEL". */
+    static final int MAGIC = 0x4754454C;
+
+    /** The version of the file format, written after MAGIC. */
+    static final int VERSION = 1;
+
+    /** Worst case bytes per value: a ten byte delta plus a five byte run length. */
+    private static final int MAX_VALUE_BYTES = 15;
+
+    private final FileChannel channel;
+    private final long[][] columns;
+    private final ByteBuffer block;
+    private int rows;
+
+    /**
+     * Creates a new telemetry file with the given columns, replacing any existing file.
+     *
+     * @param location the file to write to
+     * @param columnNames the name of each column, in order
+     * @throws IOException if the file cannot be created
+     * @throws IllegalArgumentException if no columns are given
+     */
+    public TelemetryWriter(Path location, String... columnNames) throws IOException {
+        if (columnNames.length == 0) {
+            throw new IllegalArgumentException("At least one column is required.");
+        }
+        this.columns = new long[columnNames.length][BLOCK_ROWS];
+        this.block = ByteBuffer.allocate(4 + columnNames.length
+                * (4 + MAX_VALUE_BYTES * BLOCK_ROWS));
+        this.channel = FileChannel.open(location, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+        block.putInt(MAGIC).putInt(VERSION).putInt(columnNames.length);
+        for (String name : columnNames) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            block.putShort((short) bytes.length).put(bytes);
+        }
+        write();
+    }
+
+    /**
+     * Returns the number of columns in each row.
+     *
+     * @return the column count
+     */
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    /**
+     * Sets a value in the current row.
+     *
+     * @param column the column index
+     * @param value the value
+     * @requires 0 &lt;= column &lt; getColumnCount()
+     */
+    public void set(int column, long value) {
+        columns[column][rows] = value;
+    }
+
+    /**
+     * Finishes the current row. Columns not set keep whatever value the row held in the
+     * previous block, so every column should be set for every row.
+     */
+    public void endRow() {
+        if (++rows == BLOCK_ROWS) {
+            flush();
+        }
+    }
+
+    /**
+     * Encodes and writes any buffered rows as a block.
+     */
+    public void flush() {
+        if (rows == 0) {
+            return;
+        }
+        block.putInt(rows);
+        for (long[] column : columns) {
+            int lengthPosition = block.position();
+            block.putInt(0); // patched below
+            encode(column, rows, block);
+            block.putInt(lengthPosition, block.position() - lengthPosition - 4);
+        }
+        rows = 0;
+        try {
+            write();
+        } catch (IOException e) {
+            System.err.println("Error writing telemetry: " + e.getMessage());
+        }
+    }
+
+    private static void encode(long[] values, int count, ByteBuffer out) {
+        VarInts.putSignedVarLong(out, values[0]);
+        int i = 1;
+        while (i < count) {
+            long delta = values[i] - values[i - 1];
+            int run = 1;
+            while (i + run < count && values[i + run] - values[i + run - 1] == delta) {
+                run++;
+            }
+            VarInts.putSignedVarLong(out, delta);
+            VarInts.putVarInt(out, run);
+            i += run;
+        }
+    }
+
+    private void write() throws IOException {
+        block.flip();
+        while (block.hasRemaining()) {
+            channel.write(block);
+        }
+        block.clear();
+    }
+
+    /**
+     * Writes any buffered rows and closes the file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+}
@@ -0,0 +1,109 @@
+package game.telemetry;
+
+import game.GameModel;
+import game.core.EntityType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Records per-tick game metrics to a columnar telemetry file.<br>
+ * <p>
+ * Each tick becomes one row holding the entity counts by type, the running totals of spawns,
+ * ship collisions and hits, the ship's health and score, and how long the tick took. Running
+ * totals and gauges change rarely, so they compress to almost nothing.
+ */
+public class TickTelemetry implements Closeable {
+    /** The column of the tick number. */
+    public static final int TICK = 0;
+
+    /** The column of the number of asteroids in the game. */
+    public static final int ASTEROIDS = 1;
+
+    /** The column of the number of enemies in the game. */
+    public static final int ENEMIES = 2;
+
+    /** The column of the number of bullets in the game. */
+    public static final int BULLETS = 3;
+
+    /** The column of the number of health and shield power-ups in the game. */
+    public static final int POWER_UPS = 4;
+
+    /** The column of the number of objects spawned so far. */
+    public static final int SPAWNS = 5;
+
+    /** The column of the number of collisions with the ship so far. */
+    public static final int COLLISIONS = 6;
+
+    /** The column of the number of shots that hit so far. */
+    public static final int HITS = 7;
+
+    /** The column of the ship's health. */
+    public static final int HEALTH = 8;
+
+    /** The column of the ship's score. */
+    public static final int SCORE = 9;
+
+    /** The column of how long the tick took, in nanoseconds. */
+    public static final int TICK_NANOS = 10;
+
+    /** The column names, indexed by the constants above. */
+    public static final String[] COLUMNS = {
+        "tick", "asteroids", "enemies", "bullets", "powerUps", "spawns", "collisions", "hits",
+        "health", "score", "tickNanos"
+    };
+
+    private final TelemetryWriter writer;
+
+    /**
+     * Creates a new telemetry file at the given location.
+     *
+     * @param location the file to write to
+     * @throws IOException if the file cannot be created
+     */
+    public TickTelemetry(Path location) throws IOException {
+        this.writer = new TelemetryWriter(location, COLUMNS);
+    }
+
+    /**
+     * Records one row for the given tick. Entity counts are read from the model's per-type
+     * buckets, so recording does not walk every object.
+     *
+     * @param tick the tick number
+     * @param model the model after the tick was processed
+     * @param tickNanos how long the tick took, in nanoseconds
+     */
+    public void record(int tick, GameModel model, long tickNanos) {
+        writer.set(TICK, tick);
+        writer.set(ASTEROIDS, model.getObjectCount(EntityType.ASTEROID));
+        writer.set(ENEMIES, model.getObjectCount(EntityType.ENEMY));
+        writer.set(BULLETS, model.getObjectCount(EntityType.BULLET));
+        writer.set(POWER_UPS, model.getObjectCount(EntityType.HEALTH_POWER_UP)
+                + model.getObjectCount(EntityType.SHIELD_POWER_UP));
+        writer.set(SPAWNS, model.getSpawnCount());
+        writer.set(COLLISIONS, model.getCollisionCount());
+        writer.set(HITS, model.getStatsTracker().getShotsHit());
+        writer.set(HEALTH, model.getShip().getHealth());
+        writer.set(SCORE, model.getShip().getScore());
+        writer.set(TICK_NANOS, tickNanos);
+        writer.endRow();
+    }
+
+    /**
+     * Writes any buffered rows to the file.
+     */
+    public void flush() {
+        writer.flush();
+    }
+
+    /**
+     * Writes any buffered rows and closes the file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
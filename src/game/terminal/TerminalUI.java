@@ -0,0 +1,421 @@
+package game.terminal;
+
+import game.GameModel;
+import game.achievements.Achievement;
+import game.core.SpaceObject;
+import game.ui.KeyHandler;
+import game.ui.Tickable;
+import game.ui.UI;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A UI that draws the game in a text terminal with ANSI escape codes, for playing over SSH or
+ * in containers without a display.<br>
+ * <p>
+ * The board is drawn from each object's render() text, two terminal columns per cell, with the
+ * HUD stats, achievement progress and the latest log messages below it. The UI keeps a copy of
+ * what is on screen and each frame only writes the cells and HUD lines that changed, all in a
+ * single write. A frame where nothing moved writes nothing at all.<br>
+ * <p>
+ * The UI drives the game itself: a ticker thread calls the registered Tickables every tick
+ * interval until paused, and a key thread passes every character read from the input on to the
+ * registered KeyHandlers. Keys only arrive as they are typed if the terminal is in raw mode,
+ * for example after running {@code stty -icanon -echo}; otherwise they arrive a line at a time.
+ */
+public class TerminalUI implements UI {
+    /** The default time between ticks, in milliseconds. */
+    public static final long DEFAULT_TICK_MILLIS = 50;
+
+    private static final String ESC = "\u001b[";
+    private static final String EMPTY = "  ";
+    private static final int WIDTH = GameModel.GAME_WIDTH;
+    private static final int HEIGHT = GameModel.GAME_HEIGHT + 1; // Rows 0 to GAME_HEIGHT
+    private static final int HUD_ROW = HEIGHT + 3; // Below the board and its borders
+    private static final int HUD_LINES = 8;
+    private static final int LOG_ROW = HUD_ROW + HUD_LINES + 1;
+    private static final int LOG_LINES = 4;
+
+    private final OutputStream out;
+    private final InputStream in;
+    private final long tickMillis;
+    private final List<Tickable> tickables = new CopyOnWriteArrayList<>();
+    private final List<KeyHandler> keyHandlers = new CopyOnWriteArrayList<>();
+
+    // What is on screen, and what the next frame should show.
+    private final String[] front = new String[WIDTH * HEIGHT];
+    private final String[] back = new String[WIDTH * HEIGHT];
+    private boolean fullRedraw = true;
+
+    // HUD lines by label, in order of first use, and the latest log messages.
+    private final String[] hudLabels = new String[HUD_LINES];
+    private final String[] hudText = new String[HUD_LINES];
+    private final int[] hudPercent = new int[HUD_LINES];
+    private final boolean[] hudDirty = new boolean[HUD_LINES];
+    private final String[] logText = new String[LOG_LINES];
+    private int logCount;
+    private boolean logDirty;
+
+    private final StringBuilder frame = new StringBuilder(1024);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private ByteBuffer bytes = ByteBuffer.allocate(4096);
+    private long framesWritten;
+    private long bytesWritten;
+    private int lastFrameBytes;
+
+    private volatile boolean paused;
+    private volatile boolean running;
+    private Thread ticker;
+    private Thread keyReader;
+
+    /**
+     * Creates a terminal UI on standard output and input, ticking every DEFAULT_TICK_MILLIS.
+     */
+    public TerminalUI() {
+        this(System.out, System.in, DEFAULT_TICK_MILLIS);
+    }
+
+    /**
+     * Creates a terminal UI writing to out and reading keys from in.
+     *
+     * @param out the terminal to draw on.
+     * @param in the terminal to read keys from.
+     * @param tickMillis the time between ticks, in milliseconds.
+     * @throws IllegalArgumentException if tickMillis is not positive.
+     */
+    public TerminalUI(OutputStream out, InputStream in, long tickMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick interval must be positive.");
+        }
+        this.out = out;
+        this.in = in;
+        this.tickMillis = tickMillis;
+        Arrays.fill(front, EMPTY);
+        Arrays.fill(back, EMPTY);
+        Arrays.fill(hudPercent, -1);
+    }
+
+    /**
+     * Starts the ticker and key threads.
+     */
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        ticker = new Thread(this::tickLoop, "terminal-ticker");
+        ticker.setDaemon(true);
+        ticker.start();
+        keyReader = new Thread(this::keyLoop, "terminal-keys");
+        keyReader.setDaemon(true);
+        keyReader.start();
+    }
+
+    /**
+     * Toggles whether the ticker calls the Tickables, and draws any pending HUD or log changes
+     * so they are visible while paused.
+     */
+    @Override
+    public void pause() {
+        paused = !paused;
+        synchronized (this) {
+            writeFrame();
+        }
+    }
+
+    /**
+     * Stops ticking and reading keys, and restores the cursor below the game.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (ticker != null && ticker != Thread.currentThread()) {
+            ticker.interrupt();
+            try {
+                ticker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            writeFrame();
+            moveTo(LOG_ROW + LOG_LINES, 1);
+            frame.append(ESC).append("?25h"); // Show the cursor again
+            flush();
+        }
+    }
+
+    @Override
+    public void onStep(Tickable tickable) {
+        tickables.add(tickable);
+    }
+
+    @Override
+    public void onKey(KeyHandler key) {
+        keyHandlers.add(key);
+    }
+
+    /**
+     * Draws the given objects, writing only the cells that changed since the last frame.
+     * Objects outside the board are skipped. When two objects share a cell, the later one is
+     * drawn.
+     *
+     * @param objects the objects to draw.
+     */
+    @Override
+    public synchronized void render(List<SpaceObject> objects) {
+        Arrays.fill(back, EMPTY);
+        for (int i = 0; i < objects.size(); i++) {
+            SpaceObject object = objects.get(i);
+            int x = object.getX();
+            int y = object.getY();
+            if (x >= 0 && x < WIDTH && y >= 0 && y < HEIGHT) {
+                back[y * WIDTH + x] = object.render().getText();
+            }
+        }
+        writeFrame();
+    }
+
+    @Override
+    public synchronized void setStat(String label, String value) {
+        int line = hudLine(label);
+        if (line >= 0) {
+            hudText[line] = label + ": " + value;
+            hudDirty[line] = true;
+        }
+    }
+
+    /**
+     * Shows the progress of an achievement as a whole percentage. The HUD line is only rebuilt
+     * when the percentage changes.
+     *
+     * @param name the achievement name.
+     * @param progress the progress between 0 and 1.
+     */
+    @Override
+    public synchronized void setAchievementProgressStat(String name, double progress) {
+        int line = hudLine(name);
+        int percent = (int) (progress * 100);
+        if (line >= 0 && percent != hudPercent[line]) {
+            hudPercent[line] = percent;
+            hudText[line] = name + ": " + percent + "%";
+            hudDirty[line] = true;
+        }
+    }
+
+    @Override
+    public synchronized void log(String message) {
+        if (logCount == LOG_LINES) {
+            System.arraycopy(logText, 1, logText, 0, LOG_LINES - 1);
+            logCount--;
+        }
+        logText[logCount++] = message;
+        logDirty = true;
+    }
+
+    @Override
+    public void logAchievementMastered(String message) {
+        log(message);
+    }
+
+    @Override
+    public void logAchievements(List<Achievement> achievements) {
+        for (Achievement achievement : achievements) {
+            log(achievement.getName() + ": " + achievement.getCurrentTier());
+        }
+    }
+
+    /**
+     * Returns the number of frames that wrote at least one byte.
+     *
+     * @return the written frame count.
+     */
+    public synchronized long getFramesWritten() {
+        return framesWritten;
+    }
+
+    /**
+     * Returns the total number of bytes written to the terminal.
+     *
+     * @return the byte count.
+     */
+    public synchronized long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Returns the number of bytes written by the most recent frame.
+     *
+     * @return the byte count, 0 if the last frame had no changes.
+     */
+    public synchronized int getLastFrameBytes() {
+        return lastFrameBytes;
+    }
+
+    /**
+     * Returns the HUD line for the given label, claiming a free one on first use.
+     *
+     * @return the line index, or -1 if every HUD line is taken.
+     */
+    private int hudLine(String label) {
+        for (int i = 0; i < HUD_LINES; i++) {
+            if (hudLabels[i] == null) {
+                hudLabels[i] = label;
+                return i;
+            }
+            if (hudLabels[i].equals(label)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void writeFrame() {
+        if (fullRedraw) {
+            appendBorders();
+            Arrays.fill(front, null); // Forces every cell to be written
+            Arrays.fill(hudDirty, true);
+            logDirty = true;
+            fullRedraw = false;
+        }
+        int lastWritten = -2;
+        for (int i = 0; i < back.length; i++) {
+            if (!back[i].equals(front[i])) {
+                if (i != lastWritten + 1 || i % WIDTH == 0) {
+                    moveTo(i / WIDTH + 2, 2 * (i % WIDTH) + 2);
+                }
+                frame.append(back[i]);
+                front[i] = back[i];
+                lastWritten = i;
+            }
+        }
+        for (int i = 0; i < HUD_LINES; i++) {
+            if (hudDirty[i]) {
+                writeLine(HUD_ROW + i, hudText[i]);
+                hudDirty[i] = false;
+            }
+        }
+        if (logDirty) {
+            for (int i = 0; i < LOG_LINES; i++) {
+                writeLine(LOG_ROW + i, i < logCount ? logText[i] : null);
+            }
+            logDirty = false;
+        }
+        flush();
+    }
+
+    private void appendBorders() {
+        frame.append(ESC).append("?25l").append(ESC).append("2J");
+        String edge = "+" + "-".repeat(2 * WIDTH) + "+";
+        moveTo(1, 1);
+        frame.append(edge);
+        for (int row = 2; row <= HEIGHT + 1; row++) {
+            moveTo(row, 1);
+            frame.append('|');
+            moveTo(row, 2 * WIDTH + 2);
+            frame.append('|');
+        }
+        moveTo(HEIGHT + 2, 1);
+        frame.append(edge);
+    }
+
+    private void writeLine(int row, String text) {
+        moveTo(row, 1);
+        if (text != null) {
+            frame.append(text);
+        }
+        frame.append(ESC).append('K'); // Clear the rest of the line
+    }
+
+    private void moveTo(int row, int column) {
+        frame.append(ESC).append(row).append(';').append(column).append('H');
+    }
+
+    /**
+     * Encodes the pending frame and writes it with a single call, if it is not empty.
+     */
+    private void flush() {
+        lastFrameBytes = 0;
+        if (frame.length() == 0) {
+            return;
+        }
+        encoder.reset();
+        bytes.clear();
+        CharBuffer chars = CharBuffer.wrap(frame);
+        while (true) {
+            CoderResult result = encoder.encode(chars, bytes, true);
+            if (result.isOverflow()) {
+                ByteBuffer larger = ByteBuffer.allocate(bytes.capacity() * 2);
+                bytes.flip();
+                larger.put(bytes);
+                bytes = larger;
+            } else {
+                break;
+            }
+        }
+        encoder.flush(bytes);
+        frame.setLength(0);
+        try {
+            out.write(bytes.array(), 0, bytes.position());
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("Error writing to terminal: " + e.getMessage());
+            return;
+        }
+        lastFrameBytes = bytes.position();
+        bytesWritten += lastFrameBytes;
+        framesWritten++;
+    }
+
+    private void tickLoop() {
+        int tick = 0;
+        long next = System.nanoTime();
+        while (running) {
+            if (!paused) {
+                for (int i = 0; i < tickables.size(); i++) {
+                    tickables.get(i).tick(tick);
+                }
+                tick++;
+            }
+            next += tickMillis * 1_000_000L;
+            long sleepNanos = next - System.nanoTime();
+            if (sleepNanos <= 0) {
+                next = System.nanoTime(); // Running late: do not try to catch up
+                continue;
+            }
+            try {
+                Thread.sleep(sleepNanos / 1_000_000L, (int) (sleepNanos % 1_000_000L));
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void keyLoop() {
+        try {
+            int read;
+            while (running && (read = in.read()) != -1) {
+                if (Character.isWhitespace(read)) {
+                    continue;
+                }
+                String key = String.valueOf((char) read);
+                for (KeyHandler handler : keyHandlers) {
+                    handler.handle(key);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading from terminal: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package game.tuning;
+
+import game.GameModel;
+import game.GameSettings;
+import game.achievements.PlayerStatsTracker;
+import game.core.Ship;
+import game.input.InputSource;
+import game.utility.Direction;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Sweeps difficulty settings by playing large batches of seeded games for each one.<br>
+ * <p>
+ * Every parameter point plays the same seeds, so differences between points come from the
+ * settings rather than luck. Points are played in parallel, one per worker thread, and each
+ * result is handed to the sink on the calling thread as soon as it completes.<br>
+ * <p>
+ * Games are played by a simple reflex player and last until the ship is destroyed or maxTicks
+ * pass. When a target survival range is set, a point stops early once its mean survival is
+ * confidently outside that range, so clearly bad settings cost only a few batches.
+ */
+public class DifficultyTuner {
+    /** The number of games played between early stopping checks. */
+    static final int BATCH = 16;
+    /** The fewest games played before a point may be stopped early. */
+    static final int MIN_GAMES = 2 * BATCH;
+    /** Standard errors the mean must be outside the target by to stop early. */
+    private static final double STOP_CONFIDENCE = 3.0;
+
+    private final int gamesPerPoint;
+    private final int maxTicks;
+    private final int parallelism;
+    private int minSurvival = -1;
+    private int maxSurvival = -1;
+
+    /**
+     * Creates a tuner.
+     *
+     * @param gamesPerPoint the number of seeded games played for each parameter point.
+     * @param maxTicks the number of ticks after which a game counts as survived.
+     * @param parallelism the number of points played at once.
+     * @throws IllegalArgumentException if any argument is not positive.
+     */
+    public DifficultyTuner(int gamesPerPoint, int maxTicks, int parallelism) {
+        if (gamesPerPoint <= 0 || maxTicks <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("Tuner arguments must be positive.");
+        }
+        this.gamesPerPoint = gamesPerPoint;
+        this.maxTicks = maxTicks;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Enables early stopping: a point stops once its mean survival is confidently below
+     * minSurvival or above maxSurvival ticks.
+     *
+     * @param minSurvival the shortest acceptable mean survival, in ticks.
+     * @param maxSurvival the longest acceptable mean survival, in ticks.
+     * @throws IllegalArgumentException if the range is empty or negative.
+     */
+    public void setTarget(int minSurvival, int maxSurvival) {
+        if (minSurvival < 0 || maxSurvival < minSurvival) {
+            throw new IllegalArgumentException("Invalid survival target.");
+        }
+        this.minSurvival = minSurvival;
+        this.maxSurvival = maxSurvival;
+    }
+
+    /**
+     * Plays every point and streams the results to the sink in completion order.
+     *
+     * @param points the settings to evaluate.
+     * @param sink receives each result, always on the calling thread.
+     * @return the results, in completion order.
+     * @throws InterruptedException if interrupted while waiting for results.
+     */
+    public List<PointResult> run(List<GameSettings> points, Consumer<PointResult> sink)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            CompletionService<PointResult> completion =
+                    new ExecutorCompletionService<>(executor);
+            for (GameSettings point : points) {
+                completion.submit(() -> evaluate(point));
+            }
+            List<PointResult> results = new ArrayList<>(points.size());
+            for (int i = 0; i < points.size(); i++) {
+                PointResult result = completion.take().get();
+                results.add(result);
+                sink.accept(result);
+            }
+            return results;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Plays the seeded games for one point, in batches, stopping early if allowed.
+     *
+     * @param settings the settings to play with.
+     * @return the result of the point.
+     */
+    public PointResult evaluate(GameSettings settings) {
+        InputSource player = new ReflexPlayer();
+        int[] survival = new int[gamesPerPoint];
+        int[] scores = new int[gamesPerPoint];
+        long levels = 0;
+        int played = 0;
+        boolean stopped = false;
+        while (played < gamesPerPoint) {
+            int batchEnd = Math.min(gamesPerPoint, played + BATCH);
+            for (; played < batchEnd; played++) {
+                GameModel model = new GameModel(message -> { }, new PlayerStatsTracker(),
+                        settings);
+                model.setRandomSeed(played);
+                survival[played] = play(model, player);
+                scores[played] = model.getShip().getScore();
+                levels += model.getLevel();
+            }
+            if (played < gamesPerPoint && shouldStop(survival, played)) {
+                stopped = true;
+                break;
+            }
+        }
+        return new PointResult(settings, Arrays.copyOf(survival, played),
+                Arrays.copyOf(scores, played), (double) levels / played, stopped);
+    }
+
+    /**
+     * Plays one game to the end, in the same order as GameController.onTick.
+     *
+     * @return the number of ticks survived, or maxTicks if the ship survived.
+     */
+    private int play(GameModel model, InputSource player) {
+        for (int tick = 0; tick < maxTicks; tick++) {
+            apply(model, player.nextKey(model, tick));
+            model.updateAndCheckCollisions(tick);
+            model.spawnObjects();
+            model.levelUp();
+            if (model.checkGameOver()) {
+                return tick + 1;
+            }
+        }
+        return maxTicks;
+    }
+
+    private static void apply(GameModel model, char key) {
+        Ship ship = model.getShip();
+        switch (key) {
+            case 'W' -> ship.move(Direction.UP);
+            case 'A' -> ship.move(Direction.LEFT);
+            case 'S' -> ship.move(Direction.DOWN);
+            case 'D' -> ship.move(Direction.RIGHT);
+            case 'F' -> {
+                if (model.tryFireBullet()) {
+                    model.getStatsTracker().recordShotFired();
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Returns whether the mean of the first n survival times is confidently outside the
+     * target range.
+     */
+    private boolean shouldStop(int[] survival, int n) {
+        if (minSurvival < 0 || n < MIN_GAMES) {
+            return false;
+        }
+        double mean = 0;
+        for (int i = 0; i < n; i++) {
+            mean += survival[i];
+        }
+        mean /= n;
+        double variance = 0;
+        for (int i = 0; i < n; i++) {
+            variance += (survival[i] - mean) * (survival[i] - mean);
+        }
+        double error = STOP_CONFIDENCE * Math.sqrt(variance / (n - 1) / n);
+        return mean + error < minSurvival || mean - error > maxSurvival;
+    }
+
+    /**
+     * Returns every combination of the given parameter values.
+     *
+     * @return the settings for each combination, varying the last parameter fastest.
+     */
+    public static List<GameSettings> grid(int[] startSpawnRates, int[] spawnRateIncreases,
+                                          int[] scoreThresholds, double[] enemySpawnRates,
+                                          double[] powerUpSpawnRates, int[] asteroidDamages,
+                                          int[] enemyDamages) {
+        List<GameSettings> points = new ArrayList<>();
+        for (int startSpawnRate : startSpawnRates) {
+            for (int spawnRateIncrease : spawnRateIncreases) {
+                for (int scoreThreshold : scoreThresholds) {
+                    for (double enemySpawnRate : enemySpawnRates) {
+                        for (double powerUpSpawnRate : powerUpSpawnRates) {
+                            for (int asteroidDamage : asteroidDamages) {
+                                for (int enemyDamage : enemyDamages) {
+                                    points.add(new GameSettings(startSpawnRate,
+                                            spawnRateIncrease, scoreThreshold, enemySpawnRate,
+                                            powerUpSpawnRate, asteroidDamage, enemyDamage));
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Runs a sweep of 324 points around the default settings on every core and writes the
+     * report to the given file, or tuning-report.csv.
+     *
+     * @param args optionally, the report file to write.
+     * @throws IOException if the report cannot be written.
+     * @throws InterruptedException if interrupted while running.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path location = Path.of(args.length > 0 ? args[0] : "tuning-report.csv");
+        List<GameSettings> points = grid(new int[]{1, 2, 3}, new int[]{3, 5, 7},
+                new int[]{50, 100, 150}, new double[]{0.25, 0.5, 0.75},
+                new double[]{0.25, 0.5}, new int[]{GameModel.ASTEROID_DAMAGE},
+                new int[]{15, GameModel.ENEMY_DAMAGE});
+        DifficultyTuner tuner = new DifficultyTuner(256, 6000,
+                Runtime.getRuntime().availableProcessors());
+        tuner.setTarget(1000, 4000);
+
+        long start = System.nanoTime();
+        int[] done = new int[1];
+        int[] stopped = new int[1];
+        try (TuningReport report = new TuningReport(
+                Files.newBufferedWriter(location, StandardCharsets.UTF_8))) {
+            tuner.run(points, result -> {
+                report.accept(result);
+                done[0]++;
+                if (result.isStoppedEarly()) {
+                    stopped[0]++;
+                }
+                if (done[0] % 25 == 0 || done[0] == points.size()) {
+                    System.out.println(done[0] + "/" + points.size() + " points, "
+                            + stopped[0] + " stopped early");
+                }
+            });
+        }
+        System.out.printf("Swept %d points in %.1f s, report written to %s%n", points.size(),
+                (System.nanoTime() - start) / 1e9, location);
+    }
+}
@@ -0,0 +1,121 @@
+package game.tuning;
+
+import game.GameSettings;
+
+import java.util.Arrays;
+
+/**
+ * The outcome of playing a batch of seeded games with one set of difficulty settings.<br>
+ * <p>
+ * Holds the survival time and final score of every game played, sorted, so that any
+ * percentile of either distribution can be read.
+ */
+public class PointResult {
+    private final GameSettings settings;
+    private final int[] survivalTicks;
+    private final int[] scores;
+    private final double meanLevel;
+    private final boolean stoppedEarly;
+
+    PointResult(GameSettings settings, int[] survivalTicks, int[] scores, double meanLevel,
+                boolean stoppedEarly) {
+        this.settings = settings;
+        this.survivalTicks = survivalTicks;
+        this.scores = scores;
+        this.meanLevel = meanLevel;
+        this.stoppedEarly = stoppedEarly;
+        Arrays.sort(this.survivalTicks);
+        Arrays.sort(this.scores);
+    }
+
+    /**
+     * Returns the settings the games were played with.
+     *
+     * @return the game settings.
+     */
+    public GameSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Returns the number of games played.
+     *
+     * @return the game count.
+     */
+    public int getGames() {
+        return survivalTicks.length;
+    }
+
+    /**
+     * Returns whether play stopped before the full batch because the settings were clearly
+     * outside the target difficulty.
+     *
+     * @return true if the batch was cut short.
+     */
+    public boolean isStoppedEarly() {
+        return stoppedEarly;
+    }
+
+    /**
+     * Returns the average number of ticks survived.
+     *
+     * @return the mean survival time in ticks.
+     */
+    public double getMeanSurvival() {
+        return mean(survivalTicks);
+    }
+
+    /**
+     * Returns the survival time below which the given fraction of games ended.
+     *
+     * @param fraction the percentile as a fraction, from 0 to 1.
+     * @return the survival time in ticks.
+     */
+    public int getSurvivalPercentile(double fraction) {
+        return percentile(survivalTicks, fraction);
+    }
+
+    /**
+     * Returns the average final score.
+     *
+     * @return the mean score.
+     */
+    public double getMeanScore() {
+        return mean(scores);
+    }
+
+    /**
+     * Returns the score below which the given fraction of games ended.
+     *
+     * @param fraction the percentile as a fraction, from 0 to 1.
+     * @return the score.
+     */
+    public int getScorePercentile(double fraction) {
+        return percentile(scores, fraction);
+    }
+
+    /**
+     * Returns the average level reached.
+     *
+     * @return the mean final level.
+     */
+    public double getMeanLevel() {
+        return meanLevel;
+    }
+
+    private static double mean(int[] values) {
+        long total = 0;
+        for (int value : values) {
+            total += value;
+        }
+        return values.length == 0 ? 0 : (double) total / values.length;
+    }
+
+    private static int percentile(int[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -0,0 +1,59 @@
+package game.tuning;
+
+import game.GameModel;
+import game.core.Asteroid;
+import game.core.Enemy;
+import game.core.Ship;
+import game.core.SpaceObject;
+import game.input.InputSource;
+
+import java.util.List;
+
+/**
+ * A cheap, deterministic player used to judge difficulty settings.<br>
+ * <p>
+ * It steps sideways out of the way of any asteroid or enemy about to reach the ship, fires at
+ * enemies above it, and otherwise waits. It makes the sort of mistakes a casual player makes,
+ * such as stepping into a hazard in the next column, so its results track how hard a setting
+ * feels rather than how far a perfect player could get.
+ */
+final class ReflexPlayer implements InputSource {
+
+    @Override
+    public char nextKey(GameModel model, int tick) {
+        Ship ship = model.getShip();
+        List<SpaceObject> objects = model.getSpaceObjects();
+        int x = ship.getX();
+        int y = ship.getY();
+        if (hazardNear(objects, x, y)) {
+            if (x > 0 && !hazardNear(objects, x - 1, y)) {
+                return 'A';
+            }
+            if (x + 1 < GameModel.GAME_WIDTH && !hazardNear(objects, x + 1, y)) {
+                return 'D';
+            }
+            return 0;
+        }
+        for (int i = 0; i < objects.size(); i++) {
+            SpaceObject object = objects.get(i);
+            if (object instanceof Enemy && object.getX() == x && object.getY() < y) {
+                return 'F';
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns whether an asteroid or enemy is on, or one row above, the given cell.
+     */
+    private static boolean hazardNear(List<SpaceObject> objects, int x, int y) {
+        for (int i = 0; i < objects.size(); i++) {
+            SpaceObject object = objects.get(i);
+            if ((object instanceof Asteroid || object instanceof Enemy) && object.getX() == x
+                    && (object.getY() == y || object.getY() == y - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
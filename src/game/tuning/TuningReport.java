@@ -0,0 +1,72 @@
+package game.tuning;
+
+import game.GameSettings;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Streams tuning results as CSV, one line per parameter point, flushed as each point
+ * completes so a long sweep can be watched and survives being interrupted.
+ */
+public class TuningReport implements Consumer<PointResult>, Closeable {
+    private static final String HEADER = "startSpawnRate,spawnRateIncrease,scoreThreshold,"
+            + "enemySpawnRate,powerUpSpawnRate,asteroidDamage,enemyDamage,games,stoppedEarly,"
+            + "survivalMean,survivalP10,survivalP50,survivalP90,"
+            + "scoreMean,scoreP10,scoreP50,scoreP90,levelMean";
+
+    private final Writer out;
+
+    /**
+     * Creates a report writing to the given writer, and writes the header line.
+     *
+     * @param out the writer to write to, closed when the report is closed.
+     */
+    public TuningReport(Writer out) {
+        this.out = out;
+        try {
+            out.write(String.format("%s%n", HEADER));
+        } catch (IOException e) {
+            System.err.println("Error writing tuning report: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes one line for the given result.
+     *
+     * @param result the result of a parameter point.
+     */
+    @Override
+    public void accept(PointResult result) {
+        GameSettings s = result.getSettings();
+        String line = String.format(Locale.ROOT,
+                "%d,%d,%d,%s,%s,%d,%d,%d,%b,%.1f,%d,%d,%d,%.1f,%d,%d,%d,%.2f%n",
+                s.getStartSpawnRate(), s.getSpawnRateIncrease(), s.getScoreThreshold(),
+                s.getEnemySpawnRate(), s.getPowerUpSpawnRate(), s.getAsteroidDamage(),
+                s.getEnemyDamage(), result.getGames(), result.isStoppedEarly(),
+                result.getMeanSurvival(), result.getSurvivalPercentile(0.1),
+                result.getSurvivalPercentile(0.5), result.getSurvivalPercentile(0.9),
+                result.getMeanScore(), result.getScorePercentile(0.1),
+                result.getScorePercentile(0.5), result.getScorePercentile(0.9),
+                result.getMeanLevel());
+        try {
+            out.write(line);
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("Error writing tuning report: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes the underlying writer.
+     *
+     * @throws IOException if the writer cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
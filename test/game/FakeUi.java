@@ -0,0 +1,49 @@
+package game;
+
+import game.achievements.Achievement;
+import game.core.SpaceObject;
+import game.ui.KeyHandler;
+import game.ui.Tickable;
+import game.ui.UI;
+
+import java.util.List;
+
+/**
+ * A UI that ignores every call, for tests that need a UI but do not look at it. Tests that
+ * record some calls extend it and override just those.
+ */
+public class FakeUi implements UI {
+
+    @Override
+    public void pause() { }
+
+    @Override
+    public void start() { }
+
+    @Override
+    public void stop() { }
+
+    @Override
+    public void onStep(Tickable tickable) { }
+
+    @Override
+    public void onKey(KeyHandler key) { }
+
+    @Override
+    public void render(List<SpaceObject> objects) { }
+
+    @Override
+    public void log(String message) { }
+
+    @Override
+    public void setStat(String label, String value) { }
+
+    @Override
+    public void logAchievementMastered(String message) { }
+
+    @Override
+    public void logAchievements(List<Achievement> achievements) { }
+
+    @Override
+    public void setAchievementProgressStat(String name, double progress) { }
+}
@@ -13,10 +13,11 @@ public class AchieveManagerTest {
 
     // Fake file handler to avoid writing to disk
     private static class AchieveFileMock implements AchievementFile {
+        private final List<String> saved = new ArrayList<>();
 
         @Override
         public void save(String line) {
-            // nothing saved in test
+            saved.add(line); // kept in memory only
         }
 
         @Override
@@ -64,4 +65,45 @@ public class AchieveManagerTest {
             // expected
         }
     }
+
+    @Test
+    public void handleUpdatesMatchNamedUpdates() {
+        AchievementManager manager = new AchievementManager(new AchieveFileMock());
+        Achievement a = new GameAchievement("Handle", "Use a handle");
+        int handle = manager.register(a);
+        assertEquals(handle, manager.handleOf("Handle"));
+        manager.updateAchievement(handle, 0.7);
+        assertEquals(0.7, a.getProgress(), 0.0001);
+        assertEquals("Expert", a.getCurrentTier());
+    }
+
+    @Test
+    public void masteredLoggedOnceOnTierChange() {
+        AchieveFileMock file = new AchieveFileMock();
+        AchievementManager manager = new AchievementManager(file);
+        int handle = manager.register(new GameAchievement("Master", "Get it all"));
+        manager.register(new GameAchievement("Other", "Never done"));
+
+        manager.updateAchievement(handle, 0.5);
+        manager.logAchievementMastered();
+        assertTrue(file.saved.isEmpty());
+
+        manager.updateAchievement(handle, 1.0);
+        manager.logAchievementMastered();
+        manager.updateAchievement(handle, 0.2);
+        manager.updateAchievement(handle, 1.0);
+        manager.logAchievementMastered();
+        assertEquals(List.of("Achievement Mastered: Master"), file.saved);
+    }
+
+    @Test
+    public void unknownHandleFails() {
+        AchievementManager manager = new AchievementManager(new AchieveFileMock());
+        try {
+            manager.updateAchievement(3, 0.5);
+            fail("Should reject an unregistered handle");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
 }
@@ -0,0 +1,134 @@
+package game.achievements;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for saving and restoring achievement state with BinaryAchievementStore.
+ */
+public class AchievementStoreTest {
+
+    private static class RecordingFile implements AchievementFile {
+        private final List<String> saved = new ArrayList<>();
+
+        @Override
+        public void save(String line) {
+            saved.add(line);
+        }
+
+        @Override
+        public List<String> read() {
+            return saved;
+        }
+
+        @Override
+        public void setFileLocation(String location) {
+        }
+
+        @Override
+        public String getFileLocation() {
+            return "test.log";
+        }
+    }
+
+    @Test
+    public void progressSurvivesRestart() throws IOException {
+        Path path = Files.createTempFile("achievements", ".dat");
+        try {
+            try (BinaryAchievementStore store = new BinaryAchievementStore(path)) {
+                AchievementManager manager = new AchievementManager(new RecordingFile(), store);
+                int handle = manager.register(new GameAchievement("Survivor", "Survive"));
+                manager.updateAchievement(handle, 0.42);
+                manager.logAchievementMastered();
+            }
+            try (BinaryAchievementStore store = new BinaryAchievementStore(path)) {
+                AchievementManager manager = new AchievementManager(new RecordingFile(), store);
+                Achievement survivor = new GameAchievement("Survivor", "Survive");
+                manager.register(survivor);
+                assertEquals(0.42, survivor.getProgress(), 0.0001);
+                assertEquals("Novice", store.get("Survivor").getTier());
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void masteredNotLoggedAgainAfterRestart() throws IOException {
+        Path path = Files.createTempFile("achievements", ".dat");
+        try {
+            RecordingFile log = new RecordingFile();
+            try (BinaryAchievementStore store = new BinaryAchievementStore(path)) {
+                AchievementManager manager = new AchievementManager(log, store);
+                int handle = manager.register(new GameAchievement("Ace", "Be great"));
+                manager.updateAchievement(handle, 1.0);
+                manager.logAchievementMastered();
+            }
+            try (BinaryAchievementStore store = new BinaryAchievementStore(path)) {
+                AchievementManager manager = new AchievementManager(log, store);
+                manager.register(new GameAchievement("Ace", "Be great"));
+                manager.logAchievementMastered();
+                assertTrue(store.get("Ace").isMastered());
+            }
+            assertEquals(1, log.saved.size());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void corruptedRecordIsIgnored() throws IOException {
+        Path path = Files.createTempFile("achievements", ".dat");
+        try {
+            try (BinaryAchievementStore store = new BinaryAchievementStore(path)) {
+                store.save("First", 0.25, "Novice", false);
+                store.save("Second", 0.75, "Expert", false);
+            }
+            try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+                file.seek(12); // inside the name of the first record
+                file.write('X');
+            }
+            try (BinaryAchievementStore store = new BinaryAchievementStore(path)) {
+                assertNull(store.get("First"));
+                assertEquals(0.75, store.get("Second").getProgress(), 0.0001);
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void tornSaveKeepsPreviousState() throws IOException {
+        Path path = Files.createTempFile("achievements", ".dat");
+        try {
+            try (BinaryAchievementStore store = new BinaryAchievementStore(path)) {
+                store.save("Ace", 1.0, "Master", true);
+                store.save("Ace", 1.0, "Master", false);
+            }
+            // Cut the last save off partway through its record
+            try (FileChannel file = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                file.truncate(Files.size(path) - 10);
+            }
+            try (BinaryAchievementStore store = new BinaryAchievementStore(path)) {
+                assertEquals(1.0, store.get("Ace").getProgress(), 0.0001);
+                assertTrue(store.get("Ace").isMastered());
+                store.save("Ace", 0.5, "Expert", true);
+            }
+            try (BinaryAchievementStore store = new BinaryAchievementStore(path)) {
+                assertEquals(0.5, store.get("Ace").getProgress(), 0.0001);
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
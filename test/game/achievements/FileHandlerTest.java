@@ -0,0 +1,132 @@
+package game.achievements;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for rotating and compacting the achievements log.
+ */
+public class FileHandlerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static FileHandler handler(Path directory) {
+        FileHandler handler = new FileHandler();
+        handler.setFileLocation(directory.resolve("achievements.log").toString());
+        return handler;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveLimits() {
+        new FileHandler().setRotation(1024, 0, 4);
+    }
+
+    @Test
+    public void rotatesByEntryCount() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        FileHandler handler = handler(directory);
+        handler.setRotation(Long.MAX_VALUE, 3, 100);
+        for (int i = 0; i < 7; i++) {
+            handler.save("Achievement Mastered: A" + i);
+        }
+        assertEquals(2, handler.segments().size());
+        assertEquals(List.of("Achievement Mastered: A6"),
+                Files.readAllLines(directory.resolve("achievements.log")));
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            expected.add("Achievement Mastered: A" + i);
+        }
+        assertEquals(expected, handler.read());
+    }
+
+    @Test
+    public void rotatesBySize() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        FileHandler handler = handler(directory);
+        handler.setRotation(20, Integer.MAX_VALUE, 100);
+        handler.save("0123456789");
+        assertTrue(handler.segments().isEmpty());
+        handler.save("0123456789");
+        assertEquals(1, handler.segments().size());
+        assertFalse(Files.exists(directory.resolve("achievements.log")));
+        assertEquals(2, handler.read().size());
+    }
+
+    @Test
+    public void compactionKeepsLatestEntryPerKey() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        FileHandler handler = handler(directory);
+        handler.setRotation(Long.MAX_VALUE, 2, 100);
+        handler.save("Achievement Mastered: Survivor");
+        handler.save("Achievement Mastered: Sharp Shooter");
+        handler.save("Achievement Mastered: Survivor");
+        handler.save("Achievement Mastered: Enemy Exterminator");
+        handler.save("Achievement Mastered: Sharp Shooter");
+        assertEquals(2, handler.segments().size());
+
+        handler.compact();
+        assertEquals(1, handler.segments().size());
+        assertFalse(Files.exists(directory.resolve("achievements.log.tmp")));
+        assertEquals(List.of("Achievement Mastered: Sharp Shooter",
+                "Achievement Mastered: Survivor",
+                "Achievement Mastered: Enemy Exterminator",
+                "Achievement Mastered: Sharp Shooter"), handler.read()); // The last is unrotated
+
+        // Later rotations continue after the compacted segment
+        handler.save("Achievement Mastered: Survivor");
+        assertEquals(2, handler.segments().size());
+        assertEquals(5, handler.read().size());
+    }
+
+    @Test
+    public void compactsInBackgroundWhenSegmentsPileUp() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        FileHandler handler = handler(directory);
+        handler.setRotation(Long.MAX_VALUE, 1, 3);
+        for (int year = 0; year < 50; year++) {
+            handler.save("Achievement Mastered: A" + (year % 5));
+        }
+        handler.awaitCompaction();
+        assertTrue(handler.segments().size() <= 4);
+        List<String> lines = handler.read();
+        assertTrue(lines.size() <= 5 + 3);
+        assertEquals("Achievement Mastered: A4", lines.get(lines.size() - 1));
+    }
+
+    @Test
+    public void readersSeeConsistentViewDuringCompaction() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        FileHandler handler = handler(directory);
+        handler.setRotation(Long.MAX_VALUE, 1, Integer.MAX_VALUE);
+        for (int i = 0; i < 200; i++) {
+            handler.save("Achievement Mastered: A" + (i % 10));
+        }
+        AtomicBoolean inconsistent = new AtomicBoolean();
+        AtomicBoolean done = new AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                int size = handler.read().size();
+                if (size != 200 && size != 10) {
+                    inconsistent.set(true);
+                }
+            }
+        });
+        reader.start();
+        handler.compact();
+        done.set(true);
+        reader.join();
+        assertFalse(inconsistent.get());
+        assertEquals(10, handler.read().size());
+    }
+}
@@ -0,0 +1,151 @@
+package game.aggregate;
+
+import game.achievements.AchievementManager;
+import game.achievements.FileHandler;
+import game.achievements.GameAchievement;
+import game.achievements.PlayerStatsTracker;
+import game.clock.TickClock;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SessionAggregatorTest {
+
+    private static AchievementManager achievements() {
+        AchievementManager manager = new AchievementManager(new FileHandler());
+        manager.register(new GameAchievement("Sharp Shooter", "Aim"));
+        manager.register(new GameAchievement("Survivor", "Survive"));
+        return manager;
+    }
+
+    @Test
+    public void reportsOnlyWhatChanged() {
+        SessionAggregator aggregator = new SessionAggregator();
+        Session session = aggregator.openSession();
+        PlayerStatsTracker stats = new PlayerStatsTracker();
+        AchievementManager achievements = achievements();
+        for (int i = 0; i < 4; i++) {
+            stats.recordShotFired();
+        }
+        stats.recordShotHit();
+        session.update(stats, achievements);
+        session.update(stats, achievements);
+        stats.recordShotFired();
+        session.update(stats, achievements);
+
+        assertEquals(3, aggregator.getTicks());
+        assertEquals(5, aggregator.getShotsFired());
+        assertEquals(1, aggregator.getShotsHit());
+        assertEquals(0.2, aggregator.getGlobalAccuracy(), 1e-9);
+        assertEquals(1, aggregator.getActiveSessions());
+    }
+
+    @Test
+    public void countsEachMasteryOncePerSession() {
+        SessionAggregator aggregator = new SessionAggregator();
+        PlayerStatsTracker stats = new PlayerStatsTracker();
+        for (int player = 0; player < 3; player++) {
+            Session session = aggregator.openSession();
+            AchievementManager achievements = achievements();
+            session.update(stats, achievements);
+            if (player > 0) {
+                achievements.updateAchievement("Sharp Shooter", 1.0);
+            }
+            session.update(stats, achievements);
+            session.update(stats, achievements);
+        }
+        assertEquals(2, aggregator.getMasteredCount("Sharp Shooter"));
+        assertEquals(0, aggregator.getMasteredCount("Survivor"));
+        assertEquals(List.of("Sharp Shooter"),
+                new ArrayList<>(aggregator.getMasteredCounts().keySet()));
+    }
+
+    @Test
+    public void finishedSessionsFormDistributions() {
+        SessionAggregator aggregator = new SessionAggregator();
+        int[] scores = {0, 1, 3, 100};
+        for (int score : scores) {
+            TickClock clock = new TickClock();
+            PlayerStatsTracker stats = new PlayerStatsTracker(clock);
+            clock.advance(score * 20); // score seconds
+            stats.recordShotFired();
+            stats.recordShotFired();
+            if (score > 0) {
+                stats.recordShotHit();
+            }
+            Session session = aggregator.openSession();
+            session.finish(score, stats, achievements());
+            session.finish(score, stats, achievements()); // Ignored
+            assertTrue(session.isFinished());
+        }
+
+        assertEquals(4, aggregator.getSessionsFinished());
+        assertEquals(0, aggregator.getActiveSessions());
+        Distribution scoreDistribution = aggregator.getScoreDistribution();
+        assertEquals(4, scoreDistribution.getTotal());
+        assertEquals(26.0, scoreDistribution.getMean(), 1e-9);
+        assertEquals(1, scoreDistribution.getCount(0));
+        assertEquals(1, scoreDistribution.getCount(1));
+        assertEquals(1, scoreDistribution.getCount(2)); // 2 and 3
+        assertEquals(2, scoreDistribution.getLowerBound(2));
+        assertEquals(64, scoreDistribution.getPercentile(100));
+        assertEquals(1, scoreDistribution.getPercentile(50));
+        assertEquals(26.0, aggregator.getSurvivalDistribution().getMean(), 1e-9);
+
+        Distribution accuracy = aggregator.getAccuracyDistribution();
+        assertEquals(1, accuracy.getCount(0));
+        assertEquals(3, accuracy.getCount(5));
+        assertEquals(50, accuracy.getPercentile(90));
+    }
+
+    @Test
+    public void mergesConcurrentSessions() throws InterruptedException {
+        SessionAggregator aggregator = new SessionAggregator();
+        int threads = 8;
+        int sessionsPerThread = 50;
+        int ticks = 200;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                for (int s = 0; s < sessionsPerThread; s++) {
+                    Session session = aggregator.openSession();
+                    PlayerStatsTracker stats = new PlayerStatsTracker();
+                    AchievementManager achievements = achievements();
+                    for (int tick = 0; tick < ticks; tick++) {
+                        stats.recordShotFired();
+                        if (tick % 2 == 0) {
+                            stats.recordShotHit();
+                        }
+                        if (tick == ticks / 2) {
+                            achievements.updateAchievement("Survivor", 1.0);
+                        }
+                        session.update(stats, achievements);
+                    }
+                    session.finish(10, stats, achievements);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        long sessions = (long) threads * sessionsPerThread;
+        assertEquals(sessions, aggregator.getSessionsOpened());
+        assertEquals(sessions, aggregator.getSessionsFinished());
+        assertEquals(sessions * ticks, aggregator.getShotsFired());
+        assertEquals(sessions * ticks / 2, aggregator.getShotsHit());
+        assertEquals(0.5, aggregator.getGlobalAccuracy(), 1e-9);
+        assertEquals(sessions, aggregator.getMasteredCount("Survivor"));
+        assertEquals(sessions, aggregator.getAccuracyDistribution().getCount(5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsPercentileAboveHundred() {
+        new SessionAggregator().getScoreDistribution().getPercentile(101);
+    }
+}
@@ -0,0 +1,120 @@
+package game.bot;
+
+import game.FakeUi;
+import game.GameController;
+import game.GameModel;
+import game.achievements.AchievementManager;
+import game.achievements.FileHandler;
+import game.achievements.GameAchievement;
+import game.achievements.PlayerStatsTracker;
+import game.core.Asteroid;
+import game.core.Enemy;
+import game.core.ShieldPowerUp;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AutopilotTest {
+    private static final long BUDGET = 1_000_000_000L; // Generous, so searches always finish
+
+    private static GameModel emptyModel() {
+        return new GameModel(s -> {}, new PlayerStatsTracker());
+    }
+
+    @Test
+    public void dodgesAsteroidAboutToLand() {
+        GameModel model = emptyModel();
+        model.addObject(new Asteroid(5, 9)); // Ship starts at (5, 10)
+        try (Autopilot autopilot = new Autopilot(BUDGET, 2, 2)) {
+            char key = autopilot.nextKey(model, 10); // Descends on this tick
+            assertNotEquals(0, key);
+            assertNotEquals('F', key);
+        }
+    }
+
+    @Test
+    public void shootsEnemyAbove() {
+        GameModel model = emptyModel();
+        model.addObject(new Enemy(5, 5));
+        try (Autopilot autopilot = new Autopilot(BUDGET, 1, 2)) {
+            assertEquals('F', autopilot.nextKey(model, 1));
+        }
+    }
+
+    @Test
+    public void enemyAboveTheBoardIsIgnored() {
+        GameModel model = emptyModel();
+        model.addObject(new Enemy(5, -1)); // Its cell index would be negative
+        try (Autopilot autopilot = new Autopilot(BUDGET, 2, 2)) {
+            autopilot.nextKey(model, 1);
+        }
+    }
+
+    @Test
+    public void movesTowardsPowerUp() {
+        GameModel model = emptyModel();
+        model.addObject(new ShieldPowerUp(3, 10));
+        try (Autopilot autopilot = new Autopilot(BUDGET, 2, 2)) {
+            assertEquals('A', autopilot.nextKey(model, 1));
+        }
+    }
+
+    @Test
+    public void neverChoosesMoveOutOfBounds() {
+        GameModel model = emptyModel();
+        model.getShip().move(game.utility.Direction.RIGHT);
+        model.getShip().move(game.utility.Direction.RIGHT);
+        model.getShip().move(game.utility.Direction.RIGHT);
+        model.getShip().move(game.utility.Direction.RIGHT); // Now at the right edge
+        model.addObject(new Asteroid(9, 9));
+        model.addObject(new Asteroid(8, 10));
+        try (Autopilot autopilot = new Autopilot(BUDGET, 2, 2)) {
+            char key = autopilot.nextKey(model, 10);
+            assertTrue("Chose " + key, key == 'W' || key == 'S');
+        }
+    }
+
+    @Test
+    public void simulationMatchesModel() {
+        GameModel model = emptyModel();
+        model.setRandomSeed(11);
+        BotState state = new BotState();
+        for (int tick = 0; tick < 3000; tick++) {
+            model.spawnObjects();
+            if (tick % 7 == 0) {
+                model.fireBullet();
+            }
+            state.load(model);
+            model.updateAndCheckCollisions(tick);
+            state.step((char) 0, tick);
+            BotState actual = new BotState();
+            actual.load(model);
+            assertEquals(actual.health, state.health);
+            assertEquals(actual.score, state.score);
+            assertEquals(actual.size, state.size);
+        }
+    }
+
+    @Test
+    public void drivesControllerAndReportsLatency() {
+        FakeUi ui = new FakeUi();
+        GameModel model = new GameModel(ui::log, new PlayerStatsTracker());
+        model.setRandomSeed(3);
+        AchievementManager achievements = new AchievementManager(new FileHandler());
+        achievements.register(new GameAchievement("Survivor", "Survive"));
+        achievements.register(new GameAchievement("Enemy Exterminator", "Shoot"));
+        achievements.register(new GameAchievement("Sharp Shooter", "Aim"));
+        GameController controller = new GameController(ui, model, achievements);
+        try (Autopilot autopilot = new Autopilot(BUDGET, 2, 2)) {
+            controller.setInputSource(autopilot);
+            for (int tick = 0; tick < 500; tick++) {
+                controller.onTick(tick);
+            }
+            assertEquals(500, autopilot.getDecisionCount());
+            assertTrue(autopilot.getMaxDecisionNanos() >= autopilot.getMeanDecisionNanos());
+            assertEquals(2, autopilot.getLastSearchDepth());
+            assertTrue(model.getStatsTracker().getShotsFired() > 0);
+            assertFalse(model.checkGameOver());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package game.bot;
+
+import game.GameModel;
+import game.achievements.PlayerStatsTracker;
+import game.core.Asteroid;
+import game.core.Bullet;
+import game.core.Enemy;
+import game.core.EntityType;
+import game.core.HealthPowerUp;
+import game.core.ShieldPowerUp;
+import game.core.SpaceObject;
+import game.exceptions.BoundaryExceededException;
+import game.utility.Direction;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class BotStateTest {
+
+    /**
+     * Applies a key to the model as GameController does, returning false if the ship could
+     * not move.
+     */
+    private static boolean press(GameModel model, char key) {
+        try {
+            switch (key) {
+                case 'W' -> model.getShip().move(Direction.UP);
+                case 'A' -> model.getShip().move(Direction.LEFT);
+                case 'S' -> model.getShip().move(Direction.DOWN);
+                case 'D' -> model.getShip().move(Direction.RIGHT);
+                case 'F' -> model.fireBullet();
+                default -> {
+                }
+            }
+            return true;
+        } catch (BoundaryExceededException e) {
+            return false;
+        }
+    }
+
+    private static void assertSameState(String where, GameModel model, BotState state,
+                                        long hitsBefore) {
+        assertEquals(where, model.getShip().getX(), state.shipX);
+        assertEquals(where, model.getShip().getY(), state.shipY);
+        assertEquals(where, model.getShip().getHealth(), state.health);
+        assertEquals(where, model.getShip().getScore(), state.score);
+        assertEquals(where, model.getStatsTracker().getShotsHit() - hitsBefore, state.hits);
+        List<SpaceObject> objects = model.getSpaceObjects();
+        assertEquals(where, objects.size(), state.size);
+        for (int i = 0; i < objects.size(); i++) {
+            SpaceObject object = objects.get(i);
+            assertEquals(where + " object " + i, EntityType.of(object).getCode(),
+                    state.types[i]);
+            assertEquals(where + " object " + i, object.getX(), state.xs[i]);
+            assertEquals(where + " object " + i, object.getY(), state.ys[i]);
+        }
+    }
+
+    @Test
+    public void stepsLikeAForkOfTheModel() {
+        for (int seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            GameModel model = new GameModel(message -> { }, new PlayerStatsTracker());
+            for (int i = 0; i < 60; i++) {
+                int x = random.nextInt(GameModel.GAME_WIDTH + 2) - 1; // Some off the board
+                int y = random.nextInt(GameModel.GAME_HEIGHT + 4) - 3;
+                model.addObject(switch (random.nextInt(5)) {
+                    case 0 -> new Asteroid(x, y);
+                    case 1 -> new Enemy(x, y);
+                    case 2 -> new Bullet(x, y);
+                    case 3 -> new HealthPowerUp(x, y);
+                    default -> new ShieldPowerUp(x, y);
+                });
+            }
+            // Stacked enemies with a bullet below them, so a hit has to pick one
+            model.addObject(new Enemy(2, 4));
+            model.addObject(new Enemy(2, 4));
+            model.addObject(new Bullet(2, 5));
+
+            BotState state = new BotState();
+            state.load(model);
+            GameModel fork = model.fork();
+            long hitsBefore = fork.getStatsTracker().getShotsHit();
+            assertSameState("seed " + seed, fork, state, hitsBefore);
+            for (int tick = 1; tick <= 300; tick++) {
+                char key = Autopilot.KEYS[random.nextInt(Autopilot.KEYS.length)];
+                boolean moved = press(fork, key);
+                assertEquals(moved, state.step(key, tick));
+                if (moved) {
+                    fork.updateAndCheckCollisions(tick);
+                }
+                assertSameState("seed " + seed + " tick " + tick, fork, state, hitsBefore);
+            }
+        }
+    }
+
+    @Test
+    public void bulletHitsTheFirstOfStackedEnemies() {
+        GameModel model = new GameModel(message -> { }, new PlayerStatsTracker());
+        model.addObject(new Enemy(2, 4));
+        model.addObject(new Asteroid(7, 7));
+        model.addObject(new Enemy(2, 4));
+        model.addObject(new Bullet(2, 5));
+        BotState state = new BotState();
+        state.load(model);
+        assertTrue(state.step((char) 0, 1));
+        assertEquals(1, state.hits);
+        assertEquals(2, state.size);
+        assertEquals(EntityType.ASTEROID.getCode(), state.types[0]);
+        assertEquals(EntityType.ENEMY.getCode(), state.types[1]);
+    }
+
+    @Test
+    public void bulletsAboveTheBoardAreKept() {
+        GameModel model = new GameModel(message -> { }, new PlayerStatsTracker());
+        model.addObject(new Bullet(3, 0));
+        BotState state = new BotState();
+        state.load(model);
+        assertTrue(state.step((char) 0, 1));
+        assertTrue(state.step((char) 0, 2));
+        assertEquals(1, state.size);
+        assertEquals(-2, state.ys[0]);
+    }
+}
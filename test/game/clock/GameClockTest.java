@@ -0,0 +1,86 @@
+package game.clock;
+
+import game.FakeUi;
+import game.GameController;
+import game.GameModel;
+import game.GameSettings;
+import game.achievements.Achievement;
+import game.achievements.AchievementManager;
+import game.achievements.FileHandler;
+import game.achievements.GameAchievement;
+import game.achievements.PlayerStatsTracker;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class GameClockTest {
+
+    private static class StatsUi extends FakeUi {
+        private final Map<String, String> stats = new HashMap<>();
+
+        @Override
+        public void setStat(String label, String value) {
+            stats.put(label, value);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveTickLength() {
+        new TickClock(0);
+    }
+
+    @Test
+    public void tickClockFollowsTicks() {
+        TickClock clock = new TickClock(250_000_000L);
+        assertEquals(0, clock.nanoTime());
+        clock.onTick(6);
+        assertEquals(1_500_000_000L, clock.nanoTime());
+        assertEquals(1, clock.secondsSince(0));
+        clock.advance(2);
+        assertEquals(2, clock.secondsSince(0));
+        assertEquals(1, clock.secondsSince(250_000_000L * 4));
+    }
+
+    @Test
+    public void systemClockIsMonotonic() {
+        long first = SystemClock.INSTANCE.nanoTime();
+        assertTrue(SystemClock.INSTANCE.nanoTime() >= first);
+        assertEquals(0, SystemClock.INSTANCE.secondsSince(first));
+    }
+
+    @Test
+    public void copiedTrackerSharesClock() {
+        TickClock clock = new TickClock();
+        PlayerStatsTracker tracker = new PlayerStatsTracker(clock);
+        clock.advance(40);
+        assertEquals(2, tracker.getElapsedSeconds());
+        assertSame(clock, tracker.copy().getClock());
+        assertEquals(2, tracker.copy().getElapsedSeconds());
+    }
+
+    @Test
+    public void headlessTicksDriveSurvivalTime() {
+        StatsUi ui = new StatsUi();
+        TickClock clock = new TickClock();
+        GameSettings noSpawns = new GameSettings(0, 0, 100, 0, 0, 10, 20);
+        GameModel model = new GameModel(ui::log, new PlayerStatsTracker(clock), noSpawns);
+        AchievementManager achievements = new AchievementManager(new FileHandler());
+        achievements.register(new GameAchievement("Survivor", "Survive"));
+        achievements.register(new GameAchievement("Enemy Exterminator", "Shoot"));
+        achievements.register(new GameAchievement("Sharp Shooter", "Aim"));
+        GameController controller = new GameController(ui, model, achievements);
+
+        // Two minutes at 20 ticks a second, however long the ticks really take
+        for (int tick = 1; tick <= 2_400; tick++) {
+            controller.onTick(tick);
+        }
+        assertEquals(120, model.getStatsTracker().getElapsedSeconds());
+        assertEquals("120 seconds", ui.stats.get("Time Survived"));
+        Achievement survivor = achievements.getAchievements().get(0);
+        assertEquals("Survivor", survivor.getName());
+        assertEquals(1.0, survivor.getProgress(), 0.0001);
+    }
+}
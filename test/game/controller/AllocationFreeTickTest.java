@@ -0,0 +1,115 @@
+package game.controller;
+
+import game.FakeUi;
+import game.GameController;
+import game.GameModel;
+import game.GameSettings;
+import game.achievements.AchievementManager;
+import game.achievements.FileHandler;
+import game.achievements.GameAchievement;
+import game.achievements.PlayerStatsTracker;
+import game.core.Asteroid;
+import game.core.Enemy;
+import game.core.SpaceObject;
+import game.render.FramePacingUI;
+import game.ui.ObjectGraphic;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class AllocationFreeTickTest {
+    private static final int WARM_UP_TICKS = 5_000;
+    private static final int MEASURED_TICKS = 10_000;
+    /**
+     * Room for the survival time label and the saved Survivor progress, which change once a
+     * second. A per-tick allocation of even one small object would take 160 KB.
+     */
+    private static final long BUDGET_BYTES = 4096;
+
+    /**
+     * A UI that asks every object for its graphic, as the real one does, without
+     * allocating anything itself.
+     */
+    private static class RenderingUi extends FakeUi {
+        private int graphics;
+        private List<?> lastFrame;
+
+        @Override
+        public void render(List<SpaceObject> objects) {
+            lastFrame = objects;
+            for (int i = 0; i < objects.size(); i++) {
+                ObjectGraphic graphic = objects.get(i).render();
+                graphics += graphic.getText().length();
+            }
+        }
+    }
+
+    /**
+     * Returns the n-th tick number that does not move descending objects, so the asteroids and
+     * enemies stay on screen for the whole run.
+     */
+    private static int stillTick(int n) {
+        return n + n / 9 + 1;
+    }
+
+    @Test
+    public void steadyStateTickDoesNotAllocate() {
+        if (!(ManagementFactory.getThreadMXBean()
+                instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported()) {
+            return; // Nothing to measure with on this JVM
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        RenderingUi drawer = new RenderingUi();
+        FramePacingUI ui = new FramePacingUI(drawer, 1000); // Copies frames, so none is built
+        GameSettings noSpawns = new GameSettings(0, 0, 100, 0, 0, 10, 20);
+        GameModel model = new GameModel(ui::log, new PlayerStatsTracker(), noSpawns);
+        for (int x = 0; x < GameModel.GAME_WIDTH; x++) {
+            if (x != 5) { // Keep the ship's column clear
+                model.addObject(new Asteroid(x, 2));
+                model.addObject(new Enemy(x, 4));
+            }
+        }
+        AchievementManager achievements = new AchievementManager(new FileHandler());
+        achievements.register(new GameAchievement("Survivor", "Survive"));
+        achievements.register(new GameAchievement("Enemy Exterminator", "Shoot"));
+        achievements.register(new GameAchievement("Sharp Shooter", "Aim"));
+        GameController controller = new GameController(ui, model, achievements);
+        int objects = model.getSpaceObjects().size();
+
+        for (int i = 0; i < WARM_UP_TICKS; i++) {
+            controller.onTick(stillTick(i));
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = WARM_UP_TICKS; i < WARM_UP_TICKS + MEASURED_TICKS; i++) {
+            controller.onTick(stillTick(i));
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        ui.stop();
+
+        assertEquals(objects, model.getSpaceObjects().size());
+        assertTrue(drawer.graphics > 0);
+        assertTrue("Allocated " + allocated + " bytes over " + MEASURED_TICKS + " ticks",
+                allocated <= BUDGET_BYTES);
+    }
+
+    @Test
+    public void otherUisGetANewListEveryFrame() {
+        RenderingUi ui = new RenderingUi();
+        GameModel model = new GameModel(ui::log, new PlayerStatsTracker());
+        AchievementManager achievements = new AchievementManager(new FileHandler());
+        achievements.register(new GameAchievement("Survivor", "Survive"));
+        achievements.register(new GameAchievement("Enemy Exterminator", "Shoot"));
+        achievements.register(new GameAchievement("Sharp Shooter", "Aim"));
+        GameController controller = new GameController(ui, model, achievements);
+        controller.renderGame();
+        List<?> first = ui.lastFrame;
+        controller.renderGame();
+        assertNotSame(first, ui.lastFrame);
+        assertEquals(1, first.size()); // Still holds the first frame's ship
+    }
+}
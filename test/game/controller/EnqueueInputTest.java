@@ -0,0 +1,82 @@
+package game.controller;
+
+import game.EntityBudget;
+import game.FakeUi;
+import game.GameController;
+import game.GameModel;
+import game.GameSettings;
+import game.achievements.AchievementManager;
+import game.achievements.FileHandler;
+import game.achievements.GameAchievement;
+import game.achievements.PlayerStatsTracker;
+import game.core.EntityType;
+import game.ui.UI;
+import org.junit.Test;
+
+
+import static org.junit.Assert.*;
+
+public class EnqueueInputTest {
+
+    /** Counts calls to pause, so tests can tell which thread paused the game and when. */
+    private static class PauseCountingUi extends FakeUi {
+        private int pauses;
+
+        @Override
+        public void pause() {
+            pauses++;
+        }
+    }
+
+    private static GameController controller(UI ui) {
+        GameSettings noSpawns = new GameSettings(0, 0, 100, 0, 0, 10, 20);
+        GameModel model = new GameModel(ui::log, new PlayerStatsTracker(), noSpawns);
+        AchievementManager achievements = new AchievementManager(new FileHandler());
+        achievements.register(new GameAchievement("Survivor", "Survive"));
+        achievements.register(new GameAchievement("Enemy Exterminator", "Shoot"));
+        achievements.register(new GameAchievement("Sharp Shooter", "Aim"));
+        return new GameController(ui, model, achievements);
+    }
+
+    @Test
+    public void pauseIsAppliedByTheTickWhileRunning() {
+        PauseCountingUi ui = new PauseCountingUi();
+        GameController controller = controller(ui);
+
+        controller.enqueueInput("p");
+        assertEquals(0, ui.pauses); // The key thread only queues it
+        controller.onTick(1);
+        assertEquals(1, ui.pauses);
+
+        controller.enqueueInput("p"); // No ticks run while paused, so this applies at once
+        assertEquals(2, ui.pauses);
+    }
+
+    @Test
+    public void everyFirePressIsApplied() {
+        PauseCountingUi ui = new PauseCountingUi();
+        GameController controller = controller(ui);
+
+        controller.enqueueInput("f");
+        controller.enqueueInput("f");
+        controller.enqueueInput("f");
+        controller.onTick(1);
+
+        assertEquals(3, controller.getStatsTracker().getShotsFired());
+        assertEquals(0, controller.getInputQueue().getCoalescedCount());
+    }
+
+    @Test
+    public void refusedShotsAreNotCounted() {
+        PauseCountingUi ui = new PauseCountingUi();
+        GameController controller = controller(ui);
+        controller.getModel().setEntityBudget(EntityBudget.UNLIMITED
+                .withCap(EntityType.BULLET, 1, EntityBudget.Policy.REFUSE));
+
+        controller.enqueueInput("f");
+        controller.enqueueInput("f");
+        controller.onTick(1);
+
+        assertEquals(1, controller.getStatsTracker().getShotsFired());
+    }
+}
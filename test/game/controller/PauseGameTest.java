@@ -4,12 +4,19 @@ import game.GameController;
 import game.GameModel;
 import game.achievements.AchievementManager;
 import game.achievements.FileHandler;
+import game.achievements.GameAchievement;
 import game.achievements.PlayerStatsTracker;
+import game.leaderboard.Leaderboard;
 import game.ui.UI;
 import game.ui.KeyHandler;
 import game.ui.Tickable;
 
 import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import static org.junit.Assert.*;
 
 public class PauseGameTest {
@@ -29,7 +36,7 @@ public class PauseGameTest {
 
         public void onKey(KeyHandler key) { }
 
-        public void render(java.util.List objects) { }
+        public void render(java.util.List<game.core.SpaceObject> objects) { }
 
         public void log(String message) { }
 
@@ -37,7 +44,7 @@ public class PauseGameTest {
 
         public void logAchievementMastered(String message) { }
 
-        public void logAchievements(java.util.List achievements) { }
+        public void logAchievements(java.util.List<game.achievements.Achievement> achievements) { }
 
         public void setAchievementProgressStat(String name, double progress) { }
     }
@@ -69,4 +76,30 @@ public class PauseGameTest {
         // Nothing should happen or crash
         assertTrue(true);
     }
+
+    @Test
+    public void unpausingAfterGameOverDoesNotRecordAgain() throws IOException {
+        Path path = Files.createTempFile("leaderboard", ".dat");
+        Files.delete(path);
+        try (Leaderboard leaderboard = new Leaderboard(path, 0, 100)) {
+            FakeUi ui = new FakeUi();
+            GameModel model = new GameModel(ui::log, new PlayerStatsTracker());
+            AchievementManager achievements = new AchievementManager(new FileHandler());
+            achievements.register(new GameAchievement("Survivor", "Survive"));
+            achievements.register(new GameAchievement("Enemy Exterminator", "Shoot"));
+            achievements.register(new GameAchievement("Sharp Shooter", "Aim"));
+            GameController controller = new GameController(ui, model, achievements);
+            controller.setLeaderboard(leaderboard);
+            model.getShip().takeDamage(1000);
+
+            controller.onTick(1);
+            assertEquals(1, leaderboard.size());
+            controller.pauseGame(); // Unpause the finished game
+            controller.onTick(2);
+            controller.onTick(3);
+            assertEquals(1, leaderboard.size());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
 }
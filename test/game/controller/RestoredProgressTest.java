@@ -0,0 +1,52 @@
+package game.controller;
+
+import game.FakeUi;
+import game.GameController;
+import game.GameModel;
+import game.GameSettings;
+import game.achievements.AchievementManager;
+import game.achievements.BinaryAchievementStore;
+import game.achievements.FileHandler;
+import game.achievements.GameAchievement;
+import game.achievements.PlayerStatsTracker;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class RestoredProgressTest {
+
+    @Test
+    public void firstTickDoesNotLowerRestoredProgress() throws IOException {
+        Path path = Files.createTempFile("achievements", ".dat");
+        try {
+            try (BinaryAchievementStore store = new BinaryAchievementStore(path)) {
+                store.save("Survivor", 0.8, "Master", false);
+            }
+            try (BinaryAchievementStore store = new BinaryAchievementStore(path)) {
+                FakeUi ui = new FakeUi();
+                GameSettings noSpawns = new GameSettings(0, 0, 100, 0, 0, 10, 20);
+                GameModel model = new GameModel(ui::log, new PlayerStatsTracker(), noSpawns);
+                AchievementManager achievements =
+                        new AchievementManager(new FileHandler(), store);
+                achievements.register(new GameAchievement("Survivor", "Survive"));
+                achievements.register(new GameAchievement("Enemy Exterminator", "Shoot"));
+                achievements.register(new GameAchievement("Sharp Shooter", "Aim"));
+                GameController controller = new GameController(ui, model, achievements);
+
+                controller.onTick(1); // Survived about 0 seconds this session
+
+                assertEquals(0.8, achievements.getAchievements().get(0).getProgress(), 0.0001);
+                assertEquals(0.8, store.get("Survivor").getProgress(), 0.0001);
+            }
+            try (BinaryAchievementStore store = new BinaryAchievementStore(path)) {
+                assertEquals(0.8, store.get("Survivor").getProgress(), 0.0001);
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
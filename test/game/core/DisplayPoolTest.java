@@ -0,0 +1,37 @@
+package game.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DisplayPoolTest {
+
+    @Test
+    public void reusesObjectsAfterReset() {
+        DisplayPool pool = new DisplayPool();
+        SpaceObject first = pool.place(EntityType.ENEMY, 1, 2);
+        SpaceObject second = pool.place(EntityType.ENEMY, 3, 4);
+        assertNotSame(first, second);
+        assertEquals(Enemy.class, first.getClass());
+        pool.reset();
+        assertSame(first, pool.place(EntityType.ENEMY, 5, 6));
+        assertEquals(5, first.getX());
+        assertEquals(6, first.getY());
+    }
+
+    @Test
+    public void showsShipStateDirectly() {
+        DisplayPool pool = new DisplayPool();
+        Ship ship = pool.ship(2, 3, 40, 100);
+        pool.reset();
+        assertSame(ship, pool.ship(4, 5, 10, 0));
+        assertEquals(10, ship.getScore());
+        assertEquals(0, ship.getHealth());
+        assertEquals(4, ship.getX());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownTypes() {
+        new DisplayPool().place(EntityType.OTHER, 0, 0);
+    }
+}
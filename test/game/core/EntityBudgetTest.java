@@ -0,0 +1,158 @@
+package game.core;
+
+import game.EntityBudget;
+import game.GameModel;
+import game.achievements.PlayerStatsTracker;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class EntityBudgetTest {
+
+    private static GameModel model(EntityBudget budget) {
+        GameModel model = new GameModel(s -> {}, new PlayerStatsTracker());
+        model.setEntityBudget(budget);
+        return model;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeCap() {
+        EntityBudget.UNLIMITED.withCap(EntityType.BULLET, -1, EntityBudget.Policy.REFUSE);
+    }
+
+    @Test
+    public void evictsOldestBulletsFirst() {
+        GameModel model = model(EntityBudget.UNLIMITED
+                .withCap(EntityType.BULLET, 3, EntityBudget.Policy.EVICT_OLDEST));
+        Asteroid asteroid = new Asteroid(0, 0);
+        model.addObject(asteroid);
+        for (int y = 0; y < 5; y++) {
+            model.addObject(new Bullet(1, y));
+        }
+        List<SpaceObject> objects = model.getSpaceObjects();
+        assertEquals(4, objects.size());
+        assertSame(asteroid, objects.get(0));
+        assertEquals(2, objects.get(1).getY()); // Bullets at y 0 and 1 were evicted
+        assertEquals(4, objects.get(3).getY());
+        assertEquals(2, model.getEvictedCount(EntityType.BULLET));
+        assertEquals(0, model.getRefusedCount(EntityType.BULLET));
+    }
+
+    @Test
+    public void refusesSpawnsOverCap() {
+        GameModel model = model(EntityBudget.UNLIMITED
+                .withCap(EntityType.ASTEROID, 2, EntityBudget.Policy.REFUSE));
+        Asteroid first = new Asteroid(0, 0);
+        model.addObject(first);
+        model.addObject(new Asteroid(1, 0));
+        model.addObject(new Asteroid(2, 0));
+        assertEquals(2, model.getObjectCount(EntityType.ASTEROID));
+        assertSame(first, model.getSpaceObjects().get(0));
+        assertEquals(1, model.getRefusedCount(EntityType.ASTEROID));
+        assertEquals(0, model.getEvictedCount(EntityType.ASTEROID));
+    }
+
+    @Test
+    public void totalCapEvictsLowerPriorityFirst() {
+        GameModel model = model(new EntityBudget(3));
+        model.addObject(new Bullet(0, 5));
+        model.addObject(new Asteroid(1, 0));
+        model.addObject(new Asteroid(2, 0));
+        model.addObject(new Enemy(3, 0)); // Evicts the bullet
+        assertEquals(0, model.getObjectCount(EntityType.BULLET));
+        assertEquals(1, model.getEvictedCount(EntityType.BULLET));
+
+        model.addObject(new Enemy(4, 0)); // Evicts the oldest asteroid
+        assertEquals(1, model.getObjectCount(EntityType.ASTEROID));
+        assertEquals(2, model.getSpaceObjects().get(0).getX());
+
+        model.addObject(new Bullet(5, 5)); // Nothing lower and no bullet to evict: refused
+        assertEquals(3, model.getSpaceObjects().size());
+        assertEquals(0, model.getObjectCount(EntityType.BULLET));
+        assertEquals(1, model.getRefusedCount(EntityType.BULLET));
+    }
+
+    @Test
+    public void firingRespectsBudget() {
+        GameModel model = model(EntityBudget.UNLIMITED
+                .withCap(EntityType.BULLET, 1, EntityBudget.Policy.REFUSE));
+        assertTrue(model.tryFireBullet());
+        assertFalse(model.tryFireBullet());
+        assertEquals(1, model.getObjectCount(EntityType.BULLET));
+        assertEquals(1, model.getRefusedCount(EntityType.BULLET));
+    }
+
+    @Test
+    public void addingThroughListRespectsBudget() {
+        GameModel model = model(EntityBudget.UNLIMITED
+                .withCap(EntityType.BULLET, 1, EntityBudget.Policy.REFUSE));
+        assertTrue(model.getSpaceObjects().add(new Bullet(0, 5)));
+        assertFalse(model.getSpaceObjects().add(new Bullet(1, 5)));
+        model.getSpaceObjects().add(0, new Bullet(2, 5));
+        assertEquals(1, model.getObjectCount(EntityType.BULLET));
+        assertEquals(2, model.getRefusedCount(EntityType.BULLET));
+        assertEquals(0, model.getSpaceObjects().get(0).getX());
+    }
+
+    @Test
+    public void forkKeepsBudgetAndCounters() {
+        GameModel model = model(EntityBudget.UNLIMITED
+                .withCap(EntityType.BULLET, 1, EntityBudget.Policy.EVICT_OLDEST));
+        model.addObject(new Bullet(0, 5));
+        model.addObject(new Bullet(1, 5));
+        GameModel fork = model.fork();
+        fork.addObject(new Bullet(2, 5));
+        assertEquals(1, model.getEvictedCount(EntityType.BULLET));
+        assertEquals(2, fork.getEvictedCount(EntityType.BULLET));
+        assertEquals(1, fork.getObjectCount(EntityType.BULLET));
+        assertEquals(1, model.getSpaceObjects().get(0).getX());
+        assertEquals(2, fork.getSpaceObjects().get(0).getX());
+    }
+
+    @Test
+    public void evictsOnlyTheOldestOfTheSameType() {
+        GameModel model = model(EntityBudget.UNLIMITED
+                .withCap(EntityType.HEALTH_POWER_UP, 1, EntityBudget.Policy.EVICT_OLDEST));
+        model.addObject(new ShieldPowerUp(0, 0));
+        model.addObject(new HealthPowerUp(1, 0));
+        model.addObject(new HealthPowerUp(2, 0));
+        List<SpaceObject> objects = model.getSpaceObjects();
+        assertEquals(2, objects.size());
+        assertTrue(objects.get(0) instanceof ShieldPowerUp);
+        assertEquals(2, objects.get(1).getX());
+        assertEquals(1, model.getObjectCount(EntityType.SHIELD_POWER_UP));
+        assertEquals(1, model.getObjectCount(EntityType.HEALTH_POWER_UP));
+    }
+
+    @Test
+    public void evictionsKeepListOrderThroughTicksAndForks() {
+        GameModel model = model(EntityBudget.UNLIMITED
+                .withCap(EntityType.ASTEROID, 3, EntityBudget.Policy.EVICT_OLDEST));
+        for (int x = 0; x < 20; x++) {
+            model.addObject(new Asteroid(x, 0));
+            model.addObject(new Enemy(x, 0));
+            if (x % 4 == 0) {
+                GameModel fork = model.fork();
+                fork.addObject(new Asteroid(x, 1)); // Evicts from the fork only
+                assertEquals(Math.min(x + 1, 3), model.getObjectCount(EntityType.ASTEROID));
+                assertEquals(x, model.getSpaceObjects().get(model.getSpaceObjects().size() - 2)
+                        .getX());
+            }
+            if (x % 3 == 0) {
+                model.updateGame(1);
+            }
+        }
+        List<SpaceObject> objects = model.getSpaceObjects();
+        assertEquals(23, objects.size());
+        assertEquals(17, model.getEvictedCount(EntityType.ASTEROID));
+        int asteroids = 0;
+        for (int i = 0; i < objects.size(); i++) {
+            if (objects.get(i) instanceof Asteroid) {
+                assertEquals(17 + asteroids++, objects.get(i).getX());
+            }
+        }
+        assertEquals(3, asteroids);
+    }
+}
@@ -0,0 +1,117 @@
+package game.core;
+
+import game.GameModel;
+import game.achievements.PlayerStatsTracker;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ForkTest {
+
+    private static GameModel seededModel(int seed, int ticks) {
+        GameModel model = new GameModel(s -> {}, new PlayerStatsTracker());
+        model.setRandomSeed(seed);
+        advance(model, 0, ticks);
+        return model;
+    }
+
+    private static void advance(GameModel model, int from, int to) {
+        for (int tick = from; tick < to; tick++) {
+            model.updateAndCheckCollisions(tick);
+            model.spawnObjects();
+            if (tick % 9 == 0) {
+                model.fireBullet();
+            }
+            model.levelUp();
+        }
+    }
+
+    private static List<String> describe(GameModel model) {
+        List<String> state = new ArrayList<>();
+        Ship ship = model.getShip();
+        state.add("ship " + ship.getX() + "," + ship.getY() + " " + ship.getHealth() + " "
+                + ship.getScore() + " level " + model.getLevel() + " hits "
+                + model.getStatsTracker().getShotsHit());
+        for (SpaceObject object : model.getSpaceObjects()) {
+            state.add(object.getClass().getSimpleName() + " " + object.getX() + ","
+                    + object.getY());
+        }
+        return state;
+    }
+
+    @Test
+    public void forkContinuesExactlyLikeOriginal() {
+        GameModel original = seededModel(7, 500);
+        GameModel fork = original.fork();
+        advance(original, 500, 2000);
+        advance(fork, 500, 2000);
+        assertEquals(describe(original), describe(fork));
+    }
+
+    @Test
+    public void forkMatchesUnforkedRun() {
+        GameModel reference = seededModel(21, 1500);
+        GameModel forked = seededModel(21, 700).fork();
+        advance(forked, 700, 1500);
+        assertEquals(describe(reference), describe(forked));
+    }
+
+    @Test
+    public void changesToForkDoNotAffectOriginal() {
+        GameModel original = seededModel(3, 300);
+        List<String> before = describe(original);
+        GameModel fork = original.fork();
+        advance(fork, 300, 600);
+        fork.getShip().takeDamage(50);
+        fork.addObject(new Asteroid(0, 0));
+        assertEquals(before, describe(original));
+    }
+
+    @Test
+    public void changesToOriginalDoNotAffectFork() {
+        GameModel original = seededModel(4, 300);
+        GameModel fork = original.fork();
+        List<String> before = describe(fork);
+        advance(original, 300, 600);
+        original.getShip().takeDamage(50);
+        assertEquals(before, describe(fork));
+    }
+
+    @Test
+    public void shipTakenBeforeForkStaysCurrent() {
+        GameModel original = seededModel(8, 100);
+        Ship cached = original.getShip();
+        GameModel fork = original.fork();
+        original.addObject(new Asteroid(cached.getX(), cached.getY()));
+        original.updateAndCheckCollisions(1); // Does not descend, so it hits the ship
+        assertSame(cached, original.getShip());
+        assertEquals(original.getShip().getHealth(), cached.getHealth());
+        assertNotSame(cached, fork.getShip());
+        assertEquals(cached.getHealth() + GameModel.ASTEROID_DAMAGE, fork.getShip().getHealth());
+    }
+
+    @Test
+    public void forkOfForkIsIndependent() {
+        GameModel root = seededModel(5, 200);
+        GameModel first = root.fork();
+        GameModel second = first.fork();
+        advance(second, 200, 400);
+        GameModel third = first.fork();
+        advance(third, 200, 400);
+        assertEquals(describe(second), describe(third));
+        assertEquals(describe(root), describe(first));
+    }
+
+    @Test
+    public void forkCopiesStats() {
+        GameModel original = seededModel(6, 100);
+        original.getStatsTracker().recordShotFired();
+        GameModel fork = original.fork();
+        fork.getStatsTracker().recordShotFired();
+        assertEquals(original.getStatsTracker().getShotsFired() + 1,
+                fork.getStatsTracker().getShotsFired());
+    }
+}
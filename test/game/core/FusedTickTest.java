@@ -0,0 +1,92 @@
+package game.core;
+
+import game.GameModel;
+import game.achievements.PlayerStatsTracker;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the fused tick path matches updateGame followed by checkCollisions.
+ */
+public class FusedTickTest {
+
+    private static void assertSameState(GameModel expected, GameModel actual) {
+        List<SpaceObject> a = expected.getSpaceObjects();
+        List<SpaceObject> b = actual.getSpaceObjects();
+        assertEquals(a.size(), b.size());
+        for (int i = 0; i < a.size(); i++) {
+            assertEquals(a.get(i).getClass(), b.get(i).getClass());
+            assertEquals(a.get(i).getX(), b.get(i).getX());
+            assertEquals(a.get(i).getY(), b.get(i).getY());
+        }
+        assertEquals(expected.getShip().getHealth(), actual.getShip().getHealth());
+        assertEquals(expected.getShip().getScore(), actual.getShip().getScore());
+        assertEquals(expected.getStatsTracker().getShotsHit(),
+                actual.getStatsTracker().getShotsHit());
+    }
+
+    @Test
+    public void matchesLegacyPathOverLongGame() {
+        List<String> legacyLog = new ArrayList<>();
+        List<String> fusedLog = new ArrayList<>();
+        // Collision logs include Object.toString, so drop identity hash codes before comparing
+        GameModel legacy = new GameModel(s -> legacyLog.add(s.replaceAll("@[0-9a-f]+", "")),
+                new PlayerStatsTracker());
+        GameModel fused = new GameModel(s -> fusedLog.add(s.replaceAll("@[0-9a-f]+", "")),
+                new PlayerStatsTracker());
+        legacy.setVerbose(true);
+        fused.setVerbose(true);
+        legacy.setRandomSeed(42);
+        fused.setRandomSeed(42);
+
+        for (int tick = 0; tick < 5000; tick++) {
+            legacy.updateGame(tick);
+            legacy.checkCollisions();
+            fused.updateAndCheckCollisions(tick);
+            assertSameState(legacy, fused);
+
+            legacy.spawnObjects();
+            fused.spawnObjects();
+            legacy.levelUp();
+            fused.levelUp();
+            if (tick % 3 == 0) {
+                legacy.fireBullet();
+                fused.fireBullet();
+            }
+            if (legacy.checkGameOver()) {
+                break;
+            }
+        }
+        assertEquals(legacyLog, fusedLog);
+    }
+
+    @Test
+    public void twoBulletsOnOneEnemyBothHit() {
+        GameModel model = new GameModel(s -> {}, new PlayerStatsTracker());
+        model.addObject(new Enemy(2, 3));
+        model.addObject(new Bullet(2, 4));
+        model.addObject(new Bullet(2, 4));
+        model.updateAndCheckCollisions(1); // enemy stays, bullets move up onto it
+
+        assertEquals(0, model.getSpaceObjects().size());
+        assertEquals(2, model.getStatsTracker().getShotsHit());
+    }
+
+    @Test
+    public void shipCollisionsApplyInListOrder() {
+        GameModel model = new GameModel(s -> {}, new PlayerStatsTracker());
+        Ship ship = model.getShip();
+        model.addObject(new Asteroid(ship.getX(), ship.getY()));
+        model.addObject(new HealthPowerUp(ship.getX(), ship.getY()));
+        model.addObject(new Asteroid(0, 0));
+        model.updateAndCheckCollisions(1);
+
+        // Damage first, then the heal caps at full health.
+        assertEquals(100, ship.getHealth());
+        assertEquals(1, model.getSpaceObjects().size());
+    }
+}
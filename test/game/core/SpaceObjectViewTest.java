@@ -0,0 +1,121 @@
+package game.core;
+
+import game.GameModel;
+import game.achievements.PlayerStatsTracker;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SpaceObjectViewTest {
+    private GameModel model;
+    private Asteroid asteroid;
+    private Bullet bullet;
+    private Enemy enemy;
+    private HealthPowerUp health;
+
+    @Before
+    public void setUp() {
+        model = new GameModel(s -> {}, new PlayerStatsTracker());
+        asteroid = new Asteroid(1, 1);
+        bullet = new Bullet(2, 2);
+        enemy = new Enemy(3, 3);
+        health = new HealthPowerUp(4, 4);
+        model.addObject(enemy);
+        model.addObject(bullet);
+        model.addObject(asteroid);
+        model.addObject(health);
+    }
+
+    @Test
+    public void viewKeepsInsertionOrderAcrossKinds() {
+        assertEquals(List.of(enemy, bullet, asteroid, health), model.getSpaceObjects());
+        Bullet second = new Bullet(0, 0);
+        model.fireBullet();
+        model.addObject(second);
+        List<SpaceObject> objects = model.getSpaceObjects();
+        assertEquals(6, objects.size());
+        assertTrue(objects.get(4) instanceof Bullet);
+        assertSame(second, objects.get(5));
+    }
+
+    @Test
+    public void viewRoutesChangesToBuckets() {
+        List<SpaceObject> objects = model.getSpaceObjects();
+        Asteroid first = new Asteroid(0, 0);
+        objects.add(0, first);
+        objects.add(2, new Bullet(5, 5));
+        assertSame(first, objects.get(0));
+        assertSame(enemy, objects.get(1));
+        assertTrue(objects.get(2) instanceof Bullet);
+        assertSame(bullet, objects.get(3));
+
+        ShieldPowerUp shield = new ShieldPowerUp(6, 6);
+        assertSame(enemy, objects.set(1, shield)); // Moves to another bucket
+        assertSame(shield, objects.get(1));
+        assertSame(first, objects.remove(0));
+        assertEquals(List.of(shield, objects.get(1), bullet, asteroid, health), objects);
+
+        objects.remove(asteroid);
+        assertFalse(objects.contains(asteroid));
+        objects.clear();
+        assertTrue(model.getSpaceObjects().isEmpty());
+    }
+
+    @Test
+    public void iteratorRemoveWorks() {
+        Iterator<SpaceObject> iterator = model.getSpaceObjects().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() instanceof Bullet) {
+                iterator.remove();
+            }
+        }
+        assertEquals(List.of(enemy, asteroid, health), model.getSpaceObjects());
+    }
+
+    @Test
+    public void removalsKeepOrderAndIds() {
+        Enemy second = new Enemy(5, 5);
+        Bullet third = new Bullet(6, 6);
+        model.addObject(second);
+        model.addObject(third);
+        List<SpaceObject> objects = model.getSpaceObjects();
+        int secondId = model.getEntityId(4);
+        int thirdId = model.getEntityId(5);
+
+        assertSame(enemy, objects.remove(0));
+        assertEquals(List.of(bullet, asteroid, health, second, third), objects);
+        assertEquals(secondId, model.getEntityId(3));
+
+        assertTrue(objects.removeIf(object -> object instanceof Bullet && object != third));
+        assertFalse(objects.removeIf(object -> object == bullet));
+        assertEquals(List.of(asteroid, health, second, third), objects);
+        assertEquals(secondId, model.getEntityId(2));
+        assertEquals(thirdId, model.getEntityId(3));
+
+        objects.retainAll(List.of(second, third, asteroid));
+        model.addObject(bullet);
+        assertEquals(List.of(asteroid, second, third, bullet), model.getSpaceObjects());
+        assertEquals(2, model.getObjectCount(EntityType.BULLET));
+        assertEquals(1, model.getObjectCount(EntityType.ENEMY));
+    }
+
+    @Test
+    public void shipCollisionsApplyInListOrder() {
+        List<String> logs = new java.util.ArrayList<>();
+        GameModel ordered = new GameModel(logs::add, new PlayerStatsTracker());
+        ordered.setVerbose(true);
+        ordered.addObject(new Enemy(5, 10)); // Ship starts at (5, 10)
+        ordered.addObject(new HealthPowerUp(5, 10));
+        ordered.addObject(new Asteroid(5, 10));
+        ordered.checkCollisions();
+        assertTrue(logs.get(0).startsWith("Hit by enemy"));
+        assertTrue(logs.get(2).startsWith("Power-up collected"));
+        assertTrue(logs.get(4).startsWith("Hit by asteroid"));
+        assertEquals(90, ordered.getShip().getHealth()); // 100 - 20, +20 capped, -10
+        assertTrue(ordered.getSpaceObjects().isEmpty());
+    }
+}
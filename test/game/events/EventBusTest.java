@@ -0,0 +1,123 @@
+package game.events;
+
+import game.GameModel;
+import game.achievements.PlayerStatsTracker;
+import game.core.EntityType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class EventBusTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsCapacityThatIsNotPowerOfTwo() {
+        new EventBus(12);
+    }
+
+    @Test
+    public void tickConsumerReceivesBatchInOrder() {
+        EventBus bus = new EventBus(8);
+        List<String> seen = new ArrayList<>();
+        List<Boolean> ends = new ArrayList<>();
+        bus.addTickConsumer((event, sequence, endOfBatch) -> {
+            seen.add(sequence + ":" + event.getType() + ":" + event.getValue());
+            ends.add(endOfBatch);
+        });
+        bus.publish(EventType.SPAWNED, 1, EntityType.ASTEROID, 3, 0, 0);
+        bus.publish(EventType.LEVELED, 1, EntityType.SHIP, 5, 10, 2);
+        assertTrue(seen.isEmpty());
+        bus.drainTickConsumers();
+        assertEquals(List.of("0:SPAWNED:0", "1:LEVELED:2"), seen);
+        assertEquals(List.of(false, true), ends);
+    }
+
+    @Test
+    public void publisherDrainsTickConsumersWhenFull() {
+        EventBus bus = new EventBus(4);
+        AtomicLong count = new AtomicLong();
+        bus.addTickConsumer((event, sequence, endOfBatch) -> {
+            assertEquals(count.getAndIncrement(), sequence);
+        });
+        for (int i = 0; i < 100; i++) {
+            bus.publish(EventType.FIRED, i, EntityType.BULLET, 0, 0, i);
+        }
+        bus.drainTickConsumers();
+        assertEquals(100, count.get());
+    }
+
+    @Test
+    public void threadConsumerSeesEveryEventAcrossWraps() {
+        EventBus bus = new EventBus(16);
+        long[] sum = new long[1];
+        long[] last = {-1};
+        boolean[] ordered = {true};
+        bus.addThreadConsumer((event, sequence, endOfBatch) -> {
+            ordered[0] &= sequence == last[0] + 1 && event.getValue() == (int) sequence;
+            last[0] = sequence;
+            sum[0] += event.getValue();
+        }, "test-consumer");
+        int events = 100_000;
+        for (int i = 0; i < events; i++) {
+            bus.publish(EventType.SPAWNED, i, EntityType.ENEMY, 1, 0, i);
+        }
+        bus.close(); // Joins the consumer thread, so its writes are visible
+        assertTrue(ordered[0]);
+        assertEquals((long) events * (events - 1) / 2, sum[0]);
+    }
+
+    @Test(timeout = 10_000)
+    public void publishingAfterCloseDropsEvents() {
+        EventBus bus = new EventBus(4);
+        AtomicLong count = new AtomicLong();
+        bus.addThreadConsumer((event, sequence, endOfBatch) -> count.incrementAndGet(),
+                "test-consumer");
+        bus.publish(EventType.SPAWNED, 0, EntityType.ENEMY, 1, 0, 0);
+        bus.close();
+        for (int i = 0; i < 100; i++) { // Wraps the ring many times over
+            bus.publish(EventType.SPAWNED, i, EntityType.ENEMY, 1, 0, i);
+        }
+        assertEquals(0, bus.getCursor());
+        assertEquals(1, count.get());
+    }
+
+    @Test
+    public void statsFromEventsMatchDirectRecording() {
+        GameModel direct = new GameModel(s -> {}, new PlayerStatsTracker());
+        GameModel evented = new GameModel(s -> {}, new PlayerStatsTracker());
+        direct.setRandomSeed(9);
+        evented.setRandomSeed(9);
+        EventBus bus = new EventBus(64);
+        bus.addTickConsumer(new StatsConsumer(evented.getStatsTracker()));
+        long[] spawns = new long[1];
+        bus.addTickConsumer((event, sequence, endOfBatch) -> {
+            if (event.getType() == EventType.SPAWNED) {
+                spawns[0]++;
+            }
+        });
+        evented.setEventBus(bus);
+        for (int tick = 0; tick < 5000; tick++) {
+            for (GameModel model : List.of(direct, evented)) {
+                if (tick % 3 == 0) {
+                    model.fireBullet();
+                }
+                model.updateAndCheckCollisions(tick);
+                model.spawnObjects();
+                model.levelUp();
+            }
+            if (tick % 3 == 0) {
+                direct.getStatsTracker().recordShotFired(); // As the controller does
+            }
+            bus.drainTickConsumers();
+        }
+        assertTrue(direct.getStatsTracker().getShotsHit() > 0);
+        assertEquals(direct.getStatsTracker().getShotsHit(),
+                evented.getStatsTracker().getShotsHit());
+        assertEquals(direct.getStatsTracker().getShotsFired(),
+                evented.getStatsTracker().getShotsFired());
+        assertEquals(evented.getSpawnCount(), spawns[0]);
+    }
+}
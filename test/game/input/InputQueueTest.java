@@ -0,0 +1,77 @@
+package game.input;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class InputQueueTest {
+
+    @Test
+    public void drainsInOrder() {
+        InputQueue queue = new InputQueue(8);
+        queue.offer('W');
+        queue.offer('F');
+        queue.offer('A');
+        StringBuilder seen = new StringBuilder();
+        assertEquals(3, queue.drain(key -> seen.append((char) key)));
+        assertEquals("WFA", seen.toString());
+        assertEquals(0, queue.drain(key -> fail("queue should be empty")));
+    }
+
+    @Test
+    public void dropsWhenFull() {
+        InputQueue queue = new InputQueue(4);
+        for (int i = 0; i < 6; i++) {
+            queue.offer((char) ('A' + i));
+        }
+        assertEquals(2, queue.getDroppedCount());
+        StringBuilder seen = new StringBuilder();
+        queue.drain(key -> seen.append((char) key));
+        assertEquals("ABCD", seen.toString());
+        // Slots are reusable after draining.
+        assertTrue(queue.offer('Z'));
+    }
+
+    @Test
+    public void coalescesRepeatedKeys() {
+        InputQueue queue = new InputQueue(16);
+        queue.setNeverCoalesce('F');
+        for (char key : "WWWFFDW".toCharArray()) {
+            queue.offer(key);
+        }
+        StringBuilder seen = new StringBuilder();
+        queue.drain(key -> seen.append((char) key));
+        assertEquals("WFFDW", seen.toString());
+        assertEquals(2, queue.getCoalescedCount());
+    }
+
+    @Test
+    public void concurrentProducersLoseNothing() throws InterruptedException {
+        InputQueue queue = new InputQueue(1024);
+        queue.setNeverCoalesce('X');
+        List<Thread> producers = new ArrayList<>();
+        int perProducer = 10_000;
+        for (int p = 0; p < 4; p++) {
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!queue.offer('X')) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        long received = 0;
+        while (received < 4L * perProducer) {
+            received += queue.drain(key -> { });
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertEquals(4L * perProducer, received);
+    }
+}
@@ -0,0 +1,106 @@
+package game.launch;
+
+import game.FakeUi;
+import game.GameController;
+import game.GameModel;
+import game.achievements.AchievementManager;
+import game.achievements.BinaryAchievementStore;
+import game.achievements.FileHandler;
+import game.achievements.PlayerStatsTracker;
+import game.core.Bullet;
+import game.core.SpaceObject;
+import game.render.FramePacingUI;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class LauncherTest {
+
+    /** Holds the first frame it is given until released. */
+    private static class BlockingUi extends FakeUi {
+        private final CountDownLatch drawing = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void render(List<SpaceObject> objects) {
+            drawing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownMode() throws IOException {
+        Launcher.main(new String[]{"fly"});
+    }
+
+    @Test
+    public void trainsHeadless() throws IOException {
+        Launcher.main(new String[]{"train", "50"});
+    }
+
+    @Test
+    public void headlessUiRecordsFirstFrame() {
+        HeadlessUI ui = new HeadlessUI();
+        assertEquals(-1, ui.getFirstFrameNanos());
+        ui.render(List.of(new Bullet(0, 0)));
+        long first = ui.getFirstFrameNanos();
+        assertTrue(first > 0);
+        ui.render(List.of());
+        assertEquals(first, ui.getFirstFrameNanos());
+        assertTrue(ui.getGlyphs() > 0);
+    }
+
+    @Test
+    public void achievementsAreRestoredFromTheStore() throws IOException {
+        Path dir = Files.createTempDirectory("launcher");
+        Path file = dir.resolve("achievements.dat");
+        try {
+            try (BinaryAchievementStore store = new BinaryAchievementStore(file)) {
+                store.save("Survivor", 0.5, "Novice", false);
+            }
+            try (BinaryAchievementStore store = new BinaryAchievementStore(file)) {
+                AchievementManager manager = Launcher.achievements(new FileHandler(), store);
+                assertEquals(0.5, manager.getProgress(manager.handleOf("Survivor")), 0.0);
+                assertEquals(0.0, manager.getProgress(manager.handleOf("Sharp Shooter")), 0.0);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void pacedGameTicksWhileAFrameIsDrawn() throws InterruptedException {
+        BlockingUi ui = new BlockingUi();
+        FramePacingUI pacer = Launcher.paced(ui);
+        GameModel model = new GameModel(message -> { }, new PlayerStatsTracker());
+        GameController controller = new GameController(pacer, model,
+                Launcher.achievements(new FileHandler(), null));
+        controller.startGame();
+        try {
+            controller.onTick(1);
+            assertTrue(ui.drawing.await(5, TimeUnit.SECONDS));
+            for (int tick = 2; tick <= 10; tick++) {
+                controller.onTick(tick); // Would wait on the held frame if drawing were inline
+            }
+            assertEquals(10, pacer.getPublishedFrames());
+            assertEquals(0, pacer.getRenderedFrames());
+        } finally {
+            ui.release.countDown();
+            pacer.stop();
+        }
+        assertTrue(pacer.getRenderedFrames() >= 1);
+        assertTrue(pacer.getDroppedFrames() > 0);
+    }
+}
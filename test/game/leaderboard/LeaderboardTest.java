@@ -0,0 +1,116 @@
+package game.leaderboard;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LeaderboardTest {
+
+    private static Path tempFile() throws IOException {
+        Path path = Files.createTempFile("leaderboard", ".dat");
+        Files.delete(path);
+        return path;
+    }
+
+    @Test
+    public void ranksMatchSortedOrder() throws IOException {
+        Path path = tempFile();
+        try (Leaderboard board = new Leaderboard(path, 0, 1_000_000)) {
+            Random random = new Random(3);
+            List<Integer> scores = new ArrayList<>();
+            for (int i = 0; i < 5000; i++) {
+                int score = random.nextInt(1000);
+                scores.add(score);
+                board.record(score, 1, i, 0.5);
+            }
+            scores.sort(Comparator.reverseOrder());
+
+            for (int probe = -1; probe <= 1001; probe += 7) {
+                int higher = 0;
+                for (int score : scores) {
+                    if (score > probe) {
+                        higher++;
+                    }
+                }
+                assertEquals(higher + 1, board.rankOf(probe));
+            }
+            List<GameResult> top = board.top(50);
+            for (int i = 0; i < top.size(); i++) {
+                assertEquals((int) scores.get(i), top.get(i).getScore());
+                assertSame(top.get(i), board.getByRank(i + 1));
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void tiesRankByRecordingOrder() throws IOException {
+        Path path = tempFile();
+        try (Leaderboard board = new Leaderboard(path, 0, 100)) {
+            GameResult first = board.record(10, 1, 5, 0.1);
+            GameResult second = board.record(10, 2, 6, 0.2);
+            assertSame(first, board.getByRank(1));
+            assertSame(second, board.getByRank(2));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void reloadsAndCompacts() throws IOException {
+        Path path = tempFile();
+        try {
+            try (Leaderboard board = new Leaderboard(path, 10, 25)) {
+                for (int i = 0; i < 30; i++) {
+                    board.record(i, 1, i, 1.0);
+                }
+                // Compacted after 25 records, then 5 more appended.
+                assertEquals(15, board.size());
+            }
+            try (Leaderboard board = new Leaderboard(path, 10, 25)) {
+                assertEquals(15, board.size());
+                assertEquals(29, board.getByRank(1).getScore());
+                assertEquals(1, board.rankOf(29));
+                board.compact();
+                assertEquals(10, board.size());
+                assertEquals(20, board.getByRank(10).getScore());
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void tornTailIsCutBeforeAppending() throws IOException {
+        Path path = tempFile();
+        try {
+            try (Leaderboard board = new Leaderboard(path, 0, 100)) {
+                board.record(10, 1, 5, 0.5);
+                board.record(20, 2, 6, 0.5);
+            }
+            Files.write(path, new byte[] {1, 2, 3, 4, 5}, StandardOpenOption.APPEND); // Torn
+            try (Leaderboard board = new Leaderboard(path, 0, 100)) {
+                assertEquals(2, board.size());
+                board.record(30, 3, 7, 0.5);
+            }
+            try (Leaderboard board = new Leaderboard(path, 0, 100)) {
+                assertEquals(3, board.size());
+                assertEquals(30, board.getByRank(1).getScore());
+                assertEquals(3, board.getByRank(1).getLevel());
+                assertEquals(10, board.getByRank(3).getScore());
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
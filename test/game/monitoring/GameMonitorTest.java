@@ -0,0 +1,130 @@
+package game.monitoring;
+
+import game.FakeUi;
+import game.GameController;
+import game.GameModel;
+import game.achievements.AchievementManager;
+import game.achievements.FileHandler;
+import game.achievements.GameAchievement;
+import game.achievements.PlayerStatsTracker;
+import game.core.Asteroid;
+import game.core.Bullet;
+import game.core.EntityType;
+import game.core.HealthPowerUp;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+public class GameMonitorTest {
+
+    private static AchievementManager achievements() {
+        AchievementManager achievements = new AchievementManager(new FileHandler());
+        achievements.register(new GameAchievement("Survivor", "Survive"));
+        achievements.register(new GameAchievement("Enemy Exterminator", "Shoot"));
+        achievements.register(new GameAchievement("Sharp Shooter", "Aim"));
+        return achievements;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeWindow() {
+        new GameMonitor(-1);
+    }
+
+    @Test
+    public void countsObjectsByType() {
+        GameModel model = new GameModel(s -> {}, new PlayerStatsTracker());
+        model.addObject(new Asteroid(1, 1));
+        model.addObject(new Asteroid(2, 1));
+        model.addObject(new Bullet(3, 5));
+        model.addObject(new HealthPowerUp(4, 2));
+        assertEquals(2, model.getObjectCount(EntityType.ASTEROID));
+        assertEquals(1, model.getObjectCount(EntityType.BULLET));
+        assertEquals(1, model.getObjectCount(EntityType.HEALTH_POWER_UP));
+        assertEquals(0, model.getObjectCount(EntityType.SHIELD_POWER_UP));
+        assertEquals(0, model.getObjectCount(EntityType.ENEMY));
+    }
+
+    @Test
+    public void publishesTicksWhenWindowElapses() {
+        FakeUi ui = new FakeUi();
+        GameModel model = new GameModel(ui::log, new PlayerStatsTracker());
+        model.setRandomSeed(5);
+        GameController controller = new GameController(ui, model, achievements());
+        GameMonitor monitor = new GameMonitor(0);
+        controller.setMonitor(monitor);
+        for (int tick = 0; tick < 200; tick++) {
+            controller.onTick(tick);
+        }
+        assertEquals(200, monitor.getTickCount());
+        assertTrue(monitor.getTickRate() > 0);
+        assertTrue(monitor.getMaxTickNanos() >= monitor.getLastTickNanos());
+        assertTrue(monitor.getUpdateMeanNanos() > 0);
+        assertEquals(model.getObjectCount(EntityType.ASTEROID), monitor.getAsteroidCount());
+        assertEquals(model.getSpawnCount(), monitor.getSpawnCount());
+        assertEquals(model.getLevel(), monitor.getLevel());
+        assertEquals(3, monitor.snapshot().achievementTiers.size());
+    }
+
+    @Test
+    public void tickRateMatchesSteadyLoop() {
+        long[] now = {0};
+        GameMonitor monitor = new GameMonitor(1_000_000_000L, () -> now[0]);
+        GameModel model = new GameModel(s -> {}, new PlayerStatsTracker());
+        AchievementManager achievements = achievements();
+        for (int tick = 0; tick < 61; tick++) { // 20 ticks a second, each taking 5 ms
+            now[0] = tick * 50_000_000L;
+            monitor.startTick();
+            now[0] += 5_000_000L;
+            monitor.endTick(model, achievements);
+            if (tick == 20) {
+                assertEquals(21, monitor.getTickCount());
+                assertEquals(20.0, monitor.getTickRate(), 1e-9);
+            }
+        }
+        assertEquals(61, monitor.getTickCount());
+        assertEquals(20.0, monitor.getTickRate(), 1e-9);
+    }
+
+    @Test
+    public void holdsValuesUntilWindowEnds() {
+        FakeUi ui = new FakeUi();
+        GameController controller = new GameController(ui,
+                new GameModel(ui::log, new PlayerStatsTracker()), achievements());
+        GameMonitor monitor = new GameMonitor(Long.MAX_VALUE);
+        controller.setMonitor(monitor);
+        for (int tick = 0; tick < 10; tick++) {
+            controller.onTick(tick);
+        }
+        assertEquals(0, monitor.getTickCount()); // Nothing published yet
+    }
+
+    @Test
+    public void exposesAttributesOverJmx() throws Exception {
+        FakeUi ui = new FakeUi();
+        GameController controller = new GameController(ui,
+                new GameModel(ui::log, new PlayerStatsTracker()), achievements());
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try (GameMonitor monitor = new GameMonitor(0)) {
+            monitor.register(server);
+            controller.setMonitor(monitor);
+            for (int tick = 0; tick < 20; tick++) {
+                controller.onTick(tick);
+            }
+            ObjectName metrics = new ObjectName(GameMonitor.METRICS_NAME);
+            assertEquals(20L, server.getAttribute(metrics, "TickCount"));
+            assertNotNull(server.getAttribute(metrics, "RenderMeanNanos"));
+
+            TabularData tiers = (TabularData) server.getAttribute(
+                    new ObjectName(GameMonitor.ACHIEVEMENTS_NAME), "AchievementTiers");
+            CompositeData survivor = tiers.get(new Object[] {"Survivor"});
+            assertEquals("Novice", survivor.get("value"));
+        }
+        assertFalse(server.isRegistered(new ObjectName(GameMonitor.METRICS_NAME)));
+    }
+}
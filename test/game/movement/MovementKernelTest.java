@@ -0,0 +1,119 @@
+package game.movement;
+
+import game.GameModel;
+import game.core.Asteroid;
+import game.core.Bullet;
+import game.core.Enemy;
+import game.core.HealthPowerUp;
+import game.core.ShieldPowerUp;
+import game.core.SpaceObject;
+import game.core.Ship;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MovementKernelTest {
+
+    private static List<SpaceObject> population(int size, long seed) {
+        Random random = new Random(seed);
+        List<SpaceObject> objects = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int x = random.nextInt(GameModel.GAME_WIDTH);
+            int y = random.nextInt(GameModel.GAME_HEIGHT + 3) - 1;
+            objects.add(switch (random.nextInt(5)) {
+                case 0 -> new Bullet(x, y);
+                case 1 -> new Asteroid(x, y);
+                case 2 -> new Enemy(x, y);
+                case 3 -> new HealthPowerUp(x, y);
+                default -> new ShieldPowerUp(x, y);
+            });
+        }
+        return objects;
+    }
+
+    /**
+     * Runs the kernel and the object path side by side for the given ticks, checking after
+     * every tick that the same objects survive at the same positions, in the same order.
+     */
+    private static void assertMatchesObjects(MovementKernel kernel, int size, int firstTick,
+                                             int ticks) {
+        List<SpaceObject> objects = population(size, size + firstTick);
+        int[] xs = new int[size];
+        int[] ys = new int[size];
+        int[] kinds = new int[size];
+        for (int i = 0; i < size; i++) {
+            xs[i] = objects.get(i).getX();
+            ys[i] = objects.get(i).getY();
+            kinds[i] = MovementKernel.kindOf(objects.get(i));
+        }
+        int count = size;
+        for (int tick = firstTick; tick < firstTick + ticks; tick++) {
+            List<SpaceObject> survivors = new ArrayList<>();
+            for (SpaceObject object : objects) {
+                object.tick(tick);
+                if (object.getY() <= GameModel.GAME_HEIGHT) {
+                    survivors.add(object);
+                }
+            }
+            objects = survivors;
+            count = kernel.step(xs, ys, kinds, count, tick);
+
+            assertEquals(objects.size(), count);
+            for (int i = 0; i < count; i++) {
+                SpaceObject object = objects.get(i);
+                assertEquals(object.getX(), xs[i]);
+                assertEquals(object.getY(), ys[i]);
+                assertEquals(MovementKernel.kindOf(object), kinds[i]);
+            }
+        }
+    }
+
+    @Test
+    public void scalarMatchesObjectPath() {
+        assertMatchesObjects(MovementKernel.scalar(), 1_000, 0, 60);
+    }
+
+    @Test
+    public void bestKernelMatchesObjectPath() {
+        for (int size : new int[]{0, 1, 7, 33, 1_000}) {
+            assertMatchesObjects(MovementKernel.create(), size, 5, 60);
+        }
+    }
+
+    @Test
+    public void bestKernelMatchesScalarOnLargePopulations() {
+        MovementKernel best = MovementKernel.create();
+        MovementKernel scalar = MovementKernel.scalar();
+        int size = 100_003;
+        Random random = new Random(3);
+        int[][] a = new int[3][size];
+        for (int i = 0; i < size; i++) {
+            a[0][i] = random.nextInt(GameModel.GAME_WIDTH);
+            a[1][i] = random.nextInt(GameModel.GAME_HEIGHT + 2);
+            a[2][i] = random.nextInt(2);
+        }
+        int[][] b = {a[0].clone(), a[1].clone(), a[2].clone()};
+        int countA = size;
+        int countB = size;
+        for (int tick = 0; tick < 40; tick++) {
+            countA = best.step(a[0], a[1], a[2], countA, tick);
+            countB = scalar.step(b[0], b[1], b[2], countB, tick);
+            assertEquals(countB, countA);
+        }
+        assertTrue(countA < size);
+        for (int row = 0; row < 3; row++) {
+            for (int i = 0; i < countA; i++) {
+                assertEquals(b[row][i], a[row][i]);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shipHasNoKind() {
+        MovementKernel.kindOf(new Ship());
+    }
+}
@@ -0,0 +1,195 @@
+package game.net;
+
+import game.GameModel;
+import game.achievements.PlayerStatsTracker;
+import game.core.Asteroid;
+import game.core.Bullet;
+import game.core.EntityType;
+import game.core.Enemy;
+import game.core.SpaceObject;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Round trip tests for the delta frame encoder and decoder.
+ */
+public class FrameCodecTest {
+
+    private static void assertMatches(GameModel model, FrameState state) {
+        List<SpaceObject> objects = model.getSpaceObjects();
+        assertEquals(objects.size() + 1, state.size());
+        // The ship is always tracked first, so it has the lowest id.
+        assertEquals(EntityType.SHIP, state.getType(0));
+        assertEquals(model.getShip().getX(), state.getX(0));
+        assertEquals(model.getShip().getY(), state.getY(0));
+        for (int i = 0; i < objects.size(); i++) {
+            assertEquals(EntityType.of(objects.get(i)), state.getType(i + 1));
+            assertEquals(objects.get(i).getX(), state.getX(i + 1));
+            assertEquals(objects.get(i).getY(), state.getY(i + 1));
+        }
+        assertEquals(model.getShip().getScore(), state.getStat(FrameState.SCORE));
+        assertEquals(model.getShip().getHealth(), state.getStat(FrameState.HEALTH));
+        assertEquals(model.getLevel(), state.getStat(FrameState.LEVEL));
+    }
+
+    @Test
+    public void deltasReproduceModelState() {
+        GameModel model = new GameModel(s -> {}, new PlayerStatsTracker());
+        model.setRandomSeed(7);
+        FrameEncoder encoder = new FrameEncoder();
+        FrameDecoder decoder = new FrameDecoder();
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+
+        for (int tick = 0; tick < 2000; tick++) {
+            model.updateGame(tick);
+            model.checkCollisions();
+            model.spawnObjects();
+            if (tick % 7 == 0) {
+                model.fireBullet();
+            }
+            buffer.clear();
+            encoder.encode(model, tick / 60, buffer);
+            buffer.flip();
+            assertTrue(decoder.decode(buffer));
+            encoder.acknowledge(decoder.getLastFrame());
+            assertMatches(model, decoder.getLatest());
+        }
+    }
+
+    @Test
+    public void lostFramesStillDecodeAgainstAckedBaseline() {
+        GameModel model = new GameModel(s -> {}, new PlayerStatsTracker());
+        model.addObject(new Asteroid(1, 0));
+        model.addObject(new Enemy(2, 0));
+        FrameEncoder encoder = new FrameEncoder();
+        FrameDecoder decoder = new FrameDecoder();
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+        encoder.encode(model, 0, buffer);
+        buffer.flip();
+        assertTrue(decoder.decode(buffer));
+        encoder.acknowledge(decoder.getLastFrame());
+
+        // Drop the next few frames entirely.
+        for (int tick = 1; tick <= 5; tick++) {
+            model.updateGame(tick * 10);
+            buffer.clear();
+            encoder.encode(model, 0, buffer);
+        }
+        model.addObject(new Bullet(4, 4));
+        buffer.clear();
+        encoder.encode(model, 0, buffer);
+        buffer.flip();
+        assertTrue(decoder.decode(buffer));
+        assertMatches(model, decoder.getLatest());
+    }
+
+    @Test
+    public void unknownBaselineRequiresKeyframe() {
+        GameModel model = new GameModel(s -> {}, new PlayerStatsTracker());
+        FrameEncoder encoder = new FrameEncoder();
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        encoder.encode(model, 0, buffer);
+        encoder.acknowledge(0);
+        buffer.clear();
+        encoder.encode(model, 0, buffer);
+        buffer.flip();
+
+        // A fresh decoder never saw frame 0.
+        FrameDecoder decoder = new FrameDecoder();
+        assertFalse(decoder.decode(buffer));
+
+        encoder.requestKeyframe();
+        buffer.clear();
+        encoder.encode(model, 0, buffer);
+        buffer.flip();
+        assertTrue(decoder.decode(buffer));
+        assertMatches(model, decoder.getLatest());
+    }
+
+    @Test
+    public void steadyStateFramesAreTiny() {
+        GameModel model = new GameModel(s -> {}, new PlayerStatsTracker());
+        for (int x = 0; x < 10; x++) {
+            model.addObject(new Asteroid(x, 0));
+        }
+        FrameEncoder encoder = new FrameEncoder();
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        encoder.encode(model, 0, buffer);
+        encoder.acknowledge(0);
+
+        buffer.clear();
+        encoder.encode(model, 0, buffer);
+        assertTrue("Unchanged frame was " + buffer.position() + " bytes",
+                buffer.position() <= 6);
+    }
+
+    @Test
+    public void forkedModelKeepsEntityIds() {
+        GameModel model = new GameModel(s -> {}, new PlayerStatsTracker());
+        for (int x = 0; x < 10; x++) {
+            model.addObject(new Asteroid(x, 0));
+        }
+        FrameEncoder encoder = new FrameEncoder();
+        FrameDecoder decoder = new FrameDecoder();
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        encoder.encode(model, 0, buffer);
+        buffer.flip();
+        assertTrue(decoder.decode(buffer));
+        encoder.acknowledge(decoder.getLastFrame());
+
+        // The fork copies every object and the ship before they are encoded.
+        GameModel fork = model.fork();
+        fork.getSpaceObjects();
+        fork.getShip();
+        buffer.clear();
+        encoder.encode(fork, 0, buffer);
+        assertTrue("Unchanged fork was " + buffer.position() + " bytes",
+                buffer.position() <= 6);
+        buffer.flip();
+        assertTrue(decoder.decode(buffer));
+        encoder.acknowledge(decoder.getLastFrame());
+
+        fork.updateGame(10);
+        buffer.clear();
+        encoder.encode(fork, 0, buffer);
+        buffer.flip();
+        assertTrue(decoder.decode(buffer));
+        assertMatches(fork, decoder.getLatest());
+    }
+
+    @Test
+    public void encodingAForkDoesNotCopyItsObjects() {
+        GameModel model = new GameModel(s -> {}, new PlayerStatsTracker());
+        model.addObject(new Asteroid(3, 4));
+        GameModel fork = model.fork();
+        new FrameEncoder().encode(fork, 0, ByteBuffer.allocate(4096));
+        assertSame(model.readSpaceObjects().get(0), fork.readSpaceObjects().get(0));
+    }
+
+    @Test
+    public void movesAcrossMostOfTheIntRangeRoundTrip() {
+        // Both models give their only asteroid the same id, so the second frame is one move
+        GameModel top = new GameModel(s -> {}, new PlayerStatsTracker());
+        top.addObject(new Asteroid(0, -1_500_000_000));
+        GameModel bottom = new GameModel(s -> {}, new PlayerStatsTracker());
+        bottom.addObject(new Asteroid(5, 1_500_000_000));
+        FrameEncoder encoder = new FrameEncoder();
+        FrameDecoder decoder = new FrameDecoder();
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        encoder.encode(top, 0, buffer);
+        buffer.flip();
+        assertTrue(decoder.decode(buffer));
+        encoder.acknowledge(decoder.getLastFrame());
+
+        buffer.clear();
+        encoder.encode(bottom, 0, buffer);
+        buffer.flip();
+        assertTrue(decoder.decode(buffer));
+        assertMatches(bottom, decoder.getLatest());
+    }
+}
@@ -0,0 +1,246 @@
+package game.render;
+
+import game.FakeUi;
+import game.core.Asteroid;
+import game.core.ObjectWithPosition;
+import game.core.Ship;
+import game.core.SpaceObject;
+import game.ui.ObjectGraphic;
+import org.junit.Test;
+
+import javax.swing.SwingUtilities;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class FramePacingUITest {
+
+    /** Records the y coordinate of the first object of every frame, taking drawMillis each. */
+    private static class SlowUi extends FakeUi {
+        private final long drawMillis;
+        private final List<Integer> drawn = new ArrayList<>();
+        private volatile Object lastObject;
+        private volatile List<Object> lastFrame;
+        private volatile Thread statThread;
+        private volatile boolean drewOnEventThread;
+        private volatile boolean statOnEventThread;
+        private volatile String lastStat;
+        private final AtomicInteger statCalls = new AtomicInteger();
+
+        SlowUi(long drawMillis) {
+            this.drawMillis = drawMillis;
+        }
+
+        @Override
+        public void render(List<SpaceObject> objects) {
+            synchronized (drawn) {
+                drawn.add(objects.get(0).getY());
+            }
+            lastObject = objects.get(0);
+            drewOnEventThread = SwingUtilities.isEventDispatchThread();
+            lastFrame = new ArrayList<Object>(objects);
+            try {
+                Thread.sleep(drawMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void setStat(String label, String value) {
+            statThread = Thread.currentThread();
+            statOnEventThread = SwingUtilities.isEventDispatchThread();
+            lastStat = value;
+            statCalls.incrementAndGet();
+        }
+
+        int lastDrawn() {
+            synchronized (drawn) {
+                return drawn.isEmpty() ? -1 : drawn.get(drawn.size() - 1);
+            }
+        }
+    }
+
+    private static void awaitDrawn(SlowUi ui, int y) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (ui.lastDrawn() != y && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsZeroFrameRate() {
+        new FramePacingUI(new SlowUi(0), 0);
+    }
+
+    @Test
+    public void dropsStaleFramesWhenDrawingIsSlow() throws InterruptedException {
+        SlowUi slow = new SlowUi(20);
+        FramePacingUI ui = new FramePacingUI(slow, 1000);
+        ui.start();
+        List<SpaceObject> frame = new ArrayList<>();
+        for (int y = 0; y < 50; y++) {
+            frame.clear();
+            frame.add(new Asteroid(0, y));
+            ui.render(frame); // Never waits for the slow draw
+            Thread.sleep(1);
+        }
+        awaitDrawn(slow, 49);
+        ui.stop();
+
+        assertEquals(49, slow.lastDrawn()); // The newest frame always wins
+        assertEquals(50, ui.getPublishedFrames());
+        assertTrue(ui.getDroppedFrames() > 0);
+        assertEquals(ui.getPublishedFrames(), ui.getRenderedFrames() + ui.getDroppedFrames());
+    }
+
+    @Test
+    public void limitsDrawsToTargetRate() throws InterruptedException {
+        SlowUi fast = new SlowUi(0);
+        FramePacingUI ui = new FramePacingUI(fast, 20);
+        ui.start();
+        List<SpaceObject> frame = new ArrayList<>();
+        long end = System.currentTimeMillis() + 250;
+        int y = 0;
+        while (System.currentTimeMillis() < end) {
+            frame.clear();
+            frame.add(new Asteroid(0, y++));
+            ui.render(frame);
+            Thread.sleep(1);
+        }
+        ui.stop();
+
+        // A quarter of a second at 20 fps is 5 or 6 frames
+        assertTrue(ui.getRenderedFrames() >= 1);
+        assertTrue(ui.getRenderedFrames() <= 8);
+        assertTrue(ui.getDroppedFrames() > ui.getRenderedFrames());
+    }
+
+    @Test
+    public void drawsCopiesOnTheRenderThread() throws InterruptedException {
+        SlowUi slow = new SlowUi(0);
+        FramePacingUI ui = new FramePacingUI(slow, 1000);
+        ui.start();
+        Asteroid asteroid = new Asteroid(3, 7);
+        List<SpaceObject> frame = new ArrayList<>();
+        frame.add(asteroid);
+        ui.setStat("Score", "1");
+        ui.render(frame);
+        awaitDrawn(slow, 7);
+        ui.stop();
+
+        // The wrapped UI never sees the live object, nor is it called from the caller's thread
+        assertTrue(slow.lastObject instanceof Asteroid);
+        assertNotSame(asteroid, slow.lastObject);
+        assertEquals(3, ((SpaceObject) slow.lastObject).getX());
+        assertNotNull(slow.statThread);
+        assertNotSame(Thread.currentThread(), slow.statThread);
+    }
+
+    @Test
+    public void drawsOnTheEventThreadWhenAsked() throws InterruptedException {
+        SlowUi slow = new SlowUi(0);
+        FramePacingUI ui = new FramePacingUI(slow, 1000, true);
+        ui.start();
+        ui.setStat("Score", "1");
+        ui.render(List.of(new Asteroid(0, 4)));
+        awaitDrawn(slow, 4);
+        ui.setStat("Score", "2");
+        ui.stop();
+
+        assertTrue(slow.drewOnEventThread);
+        assertTrue(slow.statOnEventThread);
+        assertEquals("2", slow.lastStat);
+    }
+
+    @Test
+    public void reusesCoreObjectsAndCopiesUnknownTypes() throws InterruptedException {
+        SlowUi slow = new SlowUi(0);
+        FramePacingUI ui = new FramePacingUI(slow, 1000);
+        ui.start();
+        Ship ship = new Ship(5, 10, 70);
+        ship.addScore(30);
+        SpaceObject unknown = new ObjectWithPosition(1, 2) {
+            public ObjectGraphic render() {
+                return null;
+            }
+
+            public void tick(int tick) { }
+        };
+        List<SpaceObject> frame = new ArrayList<>(List.of(new Asteroid(0, 1), ship, unknown));
+        ui.render(frame);
+        awaitDrawn(slow, 1);
+        List<Object> first = slow.lastFrame;
+        frame.set(0, new Asteroid(0, 2));
+        ui.render(frame);
+        awaitDrawn(slow, 2);
+        List<Object> second = slow.lastFrame;
+        ui.stop();
+
+        assertSame(first.get(0), second.get(0)); // Placed again rather than rebuilt
+        assertEquals(Asteroid.class, second.get(0).getClass());
+        Ship drawnShip = (Ship) second.get(1);
+        assertNotSame(ship, drawnShip);
+        assertEquals(Ship.class, drawnShip.getClass());
+        assertEquals(30, drawnShip.getScore());
+        assertEquals(70, drawnShip.getHealth());
+        SpaceObject drawnUnknown = (SpaceObject) second.get(2);
+        assertNotSame(unknown, drawnUnknown); // A copy, never the live object
+        assertEquals(unknown.getClass(), drawnUnknown.getClass());
+        assertEquals(2, drawnUnknown.getY());
+    }
+
+    @Test
+    public void coalescesStatsWhileDrawing() throws InterruptedException {
+        SlowUi slow = new SlowUi(200);
+        FramePacingUI ui = new FramePacingUI(slow, 1000);
+        ui.start();
+        ui.render(List.of(new Asteroid(0, 1)));
+        awaitDrawn(slow, 1); // The render thread is now busy for 200 ms
+        for (int score = 0; score < 100; score++) {
+            ui.setStat("Score", String.valueOf(score));
+        }
+        ui.stop();
+
+        assertEquals(1, slow.statCalls.get());
+        assertEquals("99", slow.lastStat);
+    }
+
+    @Test
+    public void steadyStateCallsDoNotAllocate() {
+        if (!(ManagementFactory.getThreadMXBean()
+                instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported()) {
+            return; // Nothing to measure with on this JVM
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        FramePacingUI ui = new FramePacingUI(new SlowUi(0), 1000);
+        ui.start();
+        List<SpaceObject> frame = new ArrayList<>();
+        for (int x = 0; x < 10; x++) {
+            frame.add(new Asteroid(x, 3));
+        }
+        frame.add(new Ship());
+
+        for (int i = 0; i < 5_000; i++) {
+            renderTick(ui, frame);
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 10_000; i++) {
+            renderTick(ui, frame);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        ui.stop();
+
+        assertTrue("Allocated " + allocated + " bytes", allocated <= 4096);
+    }
+
+    private static void renderTick(FramePacingUI ui, List<SpaceObject> frame) {
+        ui.setStat("Score", "10");
+        ui.setAchievementProgressStat("Survivor", 0.5);
+        ui.render(frame);
+    }
+}
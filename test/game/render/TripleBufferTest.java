@@ -0,0 +1,65 @@
+package game.render;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class TripleBufferTest {
+
+    private static final class Box {
+        private long value = -1;
+        private long check = -1;
+    }
+
+    @Test
+    public void readerSeesLatestPublished() {
+        TripleBuffer<Box> buffer = new TripleBuffer<>(Box::new);
+        assertFalse(buffer.hasFresh());
+        for (int i = 0; i < 3; i++) {
+            buffer.getWriteBuffer().value = i;
+            buffer.publish();
+        }
+        assertTrue(buffer.hasFresh());
+        assertEquals(2, buffer.acquire().value);
+        assertFalse(buffer.hasFresh());
+        // Nothing new, so the same buffer is returned.
+        assertEquals(2, buffer.acquire().value);
+    }
+
+    @Test
+    public void publishReportsUnreadFrames() {
+        TripleBuffer<Box> buffer = new TripleBuffer<>(Box::new);
+        assertFalse(buffer.publish());
+        assertTrue(buffer.publish());
+        buffer.acquire();
+        assertFalse(buffer.publish());
+    }
+
+    @Test
+    public void concurrentReaderNeverSeesTornFrame() throws InterruptedException {
+        TripleBuffer<Box> buffer = new TripleBuffer<>(Box::new);
+        AtomicBoolean failed = new AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            long last = -1;
+            while (last < 200_000) {
+                Box box = buffer.acquire();
+                if (box.value != box.check || box.value < last) {
+                    failed.set(true);
+                    return;
+                }
+                last = box.value;
+            }
+        });
+        reader.start();
+        for (long i = 0; i <= 200_000; i++) {
+            Box box = buffer.getWriteBuffer();
+            box.value = i;
+            box.check = i;
+            buffer.publish();
+        }
+        reader.join(10_000);
+        assertFalse(failed.get());
+    }
+}
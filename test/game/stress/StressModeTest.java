@@ -0,0 +1,55 @@
+package game.stress;
+
+import game.core.EntityType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class StressModeTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEnemyFractionAboveOne() {
+        new StressMode(1, 1, 1.5, 0);
+    }
+
+    @Test
+    public void holdsTargetPopulation() {
+        StressMode stress = new StressMode(4, 2, 0.5, 7);
+        StressStep step = stress.hold(5_000, 50);
+        assertEquals(5_000, step.getTarget());
+        assertEquals(50, step.getTicks());
+        assertTrue(step.getPopulation() >= 4_750);
+        assertTrue(step.getPopulation() <= 5_000 + 4 * 2);
+        assertTrue(step.getMaxNanos() >= step.getP99Nanos());
+        assertTrue(step.getP99Nanos() >= 0);
+        assertTrue(step.getHeapUsedBytes() > 0);
+        assertTrue(stress.getModel().getStatsTracker().getShotsHit() > 0);
+        assertTrue(stress.getModel().getObjectCount(EntityType.ENEMY) > 0);
+    }
+
+    @Test
+    public void rampsThroughTargetsInOrder() {
+        StressMode stress = new StressMode(0, 0, 0.0, 3);
+        stress.setMaxSpawnPerTick(1_000);
+        List<StressStep> steps = new ArrayList<>();
+        stress.run(new int[]{2_000, 6_000}, 10, steps::add);
+        assertEquals(2, steps.size());
+        assertEquals(2_000, steps.get(0).getTarget());
+        assertEquals(6_000, steps.get(1).getTarget());
+        assertTrue(steps.get(1).getPopulation() > steps.get(0).getPopulation());
+        assertEquals(0, stress.getModel().getObjectCount(EntityType.ENEMY));
+    }
+
+    @Test(timeout = 30_000)
+    public void holdStopsRampingWhenTheSpawnLimitCannotReachTarget() {
+        StressMode stress = new StressMode(0, 0, 0.0, 5);
+        stress.setMaxSpawnPerTick(100);
+        StressStep step = stress.hold(100_000, 5);
+        assertEquals(5, step.getTicks());
+        assertTrue(step.getPopulation() > 0);
+        assertTrue(step.getPopulation() < 95_000);
+    }
+}
@@ -0,0 +1,73 @@
+package game.telemetry;
+
+import game.GameModel;
+import game.achievements.PlayerStatsTracker;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class TelemetryTest {
+
+    @Test
+    public void roundTripsAcrossBlocks() throws IOException {
+        Path path = Files.createTempFile("telemetry", ".bin");
+        int rows = TelemetryWriter.BLOCK_ROWS * 2 + 17;
+        try {
+            try (TelemetryWriter writer = new TelemetryWriter(path, "counter", "noisy", "flat")) {
+                for (int i = 0; i < rows; i++) {
+                    writer.set(0, i);
+                    writer.set(1, (i * 7919L) % 1000 - 500);
+                    writer.set(2, 42);
+                    writer.endRow();
+                }
+            }
+            try (TelemetryReader reader = new TelemetryReader(path)) {
+                assertEquals("noisy", reader.getColumnNames().get(1));
+                int row = 0;
+                while (reader.nextBlock()) {
+                    for (int r = 0; r < reader.getRowCount(); r++, row++) {
+                        assertEquals(row, reader.get(0, r));
+                        assertEquals((row * 7919L) % 1000 - 500, reader.get(1, r));
+                        assertEquals(42, reader.get(2, r));
+                    }
+                }
+                assertEquals(rows, row);
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void steadyGameCompressesWell() throws IOException {
+        Path path = Files.createTempFile("telemetry", ".bin");
+        try {
+            GameModel model = new GameModel(s -> {}, new PlayerStatsTracker());
+            model.setRandomSeed(5);
+            int ticks = 20_000;
+            try (TickTelemetry telemetry = new TickTelemetry(path)) {
+                for (int tick = 0; tick < ticks; tick++) {
+                    model.updateAndCheckCollisions(tick);
+                    model.spawnObjects();
+                    telemetry.record(tick, model, 1000);
+                }
+            }
+            // Eleven raw longs would be 88 bytes per tick.
+            assertTrue("File was " + Files.size(path) + " bytes",
+                    Files.size(path) < ticks * 2L);
+            try (TelemetryReader reader = new TelemetryReader(path)) {
+                long spawns = 0;
+                while (reader.nextBlock()) {
+                    spawns = reader.get(TickTelemetry.SPAWNS, reader.getRowCount() - 1);
+                }
+                assertEquals(model.getSpawnCount(), spawns);
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package game.terminal;
+
+import game.core.Asteroid;
+import game.core.Ship;
+import game.core.SpaceObject;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class TerminalUITest {
+    private static final InputStream NO_KEYS = new ByteArrayInputStream(new byte[0]);
+
+    private static String written(ByteArrayOutputStream out) {
+        String text = out.toString(StandardCharsets.UTF_8);
+        out.reset();
+        return text;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsZeroTickInterval() {
+        new TerminalUI(new ByteArrayOutputStream(), NO_KEYS, 0);
+    }
+
+    @Test
+    public void firstFrameDrawsWholeBoard() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TerminalUI ui = new TerminalUI(out, NO_KEYS, 50);
+        ui.render(List.of(new Asteroid(3, 2), new Ship()));
+        String frame = written(out);
+        assertTrue(frame.startsWith("\u001b[?25l\u001b[2J"));
+        assertTrue(frame.contains("\u001b[4;2H      🌑")); // Row y + 2, after three empty cells
+        assertTrue(frame.contains("🚀"));
+        assertEquals(1, ui.getFramesWritten());
+    }
+
+    @Test
+    public void unchangedFrameWritesNothing() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TerminalUI ui = new TerminalUI(out, NO_KEYS, 50);
+        List<SpaceObject> objects = List.of(new Asteroid(3, 2), new Ship());
+        ui.render(objects);
+        written(out);
+        ui.render(objects);
+        assertEquals(0, out.size());
+        assertEquals(0, ui.getLastFrameBytes());
+        assertEquals(1, ui.getFramesWritten());
+    }
+
+    @Test
+    public void movedObjectWritesOnlyTwoCells() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TerminalUI ui = new TerminalUI(out, NO_KEYS, 50);
+        Ship ship = new Ship();
+        List<SpaceObject> objects = new ArrayList<>(List.of(new Asteroid(3, 2), ship));
+        ui.render(objects);
+        written(out);
+        objects.set(0, new Asteroid(3, 3));
+        ui.render(objects);
+        assertEquals("\u001b[4;8H  \u001b[5;8H🌑", written(out));
+        assertTrue(ui.getLastFrameBytes() < 32);
+    }
+
+    @Test
+    public void statsAreWrittenWithNextFrame() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TerminalUI ui = new TerminalUI(out, NO_KEYS, 50);
+        ui.render(Collections.emptyList());
+        written(out);
+        ui.setStat("Score", "10");
+        ui.setAchievementProgressStat("Survivor", 0.25);
+        assertEquals(0, out.size()); // Nothing until the next frame
+        ui.render(Collections.emptyList());
+        String frame = written(out);
+        assertTrue(frame.contains("Score: 10\u001b[K"));
+        assertTrue(frame.contains("Survivor: 25%\u001b[K"));
+
+        ui.setAchievementProgressStat("Survivor", 0.251); // Same whole percentage
+        ui.render(Collections.emptyList());
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    public void ticksUntilPausedAndPassesKeys() throws InterruptedException {
+        InputStream keys = new ByteArrayInputStream("w\nF".getBytes(StandardCharsets.UTF_8));
+        TerminalUI ui = new TerminalUI(new ByteArrayOutputStream(), keys, 1);
+        List<String> pressed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch bothKeys = new CountDownLatch(2);
+        ui.onKey(key -> {
+            pressed.add(key);
+            bothKeys.countDown();
+        });
+        AtomicInteger ticks = new AtomicInteger();
+        CountDownLatch ticked = new CountDownLatch(5);
+        ui.onStep(tick -> {
+            ticks.incrementAndGet();
+            ticked.countDown();
+        });
+        ui.start();
+        assertTrue(ticked.await(5, TimeUnit.SECONDS));
+        assertTrue(bothKeys.await(5, TimeUnit.SECONDS));
+        ui.pause();
+        Thread.sleep(20); // Let any tick already running finish
+        int paused = ticks.get();
+        Thread.sleep(50);
+        assertEquals(paused, ticks.get());
+        ui.stop();
+        assertEquals(List.of("w", "F"), pressed);
+    }
+}
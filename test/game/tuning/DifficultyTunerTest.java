@@ -0,0 +1,78 @@
+package game.tuning;
+
+import game.GameModel;
+import game.GameSettings;
+import game.achievements.PlayerStatsTracker;
+import game.core.Asteroid;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DifficultyTunerTest {
+
+    private static GameSettings withSpawnRate(int startSpawnRate, int asteroidDamage) {
+        return new GameSettings(startSpawnRate, 5, 100, 0.5, 0.25, asteroidDamage, 20);
+    }
+
+    @Test
+    public void modelUsesSettings() {
+        GameModel model = new GameModel(s -> {}, new PlayerStatsTracker(),
+                withSpawnRate(2, 35));
+        model.addObject(new Asteroid(5, 10));
+        model.checkCollisions();
+        assertEquals(65, model.getShip().getHealth());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void settingsRejectNegativeValues() {
+        new GameSettings(-1, 5, 100, 0.5, 0.25, 10, 20);
+    }
+
+    @Test
+    public void resultsDoNotDependOnParallelism() throws InterruptedException {
+        List<GameSettings> points = List.of(withSpawnRate(2, 10), withSpawnRate(6, 10),
+                withSpawnRate(12, 25));
+        List<PointResult> serial = new DifficultyTuner(40, 800, 1).run(points, r -> { });
+        List<PointResult> parallel = new DifficultyTuner(40, 800, 3).run(points, r -> { });
+        Comparator<PointResult> bySpawnRate =
+                Comparator.comparingInt(r -> r.getSettings().getStartSpawnRate());
+        serial = new ArrayList<>(serial);
+        parallel = new ArrayList<>(parallel);
+        serial.sort(bySpawnRate);
+        parallel.sort(bySpawnRate);
+        for (int i = 0; i < points.size(); i++) {
+            assertEquals(serial.get(i).getMeanSurvival(), parallel.get(i).getMeanSurvival(),
+                    0.0);
+            assertEquals(serial.get(i).getScorePercentile(0.9),
+                    parallel.get(i).getScorePercentile(0.9));
+        }
+        assertTrue(serial.get(0).getMeanSurvival() > serial.get(2).getMeanSurvival());
+    }
+
+    @Test
+    public void stopsClearlyBadSettingsEarly() throws InterruptedException {
+        DifficultyTuner tuner = new DifficultyTuner(200, 2000, 2);
+        tuner.setTarget(1000, 1500);
+        List<PointResult> results = tuner.run(List.of(withSpawnRate(100, 100)), r -> { });
+        PointResult lethal = results.get(0);
+        assertTrue(lethal.isStoppedEarly());
+        assertEquals(DifficultyTuner.MIN_GAMES, lethal.getGames());
+    }
+
+    @Test
+    public void reportStreamsOneLinePerPoint() throws InterruptedException {
+        StringWriter out = new StringWriter();
+        TuningReport report = new TuningReport(out);
+        new DifficultyTuner(8, 200, 2).run(List.of(withSpawnRate(2, 10),
+                withSpawnRate(4, 10)), report);
+        String[] lines = out.toString().split(System.lineSeparator());
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("startSpawnRate,"));
+        assertEquals(lines[0].split(",").length, lines[1].split(",").length);
+    }
+}